@@ -63,18 +63,10 @@ public final class ConnectorController extends AbstractController {
                        final @Nullable Integer index) {
         LOG.trace("Add pin for connector UID (index={}): {}", index, connectorUid);
 
-        final var connector = findConnectorByUID(ctx, connectorUid);
-        if (connector == null) {
-            return;
-        }
-
-        // verify if connector is dynamic
-        if (!(connector instanceof DynamicConnector)) {
-            LOG.error("Connector is not dynamic: {}", connectorUid);
-            setForbidden(ctx, "Connector is not dynamic: %s", connector.getName());
+        final var dynamicConnector = findDynamicConnectorByUID(ctx, connectorUid);
+        if (dynamicConnector == null) {
             return;
         }
-        final var dynamicConnector = (DynamicConnector) connector;
 
         try {
             if (index == null) {
@@ -86,7 +78,7 @@ public final class ConnectorController extends AbstractController {
                     setBadRequest(
                             ctx,
                             "Index of connector '%s' is out of range: %s (min=0, max=%s)",
-                            connector.getName(), index, dynamicConnector.size() - 1
+                            dynamicConnector.getName(), index, dynamicConnector.size() - 1
                     );
                     return;
                 }
@@ -95,7 +87,7 @@ public final class ConnectorController extends AbstractController {
             }
 
             ctx.status(HttpServletResponse.SC_OK);
-            ctx.json(ConnectorResponse.from(connector));
+            ctx.json(ConnectorResponse.from(dynamicConnector));
         } catch (final MaximumBoundException e) {
             setBadRequest(ctx, e.getMessage());
         }
@@ -113,24 +105,16 @@ public final class ConnectorController extends AbstractController {
                           final Integer index) {
         LOG.trace("Delete pin for connector UID (index={}): {}", index, connectorUid);
 
-        final var connector = findConnectorByUID(ctx, connectorUid);
-        if (connector == null) {
-            return;
-        }
-
-        // verify if connector is dynamic
-        if (!(connector instanceof DynamicConnector)) {
-            LOG.error("Connector is not dynamic: {}", connector.getName());
-            setForbidden(ctx, "Connector is not dynamic: %s", connector.getName());
+        final var dynamicConnector = findDynamicConnectorByUID(ctx, connectorUid);
+        if (dynamicConnector == null) {
             return;
         }
-        final var dynamicConnector = (DynamicConnector) connector;
 
         // index must be provided and valid
         if (index == null || index < 0 || index >= dynamicConnector.size()) {
             setBadRequest(ctx,
                     "Index of connector '%s' is out of range: %s (min=0, max=%s)",
-                    connector.getName(), index, dynamicConnector.size() - 1
+                    dynamicConnector.getName(), index, dynamicConnector.size() - 1
             );
             return;
         }
@@ -140,12 +124,122 @@ public final class ConnectorController extends AbstractController {
             uidRegistry.deregister(deletedPin);
 
             ctx.status(HttpServletResponse.SC_OK);
-            ctx.json(ConnectorResponse.from(connector));
+            ctx.json(ConnectorResponse.from(dynamicConnector));
         } catch (final MinimumBoundException e) {
             setBadRequest(ctx, e.getMessage());
         }
     }
 
+    /**
+     * Adds {@code count} new pins to the connector at the given {@code index}
+     * in one operation. If index is null, then pins will be added at the last position.
+     *
+     * @param ctx          context
+     * @param connectorUid the connector UID that should be altered
+     * @param index        the index where the first pin should be added; may be null
+     * @param count        the number of pins to be added
+     */
+    public void addPins(final Context ctx,
+                        final String connectorUid,
+                        final @Nullable Integer index,
+                        final int count) {
+        LOG.trace("Add {} pins for connector UID (index={}): {}", count, index, connectorUid);
+
+        final var dynamicConnector = findDynamicConnectorByUID(ctx, connectorUid);
+        if (dynamicConnector == null) {
+            return;
+        }
+
+        // index and count must be valid
+        final var size = dynamicConnector.size();
+        if (index != null && (index < 0 || index >= size)) {
+            setBadRequest(
+                    ctx,
+                    "Index of connector '%s' is out of range: %s (min=0, max=%s)",
+                    dynamicConnector.getName(), index, size - 1
+            );
+            return;
+        } else if (count < 1) {
+            setBadRequest(ctx, "Count of pins must be positive: %s", count);
+            return;
+        }
+
+        try {
+            final var newPins = connectorService.addPins(dynamicConnector, index == null ? size : index, count);
+            newPins.forEach(uidRegistry::register);
+
+            ctx.status(HttpServletResponse.SC_OK);
+            ctx.json(ConnectorResponse.from(dynamicConnector));
+        } catch (final MaximumBoundException e) {
+            setBadRequest(ctx, e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes the pins from connector from {@code fromIndex}, inclusive, to {@code toIndex},
+     * exclusive in one operation.
+     *
+     * @param ctx          context
+     * @param connectorUid the connector UID that should be altered
+     * @param fromIndex    the index of first pin that should be deleted
+     * @param toIndex      the index after the last pin that should be deleted
+     */
+    public void deletePins(final Context ctx,
+                           final String connectorUid,
+                           final int fromIndex,
+                           final int toIndex) {
+        LOG.trace("Delete pins for connector UID (fromIndex={}, toIndex={}): {}", fromIndex, toIndex, connectorUid);
+
+        final var dynamicConnector = findDynamicConnectorByUID(ctx, connectorUid);
+        if (dynamicConnector == null) {
+            return;
+        }
+
+        // range must be valid
+        final var size = dynamicConnector.size();
+        if (fromIndex < 0 || toIndex > size || fromIndex >= toIndex) {
+            setBadRequest(ctx,
+                    "Range of connector '%s' is out of range: %s..%s (min=0, max=%s)",
+                    dynamicConnector.getName(), fromIndex, toIndex, size
+            );
+            return;
+        }
+
+        try {
+            final var deletedPins = connectorService.removePins(dynamicConnector, fromIndex, toIndex);
+            deletedPins.forEach(uidRegistry::deregister);
+
+            ctx.status(HttpServletResponse.SC_OK);
+            ctx.json(ConnectorResponse.from(dynamicConnector));
+        } catch (final MinimumBoundException e) {
+            setBadRequest(ctx, e.getMessage());
+        }
+    }
+
+    /**
+     * Returns a {@link DynamicConnector} if found, otherwise {@code null}
+     * and error message in {@link Context}
+     *
+     * @param ctx context
+     * @param uid UID of connector for look up
+     * @return DynamicConnector if found and dynamic, otherwise {@code null}
+     */
+    @Nullable
+    private DynamicConnector findDynamicConnectorByUID(final Context ctx, final String uid) {
+        final var connector = findConnectorByUID(ctx, uid);
+        if (connector == null) {
+            return null;
+        }
+
+        // verify if connector is dynamic
+        if (!(connector instanceof DynamicConnector)) {
+            LOG.error("Connector is not dynamic: {}", connector.getName());
+            setForbidden(ctx, "Connector is not dynamic: %s", connector.getName());
+            return null;
+        }
+        return (DynamicConnector) connector;
+    }
+
     /**
      * Returns a {@link Connector} if found, otherwise {@code null}
      * and error message in {@link Context}
@@ -27,6 +27,7 @@ import li.pitschmann.knx.logic.pin.Pin;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -70,14 +71,26 @@ public final class ConnectorService {
      * @return a new created {@link DynamicPin}
      */
     public DynamicPin addPin(final DynamicConnector connector, final int index) {
-        LOG.debug("Add new pin at index {} for connector: {}", index, connector.getName());
-        final var newPin = connector.addPin(index);
+        return addPins(connector, index, 1).get(0);
+    }
+
+    /**
+     * Adds {@code count} new {@link DynamicPin}s to the {@link DynamicConnector} at the given {@code index}
+     *
+     * @param connector dynamic connector that should be extended with pins at the {@code index}; may not be null
+     * @param index     the index where the first new {@link Pin} should be added
+     * @param count     the number of {@link Pin}s to be added
+     * @return list of new created {@link DynamicPin}s
+     */
+    public List<DynamicPin> addPins(final DynamicConnector connector, final int index, final int count) {
+        LOG.debug("Add {} new pin(s) at index {} for connector: {}", count, index, connector.getName());
+        final var newPins = connector.addPins(index, count);
 
         databaseManager.save(connector);
 
         // router won't be informed - it will be relevant only when add a link
         // this mechanism is covered by the LinkService
-        return newPin;
+        return newPins;
     }
 
     /**
@@ -88,16 +101,32 @@ public final class ConnectorService {
      * @return the removed {@link DynamicPin}
      */
     public DynamicPin removePin(final DynamicConnector connector, final int index) {
-        final var removedPin = connector.removePin(index);
+        return removePins(connector, index, index + 1).get(0);
+    }
+
+    /**
+     * Removes the {@link DynamicPin}s from {@code fromIndex}, inclusive, to {@code toIndex},
+     * exclusive of {@link DynamicConnector}
+     *
+     * @param connector dynamic connector that should be altered; may not be null
+     * @param fromIndex the index of first {@link DynamicPin} that should be removed
+     * @param toIndex   the index after the last {@link DynamicPin} that should be removed
+     * @return list of removed {@link DynamicPin}s
+     */
+    public List<DynamicPin> removePins(final DynamicConnector connector, final int fromIndex, final int toIndex) {
+        LOG.debug("Remove pins from index {} to {} for connector: {}", fromIndex, toIndex, connector.getName());
+        final var removedPins = connector.removePins(fromIndex, toIndex);
 
         databaseManager.save(connector);
 
-        // inform the router because the pin has been removed, therefore,
-        // the link needs to be removed as well.
-        databaseManager.dao(PinLinksDao.class).delete(removedPin.getUid());
-        router.unlink(removedPin);
+        // inform the router because the pins have been removed, therefore,
+        // the links need to be removed as well.
+        for (final var removedPin : removedPins) {
+            databaseManager.dao(PinLinksDao.class).delete(removedPin.getUid());
+            router.unlink(removedPin);
+        }
 
-        return removedPin;
+        return removedPins;
     }
 
 }
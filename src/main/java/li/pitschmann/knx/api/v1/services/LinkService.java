@@ -62,13 +62,14 @@ public final class LinkService {
         Preconditions.checkNonNull(sourcePinModel, "Could not find id for source pin '{}'. Not persisted yet?", sourcePin.getUid());
         Preconditions.checkNonNull(targetPinModel, "Could not find id for target pin '{}'. Not persisted yet?", targetPin.getUid());
 
+        // link first, the router rejects the link if the types of pins are not compatible
+        router.link(sourcePin, targetPin);
+
         final var pinLinkModel = PinLinkModel.create(
                 sourcePinModel.getId(),
                 targetPinModel.getId()
         );
         databaseManager.dao(PinLinksDao.class).insert(pinLinkModel);
-
-        router.link(sourcePin, targetPin);
     }
 
     /**
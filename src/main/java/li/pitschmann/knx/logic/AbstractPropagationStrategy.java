@@ -0,0 +1,137 @@
+package li.pitschmann.knx.logic;
+
+import li.pitschmann.knx.core.annotations.Nullable;
+import li.pitschmann.knx.logic.components.Component;
+import li.pitschmann.knx.logic.components.InboxComponent;
+import li.pitschmann.knx.logic.components.OutboxComponent;
+import li.pitschmann.knx.logic.event.Event;
+import li.pitschmann.knx.logic.exceptions.RouterException;
+import li.pitschmann.knx.logic.pin.Pin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+
+/**
+ * Abstract {@link PropagationStrategy} containing the common
+ * parts for all propagation strategies
+ *
+ * @author PITSCHR
+ */
+abstract class AbstractPropagationStrategy implements PropagationStrategy {
+    private static final Logger log = LoggerFactory.getLogger(AbstractPropagationStrategy.class);
+
+    /**
+     * Passes the data of event to the {@link InboxComponent}
+     *
+     * @param context        the context of routing
+     * @param inboxComponent the targeted inbox component
+     */
+    protected void onInboxComponent(final RouterContext context,
+                                    final InboxComponent inboxComponent) {
+        final var event = context.getEvent();
+        log.debug("Inbox Component: {}, Event: {}", inboxComponent, event);
+        inboxComponent.onNext(event.getData());
+    }
+
+    /**
+     * Forward and finalize the routing to {@link OutboxComponent}. The routing will stop here.
+     * <p>
+     * The outbound event has the priority of outbox component, or inherits the priority
+     * of the event that triggered the routing.
+     *
+     * @param context         the context of routing
+     * @param outboxComponent the last component which is outbox
+     */
+    protected void forwardOutboxComponent(final RouterContext context,
+                                          final OutboxComponent outboxComponent) {
+        final var data = outboxComponent.execute();
+        log.debug("Outbox Component: {}, Data: {}", outboxComponent, data);
+
+        // submits to the outbound
+        final var priority = outboxComponent.getPriority();
+        final var event = new Event(outboxComponent.getEventKey(), data,
+                priority == null ? context.getEvent().getPriority() : priority);
+        context.getRouter().outbound(event);
+    }
+
+    /**
+     * Adds the {@link Workflow} to the collection of workflows if it is enabled.
+     * Disabled workflows are not collected (see {@link TracingMode#OFF}).
+     *
+     * @param workflows the collection of workflows
+     * @param workflow  the workflow to be added
+     */
+    protected static void addWorkflow(final Collection<Workflow> workflows, final Workflow workflow) {
+        if (workflow.isEnabled()) {
+            workflows.add(workflow);
+        }
+    }
+
+    /**
+     * Returns if the value of pin with {@code sourceId} is transferred pin-to-pin as primitive
+     * (see {@link ValueConverter#transfer(Pin, Pin)}). In this case the value of pin is not read
+     * (and not boxed) by the propagation, which is possible only if the value is not recorded
+     * by the {@link Workflow} and all links of pin are pin-to-pin (see {@link RoutingTable#isPinToPin(int)}).
+     *
+     * @param table    the routing table
+     * @param sourceId the id of pin where the value comes from
+     * @param workflow the workflow until the pin
+     * @return {@code true} if the value is transferred pin-to-pin, otherwise {@code false}
+     */
+    protected static boolean isPinToPin(final RoutingTable table, final int sourceId, final Workflow workflow) {
+        return !workflow.isEnabled() && table.isPinToPin(sourceId);
+    }
+
+    /**
+     * Collects the value of pin with {@code sourceId} for all its feedback links.
+     * The values of feedback links are not forwarded immediately, instead they are
+     * propagated in the next wave (see {@link PropagationStrategy#submitFeedback(RouterContext, RoutingTable, java.util.concurrent.Executor)}).
+     *
+     * @param context  the context of routing
+     * @param table    the routing table
+     * @param sourceId the id of pin where the value comes from
+     * @param value    the value of pin; may be null
+     * @param workflow the workflow until the pin
+     * @return {@code true} if the pin has at least one feedback link
+     */
+    protected static boolean collectFeedback(final RouterContext context,
+                                             final RoutingTable table,
+                                             final int sourceId,
+                                             final @Nullable Object value,
+                                             final Workflow workflow) {
+        final var feedbackEnd = table.feedbackEnd(sourceId);
+        var feedbackIndex = table.feedbackStart(sourceId);
+        if (feedbackIndex == feedbackEnd) {
+            return false;
+        }
+        for (; feedbackIndex < feedbackEnd; feedbackIndex++) {
+            context.addFeedback(feedbackIndex, value, workflow);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the {@link Component} that owns the pin with {@code pinId}
+     *
+     * @param table the routing table
+     * @param pinId id of pin
+     * @return the component, or {@code null} if the owner is not registered
+     */
+    @Nullable
+    protected Component getComponent(final RoutingTable table, final int pinId) {
+        final var componentId = table.componentOf(pinId);
+        return componentId < 0 ? null : table.component(componentId);
+    }
+
+    /**
+     * Creates a {@link RouterException} for a dead end because the
+     * {@link Component} is not supported for routing
+     *
+     * @param component the unsupported component; may be null
+     * @return a new {@link RouterException}
+     */
+    protected RouterException unsupportedComponent(final @Nullable Component component) {
+        return new RouterException("Dead End because of unsupported component: " + component);
+    }
+}
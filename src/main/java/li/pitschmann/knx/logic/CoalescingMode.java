@@ -0,0 +1,39 @@
+package li.pitschmann.knx.logic;
+
+import li.pitschmann.knx.logic.event.Event;
+import li.pitschmann.knx.logic.event.EventKey;
+
+/**
+ * Modes how inbound {@link Event}s with same {@link EventKey} are
+ * coalesced by the {@link Router} before they are propagated.
+ *
+ * <pre>{@code
+ * final var router = Router.builder()
+ *      .coalescing(CoalescingMode.THROTTLE, Duration.ofMillis(200))
+ *      .build();
+ * }</pre>
+ *
+ * @author PITSCHR
+ */
+public enum CoalescingMode {
+
+    /**
+     * <p>No coalescing, every inbound event is propagated.</p>
+     */
+    NONE,
+
+    /**
+     * <p>Latest value wins within the window: the window starts with the first
+     * event of a key and the latest event with same key is propagated when the
+     * window elapsed (trailing edge). Further events don't extend the window,
+     * therefore a continuous stream of events is propagated once per window.</p>
+     */
+    DEBOUNCE,
+
+    /**
+     * <p>Maximum rate per key: the first event is propagated immediately and
+     * further events with same key within the window are merged. The latest
+     * merged event is propagated when the window elapsed.</p>
+     */
+    THROTTLE
+}
@@ -0,0 +1,169 @@
+package li.pitschmann.knx.logic;
+
+import li.pitschmann.knx.logic.components.ExecutableComponent;
+import li.pitschmann.knx.logic.components.InboxComponent;
+import li.pitschmann.knx.logic.components.LogicComponent;
+import li.pitschmann.knx.logic.components.OutboxComponent;
+import li.pitschmann.knx.logic.pin.Pin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Depth-first {@link PropagationStrategy} (see {@link PropagationMode#DEPTH_FIRST})
+ * <p>
+ * The value is forwarded recursively link by link: a component is executed
+ * as soon a value arrives on one of its input pins and the refreshed output
+ * values are forwarded immediately. A component that is reachable via
+ * several paths is executed once per path.
+ * <p>
+ * The depth of recursion is bounded by the longest path of routing graph, because
+ * links that would create a cycle are rejected (see {@link RouterInternal#link(Pin, Pin)}).
+ * If the routing graph still contains a cycle (e.g. components registered after
+ * linking), the event is propagated by {@link WavePropagationStrategy} instead.
+ *
+ * @author PITSCHR
+ */
+final class DepthFirstPropagationStrategy extends AbstractPropagationStrategy {
+    private static final Logger log = LoggerFactory.getLogger(DepthFirstPropagationStrategy.class);
+    private final WavePropagationStrategy fallbackStrategy = WavePropagationStrategy.INSTANCE;
+
+    @Override
+    public List<Workflow> propagate(final RouterContext context, final RoutingTable table) {
+        if (table.hasCycles()) {
+            log.debug("Cycle found in routing table, fallback to wave propagation: {}", context.getEvent());
+            return fallbackStrategy.propagate(context, table);
+        }
+
+        final var workflowList = new ArrayList<Workflow>();
+        for (final var inboxComponent : context.getInboxComponents()) {
+            forwardInboxComponent(context, table, inboxComponent, workflowList);
+        }
+        return workflowList;
+    }
+
+    /**
+     * The loop of forwarding that passed a value from component A to B.
+     * <p>
+     * The value of source pin is read (and boxed) only if it is recorded by the workflow
+     * or not transferred pin-to-pin (see {@link #isPinToPin(RoutingTable, int, Workflow)}).
+     *
+     * @param context        the context of routing
+     * @param table          the routing table to be used for routing
+     * @param sourceId       the id of current {@link Pin} where the value comes from
+     * @param parentWorkflow the workflow until the component of current {@link Pin}
+     * @param workflowList   list of workflow to be collected and returned
+     */
+    private void forwardInternal(final RouterContext context,
+                                 final RoutingTable table,
+                                 final int sourceId,
+                                 final Workflow parentWorkflow,
+                                 final List<Workflow> workflowList) {
+        final var source = table.pin(sourceId);
+        final var pinToPin = isPinToPin(table, sourceId, parentWorkflow);
+        final var value = pinToPin ? null : source.getValue();
+        final var workflow = parentWorkflow.add(source, value);
+        final var linkEnd = table.linkEnd(sourceId);
+        var linkIndex = table.linkStart(sourceId);
+        final var feedback = collectFeedback(context, table, sourceId, value, workflow);
+        if (linkIndex == linkEnd) {
+            if (!feedback) {
+                log.debug("Dead End for '{}': {}", source, workflow);
+                addWorkflow(workflowList, workflow);
+            }
+        } else {
+            for (; linkIndex < linkEnd; linkIndex++) {
+                final var targetId = table.link(linkIndex);
+                final var target = table.pin(targetId);
+                if (log.isDebugEnabled()) {
+                    log.debug("{} ==> {}", source.getUid(), target.getUid());
+                }
+
+                final var newWorkflow = workflow.add(target, value);
+
+                // convert the value if necessary and set it to pin
+                final var converter = table.converter(linkIndex);
+                if (pinToPin) {
+                    converter.transfer(source, target);
+                } else {
+                    converter.convertTo(value, target);
+                }
+                forwardPin(context, table, targetId, newWorkflow, workflowList);
+            }
+        }
+    }
+
+    /**
+     * Invokes the component of {@link Pin} after the value has been set to the pin.
+     * The outputs which are triggered as 'refresh' are forwarded.
+     *
+     * @param context      the context of routing
+     * @param table        the routing table to be used for routing
+     * @param pinId        the id of targeted pin
+     * @param workflow     the workflow for pass-through
+     * @param workflowList list of workflow to be collected and returned
+     */
+    private void forwardPin(final RouterContext context,
+                            final RoutingTable table,
+                            final int pinId,
+                            final Workflow workflow,
+                            final List<Workflow> workflowList) {
+        final var pin = table.pin(pinId);
+
+        // find the component that owns the pin/connector for execution
+        final var component = getComponent(table, pinId);
+        if (component instanceof ExecutableComponent) {
+            ((ExecutableComponent) component).execute();
+        }
+
+        // The workflow ends here when it is an output component
+        if (component instanceof OutboxComponent) {
+            log.debug("Outbox Component: {}, Workflow: {}", component, workflow);
+            forwardOutboxComponent(context, (OutboxComponent) component);
+            addWorkflow(workflowList, workflow);
+        }
+        // Otherwise forward the values which are marked as refreshed
+        else if (component instanceof LogicComponent) {
+            final var componentId = table.componentOf(pinId);
+            final var outputEnd = table.outputEnd(componentId);
+            for (var i = table.outputStart(componentId); i < outputEnd; i++) {
+                final var outputId = table.output(i);
+                final var output = table.pin(outputId);
+                if (output.isRefresh() || output.isAlwaysTrigger()) {
+                    forwardInternal(context, table, outputId, workflow, workflowList);
+                }
+            }
+        } else {
+            log.warn("Dead End for '{}': {}", pin.getUid(), workflow);
+            throw unsupportedComponent(component);
+        }
+    }
+
+    /**
+     * Forward value to {@link InboxComponent}
+     *
+     * @param context        the context of routing
+     * @param table          the routing table to be used for routing
+     * @param inboxComponent the targeted input component
+     * @param workflowList   list of workflow to be collected and returned
+     */
+    private void forwardInboxComponent(final RouterContext context,
+                                       final RoutingTable table,
+                                       final InboxComponent inboxComponent,
+                                       final List<Workflow> workflowList) {
+        onInboxComponent(context, inboxComponent);
+
+        for (final var output : inboxComponent.getOutputPins()) {
+            final var outputId = table.pinId(output);
+            if (outputId < 0) {
+                final var newWorkflow = context.newWorkflow().add(output, output.getValue());
+                log.debug("Dead End for '{}': {}", output, newWorkflow);
+                addWorkflow(workflowList, newWorkflow);
+            } else {
+                forwardInternal(context, table, outputId, context.newWorkflow(), workflowList);
+            }
+        }
+    }
+}
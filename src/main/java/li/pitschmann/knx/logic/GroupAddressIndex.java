@@ -0,0 +1,293 @@
+package li.pitschmann.knx.logic;
+
+import li.pitschmann.knx.core.annotations.Nullable;
+import li.pitschmann.knx.core.utils.Preconditions;
+import li.pitschmann.knx.logic.components.InboxComponent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Index of {@link InboxComponent}s that are subscribed to KNX group addresses.
+ * <p>
+ * The subscriptions of a single group address are stored in a dense array
+ * with one slot per 16-bit group address. Subscriptions of several group
+ * addresses are stored in a trie.
+ * <p>
+ * The index is a trie with fixed depth along the structure of a 3-level group address
+ * (main group: 5 bits, middle group: 3 bits, sub group: 8 bits):
+ * <ul>
+ *     <li>{@code *} subscribes all group addresses</li>
+ *     <li>{@code 1/*} subscribes all group addresses of main group {@code 1}</li>
+ *     <li>{@code 1/2/*} subscribes all group addresses of middle group {@code 1/2}</li>
+ *     <li>{@code 1/2/10-20} subscribes the sub groups {@code 10} to {@code 20} (inclusive) of middle group {@code 1/2}</li>
+ *     <li>{@code 1/2/3} subscribes the group address {@code 1/2/3}</li>
+ *     <li>{@code 2560-2815} subscribes the free-level group addresses {@code 2560} to {@code 2815} (inclusive)</li>
+ * </ul>
+ * Ranges are stored per middle group (block of 256 addresses), a free-level range
+ * that spans several middle groups is split into one range per middle group. The
+ * look up for a group address visits the subscriptions of its main group and the
+ * ranges of its middle group only.
+ * <p>
+ * For routing, the index is compiled into a {@link KnxDispatchTable} that has the
+ * merged subscriptions per group address.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @author PITSCHR
+ */
+final class GroupAddressIndex {
+    private static final int MAX_MAIN_GROUP = 0x1F;
+    private static final int MAX_MIDDLE_GROUP = 0x07;
+    private static final int MAX_SUB_GROUP = 0xFF;
+    static final int MAX_ADDRESS = 0xFFFF;
+    private static final String WILDCARD = "*";
+
+    @SuppressWarnings("unchecked")
+    private final Set<InboxComponent>[] addressSubscribers = new Set[MAX_ADDRESS + 1];
+    private final Set<InboxComponent> allSubscribers = new HashSet<>();
+    @SuppressWarnings("unchecked")
+    private final Set<InboxComponent>[] mainGroupSubscribers = new Set[MAX_MAIN_GROUP + 1];
+    @SuppressWarnings("unchecked")
+    private final List<Range>[] middleGroupRanges = new List[(MAX_ADDRESS + 1) >> 8];
+    private int size;
+
+    /**
+     * Returns if the identifier is a group address or a pattern of several group addresses
+     *
+     * @param identifier the identifier of {@link li.pitschmann.knx.logic.event.EventKey}
+     * @return {@code true} if the identifier is a group address, or contains {@code *}, {@code -} or {@code /}
+     */
+    static boolean accepts(final String identifier) {
+        return identifier.contains(WILDCARD) || identifier.indexOf('-') >= 0 || identifier.indexOf('/') >= 0
+                || parseAddress(identifier) >= 0;
+    }
+
+    /**
+     * Returns the group address of the event identifier in free-level notation
+     *
+     * @param identifier the identifier, either in free-level (e.g. {@code 2563}) or 3-level notation (e.g. {@code 1/2/3})
+     * @return the group address, or {@code -1} if the identifier is not a group address
+     */
+    static int parseAddress(final String identifier) {
+        try {
+            // fast path for free-level notation without allocation
+            if (identifier.indexOf('/') < 0) {
+                final var address = Integer.parseInt(identifier);
+                return address >= 0 && address <= MAX_ADDRESS ? address : -1;
+            }
+            final var parts = identifier.split("/", -1);
+            if (parts.length == 3) {
+                final var main = Integer.parseInt(parts[0]);
+                final var middle = Integer.parseInt(parts[1]);
+                final var sub = Integer.parseInt(parts[2]);
+                if (main >= 0 && main <= MAX_MAIN_GROUP
+                        && middle >= 0 && middle <= MAX_MIDDLE_GROUP
+                        && sub >= 0 && sub <= MAX_SUB_GROUP) {
+                    return main << 11 | middle << 8 | sub;
+                }
+            }
+        } catch (final NumberFormatException e) {
+            // not a group address
+        }
+        return -1;
+    }
+
+    /**
+     * Adds the subscription of {@link InboxComponent} for the group address pattern
+     *
+     * @param pattern   the group address or pattern (see {@link GroupAddressIndex})
+     * @param component the inbox component
+     * @throws IllegalArgumentException if the pattern is not supported
+     */
+    void add(final String pattern, final InboxComponent component) {
+        final var address = parseAddress(pattern);
+        final var parts = pattern.split("/", -1);
+        var added = true;
+        if (address >= 0) {
+            if (addressSubscribers[address] == null) {
+                addressSubscribers[address] = new HashSet<>();
+            }
+            added = addressSubscribers[address].add(component);
+        } else if (parts.length == 1 && WILDCARD.equals(parts[0])) {
+            added = allSubscribers.add(component);
+        } else if (parts.length == 2 && WILDCARD.equals(parts[1])) {
+            final var main = parseNumber(parts[0], MAX_MAIN_GROUP, pattern);
+            if (mainGroupSubscribers[main] == null) {
+                mainGroupSubscribers[main] = new HashSet<>();
+            }
+            added = mainGroupSubscribers[main].add(component);
+        } else {
+            for (final var range : toRanges(parts, pattern, component)) {
+                if (middleGroupRanges[range.block] == null) {
+                    middleGroupRanges[range.block] = new ArrayList<>();
+                }
+                middleGroupRanges[range.block].add(range);
+            }
+        }
+        if (added) {
+            size++;
+        }
+    }
+
+    /**
+     * Removes the subscription of {@link InboxComponent} for the group address pattern
+     *
+     * @param pattern   the group address or pattern (see {@link GroupAddressIndex})
+     * @param component the inbox component
+     */
+    void remove(final String pattern, final InboxComponent component) {
+        final var address = parseAddress(pattern);
+        final var parts = pattern.split("/", -1);
+        var removed = false;
+        if (address >= 0) {
+            removed = addressSubscribers[address] != null && addressSubscribers[address].remove(component);
+        } else if (parts.length == 1 && WILDCARD.equals(parts[0])) {
+            removed = allSubscribers.remove(component);
+        } else if (parts.length == 2 && WILDCARD.equals(parts[1])) {
+            final var main = parseNumber(parts[0], MAX_MAIN_GROUP, pattern);
+            removed = mainGroupSubscribers[main] != null && mainGroupSubscribers[main].remove(component);
+        } else {
+            for (final var range : toRanges(parts, pattern, component)) {
+                final var ranges = middleGroupRanges[range.block];
+                removed |= ranges != null && ranges.removeIf(r -> r.component == component && r.from == range.from && r.to == range.to);
+            }
+        }
+        if (removed) {
+            size--;
+        }
+    }
+
+    /**
+     * Compiles the subscriptions into a {@link KnxDispatchTable}. Group addresses with
+     * the same subscribers share the same immutable set.
+     *
+     * @return a new dispatch table
+     */
+    KnxDispatchTable compile() {
+        if (size == 0) {
+            return KnxDispatchTable.EMPTY;
+        }
+        @SuppressWarnings("unchecked") final Set<InboxComponent>[] slots = new Set[MAX_ADDRESS + 1];
+        final var sharedSets = new HashMap<Set<InboxComponent>, Set<InboxComponent>>();
+        for (var address = 0; address <= MAX_ADDRESS; address++) {
+            final var matched = collect(address);
+            if (matched != null) {
+                slots[address] = sharedSets.computeIfAbsent(matched, Set::copyOf);
+            }
+        }
+        return new KnxDispatchTable(slots);
+    }
+
+    /**
+     * Collects the {@link InboxComponent}s that are subscribed for the group address
+     *
+     * @param address the group address in free-level notation
+     * @return the matched inbox components, or {@code null} if nothing matched at all
+     */
+    @Nullable
+    private Set<InboxComponent> collect(final int address) {
+        var result = addAll(null, addressSubscribers[address]);
+        result = addAll(result, allSubscribers);
+        result = addAll(result, mainGroupSubscribers[address >> 11]);
+
+        final var ranges = middleGroupRanges[address >> 8];
+        if (ranges != null) {
+            final var sub = address & MAX_SUB_GROUP;
+            for (final var range : ranges) {
+                if (sub >= range.from && sub <= range.to) {
+                    if (result == null) {
+                        result = new HashSet<>();
+                    }
+                    result.add(range.component);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Set<InboxComponent> addAll(final @Nullable Set<InboxComponent> matched,
+                                              final @Nullable Set<InboxComponent> subscribers) {
+        if (subscribers == null || subscribers.isEmpty()) {
+            return matched;
+        }
+        final var result = matched == null ? new HashSet<InboxComponent>() : matched;
+        result.addAll(subscribers);
+        return result;
+    }
+
+    /**
+     * Splits the pattern of a group address range into one {@link Range} per middle group
+     *
+     * @param parts     the parts of pattern split by {@code /}
+     * @param pattern   the pattern (for error message)
+     * @param component the inbox component
+     * @return list of ranges
+     */
+    private static List<Range> toRanges(final String[] parts, final String pattern, final InboxComponent component) {
+        final int from;
+        final int to;
+        if (parts.length == 1) {
+            // free-level: 2560 or 2560-2815
+            final var bounds = parts[0].split("-", -1);
+            Preconditions.checkArgument(bounds.length <= 2, "Unsupported group address pattern: {}", pattern);
+            from = parseNumber(bounds[0], MAX_ADDRESS, pattern);
+            to = bounds.length == 1 ? from : parseNumber(bounds[1], MAX_ADDRESS, pattern);
+        } else if (parts.length == 3) {
+            // 3-level: 1/2/*, 1/2/10-20 or 1/2/3
+            final var base = parseNumber(parts[0], MAX_MAIN_GROUP, pattern) << 11
+                    | parseNumber(parts[1], MAX_MIDDLE_GROUP, pattern) << 8;
+            if (WILDCARD.equals(parts[2])) {
+                from = base;
+                to = base | MAX_SUB_GROUP;
+            } else {
+                final var bounds = parts[2].split("-", -1);
+                Preconditions.checkArgument(bounds.length <= 2, "Unsupported group address pattern: {}", pattern);
+                from = base | parseNumber(bounds[0], MAX_SUB_GROUP, pattern);
+                to = bounds.length == 1 ? from : base | parseNumber(bounds[1], MAX_SUB_GROUP, pattern);
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported group address pattern: " + pattern);
+        }
+        Preconditions.checkArgument(from <= to, "Invalid range of group address pattern: {}", pattern);
+
+        final var ranges = new ArrayList<Range>();
+        for (var block = from >> 8; block <= to >> 8; block++) {
+            final var blockFrom = Math.max(from, block << 8) & MAX_SUB_GROUP;
+            final var blockTo = Math.min(to, block << 8 | MAX_SUB_GROUP) & MAX_SUB_GROUP;
+            ranges.add(new Range(block, blockFrom, blockTo, component));
+        }
+        return ranges;
+    }
+
+    private static int parseNumber(final String text, final int max, final String pattern) {
+        try {
+            final var number = Integer.parseInt(text);
+            Preconditions.checkArgument(number >= 0 && number <= max,
+                    "Number '{}' out of range [0..{}] in group address pattern: {}", number, max, pattern);
+            return number;
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Unsupported group address pattern: " + pattern, e);
+        }
+    }
+
+    /**
+     * Range of sub groups within a middle group that is subscribed by an {@link InboxComponent}
+     */
+    private static final class Range {
+        private final int block;
+        private final int from;
+        private final int to;
+        private final InboxComponent component;
+
+        private Range(final int block, final int from, final int to, final InboxComponent component) {
+            this.block = block;
+            this.from = from;
+            this.to = to;
+            this.component = component;
+        }
+    }
+}
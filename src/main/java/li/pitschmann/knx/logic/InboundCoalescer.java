@@ -0,0 +1,317 @@
+package li.pitschmann.knx.logic;
+
+import li.pitschmann.knx.core.annotations.Nullable;
+import li.pitschmann.knx.core.utils.Preconditions;
+import li.pitschmann.knx.core.utils.Strings;
+import li.pitschmann.knx.logic.event.Event;
+import li.pitschmann.knx.logic.event.EventKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Coalescing stage for inbound {@link Event}s in front of the propagation.
+ * <p>
+ * Events are coalesced per {@link EventKey} according to the {@link CoalescingMode}.
+ * An event that is superseded by a newer event with same key within the window
+ * is not propagated (merged). The future of a merged event is completed with
+ * the workflows of the event that has superseded it.
+ * <p>
+ * The events are propagated outside of the lock of their slot. On {@link #shutdown()}
+ * the pending events are propagated immediately.
+ *
+ * @author PITSCHR
+ */
+public final class InboundCoalescer {
+    private static final Logger log = LoggerFactory.getLogger(InboundCoalescer.class);
+    private final Map<EventKey, Slot> slots = new ConcurrentHashMap<>();
+    private final CoalescingMode mode;
+    private final long windowNanos;
+    private final Function<Event, CompletableFuture<List<Workflow>>> downstream;
+    private final ScheduledExecutorService timer;
+    private final LongAdder receivedCount = new LongAdder();
+    private final LongAdder propagatedCount = new LongAdder();
+    private final LongAdder mergedCount = new LongAdder();
+    private volatile boolean closed;
+
+    /**
+     * Package-protected constructor
+     *
+     * @param mode       the coalescing mode; may not be {@link CoalescingMode#NONE}
+     * @param window     the window for coalescing; must be positive
+     * @param timer      the timer for the windows (owned by the scheduler); may not be null
+     * @param downstream the function to propagate the event
+     */
+    InboundCoalescer(final CoalescingMode mode,
+                     final Duration window,
+                     final ScheduledExecutorService timer,
+                     final Function<Event, CompletableFuture<List<Workflow>>> downstream) {
+        Preconditions.checkArgument(mode != CoalescingMode.NONE, "Coalescing mode NONE is not supported by coalescer.");
+        Preconditions.checkArgument(!window.isNegative() && !window.isZero(), "Window must be positive: {}", window);
+        this.mode = mode;
+        this.windowNanos = window.toNanos();
+        this.timer = Objects.requireNonNull(timer);
+        this.downstream = Objects.requireNonNull(downstream);
+    }
+
+    /**
+     * Submits the {@link Event} to the coalescing stage. After {@link #shutdown()}
+     * the event is passed to the downstream without coalescing.
+     *
+     * @param event the event to be coalesced; may not be null
+     * @return a Future representing pending completion of the event (or of the event that superseded it)
+     */
+    public CompletableFuture<List<Workflow>> submit(final Event event) {
+        receivedCount.increment();
+        if (closed) {
+            final var future = new CompletableFuture<List<Workflow>>();
+            propagate(event, future);
+            return future;
+        }
+
+        final var key = event.getKey();
+        while (true) {
+            final var slot = slots.computeIfAbsent(key, k -> new Slot());
+            final CompletableFuture<List<Workflow>> future;
+            final boolean leading;
+            synchronized (slot) {
+                // slot was removed in meanwhile by the timer - try with a new one
+                if (slot.removed) {
+                    continue;
+                }
+                leading = mode == CoalescingMode.THROTTLE && !slot.throttled;
+                if (leading) {
+                    slot.throttled = true;
+                    future = new CompletableFuture<>();
+                } else {
+                    future = merge(slot, event);
+                    if (mode == CoalescingMode.DEBOUNCE && slot.pendingTask == null) {
+                        // the window starts with the first pending event and is not re-started by further events
+                        slot.pendingTask = schedule(() -> onDebounceElapsed(key, slot));
+                    }
+                }
+            }
+
+            // the leading event of throttle is propagated immediately (outside of the slot lock)
+            if (leading) {
+                propagate(event, future);
+                synchronized (slot) {
+                    slot.pendingTask = schedule(() -> onThrottleElapsed(key, slot));
+                }
+            }
+
+            // shutdown in meanwhile: the slot may have been missed by flush of shutdown
+            if (closed) {
+                flush(key, slot);
+            }
+            return future;
+        }
+    }
+
+    /**
+     * Sets the event as pending event of slot, a previous pending event is merged
+     *
+     * @param slot  the slot for event key; lock must be held by caller
+     * @param event the event
+     * @return future of the pending event
+     */
+    private CompletableFuture<List<Workflow>> merge(final Slot slot, final Event event) {
+        if (slot.pendingEvent == null) {
+            slot.pendingFuture = new CompletableFuture<>();
+        } else {
+            mergedCount.increment();
+            log.trace("Event merged: {}", slot.pendingEvent);
+        }
+        slot.pendingEvent = event;
+        return slot.pendingFuture;
+    }
+
+    /**
+     * Called when the window of debounce elapsed. The latest event is propagated and
+     * the slot is released; the next event with same key starts a new window.
+     *
+     * @param key  the event key of slot
+     * @param slot the slot
+     */
+    private void onDebounceElapsed(final EventKey key, final Slot slot) {
+        final Event event;
+        final CompletableFuture<List<Workflow>> future;
+        synchronized (slot) {
+            if (slot.removed) {
+                return;
+            }
+            event = slot.pendingEvent;
+            future = slot.pendingFuture;
+            slot.removed = true;
+            slots.remove(key, slot);
+        }
+        propagate(event, future);
+    }
+
+    /**
+     * Called when the window of throttle elapsed. The latest merged event will be
+     * propagated and a new window is started, otherwise the slot is released.
+     *
+     * @param key  the event key of slot
+     * @param slot the slot
+     */
+    private void onThrottleElapsed(final EventKey key, final Slot slot) {
+        final Event event;
+        final CompletableFuture<List<Workflow>> future;
+        synchronized (slot) {
+            if (slot.removed) {
+                return;
+            }
+            if (slot.pendingEvent == null) {
+                slot.removed = true;
+                slots.remove(key, slot);
+                return;
+            }
+            event = slot.pendingEvent;
+            future = slot.pendingFuture;
+            slot.pendingEvent = null;
+            slot.pendingFuture = null;
+            slot.pendingTask = schedule(() -> onThrottleElapsed(key, slot));
+        }
+        propagate(event, future);
+    }
+
+    /**
+     * Schedules the task after the window
+     *
+     * @param task the task to be scheduled
+     * @return the scheduled task, or {@code null} if rejected because of shutdown
+     * (the pending events are flushed by {@link #shutdown()} then)
+     */
+    @Nullable
+    private ScheduledFuture<?> schedule(final Runnable task) {
+        try {
+            return timer.schedule(task, windowNanos, TimeUnit.NANOSECONDS);
+        } catch (final RejectedExecutionException e) {
+            log.debug("Window not scheduled because of shutdown: {}", this);
+            return null;
+        }
+    }
+
+    /**
+     * Removes the slot and propagates its pending event immediately
+     *
+     * @param key  the event key of slot
+     * @param slot the slot
+     */
+    private void flush(final EventKey key, final Slot slot) {
+        final Event event;
+        final CompletableFuture<List<Workflow>> future;
+        synchronized (slot) {
+            if (slot.removed) {
+                return;
+            }
+            slot.removed = true;
+            slots.remove(key, slot);
+            if (slot.pendingTask != null) {
+                slot.pendingTask.cancel(false);
+            }
+            event = slot.pendingEvent;
+            future = slot.pendingFuture;
+            slot.pendingEvent = null;
+            slot.pendingFuture = null;
+        }
+        if (event != null) {
+            propagate(event, future);
+        }
+    }
+
+    /**
+     * Shuts down the coalescing stage. The pending events are propagated immediately
+     * (flushed) and their windows are cancelled. Events submitted afterwards are
+     * passed to the downstream without coalescing.
+     */
+    public void shutdown() {
+        closed = true;
+        slots.forEach(this::flush);
+        log.debug("Inbound coalescer shutdown: {}", this);
+    }
+
+    /**
+     * Propagates the event to the downstream and completes the future afterwards
+     *
+     * @param event  the event to be propagated
+     * @param future the future to be completed
+     */
+    private void propagate(final Event event, final CompletableFuture<List<Workflow>> future) {
+        propagatedCount.increment();
+        try {
+            downstream.apply(event).whenComplete((workflows, throwable) -> {
+                if (throwable == null) {
+                    future.complete(workflows);
+                } else {
+                    future.completeExceptionally(throwable);
+                }
+            });
+        } catch (final Throwable t) {
+            future.completeExceptionally(t);
+        }
+    }
+
+    /**
+     * Returns the number of received events
+     *
+     * @return number of received events
+     */
+    public long getReceivedCount() {
+        return receivedCount.sum();
+    }
+
+    /**
+     * Returns the number of events that have been propagated
+     *
+     * @return number of propagated events
+     */
+    public long getPropagatedCount() {
+        return propagatedCount.sum();
+    }
+
+    /**
+     * Returns the number of events that have been dropped because they were merged
+     * (superseded by a newer event with same key within the window)
+     *
+     * @return number of merged events
+     */
+    public long getMergedCount() {
+        return mergedCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return Strings.toStringHelper(this) //
+                .add("mode", mode) //
+                .add("windowNanos", windowNanos) //
+                .add("receivedCount", getReceivedCount()) //
+                .add("propagatedCount", getPropagatedCount()) //
+                .add("mergedCount", getMergedCount()) //
+                .toString();
+    }
+
+    /**
+     * State per {@link EventKey}, guarded by its own monitor
+     */
+    private static final class Slot {
+        private Event pendingEvent;
+        private CompletableFuture<List<Workflow>> pendingFuture;
+        private ScheduledFuture<?> pendingTask;
+        private boolean throttled;
+        private boolean removed;
+    }
+}
@@ -0,0 +1,355 @@
+package li.pitschmann.knx.logic;
+
+import li.pitschmann.knx.core.utils.Preconditions;
+import li.pitschmann.knx.core.utils.Strings;
+import li.pitschmann.knx.logic.event.Event;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ingress of {@link Router} as {@link Flow.Subscriber} with demand-based flow control.
+ * <p>
+ * The subscriber requests as many events as its bounded queue can hold and requests
+ * a further event only when an event delivered by the publisher has been routed completely
+ * (or dropped/rejected). Therefore the number of queued and in-flight events of a compliant
+ * {@link Flow.Publisher} is bounded by the capacity. For sources that cannot apply
+ * backpressure (e.g. KNX telegram listener) events can be submitted via {@link #submit(Event)}
+ * and the {@link OverflowPolicy} decides what happens when the queue is full; these events
+ * don't replenish the demand of publisher.
+ * <p>
+ * The queue is drained by one thread at a time; a routing that completes synchronously
+ * continues the running drain (trampoline) instead of starting a nested drain.
+ * <p>
+ * The events are passed to {@link Router#inbound(Event)} with at most
+ * {@code maxInFlight} events in parallel.
+ *
+ * @author PITSCHR
+ */
+public final class InboundSubscriber implements Flow.Subscriber<Event> {
+    private static final Logger log = LoggerFactory.getLogger(InboundSubscriber.class);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final ArrayDeque<Entry> queue;
+    private final Router router;
+    private final int capacity;
+    private final int maxInFlight;
+    private final OverflowPolicy overflowPolicy;
+    private final LongAdder submittedCount = new LongAdder();
+    private final LongAdder routedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private volatile Flow.Subscription subscription;
+    private int inFlight;
+    private boolean draining;
+
+    /**
+     * Package-protected constructor, use {@link Router#newInboundSubscriber(int, OverflowPolicy)}
+     *
+     * @param router         the router to pass the events to; may not be null
+     * @param capacity       the capacity of queue; must be positive
+     * @param maxInFlight    the maximum number of events routed in parallel; must be positive
+     * @param overflowPolicy the policy when queue is full; may not be null
+     */
+    InboundSubscriber(final Router router,
+                      final int capacity,
+                      final int maxInFlight,
+                      final OverflowPolicy overflowPolicy) {
+        Preconditions.checkArgument(capacity > 0, "Capacity must be positive: {}", capacity);
+        Preconditions.checkArgument(maxInFlight > 0, "Max in-flight must be positive: {}", maxInFlight);
+        this.router = Objects.requireNonNull(router);
+        this.capacity = capacity;
+        this.maxInFlight = maxInFlight;
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy);
+        this.queue = new ArrayDeque<>(capacity);
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+        if (this.subscription != null) {
+            log.warn("Subscriber is already subscribed, cancel the new subscription: {}", subscription);
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        subscription.request(capacity);
+    }
+
+    @Override
+    public void onNext(final Event event) {
+        submit(event, true);
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        log.error("Error received from publisher", throwable);
+        subscription = null;
+    }
+
+    @Override
+    public void onComplete() {
+        log.debug("Publisher completed: {}", this);
+        subscription = null;
+    }
+
+    /**
+     * Submits the {@link Event} to the bounded queue. If the queue is full
+     * the {@link OverflowPolicy} applies.
+     *
+     * @param event the event to be routed; may not be null
+     * @return {@code true} if the event has been queued, {@code false} if it has been rejected
+     */
+    public boolean submit(final Event event) {
+        return submit(event, false);
+    }
+
+    /**
+     * Submits the {@link Event} to the bounded queue. If the queue is full
+     * the {@link OverflowPolicy} applies.
+     *
+     * @param event         the event to be routed; may not be null
+     * @param fromPublisher {@code true} if the event has been delivered by the publisher
+     * @return {@code true} if the event has been queued, {@code false} if it has been rejected
+     */
+    private boolean submit(final Event event, final boolean fromPublisher) {
+        Objects.requireNonNull(event);
+        var replenish = 0;
+        var rejected = false;
+        lock.lock();
+        try {
+            while (queue.size() >= capacity) {
+                if (overflowPolicy == OverflowPolicy.REJECT) {
+                    rejectedCount.increment();
+                    log.debug("Queue is full, event rejected: {}", event);
+                    rejected = true;
+                    break;
+                } else if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+                    if (dropOldest(event)) {
+                        replenish++;
+                    }
+                } else {
+                    notFull.awaitUninterruptibly();
+                }
+            }
+            if (!rejected) {
+                queue.add(new Entry(event, fromPublisher));
+                submittedCount.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (rejected) {
+            request(fromPublisher ? 1 : 0);
+            return false;
+        }
+        request(replenish);
+        drain();
+        return true;
+    }
+
+    /**
+     * Drops the oldest queued event with same key as given {@code event},
+     * otherwise the oldest queued event. Lock must be held by caller.
+     *
+     * @param event the new event
+     * @return {@code true} if the dropped event has been delivered by the publisher
+     */
+    private boolean dropOldest(final Event event) {
+        final var iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            final var entry = iterator.next();
+            if (entry.event.getKey().equals(event.getKey())) {
+                iterator.remove();
+                droppedCount.increment();
+                log.debug("Queue is full, event dropped: {}", entry.event);
+                return entry.fromPublisher;
+            }
+        }
+        final var entry = queue.poll();
+        droppedCount.increment();
+        log.debug("Queue is full, event dropped: {}", entry.event);
+        return entry.fromPublisher;
+    }
+
+    /**
+     * Passes the queued events to the router as long the maximum number of
+     * in-flight events has not been reached.
+     * <p>
+     * Only one thread drains at a time. If an event is routed synchronously, the
+     * nested {@link #onRouted(Entry, Throwable)} call returns immediately and the
+     * running drain loop picks up the freed in-flight slot instead of recursing.
+     */
+    private void drain() {
+        lock.lock();
+        try {
+            if (draining) {
+                return;
+            }
+            draining = true;
+        } finally {
+            lock.unlock();
+        }
+
+        final var entries = new ArrayList<Entry>();
+        var completed = false;
+        try {
+            while (true) {
+                lock.lock();
+                try {
+                    while (inFlight < maxInFlight && !queue.isEmpty()) {
+                        entries.add(queue.poll());
+                        inFlight++;
+                    }
+                    if (entries.isEmpty()) {
+                        draining = false;
+                        completed = true;
+                        return;
+                    }
+                    notFull.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+
+                for (final var entry : entries) {
+                    try {
+                        router.inbound(entry.event).whenComplete((workflows, throwable) -> onRouted(entry, throwable));
+                    } catch (final Throwable t) {
+                        onRouted(entry, t);
+                    }
+                }
+                entries.clear();
+            }
+        } finally {
+            if (!completed) {
+                lock.lock();
+                try {
+                    draining = false;
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Called when the event has been routed. If the event has been delivered
+     * by the publisher, the next event is requested from the publisher.
+     *
+     * @param entry     the routed entry
+     * @param throwable the exception if routing failed, otherwise {@code null}
+     */
+    private void onRouted(final Entry entry, final Throwable throwable) {
+        if (throwable != null) {
+            log.error("Routing failed for event: {}", entry.event, throwable);
+        }
+        routedCount.increment();
+        lock.lock();
+        try {
+            inFlight--;
+        } finally {
+            lock.unlock();
+        }
+
+        if (entry.fromPublisher) {
+            request(1);
+        }
+        drain();
+    }
+
+    /**
+     * Requests further events from the publisher (if subscribed)
+     *
+     * @param n number of events to be requested; no-op if zero
+     */
+    private void request(final int n) {
+        final var currentSubscription = subscription;
+        if (n > 0 && currentSubscription != null) {
+            currentSubscription.request(n);
+        }
+    }
+
+    /**
+     * Returns the current number of queued events
+     *
+     * @return number of queued events
+     */
+    public int getQueueSize() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of events that have been queued
+     *
+     * @return number of queued events in total
+     */
+    public long getSubmittedCount() {
+        return submittedCount.sum();
+    }
+
+    /**
+     * Returns the number of events that have been routed (successfully or not)
+     *
+     * @return number of routed events
+     */
+    public long getRoutedCount() {
+        return routedCount.sum();
+    }
+
+    /**
+     * Returns the number of events that have been dropped by {@link OverflowPolicy#DROP_OLDEST}
+     *
+     * @return number of dropped events
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * Returns the number of events that have been rejected by {@link OverflowPolicy#REJECT}
+     *
+     * @return number of rejected events
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return Strings.toStringHelper(this) //
+                .add("capacity", capacity) //
+                .add("maxInFlight", maxInFlight) //
+                .add("overflowPolicy", overflowPolicy) //
+                .add("queueSize", getQueueSize()) //
+                .add("submittedCount", getSubmittedCount()) //
+                .add("routedCount", getRoutedCount()) //
+                .add("droppedCount", getDroppedCount()) //
+                .add("rejectedCount", getRejectedCount()) //
+                .toString();
+    }
+
+    /**
+     * Queued event with the information if it has been delivered by the publisher
+     */
+    private static final class Entry {
+        private final Event event;
+        private final boolean fromPublisher;
+
+        private Entry(final Event event, final boolean fromPublisher) {
+            this.event = event;
+            this.fromPublisher = fromPublisher;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package li.pitschmann.knx.logic;
+
+import li.pitschmann.knx.core.utils.Maps;
+import li.pitschmann.knx.logic.components.InboxComponent;
+import li.pitschmann.knx.logic.event.EventKey;
+import li.pitschmann.knx.logic.event.KnxEventChannel;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of {@link InboxComponent}s by the {@link EventKey} they are subscribed to.
+ * <p>
+ * Besides the exact match of {@link EventKey} the identifier of an inbox component
+ * may subscribe several identifiers of same channel:
+ * <ul>
+ *     <li>For KNX channel a wildcard or range of group addresses, e.g. {@code 1/2/*}
+ *     or {@code 1/2/10-20} (see {@link GroupAddressIndex})</li>
+ *     <li>For other channels (e.g. variables) a prefix, e.g. {@code kitchen.*}
+ *     (see {@link PrefixIndex})</li>
+ * </ul>
+ * The subscriptions of KNX group addresses are compiled lazily into a
+ * {@link KnxDispatchTable} which resolves the inbox components of a group address
+ * by a single array access. For other channels the exact subscriptions are looked
+ * up by a hash map and the look up of prefix subscriptions does not depend on the
+ * number of subscriptions.
+ * <p>
+ * The registration and the compilation of {@link KnxDispatchTable} are synchronized,
+ * the look up itself is not locked. Like the {@link KnxDispatchTable} the exact and
+ * prefix subscriptions are looked up in an immutable snapshot that is published
+ * lazily after the subscriptions have been altered (see {@link Subscriptions}).
+ *
+ * @author PITSCHR
+ */
+final class InboxIndex {
+    private final Map<EventKey, Set<InboxComponent>> exactMap = Maps.newHashMap(100);
+    private final GroupAddressIndex groupAddressIndex = new GroupAddressIndex();
+    private final Map<String, PrefixIndex> prefixIndexes = Maps.newHashMap(2);
+    /**
+     * The latest compiled dispatch table; {@code null} when the KNX subscriptions
+     * have been altered and the table has to be re-compiled on next access
+     */
+    private volatile KnxDispatchTable knxDispatchTable = KnxDispatchTable.EMPTY;
+    /**
+     * The latest snapshot of exact and prefix subscriptions; {@code null} when the
+     * subscriptions have been altered and the snapshot has to be re-created on next access
+     */
+    private volatile Subscriptions subscriptions = Subscriptions.EMPTY;
+
+    /**
+     * Registers the {@link InboxComponent} for its {@link EventKey}
+     *
+     * @param inboxComponent inbox component to be registered
+     * @throws IllegalArgumentException if the identifier of event key is an unsupported pattern
+     */
+    synchronized void register(final InboxComponent inboxComponent) {
+        final var eventKey = inboxComponent.getEventKey();
+        final var identifier = eventKey.getIdentifier();
+        if (isKnx(eventKey) && GroupAddressIndex.accepts(identifier)) {
+            groupAddressIndex.add(identifier, inboxComponent);
+            knxDispatchTable = null;
+        } else if (PrefixIndex.isPattern(identifier)) {
+            prefixIndexes.computeIfAbsent(eventKey.getChannel(), c -> new PrefixIndex()).add(identifier, inboxComponent);
+            subscriptions = null;
+        } else {
+            exactMap.computeIfAbsent(eventKey, k -> new HashSet<>()).add(inboxComponent);
+            subscriptions = null;
+        }
+    }
+
+    /**
+     * De-registers the {@link InboxComponent}
+     *
+     * @param inboxComponent inbox component to be de-registered
+     */
+    synchronized void deregister(final InboxComponent inboxComponent) {
+        final var eventKey = inboxComponent.getEventKey();
+        final var identifier = eventKey.getIdentifier();
+        if (isKnx(eventKey) && GroupAddressIndex.accepts(identifier)) {
+            groupAddressIndex.remove(identifier, inboxComponent);
+            knxDispatchTable = null;
+        } else if (PrefixIndex.isPattern(identifier)) {
+            final var prefixIndex = prefixIndexes.get(eventKey.getChannel());
+            if (prefixIndex != null) {
+                prefixIndex.remove(identifier, inboxComponent);
+                subscriptions = null;
+            }
+        } else {
+            final var inboxComponents = exactMap.get(eventKey);
+            if (inboxComponents != null) {
+                inboxComponents.remove(inboxComponent);
+                if (inboxComponents.isEmpty()) {
+                    exactMap.remove(eventKey);
+                }
+                subscriptions = null;
+            }
+        }
+    }
+
+    /**
+     * Returns a set of {@link InboxComponent}s that are subscribed to the {@link EventKey}
+     *
+     * @param eventKey the event key of event
+     * @return a set of inbox components, or empty set if no inbox component was registered for the key
+     */
+    Set<InboxComponent> find(final EventKey eventKey) {
+        if (isKnx(eventKey)) {
+            final var address = GroupAddressIndex.parseAddress(eventKey.getIdentifier());
+            if (address >= 0) {
+                final var inboxComponents = getKnxDispatchTable().get(address);
+                return inboxComponents == null ? Set.of() : inboxComponents;
+            }
+        }
+
+        final var snapshot = getSubscriptions();
+        final var exact = snapshot.exactMap.get(eventKey);
+        Set<InboxComponent> matched = null;
+        final var prefixIndex = snapshot.prefixIndexes.get(eventKey.getChannel());
+        if (prefixIndex != null && !prefixIndex.isEmpty()) {
+            matched = prefixIndex.collect(eventKey.getIdentifier(), null);
+        }
+
+        if (matched == null) {
+            return exact == null ? Set.of() : exact;
+        }
+        if (exact != null) {
+            matched.addAll(exact);
+        }
+        return matched;
+    }
+
+    /**
+     * Returns the latest compiled {@link KnxDispatchTable}. If the KNX subscriptions have
+     * been altered since last compilation, a new table will be compiled and published.
+     *
+     * @return the immutable dispatch table; not null
+     */
+    KnxDispatchTable getKnxDispatchTable() {
+        final var table = knxDispatchTable;
+        if (table != null) {
+            return table;
+        }
+
+        synchronized (this) {
+            var newTable = knxDispatchTable;
+            if (newTable == null) {
+                newTable = groupAddressIndex.compile();
+                knxDispatchTable = newTable;
+            }
+            return newTable;
+        }
+    }
+
+    /**
+     * Returns the latest snapshot of exact and prefix subscriptions. If the subscriptions
+     * have been altered since last snapshot, a new snapshot will be created and published.
+     *
+     * @return the immutable snapshot; not null
+     */
+    private Subscriptions getSubscriptions() {
+        final var snapshot = subscriptions;
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        synchronized (this) {
+            var newSnapshot = subscriptions;
+            if (newSnapshot == null) {
+                newSnapshot = new Subscriptions(exactMap, prefixIndexes);
+                subscriptions = newSnapshot;
+            }
+            return newSnapshot;
+        }
+    }
+
+    private static boolean isKnx(final EventKey eventKey) {
+        return KnxEventChannel.CHANNEL_ID.equals(eventKey.getChannel());
+    }
+
+    /**
+     * Immutable snapshot of exact and prefix subscriptions
+     */
+    private static final class Subscriptions {
+        private static final Subscriptions EMPTY = new Subscriptions(Map.of(), Map.of());
+        private final Map<EventKey, Set<InboxComponent>> exactMap;
+        private final Map<String, PrefixIndex> prefixIndexes;
+
+        /**
+         * Creates an immutable snapshot of the given subscriptions
+         *
+         * @param exactMap      the inbox components per event key of exact subscriptions
+         * @param prefixIndexes the prefix subscriptions per channel
+         */
+        private Subscriptions(final Map<EventKey, Set<InboxComponent>> exactMap,
+                              final Map<String, PrefixIndex> prefixIndexes) {
+            final var exactCopy = Maps.<EventKey, Set<InboxComponent>>newHashMap(exactMap.size());
+            exactMap.forEach((eventKey, inboxComponents) -> exactCopy.put(eventKey, Set.copyOf(inboxComponents)));
+            this.exactMap = Collections.unmodifiableMap(exactCopy);
+
+            final var prefixCopy = Maps.<String, PrefixIndex>newHashMap(prefixIndexes.size());
+            prefixIndexes.forEach((channel, prefixIndex) -> prefixCopy.put(channel, prefixIndex.snapshot()));
+            this.prefixIndexes = Collections.unmodifiableMap(prefixCopy);
+        }
+    }
+}
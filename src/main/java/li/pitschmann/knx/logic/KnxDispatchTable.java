@@ -0,0 +1,72 @@
+package li.pitschmann.knx.logic;
+
+import li.pitschmann.knx.core.annotations.Nullable;
+import li.pitschmann.knx.logic.components.InboxComponent;
+import li.pitschmann.knx.logic.event.EventKey;
+import li.pitschmann.knx.logic.event.KnxEventChannel;
+
+import java.util.Set;
+
+/**
+ * Immutable and compiled snapshot of KNX subscriptions with one slot per
+ * 16-bit group address (free-level notation, {@code 0 .. 65535}).
+ * <p>
+ * The look up of inbox components for a group address is a single array
+ * access without any allocation; a group address without subscriber has
+ * an empty slot, so the telegram can be dropped before an event is created.
+ * <p>
+ * This class is package-protected and should be used by {@link InboxIndex} only.
+ *
+ * @author PITSCHR
+ */
+final class KnxDispatchTable {
+    /**
+     * Dispatch table without any subscription
+     */
+    @SuppressWarnings("unchecked")
+    static final KnxDispatchTable EMPTY = new KnxDispatchTable(new Set[GroupAddressIndex.MAX_ADDRESS + 1]);
+
+    private final Set<InboxComponent>[] slots;
+    /**
+     * Event keys of subscribed group addresses; created on first use.
+     * The race of concurrent creation is benign because {@link EventKey} is immutable.
+     */
+    private final EventKey[] eventKeys;
+
+    /**
+     * Creates the dispatch table
+     *
+     * @param slots immutable set of inbox components per group address; {@code null} if not subscribed
+     */
+    KnxDispatchTable(final Set<InboxComponent>[] slots) {
+        this.slots = slots;
+        this.eventKeys = new EventKey[slots.length];
+    }
+
+    /**
+     * Returns the {@link InboxComponent}s subscribed to the group address
+     *
+     * @param address the group address in free-level notation
+     * @return an immutable set of inbox components, or {@code null} if not subscribed
+     * @throws ArrayIndexOutOfBoundsException if the address is out of range
+     */
+    @Nullable
+    Set<InboxComponent> get(final int address) {
+        return slots[address];
+    }
+
+    /**
+     * Returns the {@link EventKey} for the group address
+     *
+     * @param address the group address in free-level notation
+     * @return the event key of KNX channel
+     */
+    EventKey eventKey(final int address) {
+        var eventKey = eventKeys[address];
+        if (eventKey == null) {
+            eventKey = new EventKey(KnxEventChannel.CHANNEL_ID, String.valueOf(address));
+            eventKeys[address] = eventKey;
+        }
+        return eventKey;
+    }
+}
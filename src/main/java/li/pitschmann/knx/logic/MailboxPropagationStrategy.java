@@ -0,0 +1,457 @@
+package li.pitschmann.knx.logic;
+
+import li.pitschmann.knx.core.annotations.Nullable;
+import li.pitschmann.knx.logic.components.Component;
+import li.pitschmann.knx.logic.components.ExecutableComponent;
+import li.pitschmann.knx.logic.components.InboxComponent;
+import li.pitschmann.knx.logic.components.LogicComponent;
+import li.pitschmann.knx.logic.components.OutboxComponent;
+import li.pitschmann.knx.logic.pin.Pin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mailbox {@link PropagationStrategy} (see {@link PropagationMode#MAILBOX})
+ * <p>
+ * Each component owns a {@link Mailbox} which is drained by one worker at a time.
+ * All deliveries that are pending in the mailbox are applied to the input pins
+ * first and then the component is executed only once. As only the worker of
+ * mailbox writes the pins of a component, the component is executed without
+ * locking (see {@link ExecutableComponent#executeExclusive()}).
+ * <p>
+ * When deliveries of several events are merged into one execution, the
+ * propagation is continued with the workflow of the last delivery only. The
+ * workflows of the other deliveries end at the component.
+ * <p>
+ * If the executor rejects a mailbox (e.g. during shutdown), the pending
+ * deliveries of mailbox are dropped and their propagations are completed
+ * exceptionally with the {@link RejectedExecutionException}.
+ *
+ * @author PITSCHR
+ */
+final class MailboxPropagationStrategy extends AbstractPropagationStrategy {
+    private static final Logger log = LoggerFactory.getLogger(MailboxPropagationStrategy.class);
+    private final Map<Component, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final Executor executor;
+
+    /**
+     * Creates a mailbox propagation strategy
+     *
+     * @param executor the executor for draining the mailboxes; may not be null
+     */
+    MailboxPropagationStrategy(final Executor executor) {
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    @Override
+    public List<Workflow> propagate(final RouterContext context, final RoutingTable table) {
+        return submit(context, table, executor).join();
+    }
+
+    @Override
+    public CompletableFuture<List<Workflow>> submit(final RouterContext context,
+                                                    final RoutingTable table,
+                                                    final Executor unused) {
+        final var propagation = new Propagation(context, table);
+        // guard that the propagation is not completed before all inbox components are posted
+        propagation.pending.incrementAndGet();
+        for (final var inboxComponent : context.getInboxComponents()) {
+            post(inboxComponent, new Delivery(null, context.getEvent().getData(), context.newWorkflow(), propagation));
+        }
+        propagation.done();
+        return propagation.future;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The deliveries of all events are posted first, so deliveries for the same
+     * component pending in its mailbox are merged into one execution.
+     */
+    @Override
+    public List<List<Workflow>> propagateAll(final List<RouterContext> contexts, final RoutingTable table) {
+        return submitAll(contexts, table, executor).join();
+    }
+
+    @Override
+    public CompletableFuture<List<List<Workflow>>> submitAll(final List<RouterContext> contexts,
+                                                             final RoutingTable table,
+                                                             final Executor unused) {
+        final var futures = new ArrayList<CompletableFuture<List<Workflow>>>(contexts.size());
+        for (final var context : contexts) {
+            futures.add(submit(context, table, unused));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(v -> {
+                    final var workflowLists = new ArrayList<List<Workflow>>(futures.size());
+                    futures.forEach(future -> workflowLists.add(future.join()));
+                    return workflowLists;
+                });
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The values of feedback links are posted to the mailboxes of the targeted components.
+     */
+    @Override
+    public CompletableFuture<List<Workflow>> submitFeedback(final RouterContext context,
+                                                            final RoutingTable table,
+                                                            final Executor unused) {
+        final var propagation = new Propagation(context, table);
+        // guard that the propagation is not completed before all feedback values are posted
+        propagation.pending.incrementAndGet();
+        try {
+            for (final var feedback : context.drainFeedback()) {
+                final var feedbackIndex = feedback.getFeedbackIndex();
+                forwardLink(propagation, null, table.feedbackLink(feedbackIndex), table.feedbackConverter(feedbackIndex),
+                        feedback.getValue(), feedback.getWorkflow());
+            }
+        } catch (final Throwable t) {
+            propagation.future.completeExceptionally(t);
+        }
+        propagation.done();
+        return propagation.future;
+    }
+
+    @Override
+    public void deregister(final Component component) {
+        mailboxes.remove(component);
+    }
+
+    /**
+     * Posts the delivery to the mailbox of component
+     *
+     * @param component the component that should receive the delivery
+     * @param delivery  the delivery to be posted
+     */
+    private void post(final Component component, final Delivery delivery) {
+        delivery.propagation.pending.incrementAndGet();
+        mailboxes.computeIfAbsent(component, Mailbox::new).post(delivery);
+    }
+
+    /**
+     * Forwards the value to all {@link Pin}s that are linked with the pin of {@code sourceId}
+     * by posting to the mailboxes of owning components
+     * <p>
+     * The value of source pin is read (and boxed) only if it is recorded by the workflow
+     * or not transferred pin-to-pin (see {@link #isPinToPin(RoutingTable, int, Workflow)}).
+     *
+     * @param propagation    the propagation of event
+     * @param sourceId       the id of {@link Pin} where the value comes from
+     * @param parentWorkflow the workflow until the component of {@link Pin}
+     */
+    private void forwardLinks(final Propagation propagation,
+                              final int sourceId,
+                              final Workflow parentWorkflow) {
+        final var table = propagation.table;
+        final var source = table.pin(sourceId);
+        final var pinToPin = isPinToPin(table, sourceId, parentWorkflow);
+        final var value = pinToPin ? null : source.getValue();
+        final var workflow = parentWorkflow.add(source, value);
+        final var linkEnd = table.linkEnd(sourceId);
+        var linkIndex = table.linkStart(sourceId);
+        final var feedback = collectFeedback(propagation.context, table, sourceId, value, workflow);
+        if (linkIndex == linkEnd) {
+            if (!feedback) {
+                log.debug("Dead End for '{}': {}", source, workflow);
+                addWorkflow(propagation.workflows, workflow);
+            }
+            return;
+        }
+
+        for (; linkIndex < linkEnd; linkIndex++) {
+            final var targetId = table.link(linkIndex);
+            if (log.isDebugEnabled()) {
+                log.debug("{} ==> {}", source.getUid(), table.pin(targetId).getUid());
+            }
+            forwardLink(propagation, pinToPin ? source : null, targetId, table.converter(linkIndex), value, workflow);
+        }
+    }
+
+    /**
+     * Forwards the value to the {@link Pin} of {@code targetId} by posting to
+     * the mailbox of owning component
+     *
+     * @param propagation the propagation of event
+     * @param source      the {@link Pin} to transfer the value pin-to-pin from
+     *                    (see {@link ValueConverter#read(Pin)}); if null the {@code value} is forwarded
+     * @param targetId    the id of {@link Pin} that should receive the value
+     * @param converter   the converter of link
+     * @param value       the value to be forwarded; may be null
+     * @param workflow    the workflow for pass-through
+     */
+    private void forwardLink(final Propagation propagation,
+                             final @Nullable Pin source,
+                             final int targetId,
+                             final ValueConverter converter,
+                             final @Nullable Object value,
+                             final Workflow workflow) {
+        final var table = propagation.table;
+        final var target = table.pin(targetId);
+        final var newWorkflow = workflow.add(target, value);
+        final var component = getComponent(table, targetId);
+        if (!(component instanceof OutboxComponent || component instanceof LogicComponent)) {
+            log.warn("Dead End for '{}': {}", target.getUid(), newWorkflow);
+            throw unsupportedComponent(component);
+        }
+
+        // convert the value if necessary; a pin-to-pin value is delivered as primitive
+        if (source != null) {
+            post(component, new Delivery(target, converter, converter.read(source), newWorkflow, propagation));
+        } else {
+            post(component, new Delivery(target, converter.convert(value), newWorkflow, propagation));
+        }
+    }
+
+    /**
+     * Processes the deliveries of an {@link InboxComponent}. Each delivery is a different event.
+     *
+     * @param inboxComponent the inbox component
+     * @param deliveries     the deliveries to be processed
+     */
+    private void processInbox(final InboxComponent inboxComponent, final List<Delivery> deliveries) {
+        for (final var delivery : deliveries) {
+            final var propagation = delivery.propagation;
+            try {
+                onInboxComponent(propagation.context, inboxComponent);
+                for (final var output : inboxComponent.getOutputPins()) {
+                    final var outputId = propagation.table.pinId(output);
+                    if (outputId < 0) {
+                        final var newWorkflow = propagation.context.newWorkflow().add(output, output.getValue());
+                        log.debug("Dead End for '{}': {}", output, newWorkflow);
+                        addWorkflow(propagation.workflows, newWorkflow);
+                    } else {
+                        forwardLinks(propagation, outputId, propagation.context.newWorkflow());
+                    }
+                }
+            } catch (final Throwable t) {
+                propagation.future.completeExceptionally(t);
+            }
+            propagation.done();
+        }
+    }
+
+    /**
+     * Processes the deliveries of a logic or outbox component. All deliveries are
+     * applied to the input pins and then the component is executed once.
+     *
+     * @param component  the component
+     * @param deliveries the deliveries to be processed
+     */
+    private void processComponent(final Component component, final List<Delivery> deliveries) {
+        final var last = deliveries.get(deliveries.size() - 1);
+        try {
+            for (final var delivery : deliveries) {
+                delivery.apply();
+            }
+            if (component instanceof ExecutableComponent) {
+                ((ExecutableComponent) component).executeExclusive();
+            }
+
+            // the workflows of merged deliveries are ended here
+            for (var i = 0; i < deliveries.size() - 1; i++) {
+                final var merged = deliveries.get(i);
+                addWorkflow(merged.propagation.workflows, merged.workflow);
+            }
+
+            // The workflow ends here when it is an output component
+            if (component instanceof OutboxComponent) {
+                log.debug("Outbox Component: {}, Workflow: {}", component, last.workflow);
+                forwardOutboxComponent(last.propagation.context, (OutboxComponent) component);
+                addWorkflow(last.propagation.workflows, last.workflow);
+            }
+            // Otherwise forward the values which are marked as refreshed
+            else {
+                final var table = last.propagation.table;
+                final var componentId = table.componentId(component);
+                if (componentId >= 0) {
+                    final var outputEnd = table.outputEnd(componentId);
+                    for (var i = table.outputStart(componentId); i < outputEnd; i++) {
+                        final var outputId = table.output(i);
+                        final var output = table.pin(outputId);
+                        if (output.isRefresh() || output.isAlwaysTrigger()) {
+                            forwardLinks(last.propagation, outputId, last.workflow);
+                        }
+                    }
+                }
+            }
+        } catch (final Throwable t) {
+            for (final var delivery : deliveries) {
+                delivery.propagation.future.completeExceptionally(t);
+            }
+        }
+        deliveries.forEach(delivery -> delivery.propagation.done());
+    }
+
+    /**
+     * Propagation of a single event
+     */
+    private static final class Propagation {
+        private final RouterContext context;
+        private final RoutingTable table;
+        private final CompletableFuture<List<Workflow>> future = new CompletableFuture<>();
+        private final ConcurrentLinkedQueue<Workflow> workflows = new ConcurrentLinkedQueue<>();
+        /**
+         * Number of deliveries that are not processed yet
+         */
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private Propagation(final RouterContext context, final RoutingTable table) {
+            this.context = context;
+            this.table = table;
+        }
+
+        /**
+         * Marks one delivery as processed. When all deliveries are processed the future is completed.
+         */
+        private void done() {
+            if (pending.decrementAndGet() == 0) {
+                future.complete(new ArrayList<>(workflows));
+            }
+        }
+    }
+
+    /**
+     * A value to be delivered to the component
+     */
+    private static final class Delivery {
+        /**
+         * Targeted pin; {@code null} for inbox components
+         */
+        private final Pin pin;
+        private final Object value;
+        /**
+         * Converter to write the primitive {@link #bits} pin-to-pin; {@code null} if {@link #value} is delivered
+         */
+        private final ValueConverter converter;
+        private final long bits;
+        private final Workflow workflow;
+        private final Propagation propagation;
+
+        private Delivery(final @Nullable Pin pin,
+                         final @Nullable Object value,
+                         final Workflow workflow,
+                         final Propagation propagation) {
+            this.pin = pin;
+            this.value = value;
+            this.converter = null;
+            this.bits = 0L;
+            this.workflow = workflow;
+            this.propagation = propagation;
+        }
+
+        private Delivery(final Pin pin,
+                         final ValueConverter converter,
+                         final long bits,
+                         final Workflow workflow,
+                         final Propagation propagation) {
+            this.pin = pin;
+            this.value = null;
+            this.converter = converter;
+            this.bits = bits;
+            this.workflow = workflow;
+            this.propagation = propagation;
+        }
+
+        /**
+         * Applies the delivered value to the targeted pin
+         */
+        private void apply() {
+            if (converter == null) {
+                pin.setValue(value);
+            } else {
+                converter.write(bits, pin);
+            }
+        }
+    }
+
+    /**
+     * Mailbox of a component that is drained by one worker at a time
+     */
+    private final class Mailbox implements Runnable {
+        private final Component component;
+        private final ConcurrentLinkedQueue<Delivery> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Mailbox(final Component component) {
+            this.component = component;
+        }
+
+        /**
+         * Posts the delivery and schedules the mailbox if not scheduled yet
+         *
+         * @param delivery the delivery to be posted
+         */
+        private void post(final Delivery delivery) {
+            queue.add(delivery);
+            if (scheduled.compareAndSet(false, true)) {
+                schedule();
+            }
+        }
+
+        /**
+         * Submits the mailbox to the executor; the mailbox must be flagged as scheduled
+         */
+        private void schedule() {
+            try {
+                executor.execute(this);
+            } catch (final RejectedExecutionException e) {
+                log.warn("Mailbox rejected, pending deliveries are dropped: {}", component);
+                reject(e);
+            }
+        }
+
+        /**
+         * Drops the pending deliveries and completes their propagations exceptionally.
+         * The scheduled flag is reset, deliveries posted in meanwhile are dropped as well.
+         *
+         * @param cause the cause of rejection
+         */
+        private void reject(final RejectedExecutionException cause) {
+            do {
+                Delivery delivery;
+                while ((delivery = queue.poll()) != null) {
+                    delivery.propagation.future.completeExceptionally(cause);
+                    delivery.propagation.done();
+                }
+                scheduled.set(false);
+            } while (!queue.isEmpty() && scheduled.compareAndSet(false, true));
+        }
+
+        @Override
+        public void run() {
+            final var deliveries = new ArrayList<Delivery>();
+            Delivery delivery;
+            while ((delivery = queue.poll()) != null) {
+                deliveries.add(delivery);
+            }
+
+            if (!deliveries.isEmpty()) {
+                if (component instanceof InboxComponent) {
+                    processInbox((InboxComponent) component, deliveries);
+                } else {
+                    processComponent(component, deliveries);
+                }
+            }
+
+            // re-schedule when new deliveries arrived in meanwhile
+            scheduled.set(false);
+            if (!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+                schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,419 @@
+package li.pitschmann.knx.logic;
+
+import li.pitschmann.knx.core.utils.Strings;
+import li.pitschmann.knx.logic.event.Event;
+import li.pitschmann.knx.logic.event.EventChannel;
+import li.pitschmann.knx.logic.event.EventKey;
+import li.pitschmann.knx.logic.event.EventPriority;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Dispatcher for outbound {@link Event}s with a queue per {@link EventChannel}.
+ * <p>
+ * Each queue is drained by a single task on the outbound executor, therefore the
+ * events of a channel are sent one after another. Pending events with same
+ * {@link EventKey} (e.g. same KNX group address) are collapsed: the last value
+ * wins and keeps the position of the first pending event. If a {@link RateLimit}
+ * is configured for the channel, the events are sent not faster than the rate.
+ * <p>
+ * Pending events with higher {@link EventPriority} are sent first. A collapsed
+ * event is sent with the highest priority of its pending events.
+ * <p>
+ * On {@link #shutdown()} the rate limit is no longer applied and a running drain
+ * does not yield the thread anymore, so the final values are sent as fast as possible
+ * and before the outbound executor is shut down. Events submitted by routings that
+ * complete after the outbound executor has been shut down are sent in the thread of
+ * the routing; the submission never fails.
+ *
+ * @author PITSCHR
+ */
+public final class OutboundDispatcher {
+    private static final Logger log = LoggerFactory.getLogger(OutboundDispatcher.class);
+    /**
+     * Maximum number of events sent by a drain task before it yields the thread to other channels
+     */
+    private static final int MAX_EVENTS_PER_DRAIN = 64;
+    private final Map<String, ChannelQueue> queues = new ConcurrentHashMap<>();
+    private final Executor executor;
+    private final Map<String, RateLimit> rateLimits;
+    private final Consumer<Event> dispatchedListener;
+    private final ScheduledExecutorService timer;
+    private final LongAdder submittedCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+    private final LongAdder dispatchedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder throttledCount = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    private volatile boolean closed;
+
+    /**
+     * Package-protected constructor
+     *
+     * @param executor           the executor to send the events to the event channels
+     * @param timer              the timer to continue a drain after waiting for a token (owned by the scheduler)
+     * @param rateLimits         the rate limits per channel id; channels without rate limit are not limited
+     * @param dispatchedListener the listener that is called after an event has been sent successfully
+     */
+    OutboundDispatcher(final Executor executor,
+                       final ScheduledExecutorService timer,
+                       final Map<String, RateLimit> rateLimits,
+                       final Consumer<Event> dispatchedListener) {
+        this.executor = Objects.requireNonNull(executor);
+        this.timer = Objects.requireNonNull(timer);
+        this.rateLimits = Map.copyOf(rateLimits);
+        this.dispatchedListener = Objects.requireNonNull(dispatchedListener);
+    }
+
+    /**
+     * Submits the {@link Event} to the queue of {@link EventChannel}
+     *
+     * @param eventChannel the event channel that sends the event; may not be null
+     * @param event        the event to be sent; may not be null
+     */
+    public void submit(final EventChannel eventChannel, final Event event) {
+        submittedCount.increment();
+        queues.computeIfAbsent(eventChannel.getChannel(), c -> new ChannelQueue(eventChannel, rateLimits.get(c)))
+                .offer(event);
+    }
+
+    /**
+     * Shuts down the dispatcher. The pending events are sent immediately
+     * without rate limit; the drains waiting for a token are re-submitted
+     * to the executor, therefore the executor must still accept tasks.
+     */
+    void shutdown() {
+        closed = true;
+        // re-submit the drains waiting for a token, so they are not waiting anymore
+        queues.values().forEach(ChannelQueue::wakeUp);
+        log.debug("Outbound dispatcher shutdown: {}", this);
+    }
+
+    /**
+     * Returns the total number of events waiting in the queues
+     *
+     * @return number of pending events
+     */
+    public int getQueueSize() {
+        var size = 0;
+        for (final var queue : queues.values()) {
+            size += queue.size();
+        }
+        return size;
+    }
+
+    /**
+     * Returns the number of events waiting in the queue of given channel
+     *
+     * @param channel the channel id (e.g. 'knx')
+     * @return number of pending events for the channel
+     */
+    public int getQueueSize(final String channel) {
+        final var queue = queues.get(channel);
+        return queue == null ? 0 : queue.size();
+    }
+
+    /**
+     * Returns the number of events that have been submitted
+     *
+     * @return number of submitted events
+     */
+    public long getSubmittedCount() {
+        return submittedCount.sum();
+    }
+
+    /**
+     * Returns the number of events that have been superseded by a newer
+     * event with same {@link EventKey} before they were sent
+     *
+     * @return number of coalesced events
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    /**
+     * Returns the number of events that have been sent successfully
+     *
+     * @return number of dispatched events
+     */
+    public long getDispatchedCount() {
+        return dispatchedCount.sum();
+    }
+
+    /**
+     * Returns the number of events that could not be sent due an error of {@link EventChannel}
+     *
+     * @return number of failed events
+     */
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    /**
+     * Returns how often the sending has been delayed due the {@link RateLimit}
+     *
+     * @return number of delays
+     */
+    public long getThrottledCount() {
+        return throttledCount.sum();
+    }
+
+    /**
+     * Returns the average latency between submission of the first pending event
+     * for an {@link EventKey} and sending of the (collapsed) event
+     *
+     * @return average latency
+     */
+    public Duration getAverageLatency() {
+        final var sent = dispatchedCount.sum() + failedCount.sum();
+        return sent == 0 ? Duration.ZERO : Duration.ofNanos(totalLatencyNanos.sum() / sent);
+    }
+
+    /**
+     * Returns the maximum latency between submission of the first pending event
+     * for an {@link EventKey} and sending of the (collapsed) event
+     *
+     * @return maximum latency
+     */
+    public Duration getMaxLatency() {
+        return Duration.ofNanos(maxLatencyNanos.get());
+    }
+
+    @Override
+    public String toString() {
+        return Strings.toStringHelper(this) //
+                .add("closed", closed) //
+                .add("queueSize", getQueueSize()) //
+                .add("submittedCount", submittedCount.sum()) //
+                .add("coalescedCount", coalescedCount.sum()) //
+                .add("dispatchedCount", dispatchedCount.sum()) //
+                .add("failedCount", failedCount.sum()) //
+                .add("throttledCount", throttledCount.sum()) //
+                .add("averageLatency", getAverageLatency()) //
+                .add("maxLatency", getMaxLatency()) //
+                .add("rateLimits", rateLimits) //
+                .toString();
+    }
+
+    /**
+     * Pending event for an {@link EventKey}
+     */
+    private static final class Pending {
+        private final long submittedNanos;
+        private Event event;
+
+        private Pending(final Event event) {
+            this.submittedNanos = System.nanoTime();
+            this.event = event;
+        }
+    }
+
+    /**
+     * Queue of an {@link EventChannel} with pending events per {@link EventKey} in
+     * order of first submission, one per {@link EventPriority}. The {@code scheduled}
+     * flag guarantees that there is at most one drain task per queue.
+     */
+    private final class ChannelQueue {
+        private final EventChannel eventChannel;
+        private final TokenBucket tokenBucket;
+        private final EnumMap<EventPriority, LinkedHashMap<EventKey, Pending>> pending = new EnumMap<>(EventPriority.class);
+        private boolean scheduled;
+        private ScheduledFuture<?> waitingDrain;
+
+        private ChannelQueue(final EventChannel eventChannel, final RateLimit rateLimit) {
+            this.eventChannel = eventChannel;
+            this.tokenBucket = rateLimit == null ? null : new TokenBucket(rateLimit);
+            for (final var priority : EventPriority.values()) {
+                pending.put(priority, new LinkedHashMap<>());
+            }
+        }
+
+        private synchronized int size() {
+            var size = 0;
+            for (final var events : pending.values()) {
+                size += events.size();
+            }
+            return size;
+        }
+
+        private void offer(final Event event) {
+            synchronized (this) {
+                final var key = event.getKey();
+                Pending existing = null;
+                for (final var entry : pending.entrySet()) {
+                    existing = entry.getValue().get(key);
+                    if (existing != null) {
+                        // a pending event is moved up to the higher priority, but never down
+                        if (event.getPriority().compareTo(entry.getKey()) < 0) {
+                            entry.getValue().remove(key);
+                            pending.get(event.getPriority()).put(key, existing);
+                        }
+                        break;
+                    }
+                }
+                if (existing == null) {
+                    pending.get(event.getPriority()).put(key, new Pending(event));
+                } else {
+                    coalescedCount.increment();
+                    log.trace("Outbound event superseded: {}", existing.event);
+                    existing.event = event;
+                }
+                if (scheduled) {
+                    return;
+                }
+                scheduled = true;
+            }
+            try {
+                executor.execute(this::drain);
+            } catch (final RejectedExecutionException e) {
+                if (closed) {
+                    // a routing completed after the executor has been shut down: send in current thread
+                    drain();
+                    return;
+                }
+                synchronized (this) {
+                    scheduled = false;
+                    log.warn("Outbound executor rejected, {} pending events for channel '{}' are not sent yet",
+                            size(), eventChannel.getChannel());
+                }
+            }
+        }
+
+        /**
+         * Sends the pending events; when no token is available the drain
+         * is continued after the waiting time. After shutdown the drain
+         * continues until the queue is empty.
+         */
+        private void drain() {
+            for (var i = 0; i < MAX_EVENTS_PER_DRAIN || closed; i++) {
+                synchronized (this) {
+                    if (size() == 0) {
+                        scheduled = false;
+                        return;
+                    }
+                }
+
+                if (tokenBucket != null && !closed) {
+                    final var waitNanos = tokenBucket.tryAcquire();
+                    if (waitNanos > 0) {
+                        throttledCount.increment();
+                        scheduleDrain(waitNanos);
+                        return;
+                    }
+                }
+
+                final Pending next;
+                synchronized (this) {
+                    next = poll();
+                }
+                send(next);
+            }
+
+            // yield the thread to other channels
+            scheduleDrain(0);
+        }
+
+        /**
+         * Removes the first pending event of the highest priority; must be called
+         * within the lock of queue and only if there are pending events
+         *
+         * @return the next pending event
+         */
+        private Pending poll() {
+            for (final var events : pending.values()) {
+                final var iterator = events.values().iterator();
+                if (iterator.hasNext()) {
+                    final var next = iterator.next();
+                    iterator.remove();
+                    return next;
+                }
+            }
+            throw new IllegalStateException("No pending events");
+        }
+
+        private void scheduleDrain(final long delayNanos) {
+            try {
+                if (delayNanos > 0 && !closed) {
+                    synchronized (this) {
+                        waitingDrain = timer.schedule(this::resubmitDrain, delayNanos, TimeUnit.NANOSECONDS);
+                    }
+                    if (closed) {
+                        // shut down in meanwhile: delayed tasks are discarded by the timer
+                        wakeUp();
+                    }
+                } else {
+                    executor.execute(this::drain);
+                }
+            } catch (final RejectedExecutionException e) {
+                // the timer has been shut down in meanwhile
+                resubmitDrain();
+            }
+        }
+
+        /**
+         * Cancels the drain that is waiting for a token and re-submits it immediately
+         */
+        private void wakeUp() {
+            final ScheduledFuture<?> future;
+            synchronized (this) {
+                future = waitingDrain;
+                waitingDrain = null;
+            }
+            if (future != null && future.cancel(false)) {
+                resubmitDrain();
+            }
+        }
+
+        private void resubmitDrain() {
+            synchronized (this) {
+                waitingDrain = null;
+            }
+            try {
+                executor.execute(this::drain);
+            } catch (final RejectedExecutionException e) {
+                if (closed) {
+                    // the executor has been shut down in meanwhile: send the final values in current thread
+                    drain();
+                    return;
+                }
+                synchronized (this) {
+                    scheduled = false;
+                    log.warn("Outbound executor rejected, {} pending events for channel '{}' are not sent",
+                            size(), eventChannel.getChannel());
+                }
+            }
+        }
+
+        private void send(final Pending next) {
+            try {
+                eventChannel.outbound(next.event);
+                dispatchedCount.increment();
+                dispatchedListener.accept(next.event);
+            } catch (final RuntimeException e) {
+                failedCount.increment();
+                log.warn("Could not send outbound event: {}", next.event, e);
+            } finally {
+                final var latency = System.nanoTime() - next.submittedNanos;
+                totalLatencyNanos.add(latency);
+                maxLatencyNanos.accumulateAndGet(latency, Math::max);
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package li.pitschmann.knx.logic;
+
+import li.pitschmann.knx.logic.event.Event;
+import li.pitschmann.knx.logic.event.EventKey;
+
+/**
+ * Policies what should happen when an {@link Event} arrives at the
+ * {@link InboundSubscriber} while its bounded queue is full.
+ *
+ * @author PITSCHR
+ */
+public enum OverflowPolicy {
+
+    /**
+     * <p>The oldest queued event with same {@link EventKey} is dropped in favour
+     * of the new event. If there is no queued event with same key, the oldest
+     * queued event is dropped.</p>
+     */
+    DROP_OLDEST,
+
+    /**
+     * <p>The caller is blocked until there is space in the queue.</p>
+     */
+    BLOCK,
+
+    /**
+     * <p>The new event is rejected.</p>
+     */
+    REJECT
+}
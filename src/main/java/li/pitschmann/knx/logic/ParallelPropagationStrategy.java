@@ -0,0 +1,380 @@
+package li.pitschmann.knx.logic;
+
+import li.pitschmann.knx.logic.components.ExecutableComponent;
+import li.pitschmann.knx.logic.components.LogicComponent;
+import li.pitschmann.knx.logic.components.OutboxComponent;
+import li.pitschmann.knx.logic.pin.Pin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Parallel {@link PropagationStrategy} (see {@link PropagationMode#PARALLEL})
+ * <p>
+ * Before the propagation all components reachable from the event are collected
+ * and each component gets a counter of its upstream links. A component is
+ * executed as a {@link ForkJoinPool} task as soon all its upstream components
+ * have been completed, which means that independent branches are evaluated in
+ * parallel and they are joined only where they converge. Like in
+ * {@link PropagationMode#WAVE} each component is executed at most once per event.
+ * <p>
+ * If a component reachable from the event is part of a cycle, the event is
+ * propagated by {@link WavePropagationStrategy} instead.
+ * <p>
+ * The state of a propagation is indexed by the reachable components only,
+ * therefore its cost depends on the reached components and not on the size of the
+ * routing table. The lookup from component id to the reachable index is kept in
+ * per-thread scratch arrays that are reused by all propagations of the thread.
+ * <p>
+ * The routing thread that calls {@link #propagate(RouterContext, RoutingTable)} is
+ * blocked until all components of the event have been executed by the pool
+ * (see {@link ForkJoinPool#invoke(java.util.concurrent.ForkJoinTask)}); the routing
+ * lane should therefore have enough threads for the expected number of concurrent events.
+ * <p>
+ * The order of returned workflows is not deterministic.
+ *
+ * @author PITSCHR
+ */
+final class ParallelPropagationStrategy extends AbstractPropagationStrategy {
+    private static final Logger log = LoggerFactory.getLogger(ParallelPropagationStrategy.class);
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+    private final WavePropagationStrategy fallbackStrategy = WavePropagationStrategy.INSTANCE;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a parallel propagation strategy
+     *
+     * @param pool the pool to execute the components (owned by the scheduler); may not be null
+     */
+    ParallelPropagationStrategy(final ForkJoinPool pool) {
+        this.pool = Objects.requireNonNull(pool);
+    }
+
+    @Override
+    public List<Workflow> propagate(final RouterContext context, final RoutingTable table) {
+        final var scratch = Scratch.acquire(table.componentCount());
+        try {
+            if (!collectPending(context, table, scratch)) {
+                log.debug("Cycle found for event, fallback to wave propagation: {}", context.getEvent());
+                scratch.release();
+                return fallbackStrategy.propagate(context, table);
+            }
+
+            final var fork = new Fork(context, table, scratch);
+            pool.invoke(fork.new InboxTask());
+            return new ArrayList<>(fork.workflows);
+        } finally {
+            scratch.release();
+        }
+    }
+
+    /**
+     * Collects the components reachable from the inbox components of event and
+     * counts the number of upstream links for each of them.
+     *
+     * @param context the context of routing
+     * @param table   the routing table
+     * @param scratch the scratch to be filled with reachable components and their number of upstream links
+     * @return {@code true} if successful, {@code false} if a reachable component is part of a cycle
+     */
+    private boolean collectPending(final RouterContext context, final RoutingTable table, final Scratch scratch) {
+        // links from inbox components
+        for (final var inboxComponent : context.getInboxComponents()) {
+            for (final var output : inboxComponent.getOutputPins()) {
+                final var outputId = table.pinId(output);
+                if (outputId >= 0) {
+                    for (var l = table.linkStart(outputId); l < table.linkEnd(outputId); l++) {
+                        scratch.visit(targetComponentOf(table, table.link(l)));
+                    }
+                }
+            }
+        }
+
+        // links between reachable components (reachable list is used as stack)
+        var next = 0;
+        while (next < scratch.reachableCount) {
+            final var componentId = scratch.reachable[next++];
+            if (table.isCyclic(componentId)) {
+                return false;
+            }
+            for (var i = table.outputStart(componentId); i < table.outputEnd(componentId); i++) {
+                final var outputId = table.output(i);
+                for (var l = table.linkStart(outputId); l < table.linkEnd(outputId); l++) {
+                    scratch.visit(targetComponentOf(table, table.link(l)));
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the id of component owning the pin with {@code pinId} if it is
+     * supported for routing (logic or outbox component)
+     *
+     * @param table the routing table
+     * @param pinId id of pin
+     * @return id of component, or {@code -1} if not registered or not supported
+     */
+    private int targetComponentOf(final RoutingTable table, final int pinId) {
+        final var component = getComponent(table, pinId);
+        if (component instanceof OutboxComponent || component instanceof LogicComponent) {
+            return table.componentOf(pinId);
+        }
+        return -1;
+    }
+
+    /**
+     * State of a single parallel propagation
+     */
+    private final class Fork {
+        private final RouterContext context;
+        private final RoutingTable table;
+        /**
+         * Index of reachable component per component id, plus one; zero if not reachable.
+         * Read-only during the fork (owned by the scratch of routing thread).
+         */
+        private final int[] reachableIndexes;
+        /**
+         * Number of pending upstream links per reachable component
+         */
+        private final AtomicIntegerArray pending;
+        /**
+         * Workflow of last arrived value per reachable component; not null means the component is dirty
+         */
+        private final AtomicReferenceArray<Workflow> componentWorkflows;
+        private final ConcurrentLinkedQueue<Workflow> workflows = new ConcurrentLinkedQueue<>();
+
+        private Fork(final RouterContext context, final RoutingTable table, final Scratch scratch) {
+            this.context = context;
+            this.table = table;
+            this.reachableIndexes = scratch.reachableIndexes;
+            final var reachableCount = scratch.reachableCount;
+            this.pending = new AtomicIntegerArray(reachableCount);
+            for (var i = 0; i < reachableCount; i++) {
+                this.pending.set(i, scratch.pending[i]);
+            }
+            this.componentWorkflows = new AtomicReferenceArray<>(reachableCount);
+        }
+
+        /**
+         * Completes the output pin with {@code sourceId}: the value is forwarded
+         * to all linked pins (if {@code refreshed}) and the owning components
+         * are forked when all their upstream links have been completed.
+         * <p>
+         * The value of source pin is read (and boxed) only if it is forwarded and
+         * recorded by the workflow or not transferred pin-to-pin
+         * (see {@link #isPinToPin(RoutingTable, int, Workflow)}).
+         *
+         * @param task           the current task
+         * @param sourceId       the id of {@link Pin} where the value comes from
+         * @param refreshed      if the value should be forwarded
+         * @param parentWorkflow the workflow until the component of {@link Pin}
+         */
+        private void completeOutput(final CountedCompleter<?> task,
+                                    final int sourceId,
+                                    final boolean refreshed,
+                                    final Workflow parentWorkflow) {
+            final var source = table.pin(sourceId);
+            final var pinToPin = !refreshed || isPinToPin(table, sourceId, parentWorkflow);
+            final var value = pinToPin ? null : source.getValue();
+            final var workflow = refreshed ? parentWorkflow.add(source, value) : parentWorkflow;
+            final var linkEnd = table.linkEnd(sourceId);
+            var linkIndex = table.linkStart(sourceId);
+            final var feedback = refreshed && collectFeedback(context, table, sourceId, value, workflow);
+            if (refreshed && linkIndex == linkEnd) {
+                if (!feedback) {
+                    log.debug("Dead End for '{}': {}", source, workflow);
+                    addWorkflow(workflows, workflow);
+                }
+                return;
+            }
+
+            for (; linkIndex < linkEnd; linkIndex++) {
+                final var targetId = table.link(linkIndex);
+                final var componentId = targetComponentOf(table, targetId);
+                final var index = componentId < 0 ? -1 : reachableIndexes[componentId] - 1;
+                if (refreshed) {
+                    final var target = table.pin(targetId);
+                    if (log.isDebugEnabled()) {
+                        log.debug("{} ==> {}", source.getUid(), target.getUid());
+                    }
+
+                    final var newWorkflow = workflow.add(target, value);
+                    if (componentId < 0) {
+                        log.warn("Dead End for '{}': {}", target.getUid(), newWorkflow);
+                        throw unsupportedComponent(getComponent(table, targetId));
+                    }
+
+                    // convert the value if necessary and set it to the pin
+                    final var converter = table.converter(linkIndex);
+                    if (pinToPin) {
+                        converter.transfer(source, target);
+                    } else {
+                        converter.convertTo(value, target);
+                    }
+                    componentWorkflows.set(index, newWorkflow);
+                }
+
+                // fork the component when all upstream links are completed
+                if (index >= 0 && pending.decrementAndGet(index) == 0) {
+                    task.addToPendingCount(1);
+                    new ComponentTask(task, componentId, index).fork();
+                }
+            }
+        }
+
+        /**
+         * Root task that passes the event to all inbox components
+         */
+        private final class InboxTask extends CountedCompleter<Void> {
+            @Override
+            public void compute() {
+                for (final var inboxComponent : context.getInboxComponents()) {
+                    onInboxComponent(context, inboxComponent);
+                    for (final var output : inboxComponent.getOutputPins()) {
+                        final var outputId = table.pinId(output);
+                        if (outputId < 0) {
+                            final var newWorkflow = context.newWorkflow().add(output, output.getValue());
+                            log.debug("Dead End for '{}': {}", output, newWorkflow);
+                            addWorkflow(workflows, newWorkflow);
+                        } else {
+                            completeOutput(this, outputId, true, context.newWorkflow());
+                        }
+                    }
+                }
+                tryComplete();
+            }
+        }
+
+        /**
+         * Task to execute a single component
+         */
+        private final class ComponentTask extends CountedCompleter<Void> {
+            private final int componentId;
+            private final int index;
+
+            private ComponentTask(final CountedCompleter<?> parent, final int componentId, final int index) {
+                super(parent);
+                this.componentId = componentId;
+                this.index = index;
+            }
+
+            @Override
+            public void compute() {
+                final var component = table.component(componentId);
+                final var workflow = componentWorkflows.get(index);
+                final var dirty = workflow != null;
+
+                if (dirty && component instanceof ExecutableComponent) {
+                    ((ExecutableComponent) component).execute();
+                }
+
+                // The workflow ends here when it is an output component
+                if (component instanceof OutboxComponent) {
+                    if (dirty) {
+                        log.debug("Outbox Component: {}, Workflow: {}", component, workflow);
+                        forwardOutboxComponent(context, (OutboxComponent) component);
+                        addWorkflow(workflows, workflow);
+                    }
+                }
+                // Otherwise forward the values which are marked as refreshed,
+                // and complete the others that downstream components are not waiting for them
+                else {
+                    final var outputEnd = table.outputEnd(componentId);
+                    for (var i = table.outputStart(componentId); i < outputEnd; i++) {
+                        final var outputId = table.output(i);
+                        final var output = table.pin(outputId);
+                        if (dirty && (output.isRefresh() || output.isAlwaysTrigger())) {
+                            completeOutput(this, outputId, true, workflow);
+                        } else {
+                            // value is not forwarded, the workflow is never recorded
+                            completeOutput(this, outputId, false, Workflow.disabled());
+                        }
+                    }
+                }
+                tryComplete();
+            }
+        }
+    }
+
+    /**
+     * Per-thread scratch of reachable components, sized to the number of components
+     * and reused by all propagations of the thread. Only the entries of reachable
+     * components are reset on {@link #release()}.
+     */
+    private static final class Scratch {
+        /**
+         * Index of reachable component per component id, plus one; zero if not reachable
+         */
+        private int[] reachableIndexes = new int[0];
+        /**
+         * Ids of reachable components in order of their index
+         */
+        private int[] reachable = new int[0];
+        /**
+         * Number of upstream links per reachable component (by index)
+         */
+        private int[] pending = new int[0];
+        private int reachableCount;
+        private boolean inUse;
+
+        /**
+         * Returns the scratch of current thread with capacity for given number of components.
+         * If the scratch of current thread is in use, a new scratch is returned.
+         *
+         * @param componentCount number of components of routing table
+         * @return scratch for the propagation
+         */
+        private static Scratch acquire(final int componentCount) {
+            var scratch = SCRATCH.get();
+            if (scratch.inUse) {
+                scratch = new Scratch();
+            }
+            scratch.inUse = true;
+            if (scratch.reachableIndexes.length < componentCount) {
+                scratch.reachableIndexes = new int[componentCount];
+                scratch.reachable = new int[componentCount];
+                scratch.pending = new int[componentCount];
+            }
+            return scratch;
+        }
+
+        /**
+         * Visits the component by an upstream link
+         *
+         * @param componentId id of component; negative ids are ignored
+         */
+        private void visit(final int componentId) {
+            if (componentId < 0) {
+                return;
+            }
+            var index = reachableIndexes[componentId] - 1;
+            if (index < 0) {
+                index = reachableCount++;
+                reachableIndexes[componentId] = index + 1;
+                reachable[index] = componentId;
+                pending[index] = 0;
+            }
+            pending[index]++;
+        }
+
+        private void release() {
+            if (!inUse) {
+                return;
+            }
+            for (var i = 0; i < reachableCount; i++) {
+                reachableIndexes[reachable[i]] = 0;
+            }
+            reachableCount = 0;
+            inUse = false;
+        }
+    }
+}
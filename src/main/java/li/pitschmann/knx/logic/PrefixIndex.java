@@ -0,0 +1,152 @@
+package li.pitschmann.knx.logic;
+
+import li.pitschmann.knx.core.annotations.Nullable;
+import li.pitschmann.knx.logic.components.InboxComponent;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of {@link InboxComponent}s that are subscribed to all identifiers with
+ * a common prefix (e.g. {@code kitchen.*} for {@code kitchen.light} and
+ * {@code kitchen.temperature}, or {@code *} for all identifiers).
+ * <p>
+ * The prefixes are stored in a character trie, the look up of an identifier
+ * visits at most one node per character of identifier, independent of the
+ * number of subscriptions.
+ * <p>
+ * This class is not thread-safe; an immutable snapshot (see {@link #snapshot()})
+ * may be looked up by several threads.
+ *
+ * @author PITSCHR
+ */
+final class PrefixIndex {
+    private static final char WILDCARD = '*';
+    private final Node root;
+    private int size;
+
+    PrefixIndex() {
+        this(new Node(), 0);
+    }
+
+    private PrefixIndex(final Node root, final int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Returns if the identifier is a prefix pattern
+     *
+     * @param identifier the identifier of {@link li.pitschmann.knx.logic.event.EventKey}
+     * @return {@code true} if the identifier ends with {@code *}
+     */
+    static boolean isPattern(final String identifier) {
+        return !identifier.isEmpty() && identifier.charAt(identifier.length() - 1) == WILDCARD;
+    }
+
+    /**
+     * Adds the subscription of {@link InboxComponent} for the prefix pattern
+     *
+     * @param pattern   the prefix followed by {@code *}
+     * @param component the inbox component
+     */
+    void add(final String pattern, final InboxComponent component) {
+        var node = root;
+        for (var i = 0; i < pattern.length() - 1; i++) {
+            node = node.children.computeIfAbsent(pattern.charAt(i), c -> new Node());
+        }
+        if (node.subscribers.add(component)) {
+            size++;
+        }
+    }
+
+    /**
+     * Removes the subscription of {@link InboxComponent} for the prefix pattern
+     *
+     * @param pattern   the prefix followed by {@code *}
+     * @param component the inbox component
+     */
+    void remove(final String pattern, final InboxComponent component) {
+        var node = root;
+        for (var i = 0; i < pattern.length() - 1 && node != null; i++) {
+            node = node.children.get(pattern.charAt(i));
+        }
+        if (node != null && node.subscribers.remove(component)) {
+            size--;
+        }
+    }
+
+    /**
+     * Returns if there are no subscriptions
+     *
+     * @return {@code true} if empty
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Collects the {@link InboxComponent}s that are subscribed for a prefix of identifier
+     *
+     * @param identifier the identifier of event
+     * @param matched    the already matched inbox components; may be null
+     * @return the matched inbox components, a new set is created if {@code matched} was null;
+     * {@code null} if nothing matched at all
+     */
+    @Nullable
+    Set<InboxComponent> collect(final String identifier, final @Nullable Set<InboxComponent> matched) {
+        var result = matched;
+        var node = root;
+        for (var i = 0; node != null; i++) {
+            if (!node.subscribers.isEmpty()) {
+                if (result == null) {
+                    result = new HashSet<>();
+                }
+                result.addAll(node.subscribers);
+            }
+            node = i < identifier.length() ? node.children.get(identifier.charAt(i)) : null;
+        }
+        return result;
+    }
+
+    /**
+     * Returns an immutable copy of this index. The copy cannot be altered by
+     * {@link #add(String, InboxComponent)} or {@link #remove(String, InboxComponent)}.
+     *
+     * @return the immutable prefix index
+     */
+    PrefixIndex snapshot() {
+        return new PrefixIndex(root.snapshot(), size);
+    }
+
+    /**
+     * Node of trie per character
+     */
+    private static final class Node {
+        private final Map<Character, Node> children;
+        private final Set<InboxComponent> subscribers;
+
+        private Node() {
+            this(new HashMap<>(4), new HashSet<>(2));
+        }
+
+        private Node(final Map<Character, Node> children, final Set<InboxComponent> subscribers) {
+            this.children = children;
+            this.subscribers = subscribers;
+        }
+
+        /**
+         * Returns an immutable deep copy of this node and its children
+         *
+         * @return the immutable node
+         */
+        private Node snapshot() {
+            final var childrenCopy = new HashMap<Character, Node>(children.size());
+            children.forEach((c, child) -> childrenCopy.put(c, child.snapshot()));
+            return new Node(Collections.unmodifiableMap(childrenCopy), Set.copyOf(subscribers));
+        }
+    }
+}
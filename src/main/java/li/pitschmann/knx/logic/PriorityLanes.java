@@ -0,0 +1,332 @@
+package li.pitschmann.knx.logic;
+
+import li.pitschmann.knx.core.utils.Preconditions;
+import li.pitschmann.knx.core.utils.Strings;
+import li.pitschmann.knx.logic.event.EventPriority;
+import li.pitschmann.knx.logic.scheduler.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Priority lanes for inbound routing with a queue per {@link EventPriority}.
+ * <p>
+ * The number of routings in flight is limited; a routing is started immediately
+ * when the limit has not been reached yet, otherwise it waits in the queue of its
+ * priority. When a routing completes, the next routing is taken from the queues
+ * according to the {@link PriorityMode}. Therefore a flood of low-priority events
+ * (e.g. meter readings) cannot delay the routing of urgent events (e.g. alarms)
+ * by more than the routings already in flight.
+ * <p>
+ * The priority applies to the start of routing only. With sharding enabled (see
+ * {@code Router.Builder#sharding(boolean)}) a started routing is queued in the serial
+ * executor of its shard and executed in order of submission: an urgent event still
+ * waits for the low-priority routings of the same shard that were started before it.
+ * Their number is bounded by the maximum number of routings in flight, therefore a
+ * low limit keeps this delay short.
+ * <p>
+ * For each priority the latency between the submission and the completion of
+ * routing (including the waiting time in queue) is recorded.
+ *
+ * @author PITSCHR
+ */
+public final class PriorityLanes {
+    private static final Logger log = LoggerFactory.getLogger(PriorityLanes.class);
+    private static final EventPriority[] PRIORITIES = EventPriority.values();
+    /**
+     * Weights per priority for {@link PriorityMode#WEIGHTED}, in order of {@link EventPriority}
+     */
+    private static final int[] WEIGHTS = {8, 4, 2, 1};
+    /**
+     * Flag if the current thread is starting queued routings, to avoid a deep recursion
+     * when routings are completed synchronously
+     */
+    private static final ThreadLocal<Boolean> STARTING = ThreadLocal.withInitial(() -> Boolean.FALSE);
+    private final PriorityMode mode;
+    private final int maxInFlight;
+    private final Lane[] lanes = new Lane[PRIORITIES.length];
+    private int inFlight;
+    private int queueSize;
+
+    /**
+     * Package-protected constructor
+     *
+     * @param mode        the mode how pending routings are scheduled; may not be null
+     * @param maxInFlight the maximum number of routings in flight; ignored for {@link PriorityMode#NONE}
+     */
+    PriorityLanes(final PriorityMode mode, final int maxInFlight) {
+        Preconditions.checkArgument(maxInFlight > 0, "Maximum number of routings in flight must be positive: {}", maxInFlight);
+        this.mode = Objects.requireNonNull(mode);
+        this.maxInFlight = maxInFlight;
+        for (final var priority : PRIORITIES) {
+            lanes[priority.ordinal()] = new Lane();
+        }
+    }
+
+    /**
+     * Submits the routing with given priority. The routing is started immediately
+     * or as soon as it is the next routing according to the {@link PriorityMode}.
+     *
+     * @param priority the priority of routing; may not be null
+     * @param routing  the routing to be started, returning a future that is completed
+     *                 when the routing has been completed
+     * @param <T>      type of routing result
+     * @return a Future representing pending completion of routing
+     */
+    <T> CompletableFuture<T> submit(final EventPriority priority, final Supplier<CompletableFuture<T>> routing) {
+        final var lane = lanes[priority.ordinal()];
+        lane.submittedCount.increment();
+        final var submittedNanos = System.nanoTime();
+
+        if (mode == PriorityMode.NONE) {
+            final var future = routing.get();
+            future.whenComplete((result, throwable) -> lane.latencies.record(System.nanoTime() - submittedNanos));
+            return future;
+        }
+
+        final Pending<T> pending;
+        synchronized (this) {
+            if (queueSize == 0 && inFlight < maxInFlight) {
+                inFlight++;
+                pending = null;
+            } else {
+                pending = new Pending<>(lane, submittedNanos, routing);
+                lane.queue.add(pending);
+                queueSize++;
+                lane.maxQueueSize = Math.max(lane.maxQueueSize, lane.queue.size());
+            }
+        }
+        if (pending != null) {
+            return pending.future;
+        }
+
+        // start immediately, the future of routing is returned as-is
+        final CompletableFuture<T> future;
+        try {
+            future = routing.get();
+        } catch (final RuntimeException e) {
+            release();
+            throw e;
+        }
+        future.whenComplete((result, throwable) -> {
+            lane.latencies.record(System.nanoTime() - submittedNanos);
+            release();
+        });
+        return future;
+    }
+
+    /**
+     * Starts the queued routing and completes the future of pending routing
+     *
+     * @param pending the pending routing
+     */
+    private void start(final Pending<?> pending) {
+        CompletableFuture<?> routingFuture;
+        try {
+            routingFuture = pending.routing.get();
+        } catch (final RuntimeException e) {
+            routingFuture = CompletableFuture.failedFuture(e);
+        }
+        routingFuture.whenComplete((result, throwable) -> {
+            pending.lane.latencies.record(System.nanoTime() - pending.submittedNanos);
+            release();
+            pending.complete(result, throwable);
+        });
+    }
+
+    /**
+     * Releases the slot of completed routing and starts the next queued routings
+     */
+    private void release() {
+        synchronized (this) {
+            inFlight--;
+        }
+        if (STARTING.get()) {
+            // the routings are already being started by the outer call on this thread
+            return;
+        }
+        STARTING.set(Boolean.TRUE);
+        try {
+            Pending<?> next;
+            while ((next = pollNext()) != null) {
+                start(next);
+            }
+        } finally {
+            STARTING.set(Boolean.FALSE);
+        }
+    }
+
+    /**
+     * Takes the next routing from the queues according to the {@link PriorityMode}
+     * if the limit of routings in flight has not been reached yet
+     *
+     * @return the next routing, or {@code null} if there is no free slot or no queued routing
+     */
+    private synchronized Pending<?> pollNext() {
+        if (queueSize == 0 || inFlight >= maxInFlight) {
+            return null;
+        }
+
+        Lane selected = null;
+        if (mode == PriorityMode.STRICT) {
+            for (final var lane : lanes) {
+                if (!lane.queue.isEmpty()) {
+                    selected = lane;
+                    break;
+                }
+            }
+        } else {
+            // smooth weighted round robin across the lanes with queued routings
+            var totalWeight = 0;
+            for (var i = 0; i < lanes.length; i++) {
+                final var lane = lanes[i];
+                if (!lane.queue.isEmpty()) {
+                    lane.currentWeight += WEIGHTS[i];
+                    totalWeight += WEIGHTS[i];
+                    if (selected == null || lane.currentWeight > selected.currentWeight) {
+                        selected = lane;
+                    }
+                }
+            }
+            Objects.requireNonNull(selected).currentWeight -= totalWeight;
+        }
+
+        queueSize--;
+        inFlight++;
+        return Objects.requireNonNull(selected).queue.poll();
+    }
+
+    /**
+     * Returns the {@link PriorityMode} of lanes
+     *
+     * @return priority mode
+     */
+    public PriorityMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Returns the number of routings in flight
+     *
+     * @return number of routings in flight; always zero for {@link PriorityMode#NONE}
+     */
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Returns the number of routings waiting in the queue of given priority
+     *
+     * @param priority the priority
+     * @return number of queued routings
+     */
+    public int getQueueSize(final EventPriority priority) {
+        synchronized (this) {
+            return lanes[priority.ordinal()].queue.size();
+        }
+    }
+
+    /**
+     * Returns the maximum number of routings that have been waiting in the queue of given priority
+     *
+     * @param priority the priority
+     * @return maximum queue size
+     */
+    public int getMaxQueueSize(final EventPriority priority) {
+        synchronized (this) {
+            return lanes[priority.ordinal()].maxQueueSize;
+        }
+    }
+
+    /**
+     * Returns the number of routings that have been submitted with given priority
+     *
+     * @param priority the priority
+     * @return number of submitted routings
+     */
+    public long getSubmittedCount(final EventPriority priority) {
+        return lanes[priority.ordinal()].submittedCount.sum();
+    }
+
+    /**
+     * Returns the number of routings that have been completed with given priority
+     *
+     * @param priority the priority
+     * @return number of completed routings
+     */
+    public long getCompletedCount(final EventPriority priority) {
+        return lanes[priority.ordinal()].latencies.count();
+    }
+
+    /**
+     * Returns the latency between submission and completion of routings with given
+     * priority at the percentile (e.g. {@code 99} for p99)
+     *
+     * @param priority   the priority
+     * @param percentile percentile between {@code 0} and {@code 100}
+     * @return latency, or {@link Duration#ZERO} if no routing has been completed
+     */
+    public Duration getLatency(final EventPriority priority, final double percentile) {
+        Preconditions.checkArgument(percentile >= 0 && percentile <= 100, "Percentile must be between 0 and 100: {}", percentile);
+        return Duration.ofNanos(lanes[priority.ordinal()].latencies.percentile(percentile));
+    }
+
+    @Override
+    public String toString() {
+        final var helper = Strings.toStringHelper(this) //
+                .add("mode", mode) //
+                .add("maxInFlight", maxInFlight) //
+                .add("inFlight", getInFlight());
+        for (final var priority : PRIORITIES) {
+            helper.add(priority.name(), "queueSize=" + getQueueSize(priority) //
+                    + ", submittedCount=" + getSubmittedCount(priority) //
+                    + ", p99=" + getLatency(priority, 99));
+        }
+        return helper.toString();
+    }
+
+    /**
+     * Queue and statistics of a priority; the queue is guarded by {@link PriorityLanes}
+     */
+    private static final class Lane {
+        private final ArrayDeque<Pending<?>> queue = new ArrayDeque<>();
+        private final LongAdder submittedCount = new LongAdder();
+        private final LatencyHistogram latencies = new LatencyHistogram();
+        private int maxQueueSize;
+        private int currentWeight;
+    }
+
+    /**
+     * Routing waiting for its start
+     *
+     * @param <T> type of routing result
+     */
+    private static final class Pending<T> {
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final Lane lane;
+        private final long submittedNanos;
+        private final Supplier<CompletableFuture<T>> routing;
+
+        private Pending(final Lane lane, final long submittedNanos, final Supplier<CompletableFuture<T>> routing) {
+            this.lane = lane;
+            this.submittedNanos = submittedNanos;
+            this.routing = routing;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void complete(final Object result, final Throwable throwable) {
+            if (throwable == null) {
+                future.complete((T) result);
+            } else {
+                log.debug("Queued routing completed exceptionally", throwable);
+                future.completeExceptionally(throwable);
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package li.pitschmann.knx.logic;
+
+import li.pitschmann.knx.logic.event.Event;
+import li.pitschmann.knx.logic.event.EventPriority;
+
+/**
+ * Modes how inbound {@link Event}s are scheduled by their {@link EventPriority}
+ * when the number of events being routed concurrently has reached its limit
+ * (see {@link PriorityLanes}).
+ *
+ * <pre>{@code
+ * final var router = Router.builder()
+ *      .priorityLanes(PriorityMode.WEIGHTED, 16)
+ *      .build();
+ * }</pre>
+ *
+ * @author PITSCHR
+ */
+public enum PriorityMode {
+
+    /**
+     * <p>No priority scheduling, every inbound event is routed immediately in
+     * FIFO order. The latencies per priority are recorded nonetheless.</p>
+     */
+    NONE,
+
+    /**
+     * <p>Strict priority: an event is routed only if there is no pending
+     * event with higher priority. Events of lower priority may starve while
+     * events of higher priority are pending.</p>
+     */
+    STRICT,
+
+    /**
+     * <p>Weighted round robin across the priorities with pending events.
+     * Higher priorities get a larger share of routing capacity (system 8,
+     * urgent 4, normal 2, low 1), while lower priorities still progress.</p>
+     */
+    WEIGHTED
+}
@@ -0,0 +1,48 @@
+package li.pitschmann.knx.logic;
+
+import li.pitschmann.knx.logic.components.Component;
+import li.pitschmann.knx.logic.event.Event;
+
+/**
+ * Modes how the {@link Router} propagates the values of an
+ * {@link Event} through the linked {@link Component}s.
+ *
+ * <pre>{@code
+ * final var router = Router.builder()
+ *      .propagationMode(PropagationMode.WAVE)
+ *      .build();
+ * }</pre>
+ *
+ * @author PITSCHR
+ */
+public enum PropagationMode {
+
+    /**
+     * <p>Propagates the values depth-first link by link. A component that is
+     * reachable via several paths (e.g. diamond) is executed once per path
+     * and may emit intermediate values.</p>
+     */
+    DEPTH_FIRST,
+
+    /**
+     * <p>Propagates the values in a glitch-free wave. All components touched by
+     * the event are executed in topological order and at most once per event,
+     * after all their upstream components have been executed.</p>
+     */
+    WAVE,
+
+    /**
+     * <p>Like {@link #WAVE} but the independent branches are evaluated in parallel
+     * using a fork-join pool. A component is executed as soon all its upstream
+     * components have been executed.</p>
+     */
+    PARALLEL,
+
+    /**
+     * <p>Each component owns a mailbox that is drained by one worker at a time
+     * (actor model). Values arriving at the same time are applied to the input
+     * pins first and the component is executed only once for them. Components
+     * are executed without locking as their pins are written by a single worker.</p>
+     */
+    MAILBOX
+}
@@ -0,0 +1,96 @@
+package li.pitschmann.knx.logic;
+
+import li.pitschmann.knx.logic.components.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Strategy how the values are propagated by the {@link RouterInternal}
+ * from the inbox components through the linked components.
+ *
+ * @author PITSCHR
+ */
+interface PropagationStrategy {
+
+    /**
+     * Propagates the event of {@link RouterContext} to all inbox components
+     * and further through all linked components of {@link RoutingTable}
+     *
+     * @param context the context of routing; may not be null
+     * @param table   the routing table to be used for routing; may not be null
+     * @return list of workflow during the routing
+     */
+    List<Workflow> propagate(RouterContext context, RoutingTable table);
+
+    /**
+     * Submits the propagation of event asynchronously. Per default the
+     * {@link #propagate(RouterContext, RoutingTable)} is called using
+     * the given {@link Executor}.
+     *
+     * @param context  the context of routing; may not be null
+     * @param table    the routing table to be used for routing; may not be null
+     * @param executor the executor for asynchronous propagation; may not be null
+     * @return a Future representing pending completion of the propagation
+     */
+    default CompletableFuture<List<Workflow>> submit(final RouterContext context,
+                                                     final RoutingTable table,
+                                                     final Executor executor) {
+        return CompletableFuture.supplyAsync(() -> propagate(context, table), executor);
+    }
+
+    /**
+     * Propagates the events of all {@link RouterContext}s in a single wave: all inbox
+     * components are updated first and a component with changed inputs from several
+     * events is executed only once. Per default this is done by {@link WavePropagationStrategy}.
+     *
+     * @param contexts the contexts of routing, one per event; may not be null
+     * @param table    the routing table to be used for routing; may not be null
+     * @return list of workflows per event, in same order as {@code contexts}
+     */
+    default List<List<Workflow>> propagateAll(final List<RouterContext> contexts, final RoutingTable table) {
+        return WavePropagationStrategy.INSTANCE.propagateAll(contexts, table);
+    }
+
+    /**
+     * Submits the propagation of several events asynchronously. Per default the
+     * {@link #propagateAll(List, RoutingTable)} is called using the given {@link Executor}.
+     *
+     * @param contexts the contexts of routing, one per event; may not be null
+     * @param table    the routing table to be used for routing; may not be null
+     * @param executor the executor for asynchronous propagation; may not be null
+     * @return a Future representing pending completion of the propagation
+     */
+    default CompletableFuture<List<List<Workflow>>> submitAll(final List<RouterContext> contexts,
+                                                              final RoutingTable table,
+                                                              final Executor executor) {
+        return CompletableFuture.supplyAsync(() -> propagateAll(contexts, table), executor);
+    }
+
+    /**
+     * Submits the propagation of values that have been collected for feedback links
+     * during the previous wave (see {@link RouterContext#drainFeedback()}). Per default
+     * this is done by {@link WavePropagationStrategy} using the given {@link Executor}.
+     *
+     * @param context  the context of routing with pending feedback values; may not be null
+     * @param table    the routing table to be used for routing; may not be null
+     * @param executor the executor for asynchronous propagation; may not be null
+     * @return a Future representing pending completion of the propagation
+     */
+    default CompletableFuture<List<Workflow>> submitFeedback(final RouterContext context,
+                                                             final RoutingTable table,
+                                                             final Executor executor) {
+        return CompletableFuture.supplyAsync(() -> WavePropagationStrategy.INSTANCE.propagateFeedback(context, table), executor);
+    }
+
+    /**
+     * Notifies the strategy that the {@link Component} has been de-registered
+     * and is not relevant for propagation anymore
+     *
+     * @param component the de-registered component
+     */
+    default void deregister(final Component component) {
+        // NO-OP
+    }
+}
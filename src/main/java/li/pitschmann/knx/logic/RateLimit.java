@@ -0,0 +1,53 @@
+package li.pitschmann.knx.logic;
+
+import li.pitschmann.knx.core.utils.Preconditions;
+import li.pitschmann.knx.core.utils.Strings;
+
+/**
+ * Immutable rate limit for outbound events of an event channel, implemented as
+ * token bucket: the bucket holds up to {@code burst} tokens and is refilled with
+ * {@code permitsPerSecond} tokens per second. Each outbound event takes one token.
+ * <p>
+ * Example: a KNX TP line carries roughly 50 telegrams per second.
+ *
+ * @author PITSCHR
+ */
+public final class RateLimit {
+    private final double permitsPerSecond;
+    private final int burst;
+
+    private RateLimit(final double permitsPerSecond, final int burst) {
+        Preconditions.checkArgument(permitsPerSecond > 0 && Double.isFinite(permitsPerSecond),
+                "Permits per second must be positive: {}", permitsPerSecond);
+        Preconditions.checkArgument(burst > 0, "Burst must be positive: {}", burst);
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+    }
+
+    /**
+     * Creates a new {@link RateLimit}
+     *
+     * @param permitsPerSecond the number of events per second; must be positive
+     * @param burst            the number of events that may be sent at once; must be positive
+     * @return a new {@link RateLimit}
+     */
+    public static RateLimit of(final double permitsPerSecond, final int burst) {
+        return new RateLimit(permitsPerSecond, burst);
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    @Override
+    public String toString() {
+        return Strings.toStringHelper(this) //
+                .add("permitsPerSecond", permitsPerSecond) //
+                .add("burst", burst) //
+                .toString();
+    }
+}
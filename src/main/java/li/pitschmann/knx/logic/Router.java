@@ -1,27 +1,42 @@
 package li.pitschmann.knx.logic;
 
+import li.pitschmann.knx.core.annotations.Nullable;
 import li.pitschmann.knx.core.utils.Maps;
 import li.pitschmann.knx.core.utils.Preconditions;
-import li.pitschmann.knx.core.utils.Sleeper;
 import li.pitschmann.knx.logic.components.Component;
 import li.pitschmann.knx.logic.components.InboxComponent;
 import li.pitschmann.knx.logic.connector.Connector;
 import li.pitschmann.knx.logic.event.Event;
 import li.pitschmann.knx.logic.event.EventChannel;
 import li.pitschmann.knx.logic.event.EventKey;
+import li.pitschmann.knx.logic.event.EventPriority;
 import li.pitschmann.knx.logic.event.KnxEventChannel;
+import li.pitschmann.knx.logic.event.TimerEventChannel;
 import li.pitschmann.knx.logic.event.VariableEventChannel;
+import li.pitschmann.knx.logic.journal.Journal;
+import li.pitschmann.knx.logic.journal.JournalEntry;
+import li.pitschmann.knx.logic.journal.JournalWriter;
 import li.pitschmann.knx.logic.pin.Pin;
+import li.pitschmann.knx.logic.replay.EventRecorder;
+import li.pitschmann.knx.logic.scheduler.Lane;
+import li.pitschmann.knx.logic.scheduler.Scheduler;
+import li.pitschmann.knx.logic.scheduler.Schedulers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashSet;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * This class is the router that is the 'core' of the logic.
@@ -35,9 +50,17 @@ import java.util.concurrent.Executors;
 public final class Router {
     private static final Logger log = LoggerFactory.getLogger(Router.class);
     /**
-     * The thread executors for parallel inbound / outbound channel submission
+     * Default rate limit for KNX: a TP line carries roughly 50 telegrams per second
      */
-    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private static final RateLimit KNX_RATE_LIMIT = RateLimit.of(50, 10);
+    /**
+     * Completed future for events without any inbox component
+     */
+    private static final CompletableFuture<List<Workflow>> NO_WORKFLOWS = CompletableFuture.completedFuture(List.of());
+    /**
+     * The scheduler providing the executors for routing, outbound and persistence
+     */
+    private final Scheduler scheduler;
     /**
      * <p>Map of event channels</p>
      * Key is the channel ID e.g. 'knx' for KNX events. Values are {@link EventChannel}
@@ -46,17 +69,86 @@ public final class Router {
      */
     private final Map<String, EventChannel> eventChannelMap = Maps.newHashMap(2);
     /**
-     * <p>Map of event keys and its set of {@link InboxComponent}</p>
+     * <p>Index of event keys (exact, wildcard or range) and its set of {@link InboxComponent}</p>
      */
-    private final Map<EventKey, Set<InboxComponent>> inboxMap = Maps.newHashMap(100);
+    private final InboxIndex inboxIndex = new InboxIndex();
 
     /**
      * Internal Router Implementation
      */
-    private final RouterInternal routerInternal = new RouterInternal();
+    private final RouterInternal routerInternal;
+
+    /**
+     * Coalescing stage for inbound events; {@code null} if coalescing is disabled
+     */
+    private final InboundCoalescer inboundCoalescer;
+
+    /**
+     * Priority lanes that decide which inbound event is routed next, with latencies per priority
+     */
+    private final PriorityLanes priorityLanes;
+
+    /**
+     * Publisher for outbound events; slow subscribers will lose events instead of blocking the routing
+     */
+    private final SubmissionPublisher<Event> outboundPublisher;
+    private final LongAdder outboundDroppedCount = new LongAdder();
+    private final LongAdder knxRoutedCount = new LongAdder();
+    private final LongAdder knxDroppedCount = new LongAdder();
+
+    /**
+     * Dispatcher for outbound events with coalescing and rate limiting per event channel
+     */
+    private final OutboundDispatcher outboundDispatcher;
+
+    /**
+     * Tracing of workflows; for {@link TracingMode#SAMPLED} every N-th event is traced
+     */
+    private final TracingMode tracingMode;
+    private final int tracingSampleRate;
+    private final AtomicLong tracingCounter = new AtomicLong();
+
+    /**
+     * Journal for workflows of inbound events and outbound events; {@code null} if no journal writer is configured
+     */
+    private final Journal journal;
+
+    /**
+     * Event channel for timers that delivers the expired timers as inbound events
+     */
+    private final TimerEventChannel timerEventChannel;
+
+    /**
+     * Recorder of inbound events; {@code null} if recording is disabled
+     */
+    private final EventRecorder eventRecorder;
 
-    private Router() {
+    private Router(final Builder builder) {
+        scheduler = builder.scheduler == null ? Schedulers.createDefault() : builder.scheduler;
+        tracingMode = builder.tracingMode;
+        tracingSampleRate = builder.tracingSampleRate;
+        routerInternal = new RouterInternal(builder.propagationMode, scheduler.executor(Lane.ROUTING),
+                scheduler.forkJoinPool(), builder.maxFeedbackIterations, builder.sharding);
+        priorityLanes = new PriorityLanes(builder.priorityMode, builder.maxRoutingsInFlight);
+        if (builder.coalescingMode == CoalescingMode.NONE) {
+            inboundCoalescer = null;
+        } else {
+            inboundCoalescer = new InboundCoalescer(builder.coalescingMode, builder.coalescingWindow, scheduler.timer(),
+                    this::route);
+        }
+        outboundPublisher = new SubmissionPublisher<>(scheduler.executor(Lane.OUTBOUND), builder.outboundBufferSize);
+        if (builder.journalWriter == null) {
+            journal = null;
+        } else {
+            journal = new Journal(builder.journalWriter, builder.journalCapacity, builder.journalFlushSize,
+                    builder.journalFlushInterval, scheduler.executor(Lane.PERSISTENCE), scheduler.timer());
+        }
+        eventRecorder = builder.eventRecorder;
+        outboundDispatcher = new OutboundDispatcher(scheduler.executor(Lane.OUTBOUND), scheduler.timer(),
+                builder.outboundRateLimits, this::onOutboundDispatched);
         register(new VariableEventChannel());
+        timerEventChannel = new TimerEventChannel(events -> inbound(events), builder.timerTick, scheduler.timer());
+        register(timerEventChannel);
     }
 
     /**
@@ -65,7 +157,16 @@ public final class Router {
      * @return newly instance of router
      */
     public static Router createDefault() {
-        return new Router();
+        return builder().build();
+    }
+
+    /**
+     * Creates a new {@link Builder} instance
+     *
+     * @return {@link Builder}
+     */
+    public static Builder builder() {
+        return new Builder();
     }
 
     /**
@@ -74,6 +175,7 @@ public final class Router {
      * <u>Examples:</u>
      * <ul>
      *     <li>{@link VariableEventChannel} for variable events</li>
+     *     <li>{@link TimerEventChannel} for timer events</li>
      *     <li>{@link KnxEventChannel} for KNX events</li>
      * </ul>
      *
@@ -86,42 +188,350 @@ public final class Router {
 
     /**
      * Sends the {@link Event} to inbound channel which activates the routing.
+     * <p>
+     * If coalescing is enabled, events with same {@link EventKey} may be merged
+     * (see {@link CoalescingMode}) and the returned future of a merged event is
+     * completed with the workflows of the event that superseded it.
+     * <p>
+     * If the event is not traced (see {@link TracingMode}), the list of workflows is empty.
+     * <p>
+     * The event is scheduled for routing by its {@link EventPriority}
+     * (see {@link Builder#priorityLanes(PriorityMode, int)}).
      *
      * @param event event to be considered for routing
      * @return a Future representing pending completion of the task and returns immutable list of all workflow
      */
     public CompletableFuture<List<Workflow>> inbound(final Event event) {
-        final var workflowFuture = routerInternal.submit(
-                new RouterContext(this, getInboxComponents(event), event)
-        );
-
-        // asynchronously updating the workflow in the data source
-        workflowFuture.thenAcceptAsync(
-                workflows -> {
-                    Sleeper.seconds(20);
-                    log.debug("TODO: INBOUND record workflow: {}", workflows);
-                },
-                executor
-        );
+        if (eventRecorder != null) {
+            eventRecorder.record(event);
+        }
+        if (inboundCoalescer != null) {
+            return inboundCoalescer.submit(event);
+        }
+        return route(event);
+    }
+
+    /**
+     * Sends the value of a KNX telegram to inbound channel. This is the fast path for
+     * KNX: the inbox components are resolved by the group address from a dense table
+     * without any allocation, and the telegram is dropped before an {@link Event} is
+     * created if no inbox component is subscribed to the group address.
+     *
+     * @param groupAddress the group address in free-level notation ({@code 0 .. 65535})
+     * @param data         the value of telegram
+     * @return a Future representing pending completion of the task and returns immutable list of all workflow;
+     * the list is empty if the telegram has been dropped
+     * @see #getKnxRoutedCount()
+     * @see #getKnxDroppedCount()
+     */
+    public CompletableFuture<List<Workflow>> inboundKnx(final int groupAddress, final Object data) {
+        return inboundKnx(groupAddress, data, EventPriority.NORMAL);
+    }
+
+    /**
+     * Sends the value of a KNX telegram with the priority of telegram to inbound channel.
+     * See {@link #inboundKnx(int, Object)}.
+     *
+     * @param groupAddress the group address in free-level notation ({@code 0 .. 65535})
+     * @param data         the value of telegram
+     * @param priority     the priority of telegram
+     * @return a Future representing pending completion of the task and returns immutable list of all workflow;
+     * the list is empty if the telegram has been dropped
+     */
+    public CompletableFuture<List<Workflow>> inboundKnx(final int groupAddress, final Object data, final EventPriority priority) {
+        Preconditions.checkArgument(groupAddress >= 0 && groupAddress <= 0xFFFF,
+                "Group address out of range [0..65535]: {}", groupAddress);
+        final var table = inboxIndex.getKnxDispatchTable();
+        final var inboxComponents = table.get(groupAddress);
+        if (inboxComponents == null) {
+            knxDroppedCount.increment();
+            return NO_WORKFLOWS;
+        }
+        knxRoutedCount.increment();
+
+        final var event = new Event(table.eventKey(groupAddress), data, priority);
+        if (eventRecorder != null) {
+            eventRecorder.record(event);
+        }
+        if (inboundCoalescer != null) {
+            return inboundCoalescer.submit(event);
+        }
+        return route(event, inboxComponents);
+    }
+
+    /**
+     * Sends several {@link Event}s to inbound channel at once (e.g. replay of buffered
+     * telegrams or scene recall). All inbox components are updated first and then the
+     * values are propagated in a single wave, therefore a component with several changed
+     * inputs is executed only once. The events are not subject to coalescing.
+     * <p>
+     * When a component is reached by several events, the workflows of the events
+     * end at the component and only the last event is propagated further.
+     * <p>
+     * The events are routed with the highest {@link EventPriority} of the events.
+     * <p>
+     * The events are propagated with the semantics of {@link PropagationMode#WAVE}
+     * regardless of the configured propagation mode (see {@link Builder#propagationMode(PropagationMode)}),
+     * except {@link PropagationMode#MAILBOX} which merges the events in the mailboxes of components.
+     *
+     * @param events events to be considered for routing
+     * @return a Future representing pending completion of all events and returns list
+     * of workflows per event (in iteration order of {@code events})
+     */
+    public CompletableFuture<List<List<Workflow>>> inbound(final Collection<Event> events) {
+        final var contexts = new ArrayList<RouterContext>(events.size());
+        var priority = EventPriority.LOW;
+        for (final var event : events) {
+            if (eventRecorder != null) {
+                eventRecorder.record(event);
+            }
+            contexts.add(new RouterContext(this, getInboxComponents(event), event, isTraced()));
+            if (event.getPriority().compareTo(priority) < 0) {
+                priority = event.getPriority();
+            }
+        }
+        final var workflowFuture = priorityLanes.submit(priority, () -> routerInternal.submitAll(contexts));
+
+        // record the workflows in journal (non-blocking, written by journal writer)
+        if (journal != null) {
+            workflowFuture.thenAccept(workflowLists -> {
+                var i = 0;
+                for (final var event : events) {
+                    journal.record(JournalEntry.inbound(event, workflowLists.get(i++)));
+                }
+            });
+        }
+
+        return workflowFuture;
+    }
+
+    /**
+     * Routes the {@link Event} to the inbox components
+     *
+     * @param event event to be routed
+     * @return a Future representing pending completion of the task and returns immutable list of all workflow
+     */
+    private CompletableFuture<List<Workflow>> route(final Event event) {
+        return route(event, getInboxComponents(event));
+    }
+
+    /**
+     * Routes the {@link Event} to the given inbox components
+     *
+     * @param event           event to be routed
+     * @param inboxComponents the inbox components that are subscribed to the event
+     * @return a Future representing pending completion of the task and returns immutable list of all workflow
+     */
+    private CompletableFuture<List<Workflow>> route(final Event event, final Set<InboxComponent> inboxComponents) {
+        final var context = new RouterContext(this, inboxComponents, event, isTraced());
+        final var workflowFuture = priorityLanes.submit(event.getPriority(), () -> routerInternal.submit(context));
+
+        // record the workflows in journal (non-blocking, written by journal writer)
+        if (journal != null) {
+            workflowFuture.thenAccept(workflows -> journal.record(JournalEntry.inbound(event, workflows)));
+        }
 
         return workflowFuture;
     }
 
     /**
-     * Sends the {@link Event} to outbound channel
+     * Decides if the workflows of next event should be traced according to {@link TracingMode}
+     *
+     * @return {@code true} if event should be traced, otherwise {@code false}
+     */
+    private boolean isTraced() {
+        switch (tracingMode) {
+            case OFF:
+                return false;
+            case SAMPLED:
+                return tracingCounter.getAndIncrement() % tracingSampleRate == 0;
+            case ALWAYS:
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Sends the {@link Event} to outbound channel.
+     * <p>
+     * The event is queued by the {@link OutboundDispatcher}: pending events with same
+     * {@link EventKey} are collapsed (last value wins) and the events are sent according
+     * to the {@link RateLimit} of event channel (see {@link Builder#outboundRateLimit(String, RateLimit)}).
      *
      * @param event event to be submitted to outbound channel
      */
     public void outbound(final Event event) {
         final var eventChannel = getEventChannel(event);
-        CompletableFuture
-                // asynchronously sending the event to outbound event channel
-                .runAsync(() -> eventChannel.outbound(event), executor)
-                // asynchronously updating the workflow in the data source
-                .thenRunAsync(() -> {
-                    Sleeper.seconds(20);
-                    log.debug("TODO: OUTBOUND add to database: {}", event);
-                });
+        publishOutbound(event);
+        outboundDispatcher.submit(eventChannel, event);
+    }
+
+    /**
+     * Called by {@link OutboundDispatcher} when the event has been sent to the event channel
+     *
+     * @param event the outbound event
+     */
+    private void onOutboundDispatched(final Event event) {
+        // record the event in journal (non-blocking, written by journal writer)
+        if (journal != null) {
+            journal.record(JournalEntry.outbound(event));
+        }
+    }
+
+    /**
+     * Publishes the outbound {@link Event} to the subscribers of {@link #getOutboundPublisher()}.
+     * The event is dropped for subscribers which buffer is full.
+     *
+     * @param event the outbound event
+     */
+    private void publishOutbound(final Event event) {
+        if (outboundPublisher.hasSubscribers()) {
+            outboundPublisher.offer(event, (subscriber, droppedEvent) -> {
+                outboundDroppedCount.increment();
+                log.debug("Outbound event dropped for subscriber '{}': {}", subscriber, droppedEvent);
+                return false;
+            });
+        }
+    }
+
+    /**
+     * Returns the {@link Scheduler} of router, e.g. for statistics per {@link Lane}
+     *
+     * @return the scheduler
+     */
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Shuts down the router. No new events are accepted anymore, but the already
+     * submitted tasks of all lanes are still executed (drain) within the timeout.
+     *
+     * @param timeout the maximum time to wait for draining
+     * @return {@code true} if the router has been drained, {@code false} if timeout elapsed before
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean shutdown(final Duration timeout) throws InterruptedException {
+        log.debug("Shutdown of router requested: {}", scheduler);
+        timerEventChannel.close();
+        outboundPublisher.close();
+        if (inboundCoalescer != null) {
+            // pending events are propagated before routing is closed
+            inboundCoalescer.shutdown();
+        }
+        routerInternal.shutdown();
+        outboundDispatcher.shutdown();
+        scheduler.shutdown();
+        final var deadline = System.nanoTime() + timeout.toNanos();
+        var terminated = scheduler.awaitTermination(timeout);
+        if (journal != null) {
+            terminated &= journal.close(Duration.ofNanos(Math.max(0, deadline - System.nanoTime())));
+        }
+        log.debug("Router shutdown (drained: {}): {}", terminated, scheduler);
+        return terminated;
+    }
+
+    /**
+     * Returns the {@link TimerEventChannel} to schedule timers programmatically
+     * (e.g. periodic timers), timers can also be scheduled by outbound events of
+     * the timer channel
+     *
+     * @return the timer event channel
+     */
+    public TimerEventChannel getTimerEventChannel() {
+        return timerEventChannel;
+    }
+
+    /**
+     * Creates a new {@link InboundSubscriber} that passes the events to {@link #inbound(Event)}
+     * with a bounded queue. The subscriber can be subscribed to a {@link Flow.Publisher}.
+     *
+     * @param capacity       the capacity of queue; must be positive
+     * @param overflowPolicy the policy when the queue is full
+     * @return a new instance of {@link InboundSubscriber}
+     */
+    public InboundSubscriber newInboundSubscriber(final int capacity, final OverflowPolicy overflowPolicy) {
+        return new InboundSubscriber(this, capacity, Runtime.getRuntime().availableProcessors(), overflowPolicy);
+    }
+
+    /**
+     * Returns the {@link Flow.Publisher} for all events sent by {@link #outbound(Event)}.
+     * <p>
+     * Each subscriber has a bounded buffer (see {@link Builder#outboundBufferSize(int)}),
+     * when the buffer of a subscriber is full the event is dropped for this subscriber
+     * (see {@link #getOutboundDroppedCount()}).
+     *
+     * @return the publisher of outbound events
+     */
+    public Flow.Publisher<Event> getOutboundPublisher() {
+        return outboundPublisher;
+    }
+
+    /**
+     * Returns the number of outbound events that have been dropped
+     * because the buffer of a subscriber was full
+     *
+     * @return number of dropped outbound events
+     */
+    public long getOutboundDroppedCount() {
+        return outboundDroppedCount.sum();
+    }
+
+    /**
+     * Returns the number of KNX telegrams that have been routed by {@link #inboundKnx(int, Object)}
+     *
+     * @return number of routed KNX telegrams
+     */
+    public long getKnxRoutedCount() {
+        return knxRoutedCount.sum();
+    }
+
+    /**
+     * Returns the number of KNX telegrams that have been dropped by {@link #inboundKnx(int, Object)}
+     * because no inbox component is subscribed to the group address
+     *
+     * @return number of dropped KNX telegrams
+     */
+    public long getKnxDroppedCount() {
+        return knxDroppedCount.sum();
+    }
+
+    /**
+     * Returns the {@link PriorityLanes} with statistics about queue sizes and latencies per priority
+     *
+     * @return the priority lanes
+     */
+    public PriorityLanes getPriorityLanes() {
+        return priorityLanes;
+    }
+
+    /**
+     * Returns the {@link OutboundDispatcher} with statistics about queue depth, coalesced events and latency
+     *
+     * @return the outbound dispatcher
+     */
+    public OutboundDispatcher getOutboundDispatcher() {
+        return outboundDispatcher;
+    }
+
+    /**
+     * Returns the {@link Journal} with statistics about recorded, written and dropped entries
+     *
+     * @return the journal, or {@code null} if no journal writer is configured
+     */
+    @Nullable
+    public Journal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Returns the {@link InboundCoalescer} with statistics about merged events
+     *
+     * @return the inbound coalescer, or {@code null} if coalescing is disabled
+     */
+    @Nullable
+    public InboundCoalescer getInboundCoalescer() {
+        return inboundCoalescer;
     }
 
     /**
@@ -130,11 +540,26 @@ public final class Router {
      *
      * @param source the source where value should come from (e.g. output pin, ...)
      * @param target the target that should receive the value (e.g. input pin, ...)
+     * @throws li.pitschmann.knx.logic.exceptions.RouterException if the link would create a cycle
      */
     public void link(final Pin source, final Pin target) {
         routerInternal.link(source, target);
     }
 
+    /**
+     * Creates a feedback link between the source {@link Pin} and
+     * the target {@link Pin}. A feedback link may create a cycle
+     * (e.g. output of a component back to an upstream input) and
+     * its value is propagated in the next wave only. The number of
+     * waves per event is limited (see {@link Builder#maxFeedbackIterations(int)}).
+     *
+     * @param source the source where value should come from (e.g. output pin, ...)
+     * @param target the target that should receive the value (e.g. input pin, ...)
+     */
+    public void linkFeedback(final Pin source, final Pin target) {
+        routerInternal.linkFeedback(source, target);
+    }
+
     /**
      * Removes the link between the source {@link Pin} and
      * the target {@link Pin}. If the link doesn't exists
@@ -157,9 +582,15 @@ public final class Router {
     }
 
     /**
-     * Registers the component for routing purposes
+     * Registers the component for routing purposes.
+     * <p>
+     * The identifier of {@link EventKey} of an {@link InboxComponent} may subscribe
+     * several identifiers: a wildcard or range of group addresses for KNX channel
+     * (e.g. {@code 1/2/*}, {@code 1/2/10-20}) or a prefix for other channels
+     * (e.g. {@code kitchen.*}).
      *
      * @param component component to be registered
+     * @throws IllegalArgumentException if the identifier of inbox component is an unsupported pattern
      */
     public void register(final Component component) {
         // assign inbox components to the appropriate event channels
@@ -183,6 +614,26 @@ public final class Router {
         routerInternal.deregister(component);
     }
 
+    /**
+     * Applies several changes of the routing graph as a batch (e.g. bulk load of
+     * components and links from the database).
+     * <p>
+     * The routing table is compiled at the end of each change, so the routing of next
+     * event does not pay for the compilation. Within a batch the routing table is compiled
+     * only once after all changes have been applied; events routed during the batch
+     * compile the routing table on demand.
+     *
+     * @param changes the changes to be applied, e.g. {@link #register(Component)} and {@link #link(Pin, Pin)}
+     */
+    public void batch(final Runnable changes) {
+        routerInternal.beginBatch();
+        try {
+            changes.run();
+        } finally {
+            routerInternal.commitBatch();
+        }
+    }
+
     /**
      * Returns a list of {@link Pin} that are linked with given {@link Pin}
      *
@@ -240,14 +691,10 @@ public final class Router {
      * Returns a set of suitable {@link InboxComponent} for given {@link Event}
      *
      * @param event event containing channel and key to find suitable {@link InboxComponent}
-     * @return a set of inbox components, may be {@code null} if no inbox component was registered for key
+     * @return a set of inbox components, or empty set if no inbox component was registered for key
      */
     private Set<InboxComponent> getInboxComponents(final Event event) {
-        final var inboxComponents = inboxMap.get(event.getKey());
-        if (inboxComponents != null) {
-            return inboxComponents;
-        }
-        return Set.of();
+        return inboxIndex.find(event.getKey());
     }
 
     /**
@@ -256,8 +703,7 @@ public final class Router {
      * @param inboxComponent inbox component to be registered
      */
     private void registerInboxComponent(final InboxComponent inboxComponent) {
-        inboxMap.computeIfAbsent(inboxComponent.getEventKey(), k -> new HashSet<>())
-                .add(inboxComponent);
+        inboxIndex.register(inboxComponent);
         log.debug("Inbox Component registered for '{}' channel: {}", inboxComponent.getEventKey(), inboxComponent);
     }
 
@@ -267,10 +713,252 @@ public final class Router {
      * @param inboxComponent inbox component to be de-registered
      */
     private void deregisterInboxComponent(final InboxComponent inboxComponent) {
-        final var inboxComponents = inboxMap.get(inboxComponent.getEventKey());
-        if (inboxComponents != null) {
-            inboxComponents.remove(inboxComponent);
-        }
+        inboxIndex.deregister(inboxComponent);
         log.debug("Inbox Component de-registered for '{}' channel: {}", inboxComponent.getEventKey(), inboxComponent);
     }
+
+    /**
+     * Creates a new {@link Builder} instance for {@link Router}
+     *
+     * @author PITSCHR
+     */
+    public static class Builder {
+        private PropagationMode propagationMode = PropagationMode.DEPTH_FIRST;
+        private CoalescingMode coalescingMode = CoalescingMode.NONE;
+        private Duration coalescingWindow = Duration.ZERO;
+        private int outboundBufferSize = Flow.defaultBufferSize();
+        private final Map<String, RateLimit> outboundRateLimits = new HashMap<>(Map.of(KnxEventChannel.CHANNEL_ID, KNX_RATE_LIMIT));
+        private Scheduler scheduler;
+        private TracingMode tracingMode = TracingMode.ALWAYS;
+        private int tracingSampleRate = 100;
+        private JournalWriter journalWriter;
+        private int journalCapacity = 8192;
+        private int journalFlushSize = 256;
+        private Duration journalFlushInterval = Duration.ofSeconds(1);
+        private int maxFeedbackIterations = 10;
+        private EventRecorder eventRecorder;
+        private Duration timerTick = Duration.ofMillis(10);
+        private boolean sharding = true;
+        private PriorityMode priorityMode = PriorityMode.NONE;
+        private int maxRoutingsInFlight = 16;
+
+        /**
+         * Sets the mode how values are propagated through the linked components
+         * (default: {@link PropagationMode#DEPTH_FIRST})
+         * <p>
+         * Several events sent at once (see {@link Router#inbound(Collection)}) and the values
+         * of feedback links are propagated with the semantics of {@link PropagationMode#WAVE}
+         * for all modes except {@link PropagationMode#MAILBOX}.
+         *
+         * @param propagationMode the propagation mode; may not be null
+         * @return this builder
+         */
+        public Builder propagationMode(final PropagationMode propagationMode) {
+            this.propagationMode = Objects.requireNonNull(propagationMode);
+            return this;
+        }
+
+        /**
+         * Sets the coalescing of inbound events with same {@link EventKey}
+         * within the window (default: {@link CoalescingMode#NONE})
+         *
+         * @param coalescingMode   the coalescing mode; may not be null
+         * @param coalescingWindow the window for coalescing; must be positive unless mode is {@link CoalescingMode#NONE}
+         * @return this builder
+         */
+        public Builder coalescing(final CoalescingMode coalescingMode, final Duration coalescingWindow) {
+            this.coalescingMode = Objects.requireNonNull(coalescingMode);
+            this.coalescingWindow = Objects.requireNonNull(coalescingWindow);
+            return this;
+        }
+
+        /**
+         * Sets the buffer size per subscriber of outbound publisher (default: {@link Flow#defaultBufferSize()})
+         *
+         * @param outboundBufferSize the buffer size; must be positive
+         * @return this builder
+         */
+        public Builder outboundBufferSize(final int outboundBufferSize) {
+            Preconditions.checkArgument(outboundBufferSize > 0,
+                    "Outbound buffer size must be positive: {}", outboundBufferSize);
+            this.outboundBufferSize = outboundBufferSize;
+            return this;
+        }
+
+        /**
+         * Sets the {@link RateLimit} for outbound events of the event channel
+         * (default: KNX channel is limited to protect the bus)
+         *
+         * @param channel   the channel id (e.g. 'knx'); may not be null
+         * @param rateLimit the rate limit; may not be null
+         * @return this builder
+         */
+        public Builder outboundRateLimit(final String channel, final RateLimit rateLimit) {
+            this.outboundRateLimits.put(Objects.requireNonNull(channel), Objects.requireNonNull(rateLimit));
+            return this;
+        }
+
+        /**
+         * Removes the {@link RateLimit} for outbound events of the event channel
+         *
+         * @param channel the channel id (e.g. 'knx'); may not be null
+         * @return this builder
+         */
+        public Builder noOutboundRateLimit(final String channel) {
+            this.outboundRateLimits.remove(Objects.requireNonNull(channel));
+            return this;
+        }
+
+        /**
+         * Sets the {@link Scheduler} that provides the threads of router
+         * (default: {@link Schedulers#createDefault()}). The scheduler is shut
+         * down with the router.
+         *
+         * @param scheduler the scheduler; may not be null
+         * @return this builder
+         */
+        public Builder scheduler(final Scheduler scheduler) {
+            this.scheduler = Objects.requireNonNull(scheduler);
+            return this;
+        }
+
+        /**
+         * Sets which events are traced in their workflows (default: {@link TracingMode#ALWAYS})
+         *
+         * @param tracingMode the tracing mode; may not be null
+         * @return this builder
+         */
+        public Builder tracing(final TracingMode tracingMode) {
+            this.tracingMode = Objects.requireNonNull(tracingMode);
+            return this;
+        }
+
+        /**
+         * Sets the sample rate for {@link TracingMode#SAMPLED}: every n-th event is traced (default: 100)
+         *
+         * @param tracingSampleRate the sample rate; must be positive
+         * @return this builder
+         */
+        public Builder tracingSampleRate(final int tracingSampleRate) {
+            Preconditions.checkArgument(tracingSampleRate > 0,
+                    "Tracing sample rate must be positive: {}", tracingSampleRate);
+            this.tracingSampleRate = tracingSampleRate;
+            return this;
+        }
+
+        /**
+         * Enables the {@link Journal} for workflows of inbound events and for outbound events
+         * (default: disabled). The batches are written on {@link Lane#PERSISTENCE}.
+         *
+         * @param journalWriter the writer for batches of journal entries; may not be null
+         * @return this builder
+         */
+        public Builder journal(final JournalWriter journalWriter) {
+            this.journalWriter = Objects.requireNonNull(journalWriter);
+            return this;
+        }
+
+        /**
+         * Sets the capacity of journal buffer; entries are dropped when full (default: 8192)
+         *
+         * @param journalCapacity the capacity; must be positive
+         * @return this builder
+         */
+        public Builder journalCapacity(final int journalCapacity) {
+            Preconditions.checkArgument(journalCapacity > 0,
+                    "Journal capacity must be positive: {}", journalCapacity);
+            this.journalCapacity = journalCapacity;
+            return this;
+        }
+
+        /**
+         * Sets when a batch of journal entries is written (default: 256 entries or 1 second)
+         *
+         * @param journalFlushSize     the maximum number of entries per batch; must be positive
+         * @param journalFlushInterval the maximum time to wait for a batch to be filled; must be positive
+         * @return this builder
+         */
+        public Builder journalFlush(final int journalFlushSize, final Duration journalFlushInterval) {
+            Preconditions.checkArgument(journalFlushSize > 0,
+                    "Journal flush size must be positive: {}", journalFlushSize);
+            this.journalFlushSize = journalFlushSize;
+            this.journalFlushInterval = Objects.requireNonNull(journalFlushInterval);
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of waves for feedback links per event (default: 10);
+         * remaining feedback values are dropped
+         *
+         * @param maxFeedbackIterations the maximum number of feedback waves; must not be negative
+         * @return this builder
+         */
+        public Builder maxFeedbackIterations(final int maxFeedbackIterations) {
+            Preconditions.checkArgument(maxFeedbackIterations >= 0,
+                    "Max feedback iterations must not be negative: {}", maxFeedbackIterations);
+            this.maxFeedbackIterations = maxFeedbackIterations;
+            return this;
+        }
+
+        /**
+         * Sets the {@link EventRecorder} that records all inbound events (default: disabled)
+         *
+         * @param eventRecorder the event recorder; may not be null
+         * @return this builder
+         */
+        public Builder recorder(final EventRecorder eventRecorder) {
+            this.eventRecorder = Objects.requireNonNull(eventRecorder);
+            return this;
+        }
+
+        /**
+         * Sets the tick of {@link TimerEventChannel}, which is the accuracy of timers (default: 10 ms)
+         *
+         * @param timerTick the duration of a tick; must be positive
+         * @return this builder
+         */
+        public Builder timerTick(final Duration timerTick) {
+            Preconditions.checkArgument(!timerTick.isNegative() && !timerTick.isZero(),
+                    "Timer tick must be positive: {}", timerTick);
+            this.timerTick = timerTick;
+            return this;
+        }
+
+        /**
+         * Sets if the routing graph is partitioned into shards with an own serial executor,
+         * so unrelated shards are propagated in parallel (default: enabled)
+         *
+         * @param sharding {@code true} to enable sharding
+         * @return this builder
+         */
+        public Builder sharding(final boolean sharding) {
+            this.sharding = sharding;
+            return this;
+        }
+
+        /**
+         * Sets how inbound routings are scheduled by their {@link EventPriority}
+         * (default: {@link PriorityMode#NONE} with 16 routings in flight)
+         *
+         * @param priorityMode        the priority mode; may not be null
+         * @param maxRoutingsInFlight the maximum number of routings in flight; must be positive
+         * @return this builder
+         */
+        public Builder priorityLanes(final PriorityMode priorityMode, final int maxRoutingsInFlight) {
+            Preconditions.checkArgument(maxRoutingsInFlight > 0,
+                    "Max routings in flight must be positive: {}", maxRoutingsInFlight);
+            this.priorityMode = Objects.requireNonNull(priorityMode);
+            this.maxRoutingsInFlight = maxRoutingsInFlight;
+            return this;
+        }
+
+        /**
+         * Creates a new {@link Router} with the settings of this builder
+         *
+         * @return a new {@link Router}
+         */
+        public Router build() {
+            return new Router(this);
+        }
+    }
 }
@@ -1,8 +1,11 @@
 package li.pitschmann.knx.logic;
 
+import li.pitschmann.knx.core.annotations.Nullable;
 import li.pitschmann.knx.logic.components.InboxComponent;
 import li.pitschmann.knx.logic.event.Event;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
@@ -10,7 +13,8 @@ import java.util.Set;
  * The context for routing and should be used by
  * {@link Router} and {@link RouterInternal} exclusively.
  * <p>
- * This class is immutable
+ * This class is immutable, except the values collected for feedback
+ * links which are propagated in the next wave (see {@link #addFeedback(int, Object, Workflow)})
  *
  * @author PITSCHR
  */
@@ -18,18 +22,44 @@ final class RouterContext {
     private final Router router;
     private final Set<InboxComponent> inboxComponents;
     private final Event event;
+    private final boolean traced;
+    private List<Feedback> feedbacks;
 
     /**
-     * Creates a new context for router
+     * Creates a new context for router with tracing of workflows
      *
      * @param router          the {@link Router} instance; may not be null
      * @param inboxComponents a set of {@link InboxComponent} that is subject to be triggered by {@link Router}; may not be null
      * @param event           the event instance ; may not be null
      */
     RouterContext(final Router router, final Set<InboxComponent> inboxComponents, final Event event) {
+        this(router, inboxComponents, event, true);
+    }
+
+    /**
+     * Creates a new context for router
+     *
+     * @param router          the {@link Router} instance; may not be null
+     * @param inboxComponents a set of {@link InboxComponent} that is subject to be triggered by {@link Router}; may not be null
+     * @param event           the event instance ; may not be null
+     * @param traced          if the workflows of event should be recorded
+     */
+    RouterContext(final Router router, final Set<InboxComponent> inboxComponents, final Event event, final boolean traced) {
         this.router = Objects.requireNonNull(router);
         this.inboxComponents = Set.copyOf(inboxComponents);
         this.event = Objects.requireNonNull(event);
+        this.traced = traced;
+    }
+
+    /**
+     * Creates a new context for the same event, but a subset of {@link InboxComponent}s.
+     * Used when the inbox components of an event belong to several shards.
+     *
+     * @param inboxComponents the inbox components of new context; may not be null
+     * @return a new context without pending feedback values
+     */
+    RouterContext withInboxComponents(final Set<InboxComponent> inboxComponents) {
+        return new RouterContext(router, inboxComponents, event, traced);
     }
 
     /**
@@ -58,4 +88,78 @@ final class RouterContext {
     public Event getEvent() {
         return event;
     }
+
+    /**
+     * Returns a new {@link Workflow} for the event; disabled if the event is not traced
+     *
+     * @return new workflow
+     */
+    public Workflow newWorkflow() {
+        return traced ? Workflow.create() : Workflow.disabled();
+    }
+
+    /**
+     * Adds the value for a feedback link to be propagated in the next wave
+     *
+     * @param feedbackIndex the index of feedback link (see {@link RoutingTable#feedbackLink(int)})
+     * @param value         the value of source pin; may be null
+     * @param workflow      the workflow until the source pin
+     */
+    synchronized void addFeedback(final int feedbackIndex, final @Nullable Object value, final Workflow workflow) {
+        if (feedbacks == null) {
+            feedbacks = new ArrayList<>();
+        }
+        feedbacks.add(new Feedback(feedbackIndex, value, workflow));
+    }
+
+    /**
+     * Returns if there are values for feedback links to be propagated
+     *
+     * @return {@code true} if there are pending feedback values
+     */
+    synchronized boolean hasFeedback() {
+        return feedbacks != null && !feedbacks.isEmpty();
+    }
+
+    /**
+     * Returns and removes the pending values for feedback links in order of arrival
+     *
+     * @return list of pending feedback values; may be empty
+     */
+    synchronized List<Feedback> drainFeedback() {
+        if (feedbacks == null) {
+            return List.of();
+        }
+        final var drained = feedbacks;
+        feedbacks = null;
+        return drained;
+    }
+
+    /**
+     * Value of a feedback link that is propagated in the next wave
+     */
+    static final class Feedback {
+        private final int feedbackIndex;
+        private final Object value;
+        private final Workflow workflow;
+
+        private Feedback(final int feedbackIndex, final @Nullable Object value, final Workflow workflow) {
+            this.feedbackIndex = feedbackIndex;
+            this.value = value;
+            this.workflow = workflow;
+        }
+
+        int getFeedbackIndex() {
+            return feedbackIndex;
+        }
+
+        @Nullable
+        Object getValue() {
+            return value;
+        }
+
+        Workflow getWorkflow() {
+            return workflow;
+        }
+    }
 }
@@ -19,32 +19,39 @@ package li.pitschmann.knx.logic;
 
 import li.pitschmann.knx.core.annotations.Nullable;
 import li.pitschmann.knx.core.utils.Maps;
+import li.pitschmann.knx.core.utils.Preconditions;
 import li.pitschmann.knx.logic.components.Component;
-import li.pitschmann.knx.logic.components.ExecutableComponent;
 import li.pitschmann.knx.logic.components.InboxComponent;
 import li.pitschmann.knx.logic.components.LogicComponent;
-import li.pitschmann.knx.logic.components.OutboxComponent;
 import li.pitschmann.knx.logic.connector.Connector;
 import li.pitschmann.knx.logic.connector.ConnectorAware;
 import li.pitschmann.knx.logic.event.Event;
 import li.pitschmann.knx.logic.exceptions.RouterException;
-import li.pitschmann.knx.logic.helpers.ValueHelper;
+import li.pitschmann.knx.logic.pin.OutputPinAware;
 import li.pitschmann.knx.logic.pin.Pin;
 import li.pitschmann.knx.logic.pin.PinAware;
-import li.pitschmann.knx.logic.uid.UIDAware;
+import li.pitschmann.knx.logic.scheduler.Lane;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 /**
@@ -54,6 +61,30 @@ import java.util.stream.Collectors;
  * <p>
  * This class is called by {@link Router} instance and
  * should not be accessible from outside.
+ * <p>
+ * The mutable maps ({@link #linkMap} and {@link #connectorComponentMap}) are
+ * guarded by {@link #lock} and are compiled into an immutable {@link RoutingTable}
+ * at the end of each change (register, link, unlink, ...), so the routing does
+ * not pay for the compilation. Several changes (e.g. a bulk load) can be grouped
+ * into a batch which is compiled once on commit (see {@link #beginBatch()} and
+ * {@link #commitBatch()}). The routing itself reads the latest compiled
+ * {@link RoutingTable} only, which allows the routing without any locking
+ * and without being disturbed by concurrent link/unlink operations.
+ * <p>
+ * The routing graph is kept acyclic: a link that would create a cycle is rejected,
+ * unless it is explicitly linked as feedback link (see {@link #linkFeedback(Pin, Pin)}).
+ * The values of feedback links are propagated in the next wave after the current
+ * propagation has been completed, up to the maximum number of feedback iterations.
+ * <p>
+ * When sharding is enabled, the routing graph is partitioned into shards (connected
+ * components, see {@link RoutingTable#shardOf(int)}) and each shard gets its own
+ * {@link SerialExecutor}. The propagations of a shard are executed one after another,
+ * while unrelated shards (e.g. heating and lighting) are propagated in parallel. The
+ * shards are re-computed with the routing table. A link that merges two shards takes
+ * effect with the next event: the merged shard gets a new executor that starts after
+ * the routings queued in the executors of the former shards have been executed, so
+ * the components of a shard are never propagated concurrently. The parts of a shard
+ * split by unlink keep sharing the executor of the former shard.
  *
  * @author PITSCHR
  */
@@ -61,9 +92,9 @@ final class RouterInternal {
     private static final Logger log = LoggerFactory.getLogger(RouterInternal.class);
 
     /**
-     * The thread executors for parallel routing
+     * The executor for routing (see {@link Lane#ROUTING})
      */
-    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private final Executor executor;
 
     /**
      * <p>
@@ -76,6 +107,19 @@ final class RouterInternal {
      */
     private final Map<Pin, Set<Pin>> linkMap = Maps.newHashMap(1000);
 
+    /**
+     * Defines the {@link ValueConverter} of each link from source {@link Pin} to its target
+     * {@link Pin}s. In contrast to the {@link #linkMap} it contains the direction of links
+     * only; the converter is resolved and validated once when the link is created.
+     */
+    private final Map<Pin, Map<Pin, ValueConverter>> converterMap = Maps.newHashMap(1000);
+
+    /**
+     * Defines the feedback links between a source {@link Pin} and target {@link Pin}s.
+     * Each feedback link is also present in the {@link #linkMap}.
+     */
+    private final Map<Pin, Set<Pin>> feedbackMap = Maps.newHashMap(10);
+
     /**
      * <p>
      * Mapping between {@link Connector}s (input and output) and the
@@ -86,10 +130,80 @@ final class RouterInternal {
      */
     private final Map<Connector, Component> connectorComponentMap = Maps.newHashMap(1000);
 
+    /**
+     * Lock to guard the {@link #linkMap}, {@link #converterMap}, {@link #feedbackMap} and {@link #connectorComponentMap}
+     */
+    private final Lock lock = new ReentrantLock();
+
+    /**
+     * The latest compiled routing table with executors per shard; {@code null} when routing
+     * graph has been altered in an open batch and the routing table has to be re-compiled
+     * on commit or on next access
+     */
+    private volatile CompiledTable compiledTable = CompiledTable.EMPTY;
+
+    /**
+     * The previous compiled routing table to keep the executors of unchanged shards; guarded by {@link #lock}
+     */
+    private CompiledTable previousTable = CompiledTable.EMPTY;
+
+    /**
+     * Number of open batches; the routing table is not compiled until all batches
+     * are committed. Guarded by {@link #lock}
+     */
+    private int batchCount;
+
+    /**
+     * If the routing graph is partitioned into shards with own {@link SerialExecutor}
+     */
+    private final boolean sharding;
+
+    /**
+     * The strategy how values are propagated through the linked components
+     */
+    private final PropagationStrategy propagationStrategy;
+
+    /**
+     * The maximum number of waves for feedback links per event
+     */
+    private final int maxFeedbackIterations;
+
+    /**
+     * If the router has been shut down; new routings are rejected
+     */
+    private volatile boolean closed;
+
     /**
      * Package-protected constructor
+     *
+     * @param propagationMode       the mode how values should be propagated; may not be null
+     * @param executor              the executor for routing; may not be null
+     * @param forkJoinPool          the pool for parallel propagation; may not be null
+     * @param maxFeedbackIterations the maximum number of waves for feedback links per event
+     * @param sharding              if the routing graph should be partitioned into shards with own executor
      */
-    RouterInternal() {
+    RouterInternal(final PropagationMode propagationMode,
+                   final Executor executor,
+                   final ForkJoinPool forkJoinPool,
+                   final int maxFeedbackIterations,
+                   final boolean sharding) {
+        this.executor = Objects.requireNonNull(executor);
+        this.maxFeedbackIterations = maxFeedbackIterations;
+        this.sharding = sharding;
+        switch (propagationMode) {
+            case WAVE:
+                this.propagationStrategy = WavePropagationStrategy.INSTANCE;
+                break;
+            case PARALLEL:
+                this.propagationStrategy = new ParallelPropagationStrategy(forkJoinPool);
+                break;
+            case MAILBOX:
+                this.propagationStrategy = new MailboxPropagationStrategy(executor);
+                break;
+            case DEPTH_FIRST:
+            default:
+                this.propagationStrategy = new DepthFirstPropagationStrategy();
+        }
     }
 
     /**
@@ -102,7 +216,14 @@ final class RouterInternal {
         // register all input connectors
         if (component instanceof ConnectorAware) {
             final var connectorAware = (ConnectorAware) component;
-            connectorAware.getConnectors().forEach(connector -> connectorComponentMap.put(connector, component));
+            lock.lock();
+            try {
+                connectorAware.getConnectors().forEach(connector -> connectorComponentMap.put(connector, component));
+                compiledTable = null;
+                compileIfNotBatched();
+            } finally {
+                lock.unlock();
+            }
             log.debug("Component registered: {}", component);
         }
     }
@@ -114,16 +235,24 @@ final class RouterInternal {
      * @param component component to be de-registered
      */
     public void deregister(final Component component) {
-        // de-registers mapping of source->target and source<-target
-        if (component instanceof PinAware) {
-            final var pinAware = (PinAware) component;
-            pinAware.getPins().forEach(this::unlink);
-        }
-        // de-register all input connectors
-        if (component instanceof ConnectorAware) {
-            final var connectorAware = (ConnectorAware) component;
-            connectorAware.getConnectors().forEach(connectorComponentMap::remove);
-            log.debug("Component de-registered: {}", component);
+        lock.lock();
+        try {
+            // de-registers mapping of source->target and source<-target
+            if (component instanceof PinAware) {
+                final var pinAware = (PinAware) component;
+                pinAware.getPins().forEach(this::removeLinks);
+            }
+            // de-register all input connectors
+            if (component instanceof ConnectorAware) {
+                final var connectorAware = (ConnectorAware) component;
+                connectorAware.getConnectors().forEach(connectorComponentMap::remove);
+                compiledTable = null;
+                propagationStrategy.deregister(component);
+                log.debug("Component de-registered: {}", component);
+            }
+            compileIfNotBatched();
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -133,27 +262,140 @@ final class RouterInternal {
      *
      * @param source the source where value should come from (e.g. output pin, ...)
      * @param target the target that should receive the value (e.g. input pin, ...)
+     * @throws RouterException if the type of source pin is not compatible with the type of target pin,
+     *                         or if the link would create a cycle
      */
     public void link(final Pin source, final Pin target) {
-        linkMap.computeIfAbsent(source, key -> new LinkedHashSet<>()) // linked to be used because of ordering guarantee
-                .add(target);
+        link(source, target, false);
+    }
 
-        linkMap.computeIfAbsent(target, key -> new LinkedHashSet<>())
-                .add(source);
+    /**
+     * Creates a feedback link between the source {@link Pin} and the target {@link Pin}.
+     * A feedback link may create a cycle, its value is propagated in the next wave.
+     * If the link already exists, then it becomes a feedback link.
+     *
+     * @param source the source where value should come from (e.g. output pin, ...)
+     * @param target the target that should receive the value in next wave (e.g. input pin, ...)
+     * @throws RouterException if the type of source pin is not compatible with the type of target pin
+     */
+    public void linkFeedback(final Pin source, final Pin target) {
+        link(source, target, true);
+    }
 
-        // for detailed logging purposes only to see the mapping of source/target pins
-        if (log.isTraceEnabled()) {
-            log.trace(
-                    "LINK:\n{}",
-                    linkMap.entrySet()
-                            .stream()
-                            .map(e ->
-                                    "Source: " + e.getKey().getUid() + ", Targets: " + e.getValue().stream().map(Pin::getUid).collect(Collectors.toList()))
-                            .collect(Collectors.joining(System.lineSeparator()))
-            );
+    private void link(final Pin source, final Pin target, final boolean feedback) {
+        // reject incompatible types now instead during the routing
+        final var converter = ValueConverters.forLink(source, target);
+
+        lock.lock();
+        try {
+            if (feedback) {
+                feedbackMap.computeIfAbsent(source, key -> new LinkedHashSet<>()).add(target);
+            } else {
+                checkAcyclic(source, target);
+                removeFeedback(source, target);
+            }
+            linkMap.computeIfAbsent(source, key -> new LinkedHashSet<>()) // linked to be used because of ordering guarantee
+                    .add(target);
+
+            linkMap.computeIfAbsent(target, key -> new LinkedHashSet<>())
+                    .add(source);
+            converterMap.computeIfAbsent(source, key -> new LinkedHashMap<>()).put(target, converter);
+            compiledTable = null;
+            compileIfNotBatched();
+
+            // for detailed logging purposes only to see the mapping of source/target pins
+            if (log.isTraceEnabled()) {
+                log.trace(
+                        "LINK:\n{}",
+                        linkMap.entrySet()
+                                .stream()
+                                .map(e ->
+                                        "Source: " + e.getKey().getUid() + ", Targets: " + e.getValue().stream().map(Pin::getUid).collect(Collectors.toList()))
+                                .collect(Collectors.joining(System.lineSeparator()))
+                );
+            }
+        } finally {
+            lock.unlock();
         }
 
-        log.debug("Add Link: {} <=> {}", source.getUid(), target.getUid());
+        log.debug("Add {}: {} <=> {}", feedback ? "Feedback Link" : "Link", source.getUid(), target.getUid());
+    }
+
+    /**
+     * Checks that the link from source {@link Pin} to target {@link Pin} does not create a
+     * cycle, which means the component of source pin may not be reachable from the component
+     * of target pin. Feedback links are not considered as they are not part of the routing graph.
+     * <p>
+     * Must be called within the {@link #lock}.
+     *
+     * @param source the source where value should come from
+     * @param target the target that should receive the value
+     * @throws RouterException if the link would create a cycle
+     */
+    private void checkAcyclic(final Pin source, final Pin target) {
+        final var sourceComponent = connectorComponentMap.get(source.getConnector());
+        final var targetComponent = connectorComponentMap.get(target.getConnector());
+        if (sourceComponent == null || targetComponent == null) {
+            // not registered yet; cycle will be detected during compilation of routing table
+            return;
+        }
+
+        final var visited = Collections.newSetFromMap(new IdentityHashMap<Component, Boolean>());
+        final var stack = new ArrayDeque<Component>();
+        stack.push(targetComponent);
+        while (!stack.isEmpty()) {
+            final var component = stack.pop();
+            if (component == sourceComponent) {
+                throw new RouterException(
+                        String.format(
+                                "The link would create a cycle, use a feedback link instead: source=%s => target=%s",
+                                source.getUid(), target.getUid()
+                        )
+                );
+            }
+            if (visited.add(component) && component instanceof OutputPinAware) {
+                for (final var output : ((OutputPinAware) component).getOutputPins()) {
+                    final var linkedPins = linkMap.getOrDefault(output, Set.of());
+                    final var feedbackPins = feedbackMap.getOrDefault(output, Set.of());
+                    for (final var linkedPin : linkedPins) {
+                        final var linkedComponent = connectorComponentMap.get(linkedPin.getConnector());
+                        if (linkedComponent != null && !feedbackPins.contains(linkedPin)) {
+                            stack.push(linkedComponent);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the {@link ValueConverter} of link between the source {@link Pin} and target {@link Pin}, if present.
+     * <p>
+     * Must be called within the {@link #lock}.
+     *
+     * @param source the source of link
+     * @param target the target of link
+     */
+    private void removeConverter(final Pin source, final Pin target) {
+        final var converters = converterMap.get(source);
+        if (converters != null && converters.remove(target) != null && converters.isEmpty()) {
+            converterMap.remove(source);
+        }
+    }
+
+    /**
+     * Removes the feedback link between the source {@link Pin} and target {@link Pin}, if present.
+     * <p>
+     * Must be called within the {@link #lock}.
+     *
+     * @param source the source of feedback link
+     * @param target the target of feedback link
+     */
+    private void removeFeedback(final Pin source, final Pin target) {
+        final var targets = feedbackMap.get(source);
+        if (targets != null && targets.remove(target) && targets.isEmpty()) {
+            feedbackMap.remove(source);
+        }
     }
 
     /**
@@ -163,10 +405,27 @@ final class RouterInternal {
      * @param pin the pin whose links should be unlinked
      */
     public void unlink(final Pin pin) {
+        lock.lock();
+        try {
+            removeLinks(pin);
+            compileIfNotBatched();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all links for given {@link Pin} without compiling the routing table.
+     * <p>
+     * Must be called within the {@link #lock}.
+     *
+     * @param pin the pin whose links should be unlinked
+     */
+    private void removeLinks(final Pin pin) {
         final var otherPins = linkMap.get(pin);
         if (otherPins != null) {
-            // copy of list because we change the routingMap in method 'unlink' (avoid ConcurrentModificationException)
-            List.copyOf(otherPins).forEach(sourcePin -> unlink(sourcePin, pin));
+            // copy of list because we change the routingMap in method 'removeLink' (avoid ConcurrentModificationException)
+            List.copyOf(otherPins).forEach(sourcePin -> removeLink(sourcePin, pin));
         }
 
         // for detailed logging purposes only to see the mapping of source/target pins
@@ -190,6 +449,25 @@ final class RouterInternal {
      * @param target the target that should receive the value (e.g. input pin, ...)
      */
     public void unlink(final Pin source, final Pin target) {
+        lock.lock();
+        try {
+            removeLink(source, target);
+            compileIfNotBatched();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the link between the source {@link Pin} and the target {@link Pin}
+     * without compiling the routing table.
+     * <p>
+     * Must be called within the {@link #lock}.
+     *
+     * @param source the source where value should come from (e.g. output pin, ...)
+     * @param target the target that should receive the value (e.g. input pin, ...)
+     */
+    private void removeLink(final Pin source, final Pin target) {
         final var targets = linkMap.get(source);
         if (targets != null) {
             targets.remove(target);
@@ -206,6 +484,13 @@ final class RouterInternal {
             }
         }
 
+        // pins may be given in reverse order (see removeLinks(Pin))
+        removeConverter(source, target);
+        removeConverter(target, source);
+        removeFeedback(source, target);
+        removeFeedback(target, source);
+        compiledTable = null;
+
         log.debug("Remove Link: {} <=> {}", source.getUid(), target.getUid());
     }
 
@@ -216,11 +501,7 @@ final class RouterInternal {
      * @return an immutable list of linked pins, or empty list if no links found
      */
     List<Pin> findLinkedPins(final Pin pin) {
-        final var linkedPins = linkMap.get(pin);
-        if (linkedPins != null && !linkedPins.isEmpty()) {
-            return List.copyOf(linkedPins);
-        }
-        return List.of();
+        return getRoutingTable().linkedPins(pin);
     }
 
     /**
@@ -230,7 +511,12 @@ final class RouterInternal {
      * @return the {@link Component} that owns the connector; cannot be null
      */
     Component findComponent(final Connector connector) {
-        return Objects.requireNonNull(this.connectorComponentMap.get(connector));
+        lock.lock();
+        try {
+            return Objects.requireNonNull(this.connectorComponentMap.get(connector));
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -254,14 +540,203 @@ final class RouterInternal {
         return Objects.requireNonNull(pin.getConnector());
     }
 
+    /**
+     * Begins a batch of changes (e.g. a bulk load of components and links). The routing
+     * table is not compiled after each change of batch, but once when the batch is
+     * committed (see {@link #commitBatch()}). Batches may be nested, the routing table is
+     * compiled when the outermost batch is committed. This applies to changes of all threads.
+     */
+    void beginBatch() {
+        lock.lock();
+        try {
+            batchCount++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Commits the batch of changes that has been begun by {@link #beginBatch()} and
+     * compiles the routing table if it is the outermost batch
+     *
+     * @throws IllegalStateException if there is no open batch
+     */
+    void commitBatch() {
+        lock.lock();
+        try {
+            Preconditions.checkState(batchCount > 0, "No batch has been begun.");
+            batchCount--;
+            compileIfNotBatched();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns if all changes of routing graph have been compiled into the latest routing table
+     *
+     * @return {@code true} if compiled, {@code false} if the routing graph has been altered in an open batch
+     */
+    boolean isCompiled() {
+        return compiledTable != null;
+    }
+
+    /**
+     * Compiles the routing table if the routing graph has been altered and there is no open batch.
+     * <p>
+     * Must be called within the {@link #lock}.
+     */
+    private void compileIfNotBatched() {
+        if (batchCount == 0 && compiledTable == null) {
+            getCompiledTable();
+        }
+    }
+
+    /**
+     * Returns the latest compiled {@link RoutingTable}. The routing table is compiled
+     * eagerly at the end of each change; only when it has been altered in an open batch
+     * (see {@link #beginBatch()}), a new {@link RoutingTable} will be compiled and
+     * published on first read.
+     *
+     * @return the immutable routing table; not null
+     */
+    RoutingTable getRoutingTable() {
+        return getCompiledTable().table;
+    }
+
+    /**
+     * Returns the latest compiled {@link RoutingTable} with the executors per shard.
+     * See {@link #getRoutingTable()}.
+     *
+     * @return the compiled table; not null
+     */
+    private CompiledTable getCompiledTable() {
+        final var compiled = compiledTable;
+        if (compiled != null) {
+            return compiled;
+        }
+
+        lock.lock();
+        try {
+            var newCompiled = compiledTable;
+            if (newCompiled == null) {
+                final var newTable = new RoutingTable(new LinkedHashSet<>(connectorComponentMap.values()), connectorComponentMap, converterMap, feedbackMap);
+                newCompiled = new CompiledTable(newTable, assignShardExecutors(newTable));
+                compiledTable = newCompiled;
+                previousTable = newCompiled;
+                log.debug("Routing Table compiled: {}", newTable);
+            }
+            return newCompiled;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Assigns an executor to each shard of the {@link RoutingTable}.
+     * <p>
+     * The shards are grouped by the executors of their components in previous routing table.
+     * A group with a single previous executor keeps it; this applies to unchanged shards and
+     * to shards that have been split by unlink, as the routings queued before still may touch
+     * all of them. A group with several previous executors (shards merged by link) gets a new
+     * {@link SerialExecutor} that waits for the routings queued in the previous executors (see
+     * {@link SerialExecutor#merge(Executor, java.util.Collection)}). A shard that consists of new components
+     * gets a new {@link SerialExecutor}.
+     * <p>
+     * Must be called within the {@link #lock}.
+     *
+     * @param table the new routing table
+     * @return array of executor per shard id
+     */
+    private Executor[] assignShardExecutors(final RoutingTable table) {
+        final var shardCount = table.shardCount();
+        final var shardExecutors = new Executor[shardCount];
+        if (!sharding) {
+            Arrays.fill(shardExecutors, executor);
+            return shardExecutors;
+        }
+
+        // group the shards that share a previous executor (union-find)
+        final var groups = new int[shardCount];
+        for (var shard = 0; shard < shardCount; shard++) {
+            groups[shard] = shard;
+        }
+        final var previousShards = new IdentityHashMap<SerialExecutor, Integer>();
+        for (var c = 0; c < table.componentCount(); c++) {
+            final var previousExecutor = (SerialExecutor) previousTable.executorOf(table.component(c));
+            if (previousExecutor != null) {
+                final var otherShard = previousShards.putIfAbsent(previousExecutor, table.shardOf(c));
+                if (otherShard != null) {
+                    groups[findGroup(groups, otherShard)] = findGroup(groups, table.shardOf(c));
+                }
+            }
+        }
+        final var previousExecutors = new HashMap<Integer, List<SerialExecutor>>();
+        previousShards.forEach((previousExecutor, shard) ->
+                previousExecutors.computeIfAbsent(findGroup(groups, shard), key -> new ArrayList<>()).add(previousExecutor));
+
+        final var groupExecutors = new Executor[shardCount];
+        for (var shard = 0; shard < shardCount; shard++) {
+            final var group = findGroup(groups, shard);
+            if (groupExecutors[group] == null) {
+                final var predecessors = previousExecutors.getOrDefault(group, List.of());
+                if (predecessors.isEmpty()) {
+                    groupExecutors[group] = new SerialExecutor(executor);
+                } else if (predecessors.size() == 1) {
+                    groupExecutors[group] = predecessors.get(0);
+                } else {
+                    log.debug("Shards merged, wait for the routings of {} previous shards", predecessors.size());
+                    groupExecutors[group] = SerialExecutor.merge(executor, predecessors);
+                }
+            }
+            shardExecutors[shard] = groupExecutors[group];
+        }
+        return shardExecutors;
+    }
+
+    /**
+     * Returns the representative shard of the group the {@code shard} belongs to
+     *
+     * @param groups the array of parent shard per shard
+     * @param shard  the shard
+     * @return the representative shard of group
+     */
+    private static int findGroup(final int[] groups, final int shard) {
+        var group = shard;
+        while (groups[group] != group) {
+            groups[group] = groups[groups[group]];
+            group = groups[group];
+        }
+        return group;
+    }
+
+    /**
+     * Groups the {@link InboxComponent}s by the executor of their shards
+     *
+     * @param compiled        the compiled routing table
+     * @param inboxComponents the inbox components to be grouped
+     * @return map of executor and its inbox components (in iteration order of {@code inboxComponents})
+     */
+    private Map<Executor, Set<InboxComponent>> groupByShard(final CompiledTable compiled,
+                                                            final Set<InboxComponent> inboxComponents) {
+        final var shards = new LinkedHashMap<Executor, Set<InboxComponent>>();
+        for (final var inboxComponent : inboxComponents) {
+            final var shardExecutor = compiled.executorOf(inboxComponent);
+            shards.computeIfAbsent(shardExecutor == null ? executor : shardExecutor, key -> new LinkedHashSet<>())
+                    .add(inboxComponent);
+        }
+        return shards;
+    }
+
     /**
      * Starts the routing of {@link Event} to all suitable {@link InboxComponent}
      * using {@link RouterContext}
      * <p>
-     * It will iteratively call all {@link InboxComponent} asynchronously.
+     * All {@link InboxComponent} are called asynchronously using the {@link PropagationStrategy}.
      *
      * @param context the context of routing
      * @return a Future representing pending completion of the task and returns immutable list of all workflow
+     * @throws RejectedExecutionException if the router has been shut down
      */
     public CompletableFuture<List<Workflow>> submit(final RouterContext context) {
         final var inboxComponents = context.getInboxComponents();
@@ -269,205 +744,219 @@ final class RouterInternal {
         if (inboxComponents == null || inboxComponents.isEmpty()) {
             log.debug("No suitable inbox components found for event: {}", context.getEvent());
             return CompletableFuture.completedFuture(List.of());
-        } else {
-            var workflowFuture = CompletableFuture.<List<Workflow>>supplyAsync(() -> new ArrayList<>(inboxComponents.size()), executor);
-            for (final var inboxComponent : inboxComponents) {
-                workflowFuture = workflowFuture.thenApplyAsync(workflowList -> {
-                    workflowList.addAll(forwardInboxComponent(context, inboxComponent));
-                    return workflowList;
-                }, executor);
-            }
-            return workflowFuture;
         }
+        checkNotClosed();
+
+        // the same routing table is used for the whole routing of event
+        final var compiled = getCompiledTable();
+        final var shards = groupByShard(compiled, inboxComponents);
+        if (shards.size() == 1) {
+            return submit(context, compiled.table, shards.keySet().iterator().next());
+        }
+
+        // inbox components of several shards: each shard is propagated by its own executor
+        final var futures = new ArrayList<CompletableFuture<List<Workflow>>>(shards.size());
+        for (final var entry : shards.entrySet()) {
+            futures.add(submit(context.withInboxComponents(entry.getValue()), compiled.table, entry.getKey()));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(v -> {
+                    final var workflows = new ArrayList<Workflow>();
+                    futures.forEach(future -> workflows.addAll(future.join()));
+                    return List.copyOf(workflows);
+                });
     }
 
     /**
-     * The loop of forwarding that passed a value from component A to B.
+     * Propagates the {@link RouterContext} and its feedback waves using the executor of shard
      *
-     * @param context      the context of routing
-     * @param source       the current {@link UIDAware} (e.g. Pin) where the value comes from
-     * @param value        the value to be processed; may be null
-     * @param workflow     the workflow for pass-through
-     * @param workflowList list of workflow to be collected and returned
-     */
-    private void forwardInternal(final RouterContext context,
-                                 final Pin source,
-                                 final @Nullable Object value,
-                                 final Workflow workflow,
-                                 final List<Workflow> workflowList) {
-        final var targets = linkMap.get(source);
-        if (targets == null || targets.isEmpty()) {
-            log.debug("Dead End for '{}': {}", source, workflow);
-            workflowList.add(workflow);
-        } else {
-            for (final var target : targets) {
-                if (log.isDebugEnabled()) {
-                    log.debug("{} ==> {}", source.getUid(), target.getUid());
-                }
-
-                final var newWorkflow = workflow.add(target, value);
+     * @param context  the context of routing
+     * @param table    the routing table to be used for routing
+     * @param executor the executor of shard
+     * @return a Future representing pending completion of the task and returns list of all workflows
+     */
+    private CompletableFuture<List<Workflow>> submit(final RouterContext context,
+                                                     final RoutingTable table,
+                                                     final Executor executor) {
+        final var future = propagationStrategy.submit(context, table, executor);
+        if (!table.hasFeedbackLinks()) {
+            return future;
+        }
+        return future.thenCompose(workflows -> submitFeedback(context, table, executor, new ArrayList<>(workflows), 1));
+    }
 
-                // convert the value if necessary
-                final var newValue = convertValue(source, target, value);
-                forwardPin(context, target, newValue, newWorkflow, workflowList);
-            }
+    /**
+     * Propagates the values of feedback links collected by the previous wave in a new
+     * wave, until there are no feedback values anymore or the maximum number of feedback
+     * iterations has been reached.
+     *
+     * @param context   the context of routing
+     * @param table     the routing table to be used for routing
+     * @param executor  the executor of shard
+     * @param workflows the mutable list of workflows of previous waves
+     * @param iteration the number of feedback wave to be propagated (starting with 1)
+     * @return a Future representing pending completion of all feedback waves and returns list of all workflows
+     */
+    private CompletableFuture<List<Workflow>> submitFeedback(final RouterContext context,
+                                                             final RoutingTable table,
+                                                             final Executor executor,
+                                                             final List<Workflow> workflows,
+                                                             final int iteration) {
+        if (!context.hasFeedback()) {
+            return CompletableFuture.completedFuture(workflows);
+        } else if (iteration > maxFeedbackIterations) {
+            final var dropped = context.drainFeedback();
+            log.warn("Feedback stopped after {} iterations, {} feedback values dropped for event: {}",
+                    maxFeedbackIterations, dropped.size(), context.getEvent());
+            return CompletableFuture.completedFuture(workflows);
         }
+
+        log.debug("Feedback iteration #{} for event: {}", iteration, context.getEvent());
+        return propagationStrategy.submitFeedback(context, table, executor)
+                .thenCompose(feedbackWorkflows -> {
+                    workflows.addAll(feedbackWorkflows);
+                    return submitFeedback(context, table, executor, workflows, iteration + 1);
+                });
     }
 
     /**
-     * Forwards the value to {@link Pin} of a component and invokes the component.
-     * The outputs which are triggered as 'refresh'
+     * Submits several events in one go. All inbox components are updated first and
+     * then the values are propagated in a single wave.
      *
-     * @param context      the context of routing
-     * @param pin          the targeted pin
-     * @param value        the actual value to be forwarded
-     * @param workflow     the workflow for pass-through
-     * @param workflowList list of workflow to be collected and returned
-     */
-    private void forwardPin(final RouterContext context,
-                            final Pin pin,
-                            final @Nullable Object value,
-                            final Workflow workflow,
-                            final List<Workflow> workflowList) {
-        // set the value to pin
-        pin.setValue(value);
-
-        // find the component that owns the pin/connector for execution
-        final var component = connectorComponentMap.get(pin.getConnector());
-        if (component instanceof ExecutableComponent) {
-            ((ExecutableComponent) component).execute();
-        }
-
-        // The workflow ends here when it is an output component
-        if (component instanceof OutboxComponent) {
-            log.debug("Outbox Component: {}, Workflow: {}", component, workflow);
-            forwardOutboxComponent(context, (OutboxComponent) component);
-            workflowList.add(workflow);
-        }
-        // Otherwise forward the values which are marked as refreshed
-        else if (component instanceof LogicComponent) {
-            for (final var output : ((LogicComponent) component).getOutputPins()) {
-                if (output.isRefresh() || output.isAlwaysTrigger()) {
-                    final var outputValue = output.getValue();
-                    final var newWorkflow = workflow.add(output, outputValue);
-                    forwardInternal(context, output, outputValue, newWorkflow, workflowList);
-                }
+     * @param contexts the contexts of routing, one per event
+     * @return a Future representing pending completion of the task and returns list of workflows per event
+     * @throws RejectedExecutionException if the router has been shut down
+     */
+    public CompletableFuture<List<List<Workflow>>> submitAll(final List<RouterContext> contexts) {
+        if (contexts.stream().allMatch(context -> context.getInboxComponents().isEmpty())) {
+            log.debug("No suitable inbox components found for events: {}", contexts.size());
+            final var workflowLists = new ArrayList<List<Workflow>>(contexts.size());
+            contexts.forEach(context -> workflowLists.add(List.of()));
+            return CompletableFuture.completedFuture(workflowLists);
+        }
+        checkNotClosed();
+
+        // the same routing table is used for the whole routing of events
+        final var compiled = getCompiledTable();
+        final var batches = new LinkedHashMap<Executor, ShardBatch>();
+        for (var i = 0; i < contexts.size(); i++) {
+            final var context = contexts.get(i);
+            final var shards = groupByShard(compiled, context.getInboxComponents());
+            for (final var entry : shards.entrySet()) {
+                final var shardContext = shards.size() == 1 ? context : context.withInboxComponents(entry.getValue());
+                batches.computeIfAbsent(entry.getKey(), key -> new ShardBatch()).add(i, shardContext);
             }
-        } else {
-            log.warn("Dead End for '{}': {}", pin.getUid(), workflow);
-            throw new RouterException("Dead End because of unsupported component: " + component);
         }
+
+        if (batches.size() == 1) {
+            final var batch = batches.entrySet().iterator().next();
+            if (batch.getValue().contexts.size() == contexts.size()) {
+                return submitAll(contexts, compiled.table, batch.getKey());
+            }
+        }
+
+        // events of several shards: each shard is propagated by its own executor in a single wave
+        final var results = new ArrayList<List<Workflow>>(contexts.size());
+        contexts.forEach(context -> results.add(new ArrayList<>()));
+        final var futures = new ArrayList<CompletableFuture<Void>>(batches.size());
+        for (final var entry : batches.entrySet()) {
+            final var batch = entry.getValue();
+            futures.add(submitAll(batch.contexts, compiled.table, entry.getKey()).thenAccept(workflowLists -> {
+                synchronized (results) {
+                    for (var i = 0; i < workflowLists.size(); i++) {
+                        results.get(batch.indexes.get(i)).addAll(workflowLists.get(i));
+                    }
+                }
+            }));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(v -> results);
     }
 
     /**
-     * Forward value to {@link InboxComponent}
+     * Propagates several events in a single wave and their feedback waves using the executor of shard
      *
-     * @param context        the context of routing
-     * @param inboxComponent the targeted input component
-     * @return list of workflow during the routing
+     * @param contexts the contexts of routing, one per event
+     * @param table    the routing table to be used for routing
+     * @param executor the executor of shard
+     * @return a Future representing pending completion of the task and returns list of workflows per event
      */
-    private List<Workflow> forwardInboxComponent(final RouterContext context,
-                                                 final InboxComponent inboxComponent) {
-        final var event = context.getEvent();
-        log.debug("Inbox Component: {}, Event: {}", inboxComponent, event);
-        inboxComponent.onNext(event.getData());
-
-        final var workflowList = new LinkedList<Workflow>();
-        for (final var output : inboxComponent.getOutputPins()) {
-            final var outputValue = output.getValue();
-            final var newWorkflow = Workflow.create().add(output, outputValue);
-            forwardInternal(context, output, outputValue, newWorkflow, workflowList);
+    private CompletableFuture<List<List<Workflow>>> submitAll(final List<RouterContext> contexts,
+                                                              final RoutingTable table,
+                                                              final Executor executor) {
+        final var future = propagationStrategy.submitAll(contexts, table, executor);
+        if (!table.hasFeedbackLinks()) {
+            return future;
         }
-        return workflowList;
+        // feedback waves of events are propagated one after another
+        return future.thenCompose(workflowLists -> {
+            final var results = new ArrayList<List<Workflow>>(workflowLists.size());
+            var chain = CompletableFuture.<List<Workflow>>completedFuture(List.of());
+            for (var i = 0; i < contexts.size(); i++) {
+                final var context = contexts.get(i);
+                final var workflows = new ArrayList<>(workflowLists.get(i));
+                results.add(workflows);
+                chain = chain.thenCompose(previous -> submitFeedback(context, table, executor, workflows, 1));
+            }
+            return chain.thenApply(last -> results);
+        });
     }
 
     /**
-     * Forward and finalize the routing to {@link OutboxComponent}. The routing will stop here.
+     * Rejects the routing when the router has been shut down. A {@link SerialExecutor} of
+     * shard accepts tasks as long as its drain is running, even after the underlying executor
+     * has been shut down.
      *
-     * @param context         the context of routing
-     * @param outboxComponent the last component which is outbox
+     * @throws RejectedExecutionException if the router has been shut down
      */
-    private void forwardOutboxComponent(final RouterContext context,
-                                        final OutboxComponent outboxComponent) {
-        final var data = outboxComponent.execute();
-        log.debug("Outbox Component: {}, Data: {}", outboxComponent, data);
+    private void checkNotClosed() {
+        if (closed) {
+            throw new RejectedExecutionException("Router has been shut down");
+        }
+    }
 
-        // submits to the outbound
-        final var event = new Event(outboxComponent.getEventKey(), data);
-        context.getRouter().outbound(event);
+    /**
+     * Shuts down the routing. New routings are rejected.
+     */
+    public void shutdown() {
+        closed = true;
     }
 
     /**
-     * If necessary it tries to convert the value taken from {@code originPin} to
-     * a type that is supported by {@code nextPin}.
-     * <p>
-     * This gives a more flexibility to convert e.g. {@link String} values to a {@link Integer}
-     * if the string represents digits only.
-     * <p>
-     * In case the value could not be converted a {@link RouterException} will be thrown.
-     *
-     * @param source the pin where the value comes from
-     * @param target the pin that should set with the value
-     * @param value  the given value; may be null
-     * @return the value; may not be null
-     * @throws RouterException in case the conversion was not possible
-     */
-    private Object convertValue(final Pin source,
-                                final Pin target,
-                                final @Nullable Object value) {
-        final var targetFieldType = target.getDescriptor().getFieldType();
-        if (value == null) {
-            final var newValue = ValueHelper.getDefaultValueFor(targetFieldType);
-            log.debug("Converted NULL value to '{}' (type: {}): source={}, target={}",
-                    newValue, targetFieldType, source.getUid(), target.getUid());
-            return newValue;
-        }
-
-        final var valueType = value.getClass();
-
-        // OK, class is assignable - no conversion required
-        if (targetFieldType.isAssignableFrom(valueType)) {
-            log.debug("No conversion required for value '{}' (type: {}=>{}): source={}, target={}",
-                    value, valueType, targetFieldType, source.getUid(), target.getUid());
-            return value;
-        }
-        // Conversion required, will try with conversion
-        else {
-            Object convertedValue = null;
-            // Any object -> String
-            if (targetFieldType == String.class) {
-                convertedValue = String.valueOf(value);
-            }
-            // Boolean -> Number (1, 1.0)
-            else if (valueType == Boolean.class
-                    && Number.class.isAssignableFrom(targetFieldType)) {
-                convertedValue = Boolean.TRUE.equals(value) ? 1 : 0;
-            }
-            // Number (1, 1.0) -> Boolean
-            else if (Number.class.isAssignableFrom(valueType)
-                    && targetFieldType == Boolean.class) {
-                final var iValue = (int) value;
-                if (iValue == 0) {
-                    convertedValue = Boolean.FALSE;
-                } else if (iValue == 1) {
-                    convertedValue = Boolean.TRUE;
-                }
-            }
+     * Compiled {@link RoutingTable} together with the executor per shard
+     */
+    private static final class CompiledTable {
+        private static final CompiledTable EMPTY = new CompiledTable(RoutingTable.EMPTY, new Executor[0]);
+        private final RoutingTable table;
+        private final Executor[] shardExecutors;
+
+        private CompiledTable(final RoutingTable table, final Executor[] shardExecutors) {
+            this.table = table;
+            this.shardExecutors = shardExecutors;
+        }
 
-            // Conversion was successful?
-            if (convertedValue != null) {
-                log.debug("Converted from '{}' to '{}' (type: {}=>{}): source={}, target={}",
-                        value, convertedValue, valueType, targetFieldType, source.getUid(), target.getUid());
-                return convertedValue;
-            }
+        /**
+         * Returns the executor of shard the {@link Component} belongs to
+         *
+         * @param component the component
+         * @return executor of shard, or {@code null} if the component is not known by the routing table
+         */
+        @Nullable
+        private Executor executorOf(final Component component) {
+            final var componentId = table.componentId(component);
+            return componentId < 0 ? null : shardExecutors[table.shardOf(componentId)];
         }
+    }
+
+    /**
+     * Contexts of events that are propagated by the same shard, with the index of the original event
+     */
+    private static final class ShardBatch {
+        private final List<Integer> indexes = new ArrayList<>();
+        private final List<RouterContext> contexts = new ArrayList<>();
 
-        // not compatible
-        throw new RouterException(
-                String.format(
-                        "The type of value '%s' (value: %s) is not compatible with '%s': source=%s => target=%s",
-                        valueType, value, targetFieldType, source.getUid(), target.getUid()
-                )
-        );
+        private void add(final int index, final RouterContext context) {
+            indexes.add(index);
+            contexts.add(context);
+        }
     }
 }
@@ -0,0 +1,653 @@
+package li.pitschmann.knx.logic;
+
+import li.pitschmann.knx.core.utils.Strings;
+import li.pitschmann.knx.logic.components.Component;
+import li.pitschmann.knx.logic.connector.Connector;
+import li.pitschmann.knx.logic.pin.OutputPinAware;
+import li.pitschmann.knx.logic.pin.Pin;
+import li.pitschmann.knx.logic.pin.PinAware;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable and compiled snapshot of the routing graph that is used by
+ * {@link RouterInternal} during the propagation of an event.
+ * <p>
+ * Every {@link Pin} and {@link Component} known by the router gets a dense
+ * integer id. The links between pins are stored as compressed adjacency arrays
+ * (the targets of pin {@code N} are in range {@code [linkOffsets[N], linkOffsets[N+1])}
+ * of the {@code links} array) together with the {@link ValueConverter} per link that
+ * has been resolved when the link was created. The opposite direction of links (from
+ * target to source) is kept in separate adjacency arrays without converter, it is used
+ * to look up the linked pins only. The owning component of each pin is pre-resolved
+ * and the output pins of each component are pre-collected. This means that the
+ * propagation does not need any map look up per hop, except once for the entry
+ * pin of the inbox component.
+ * <p>
+ * Additionally, each component gets a topological rank: a component has always
+ * a higher rank than all its upstream components. Components that are part of
+ * a cycle (or downstream of a cycle) get a rank after all other components.
+ * <p>
+ * The components are partitioned into shards: a shard is a connected component of
+ * the routing graph, two components linked (directly or indirectly) with each other
+ * are always in the same shard. A propagation never leaves its shard, therefore
+ * the shards may be propagated independently of each other.
+ * <p>
+ * Feedback links (see {@link Router#linkFeedback(Pin, Pin)}) are not part of the
+ * links above and therefore are not considered for the topological rank. They are
+ * stored in separate adjacency arrays and are propagated in the next wave only.
+ * <p>
+ * The snapshot is never changed after creation, which allows the router threads
+ * to read it without any locking. When the routing graph is altered
+ * (e.g. link/unlink, register/de-register) a new snapshot is compiled and
+ * published by the {@link RouterInternal}.
+ * <p>
+ * This class is package-protected and should be used by {@link RouterInternal} only.
+ *
+ * @author PITSCHR
+ */
+final class RoutingTable {
+    /**
+     * Empty routing table without any pins and components
+     */
+    static final RoutingTable EMPTY = new RoutingTable(List.of(), Map.of(), Map.of(), Map.of());
+
+    private final Map<Pin, Integer> pinIds;
+    private final Map<Component, Integer> componentIds;
+    private final Pin[] pins;
+    private final Component[] components;
+    private final int[] pinComponents;
+    private final int[] linkOffsets;
+    private final int[] links;
+    private final ValueConverter[] converters;
+    private final boolean[] pinToPin;
+    private final int[] reverseOffsets;
+    private final int[] reverseLinks;
+    private final int[] feedbackOffsets;
+    private final int[] feedbackLinks;
+    private final ValueConverter[] feedbackConverters;
+    private final int[] outputOffsets;
+    private final int[] outputs;
+    private final int[] ranks;
+    private final boolean[] cyclic;
+    private final boolean hasCycles;
+    private final int[] shards;
+    private final int shardCount;
+
+    /**
+     * Compiles a new routing table without feedback links
+     *
+     * @param components            collection of registered components; may not be null
+     * @param connectorComponentMap the map of {@link Connector} and its owning {@link Component}; may not be null
+     * @param linkMap               the map of source {@link Pin} and its target {@link Pin}s with the
+     *                              {@link ValueConverter} of link; may not be null
+     */
+    RoutingTable(final Collection<Component> components,
+                 final Map<Connector, Component> connectorComponentMap,
+                 final Map<Pin, ? extends Map<Pin, ValueConverter>> linkMap) {
+        this(components, connectorComponentMap, linkMap, Map.of());
+    }
+
+    /**
+     * Compiles a new routing table
+     *
+     * @param components            collection of registered components; may not be null
+     * @param connectorComponentMap the map of {@link Connector} and its owning {@link Component}; may not be null
+     * @param linkMap               the map of source {@link Pin} and its target {@link Pin}s with the
+     *                              {@link ValueConverter} of link; may not be null
+     * @param feedbackMap           the map of source {@link Pin} and its targets of feedback links,
+     *                              the feedback links must be present in {@code linkMap} too; may not be null
+     */
+    RoutingTable(final Collection<Component> components,
+                 final Map<Connector, Component> connectorComponentMap,
+                 final Map<Pin, ? extends Map<Pin, ValueConverter>> linkMap,
+                 final Map<Pin, ? extends Collection<Pin>> feedbackMap) {
+        // assign dense ids for components
+        this.components = components.toArray(new Component[0]);
+        this.componentIds = new IdentityHashMap<>(this.components.length);
+        for (var i = 0; i < this.components.length; i++) {
+            componentIds.put(this.components[i], i);
+        }
+
+        // assign dense ids for pins (pins of registered components and linked pins)
+        final var pinList = new ArrayList<Pin>();
+        this.pinIds = new IdentityHashMap<>();
+        for (final var component : this.components) {
+            if (component instanceof PinAware) {
+                for (final var pin : ((PinAware) component).getPins()) {
+                    indexPin(pin, pinList);
+                }
+            }
+        }
+        for (final var entry : linkMap.entrySet()) {
+            indexPin(entry.getKey(), pinList);
+            for (final var pin : entry.getValue().keySet()) {
+                indexPin(pin, pinList);
+            }
+        }
+        this.pins = pinList.toArray(new Pin[0]);
+
+        // pre-resolve the owning component of each pin
+        this.pinComponents = new int[this.pins.length];
+        for (var i = 0; i < this.pins.length; i++) {
+            final var component = connectorComponentMap.get(this.pins[i].getConnector());
+            pinComponents[i] = component == null ? -1 : componentIds.getOrDefault(component, -1);
+        }
+
+        // links and feedback links in compressed adjacency arrays (ordering of targets is kept)
+        this.linkOffsets = new int[this.pins.length + 1];
+        this.feedbackOffsets = new int[this.pins.length + 1];
+        this.reverseOffsets = new int[this.pins.length + 1];
+        var linkCount = 0;
+        for (final var targets : linkMap.values()) {
+            linkCount += targets.size();
+            for (final var target : targets.keySet()) {
+                reverseOffsets[pinIds.get(target) + 1]++;
+            }
+        }
+        var feedbackCount = 0;
+        for (final var targets : feedbackMap.values()) {
+            feedbackCount += targets.size();
+        }
+        this.links = new int[linkCount - feedbackCount];
+        this.converters = new ValueConverter[linkCount - feedbackCount];
+        this.feedbackLinks = new int[feedbackCount];
+        this.feedbackConverters = new ValueConverter[feedbackCount];
+        this.reverseLinks = new int[linkCount];
+        for (var i = 0; i < this.pins.length; i++) {
+            reverseOffsets[i + 1] += reverseOffsets[i];
+        }
+        final var reverseIndexes = Arrays.copyOf(reverseOffsets, this.pins.length);
+        var linkIndex = 0;
+        var feedbackIndex = 0;
+        for (var i = 0; i < this.pins.length; i++) {
+            linkOffsets[i] = linkIndex;
+            feedbackOffsets[i] = feedbackIndex;
+            final var targets = linkMap.get(this.pins[i]);
+            if (targets != null) {
+                final var feedbackTargets = feedbackMap.get(this.pins[i]);
+                for (final var entry : targets.entrySet()) {
+                    final int targetId = pinIds.get(entry.getKey());
+                    if (feedbackTargets != null && feedbackTargets.contains(entry.getKey())) {
+                        feedbackConverters[feedbackIndex] = entry.getValue();
+                        feedbackLinks[feedbackIndex++] = targetId;
+                    } else {
+                        converters[linkIndex] = entry.getValue();
+                        links[linkIndex++] = targetId;
+                    }
+                    reverseLinks[reverseIndexes[targetId]++] = i;
+                }
+            }
+        }
+        linkOffsets[this.pins.length] = linkIndex;
+        feedbackOffsets[this.pins.length] = feedbackIndex;
+
+        // pins whose value is transferred to all linked pins as primitive
+        this.pinToPin = new boolean[this.pins.length];
+        for (var i = 0; i < this.pins.length; i++) {
+            var primitive = linkOffsets[i] < linkOffsets[i + 1] && feedbackOffsets[i] == feedbackOffsets[i + 1];
+            for (var l = linkOffsets[i]; primitive && l < linkOffsets[i + 1]; l++) {
+                primitive = converters[l].isPinToPin();
+            }
+            pinToPin[i] = primitive;
+        }
+
+        // output pins of each component in compressed adjacency arrays
+        this.outputOffsets = new int[this.components.length + 1];
+        final var outputList = new ArrayList<Integer>();
+        for (var i = 0; i < this.components.length; i++) {
+            outputOffsets[i] = outputList.size();
+            if (this.components[i] instanceof OutputPinAware) {
+                for (final var output : ((OutputPinAware) this.components[i]).getOutputPins()) {
+                    final var outputId = pinIds.get(output);
+                    if (outputId != null) {
+                        outputList.add(outputId);
+                    }
+                }
+            }
+        }
+        outputOffsets[this.components.length] = outputList.size();
+        this.outputs = outputList.stream().mapToInt(Integer::intValue).toArray();
+
+        this.cyclic = new boolean[this.components.length];
+        this.ranks = computeRanks();
+        var anyCyclic = false;
+        for (final var c : cyclic) {
+            anyCyclic |= c;
+        }
+        this.hasCycles = anyCyclic;
+
+        this.shards = new int[this.components.length];
+        this.shardCount = computeShards();
+    }
+
+    /**
+     * Computes the topological rank of each component using Kahn's algorithm.
+     * The edges are given by the links of output pins to the pins of other components.
+     *
+     * @return array of rank per component id
+     */
+    private int[] computeRanks() {
+        final var componentCount = components.length;
+        final var inDegrees = new int[componentCount];
+        for (var c = 0; c < componentCount; c++) {
+            for (var i = outputOffsets[c]; i < outputOffsets[c + 1]; i++) {
+                for (var l = linkOffsets[outputs[i]]; l < linkOffsets[outputs[i] + 1]; l++) {
+                    final var target = pinComponents[links[l]];
+                    if (target >= 0 && target != c) {
+                        inDegrees[target]++;
+                    }
+                }
+            }
+        }
+
+        final var componentRanks = new int[componentCount];
+        final var queue = new int[componentCount];
+        var head = 0;
+        var tail = 0;
+        for (var c = 0; c < componentCount; c++) {
+            if (inDegrees[c] == 0) {
+                queue[tail++] = c;
+            }
+        }
+
+        var maxRank = 0;
+        while (head < tail) {
+            final var c = queue[head++];
+            maxRank = Math.max(maxRank, componentRanks[c]);
+            for (var i = outputOffsets[c]; i < outputOffsets[c + 1]; i++) {
+                for (var l = linkOffsets[outputs[i]]; l < linkOffsets[outputs[i] + 1]; l++) {
+                    final var target = pinComponents[links[l]];
+                    if (target >= 0 && target != c) {
+                        componentRanks[target] = Math.max(componentRanks[target], componentRanks[c] + 1);
+                        if (--inDegrees[target] == 0) {
+                            queue[tail++] = target;
+                        }
+                    }
+                }
+            }
+        }
+
+        // components in or behind a cycle (never reached in-degree zero) are ranked after all others
+        if (tail < componentCount) {
+            for (var c = 0; c < componentCount; c++) {
+                if (inDegrees[c] > 0) {
+                    componentRanks[c] = maxRank + 1;
+                    cyclic[c] = true;
+                }
+            }
+        }
+        return componentRanks;
+    }
+
+    /**
+     * Computes the shards (connected components) using union-find. The edges are given
+     * by the links and feedback links between pins of components; the direction of the
+     * links is not relevant. The shard ids are dense and assigned in order of components.
+     *
+     * @return number of shards
+     */
+    private int computeShards() {
+        final var parents = new int[components.length];
+        for (var c = 0; c < parents.length; c++) {
+            parents[c] = c;
+        }
+        for (var p = 0; p < pins.length; p++) {
+            final var source = pinComponents[p];
+            if (source >= 0) {
+                for (var l = linkOffsets[p]; l < linkOffsets[p + 1]; l++) {
+                    union(parents, source, pinComponents[links[l]]);
+                }
+                for (var l = feedbackOffsets[p]; l < feedbackOffsets[p + 1]; l++) {
+                    union(parents, source, pinComponents[feedbackLinks[l]]);
+                }
+            }
+        }
+
+        final var shardIds = new int[components.length];
+        Arrays.fill(shardIds, -1);
+        var count = 0;
+        for (var c = 0; c < components.length; c++) {
+            final var root = find(parents, c);
+            if (shardIds[root] < 0) {
+                shardIds[root] = count++;
+            }
+            shards[c] = shardIds[root];
+        }
+        return count;
+    }
+
+    private static int find(final int[] parents, final int component) {
+        var c = component;
+        while (parents[c] != c) {
+            // path halving
+            parents[c] = parents[parents[c]];
+            c = parents[c];
+        }
+        return c;
+    }
+
+    private static void union(final int[] parents, final int component, final int otherComponent) {
+        if (otherComponent < 0) {
+            return;
+        }
+        final var root = find(parents, component);
+        final var otherRoot = find(parents, otherComponent);
+        if (root != otherRoot) {
+            parents[Math.max(root, otherRoot)] = Math.min(root, otherRoot);
+        }
+    }
+
+    /**
+     * Assigns the next free id to the given {@link Pin} if not indexed yet.
+     *
+     * @param pin     the pin to be indexed; may not be null
+     * @param pinList list of already indexed pins; position in list is the id of pin
+     */
+    private void indexPin(final Pin pin, final List<Pin> pinList) {
+        if (!pinIds.containsKey(pin)) {
+            pinIds.put(pin, pinList.size());
+            pinList.add(pin);
+        }
+    }
+
+    /**
+     * Returns the id of given {@link Pin}
+     *
+     * @param pin the pin to look up; may not be null
+     * @return id of pin, or {@code -1} if the pin is not known by the routing table
+     */
+    int pinId(final Pin pin) {
+        final var id = pinIds.get(pin);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns the {@link Pin} for given {@code pinId}
+     *
+     * @param pinId id of pin
+     * @return the pin; not null
+     */
+    Pin pin(final int pinId) {
+        return pins[pinId];
+    }
+
+    /**
+     * Returns the number of pins known by routing table
+     *
+     * @return number of pins
+     */
+    int pinCount() {
+        return pins.length;
+    }
+
+    /**
+     * Returns the id of given {@link Component}
+     *
+     * @param component the component to look up; may not be null
+     * @return id of component, or {@code -1} if the component is not registered
+     */
+    int componentId(final Component component) {
+        final var id = componentIds.get(component);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns the {@link Component} for given {@code componentId}
+     *
+     * @param componentId id of component
+     * @return the component; not null
+     */
+    Component component(final int componentId) {
+        return components[componentId];
+    }
+
+    /**
+     * Returns the number of components known by routing table
+     *
+     * @return number of components
+     */
+    int componentCount() {
+        return components.length;
+    }
+
+    /**
+     * Returns the id of {@link Component} that owns the pin with given {@code pinId}
+     *
+     * @param pinId id of pin
+     * @return id of component, or {@code -1} if the owner is not registered
+     */
+    int componentOf(final int pinId) {
+        return pinComponents[pinId];
+    }
+
+    /**
+     * Returns the topological rank of component with {@code componentId}.
+     * The rank of a component is always higher than ranks of its upstream components.
+     *
+     * @param componentId id of component
+     * @return topological rank
+     */
+    int rank(final int componentId) {
+        return ranks[componentId];
+    }
+
+    /**
+     * Returns if the component with {@code componentId} is part of a cycle
+     * or is downstream of a cycle.
+     *
+     * @param componentId id of component
+     * @return {@code true} if the component could not be ranked topologically
+     */
+    boolean isCyclic(final int componentId) {
+        return cyclic[componentId];
+    }
+
+    /**
+     * Returns if the routing graph contains a cycle. Usually the cycles are rejected
+     * when linking, except the components have been registered after linking.
+     *
+     * @return {@code true} if at least one component is part of a cycle
+     */
+    boolean hasCycles() {
+        return hasCycles;
+    }
+
+    /**
+     * Returns the shard of given {@code componentId}. Components with the same
+     * shard are linked with each other (directly or indirectly).
+     *
+     * @param componentId id of component
+     * @return shard id, starting with {@code 0}
+     */
+    int shardOf(final int componentId) {
+        return shards[componentId];
+    }
+
+    /**
+     * Returns the number of shards
+     *
+     * @return number of shards
+     */
+    int shardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Returns the start index (inclusive) of links for pin with {@code pinId}
+     * to be used with {@link #link(int)}
+     *
+     * @param pinId id of pin
+     * @return start index of links
+     */
+    int linkStart(final int pinId) {
+        return linkOffsets[pinId];
+    }
+
+    /**
+     * Returns the end index (exclusive) of links for pin with {@code pinId}
+     * to be used with {@link #link(int)}
+     *
+     * @param pinId id of pin
+     * @return end index of links
+     */
+    int linkEnd(final int pinId) {
+        return linkOffsets[pinId + 1];
+    }
+
+    /**
+     * Returns the id of linked pin at given {@code index}
+     *
+     * @param index the index between {@link #linkStart(int)} and {@link #linkEnd(int)}
+     * @return id of linked pin
+     */
+    int link(final int index) {
+        return links[index];
+    }
+
+    /**
+     * Returns the {@link ValueConverter} of link at given {@code index} that converts
+     * the value of pin to the type of linked pin
+     *
+     * @param index the index between {@link #linkStart(int)} and {@link #linkEnd(int)}
+     * @return the value converter of link
+     */
+    ValueConverter converter(final int index) {
+        return converters[index];
+    }
+
+    /**
+     * Returns if the value of pin with {@code pinId} is transferred to all its linked pins
+     * as primitive (see {@link ValueConverter#isPinToPin()}). Such pin has no feedback links,
+     * therefore the value doesn't need to be read (and boxed) unless it is recorded.
+     *
+     * @param pinId id of pin
+     * @return {@code true} if all links of pin are pin-to-pin, otherwise {@code false}
+     */
+    boolean isPinToPin(final int pinId) {
+        return pinToPin[pinId];
+    }
+
+    /**
+     * Returns if the routing graph contains feedback links
+     *
+     * @return {@code true} if there is at least one feedback link
+     */
+    boolean hasFeedbackLinks() {
+        return feedbackLinks.length > 0;
+    }
+
+    /**
+     * Returns the start index (inclusive) of feedback links for pin with {@code pinId}
+     * to be used with {@link #feedbackLink(int)}
+     *
+     * @param pinId id of pin
+     * @return start index of feedback links
+     */
+    int feedbackStart(final int pinId) {
+        return feedbackOffsets[pinId];
+    }
+
+    /**
+     * Returns the end index (exclusive) of feedback links for pin with {@code pinId}
+     * to be used with {@link #feedbackLink(int)}
+     *
+     * @param pinId id of pin
+     * @return end index of feedback links
+     */
+    int feedbackEnd(final int pinId) {
+        return feedbackOffsets[pinId + 1];
+    }
+
+    /**
+     * Returns the id of pin that is linked by the feedback link at given {@code index}
+     *
+     * @param index the index between {@link #feedbackStart(int)} and {@link #feedbackEnd(int)}
+     * @return id of linked pin
+     */
+    int feedbackLink(final int index) {
+        return feedbackLinks[index];
+    }
+
+    /**
+     * Returns the {@link ValueConverter} of feedback link at given {@code index}
+     *
+     * @param index the index between {@link #feedbackStart(int)} and {@link #feedbackEnd(int)}
+     * @return the value converter of feedback link
+     */
+    ValueConverter feedbackConverter(final int index) {
+        return feedbackConverters[index];
+    }
+
+    /**
+     * Returns the start index (inclusive) of output pins for component with
+     * {@code componentId} to be used with {@link #output(int)}
+     *
+     * @param componentId id of component
+     * @return start index of output pins
+     */
+    int outputStart(final int componentId) {
+        return outputOffsets[componentId];
+    }
+
+    /**
+     * Returns the end index (exclusive) of output pins for component with
+     * {@code componentId} to be used with {@link #output(int)}
+     *
+     * @param componentId id of component
+     * @return end index of output pins
+     */
+    int outputEnd(final int componentId) {
+        return outputOffsets[componentId + 1];
+    }
+
+    /**
+     * Returns the id of output pin at given {@code index}
+     *
+     * @param index the index between {@link #outputStart(int)} and {@link #outputEnd(int)}
+     * @return id of output pin
+     */
+    int output(final int index) {
+        return outputs[index];
+    }
+
+    /**
+     * Returns a list of {@link Pin} that are linked with given {@link Pin}
+     *
+     * @param pin the given pin to gather linked pins
+     * @return an immutable list of linked pins, or empty list if no links found
+     */
+    List<Pin> linkedPins(final Pin pin) {
+        final var pinId = pinId(pin);
+        if (pinId < 0) {
+            return List.of();
+        }
+        final var linkedPins = new ArrayList<Pin>();
+        for (var i = linkStart(pinId); i < linkEnd(pinId); i++) {
+            linkedPins.add(pins[links[i]]);
+        }
+        for (var i = feedbackStart(pinId); i < feedbackEnd(pinId); i++) {
+            linkedPins.add(pins[feedbackLinks[i]]);
+        }
+        for (var i = reverseOffsets[pinId]; i < reverseOffsets[pinId + 1]; i++) {
+            linkedPins.add(pins[reverseLinks[i]]);
+        }
+        return List.copyOf(linkedPins);
+    }
+
+    @Override
+    public String toString() {
+        return Strings.toStringHelper(this) //
+                .add("pins", pins.length) //
+                .add("components", components.length) //
+                .add("links", links.length) //
+                .add("feedbackLinks", feedbackLinks.length) //
+                .add("shards", shardCount) //
+                .toString();
+    }
+}
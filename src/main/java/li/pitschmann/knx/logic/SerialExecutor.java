@@ -0,0 +1,207 @@
+package li.pitschmann.knx.logic;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link Executor} that executes the tasks one after another in order of
+ * submission using the threads of an underlying executor.
+ * <p>
+ * The {@link RouterInternal} uses one serial executor per shard (connected
+ * component of the routing graph), therefore the propagations of a shard are
+ * never executed concurrently while unrelated shards are propagated in parallel
+ * by the threads of {@link li.pitschmann.knx.logic.scheduler.Lane#ROUTING}.
+ * The tasks are executed in order of submission regardless of the priority of
+ * event (see {@link PriorityLanes}).
+ * <p>
+ * To be fair with other shards, the worker returns its thread to the underlying
+ * executor after {@link #MAX_TASKS_PER_DRAIN} tasks and is re-scheduled.
+ * <p>
+ * When shards are merged, the serial executors of the merged shards are retired and
+ * replaced by a new serial executor (see {@link #merge(Executor, Collection)}). The new
+ * serial executor is held until the tasks queued in the retired serial executors have
+ * been executed, and tasks that arrive in a retired serial executor afterwards are
+ * forwarded to the new serial executor. Therefore the tasks of the merged shard are
+ * never executed concurrently with the tasks queued before the merge.
+ * <p>
+ * This class is package-protected and should be used by {@link RouterInternal} only.
+ *
+ * @author PITSCHR
+ */
+final class SerialExecutor implements Executor {
+    private static final Logger log = LoggerFactory.getLogger(SerialExecutor.class);
+    private static final int MAX_TASKS_PER_DRAIN = 64;
+    private final Executor executor;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    /**
+     * Number of retired serial executors whose queued tasks have not been executed yet
+     */
+    private final AtomicInteger holds = new AtomicInteger();
+    /**
+     * The serial executor that replaced this retired serial executor; {@code null} if not retired.
+     * Only written and read by the worker of this serial executor (or by {@link #retire(SerialExecutor)}
+     * which takes the role of worker when idle).
+     */
+    private SerialExecutor successor;
+
+    /**
+     * Creates a serial executor
+     *
+     * @param executor the underlying executor; may not be null
+     */
+    SerialExecutor(final Executor executor) {
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    /**
+     * Creates a serial executor for a shard that replaces the serial executors of merged shards.
+     * The new serial executor accepts tasks immediately, but executes them not before the tasks
+     * queued in the {@code predecessors} have been executed.
+     *
+     * @param executor     the underlying executor; may not be null
+     * @param predecessors the serial executors to be retired; may not be null
+     * @return a new serial executor
+     */
+    static SerialExecutor merge(final Executor executor, final Collection<SerialExecutor> predecessors) {
+        final var merged = new SerialExecutor(executor);
+        merged.holds.set(predecessors.size());
+        predecessors.forEach(predecessor -> predecessor.retire(merged));
+        return merged;
+    }
+
+    /**
+     * Retires this serial executor. A barrier task is queued which releases the
+     * {@code successor} once all tasks queued before have been executed; tasks
+     * polled after the barrier are forwarded to the {@code successor}.
+     * <p>
+     * If this serial executor is idle (nothing queued, not running and not held),
+     * the {@code successor} is released immediately without a barrier task.
+     *
+     * @param successor the serial executor that replaces this serial executor
+     */
+    private void retire(final SerialExecutor successor) {
+        // idle: take the role of worker, so no task can be executed in meanwhile
+        if (holds.get() == 0 && scheduled.compareAndSet(false, true)) {
+            final var idle = tasks.isEmpty();
+            if (idle) {
+                this.successor = successor;
+                successor.release();
+            }
+            // tasks arrived in meanwhile are executed (or forwarded when retired) by a worker
+            scheduled.set(false);
+            if (!tasks.isEmpty() && scheduled.compareAndSet(false, true) && !reschedule()) {
+                drain();
+            }
+            if (idle) {
+                return;
+            }
+        }
+
+        final Runnable barrier = () -> {
+            this.successor = successor;
+            successor.release();
+        };
+        try {
+            execute(barrier);
+        } catch (final RejectedExecutionException e) {
+            // nothing is queued and the underlying executor has been shut down
+            barrier.run();
+        }
+    }
+
+    /**
+     * Releases one hold; the pending tasks are scheduled when the last hold has been released
+     */
+    private void release() {
+        if (holds.decrementAndGet() == 0 && !tasks.isEmpty() && scheduled.compareAndSet(false, true)
+                && !reschedule()) {
+            drain();
+        }
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        tasks.add(Objects.requireNonNull(command));
+        if (holds.get() == 0 && scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (final RejectedExecutionException e) {
+                tasks.remove(command);
+                scheduled.set(false);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Executes the pending tasks in order of submission
+     */
+    private void drain() {
+        var count = 0;
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            try {
+                if (successor == null) {
+                    task.run();
+                } else {
+                    forward(task);
+                }
+            } catch (final Throwable t) {
+                log.error("Uncaught exception in task: {}", task, t);
+            }
+
+            if (++count >= MAX_TASKS_PER_DRAIN) {
+                if (reschedule()) {
+                    return;
+                }
+                count = 0;
+            }
+        }
+
+        // re-schedule when new tasks arrived in meanwhile
+        scheduled.set(false);
+        if (!tasks.isEmpty() && scheduled.compareAndSet(false, true) && !reschedule()) {
+            drain();
+        }
+    }
+
+    /**
+     * Forwards the task to the successor of this retired serial executor
+     *
+     * @param task the task that arrived after this serial executor has been retired
+     */
+    private void forward(final Runnable task) {
+        try {
+            successor.execute(task);
+        } catch (final RejectedExecutionException e) {
+            log.debug("Forwarding rejected, execute task in current thread");
+            task.run();
+        }
+    }
+
+    /**
+     * Re-schedules the worker on the underlying executor
+     *
+     * @return {@code true} if re-scheduled, {@code false} if rejected (e.g. during shutdown)
+     * and the pending tasks have to be drained by the current thread
+     */
+    private boolean reschedule() {
+        try {
+            executor.execute(this::drain);
+            return true;
+        } catch (final RejectedExecutionException e) {
+            log.debug("Re-scheduling rejected, continue draining in current thread");
+            return false;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package li.pitschmann.knx.logic;
+
+/**
+ * Token bucket according to the {@link RateLimit}. The bucket starts full.
+ * <p>
+ * This class is not thread-safe and is used by the single drainer of an
+ * outbound channel queue only.
+ *
+ * @author PITSCHR
+ */
+final class TokenBucket {
+    private final double tokensPerNano;
+    private final double capacity;
+    private double tokens;
+    private long lastRefillNanos;
+
+    TokenBucket(final RateLimit rateLimit) {
+        this.tokensPerNano = rateLimit.getPermitsPerSecond() / 1e9;
+        this.capacity = rateLimit.getBurst();
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Tries to take a token from the bucket
+     *
+     * @return {@code 0} if the token has been taken, otherwise the nanoseconds
+     * to wait until the next token is available
+     */
+    long tryAcquire() {
+        final var now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = now;
+        if (tokens >= 1d) {
+            tokens -= 1d;
+            return 0L;
+        }
+        return Math.max(1L, (long) Math.ceil((1d - tokens) / tokensPerNano));
+    }
+}
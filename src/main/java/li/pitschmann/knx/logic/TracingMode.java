@@ -0,0 +1,32 @@
+package li.pitschmann.knx.logic;
+
+/**
+ * Modes for tracing of {@link Workflow}s by the {@link Router}
+ *
+ * <pre>{@code
+ * final var router = Router.builder()
+ *      .tracing(TracingMode.SAMPLED)
+ *      .tracingSampleRate(100)
+ *      .build();
+ * }</pre>
+ *
+ * @author PITSCHR
+ */
+public enum TracingMode {
+
+    /**
+     * <p>No workflow is recorded. The routing doesn't allocate anything for
+     * workflow bookkeeping and returns empty list of workflows.</p>
+     */
+    OFF,
+
+    /**
+     * <p>Workflows are recorded for 1 in N events only.</p>
+     */
+    SAMPLED,
+
+    /**
+     * <p>Workflows are recorded for every event.</p>
+     */
+    ALWAYS
+}
@@ -0,0 +1,91 @@
+package li.pitschmann.knx.logic;
+
+import li.pitschmann.knx.core.annotations.Nullable;
+import li.pitschmann.knx.logic.exceptions.RouterException;
+import li.pitschmann.knx.logic.pin.Pin;
+
+/**
+ * Converter of a value from the type of source pin to the type of target pin.
+ * <p>
+ * The converter is resolved once per link by {@link ValueConverters} when the
+ * {@link RoutingTable} is compiled, therefore the propagation only invokes the
+ * prebuilt converter.
+ *
+ * @author PITSCHR
+ */
+@FunctionalInterface
+interface ValueConverter {
+
+    /**
+     * Converts the value to the type of target pin
+     *
+     * @param value the value from source pin; may be null
+     * @return the converted value; may be null if there is no default value for type of target pin
+     * @throws RouterException in case the value could not be converted
+     */
+    @Nullable
+    Object convert(@Nullable Object value);
+
+    /**
+     * Converts the value to the type of target pin and sets it to the target pin.
+     * <p>
+     * Converters for links to a primitive pin (e.g. {@code DoublePin}) override this
+     * method to set the value as primitive without boxing the converted value.
+     *
+     * @param value  the value from source pin; may be null
+     * @param target the target pin of link
+     * @throws RouterException in case the value could not be converted
+     */
+    default void convertTo(final @Nullable Object value, final Pin target) {
+        target.setValue(convert(value));
+    }
+
+    /**
+     * Returns if the value is transferred from the source pin to the target pin as primitive
+     * (e.g. {@code DoublePin} to {@code DoublePin}), see {@link #read(Pin)} and {@link #write(long, Pin)}.
+     *
+     * @return {@code true} if both pins of link are primitive pins, otherwise {@code false}
+     */
+    default boolean isPinToPin() {
+        return false;
+    }
+
+    /**
+     * Reads the value of source pin as primitive without boxing; supported by
+     * pin-to-pin converters only (see {@link #isPinToPin()})
+     *
+     * @param source the source pin of link
+     * @return the value of source pin as raw bits, to be passed to {@link #write(long, Pin)}
+     */
+    default long read(final Pin source) {
+        throw new UnsupportedOperationException("Not a pin-to-pin converter: " + this);
+    }
+
+    /**
+     * Converts the value read by {@link #read(Pin)} and sets it to the target pin as
+     * primitive; supported by pin-to-pin converters only (see {@link #isPinToPin()})
+     *
+     * @param bits   the value of source pin as raw bits
+     * @param target the target pin of link
+     * @throws RouterException in case the value could not be converted
+     */
+    default void write(final long bits, final Pin target) {
+        throw new UnsupportedOperationException("Not a pin-to-pin converter: " + this);
+    }
+
+    /**
+     * Transfers the value from the source pin to the target pin. A pin-to-pin
+     * converter transfers the value as primitive without boxing.
+     *
+     * @param source the source pin of link
+     * @param target the target pin of link
+     * @throws RouterException in case the value could not be converted
+     */
+    default void transfer(final Pin source, final Pin target) {
+        if (isPinToPin()) {
+            write(read(source), target);
+        } else {
+            convertTo(source.getValue(), target);
+        }
+    }
+}
@@ -0,0 +1,492 @@
+package li.pitschmann.knx.logic;
+
+import li.pitschmann.knx.core.annotations.Nullable;
+import li.pitschmann.knx.logic.exceptions.RouterException;
+import li.pitschmann.knx.logic.helpers.ValueHelper;
+import li.pitschmann.knx.logic.pin.BooleanPin;
+import li.pitschmann.knx.logic.pin.DoublePin;
+import li.pitschmann.knx.logic.pin.IntPin;
+import li.pitschmann.knx.logic.pin.LongPin;
+import li.pitschmann.knx.logic.pin.Pin;
+
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Factory for {@link ValueConverter} between the types of two {@link Pin}s.
+ * <p>
+ * Supported conversions (in this order):
+ * <ul>
+ *     <li>Identity if the target type is assignable from the source type</li>
+ *     <li>Any value to {@link String}</li>
+ *     <li>{@link Boolean} to {@link Number} ({@code 1} or {@code 0} in the type of target)</li>
+ *     <li>{@link Number} to {@link Boolean} ({@code 1} or {@code 0} only)</li>
+ *     <li>Lossless numeric widening (e.g. {@link Integer} to {@link Long}, {@link Float} to {@link Double})
+ *     and numeric to {@link BigDecimal}</li>
+ * </ul>
+ * If the source type is not final (e.g. {@link Object} or {@link Number}), the
+ * converter is resolved per runtime class of value and is cached.
+ * <p>
+ * A {@code null} value is always converted to the default value of target type
+ * (see {@link ValueHelper#getDefaultValueFor(Class)}).
+ * <p>
+ * If the target pin is a primitive pin ({@link BooleanPin}, {@link IntPin}, {@link LongPin}
+ * or {@link DoublePin}) and the type of source pin is a wrapper of primitive, the value
+ * is converted and set to the target pin as primitive (see {@link ValueConverter#convertTo(Object, Pin)}).
+ * If the source pin is a primitive pin as well, the value is transferred from pin to pin
+ * without boxing (see {@link ValueConverter#transfer(Pin, Pin)}).
+ * <p>
+ * DPT specific conversions are not needed here as the DPT inbox and outbox components
+ * are already converting between the KNX data point values and java types.
+ *
+ * @author PITSCHR
+ */
+final class ValueConverters {
+    private static final ValueConverter IDENTITY = value -> value;
+    /**
+     * Numeric types in order of lossless widening (see JLS 5.1.2)
+     */
+    private static final List<Class<?>> WIDENING_ORDER = List.of(
+            Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class
+    );
+
+    private ValueConverters() {
+        throw new AssertionError("Don't touch me!");
+    }
+
+    /**
+     * Returns the {@link ValueConverter} for the link from {@code source} to {@code target}
+     *
+     * @param source the pin where the value comes from
+     * @param target the pin that should be set with the value
+     * @return the value converter
+     * @throws RouterException if the type of source pin is not compatible with the type of target pin
+     */
+    static ValueConverter forLink(final Pin source, final Pin target) {
+        final var sourceType = source.getDescriptor().getFieldType();
+        final var targetType = target.getDescriptor().getFieldType();
+        final var converter = of(sourceType, targetType);
+        if (converter == null) {
+            throw new RouterException(
+                    String.format(
+                            "The type '%s' of source pin is not compatible with '%s' of target pin: source=%s => target=%s",
+                            sourceType, targetType, source.getUid(), target.getUid()
+                    )
+            );
+        }
+        return primitive(converter, source, target);
+    }
+
+    /**
+     * Returns the {@link ValueConverter} that sets the converted value as primitive if
+     * the {@code target} is a primitive pin and the type of {@code source} is a wrapper of
+     * primitive. If the {@code source} is a primitive pin too, the value is transferred
+     * from pin to pin without boxing.
+     *
+     * @param converter the converter between the types of source and target pin
+     * @param source    the pin where the value comes from
+     * @param target    the pin that should be set with the value
+     * @return the primitive converter, or the given {@code converter} if not applicable
+     */
+    private static ValueConverter primitive(final ValueConverter converter, final Pin source, final Pin target) {
+        final var sourceType = source.getDescriptor().getFieldType();
+        if (sourceType != Boolean.class && !WIDENING_ORDER.contains(sourceType)) {
+            return converter;
+        }
+        final ValueConverter primitiveConverter;
+        if (target instanceof BooleanPin) {
+            primitiveConverter = new PrimitiveConverter(converter, (value, pin) -> ((BooleanPin) pin).setBooleanValue(toPrimitiveBoolean(value)));
+        } else if (target instanceof IntPin) {
+            primitiveConverter = new PrimitiveConverter(converter, (value, pin) -> ((IntPin) pin).setIntValue(toPrimitiveNumber(value).intValue()));
+        } else if (target instanceof LongPin) {
+            primitiveConverter = new PrimitiveConverter(converter, (value, pin) -> ((LongPin) pin).setLongValue(toPrimitiveNumber(value).longValue()));
+        } else if (target instanceof DoublePin) {
+            primitiveConverter = new PrimitiveConverter(converter, (value, pin) -> ((DoublePin) pin).setDoubleValue(toPrimitiveNumber(value).doubleValue()));
+        } else {
+            return converter;
+        }
+
+        final var sourceKind = PrimitiveKind.of(source);
+        return sourceKind == null
+                ? primitiveConverter
+                : new PinToPinConverter(primitiveConverter, sourceKind, PrimitiveKind.of(target));
+    }
+
+    /**
+     * Converts the value of a {@link Boolean} or {@link Number} source to a primitive {@code boolean}
+     *
+     * @param value the value; may be null
+     * @return {@code false} for {@code null}, otherwise the {@code boolean} value
+     * @throws RouterException for a number other than {@code 0} or {@code 1}
+     */
+    private static boolean toPrimitiveBoolean(final @Nullable Object value) {
+        if (value == null) {
+            return false;
+        } else if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        return toBoolean((Number) value);
+    }
+
+    /**
+     * Converts the value of a {@link Boolean} or {@link Number} source to a {@link Number}
+     * without allocation; the caller takes the primitive value of target type
+     *
+     * @param value the value; may be null
+     * @return {@code 0} for {@code null} and {@link Boolean#FALSE}, {@code 1} for {@link Boolean#TRUE},
+     * otherwise the number itself
+     */
+    private static Number toPrimitiveNumber(final @Nullable Object value) {
+        if (value == null) {
+            return 0;
+        } else if (value instanceof Boolean) {
+            return (Boolean) value ? 1 : 0;
+        }
+        return (Number) value;
+    }
+
+    /**
+     * Returns the {@link ValueConverter} from {@code sourceType} to {@code targetType}
+     *
+     * @param sourceType the type of value
+     * @param targetType the type that is expected
+     * @return the null-safe value converter, or {@code null} if the types are not compatible
+     */
+    @Nullable
+    static ValueConverter of(final Class<?> sourceType, final Class<?> targetType) {
+        final var converter = find(sourceType, targetType);
+        return converter == null ? null : nullSafe(converter, targetType);
+    }
+
+    /**
+     * Finds the {@link ValueConverter} from {@code sourceType} to {@code targetType}
+     *
+     * @param sourceType the type of value
+     * @param targetType the type that is expected
+     * @return the value converter, or {@code null} if the types are not compatible
+     */
+    @Nullable
+    private static ValueConverter find(final Class<?> sourceType, final Class<?> targetType) {
+        final var converter = findStatic(sourceType, targetType);
+        if (converter != null) {
+            return converter;
+        }
+        // type of value is known at runtime only
+        if (!Modifier.isFinal(sourceType.getModifiers())) {
+            return new DynamicConverter(targetType);
+        }
+        return null;
+    }
+
+    /**
+     * Finds the {@link ValueConverter} from {@code sourceType} to {@code targetType}
+     * that can be resolved by the types only
+     *
+     * @param sourceType the type of value
+     * @param targetType the type that is expected
+     * @return the value converter, or {@code null} if there is no conversion by types
+     */
+    @Nullable
+    private static ValueConverter findStatic(final Class<?> sourceType, final Class<?> targetType) {
+        // OK, class is assignable - no conversion required
+        if (targetType.isAssignableFrom(sourceType)) {
+            return IDENTITY;
+        }
+        // Any object -> String
+        if (targetType == String.class) {
+            return String::valueOf;
+        }
+        // Boolean -> Number (1, 1.0)
+        if (sourceType == Boolean.class && Number.class.isAssignableFrom(targetType)) {
+            final var one = toNumber(1, targetType);
+            final var zero = toNumber(0, targetType);
+            return one == null ? null : value -> Boolean.TRUE.equals(value) ? one : zero;
+        }
+        // Number (1, 1.0) -> Boolean
+        if (Number.class.isAssignableFrom(sourceType) && targetType == Boolean.class) {
+            return value -> toBoolean((Number) value);
+        }
+        // Number -> wider Number
+        final var sourceIndex = WIDENING_ORDER.indexOf(sourceType);
+        if (sourceIndex >= 0) {
+            if (targetType == BigDecimal.class) {
+                return value -> new BigDecimal(value.toString());
+            }
+            final var targetIndex = WIDENING_ORDER.indexOf(targetType);
+            if (targetIndex > sourceIndex) {
+                return widening(targetType);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the converter for widening of a {@link Number} to the {@code targetType}
+     *
+     * @param targetType one of {@link #WIDENING_ORDER}
+     * @return the value converter
+     */
+    private static ValueConverter widening(final Class<?> targetType) {
+        if (targetType == Short.class) {
+            return value -> ((Number) value).shortValue();
+        } else if (targetType == Integer.class) {
+            return value -> ((Number) value).intValue();
+        } else if (targetType == Long.class) {
+            return value -> ((Number) value).longValue();
+        } else if (targetType == Float.class) {
+            return value -> ((Number) value).floatValue();
+        } else {
+            return value -> ((Number) value).doubleValue();
+        }
+    }
+
+    /**
+     * Returns the {@code number} as instance of {@code targetType}
+     *
+     * @param number     the number (0 or 1)
+     * @param targetType the type of number
+     * @return the number in type of {@code targetType}, or {@code null} if not supported
+     */
+    @Nullable
+    private static Number toNumber(final int number, final Class<?> targetType) {
+        if (targetType == Integer.class || targetType == Number.class) {
+            return number;
+        } else if (targetType == Long.class) {
+            return (long) number;
+        } else if (targetType == Double.class) {
+            return (double) number;
+        } else if (targetType == Float.class) {
+            return (float) number;
+        } else if (targetType == Short.class) {
+            return (short) number;
+        } else if (targetType == Byte.class) {
+            return (byte) number;
+        } else if (targetType == BigDecimal.class) {
+            return BigDecimal.valueOf(number);
+        }
+        return null;
+    }
+
+    /**
+     * Converts the {@link Number} to a {@link Boolean}
+     *
+     * @param number the number
+     * @return {@link Boolean#FALSE} for 0, {@link Boolean#TRUE} for 1
+     * @throws RouterException for any other number
+     */
+    private static Boolean toBoolean(final Number number) {
+        final var value = number.doubleValue();
+        if (value == 0d) {
+            return Boolean.FALSE;
+        } else if (value == 1d) {
+            return Boolean.TRUE;
+        }
+        throw incompatible(number, Boolean.class);
+    }
+
+    /**
+     * Wraps the {@link ValueConverter} which returns the default value of
+     * {@code targetType} for a {@code null} value
+     *
+     * @param converter  the converter for non-null values
+     * @param targetType the type that is expected
+     * @return the null-safe value converter
+     */
+    private static ValueConverter nullSafe(final ValueConverter converter, final Class<?> targetType) {
+        final var defaultValue = ValueHelper.getDefaultValueFor(targetType);
+        return value -> value == null ? defaultValue : converter.convert(value);
+    }
+
+    private static RouterException incompatible(final Object value, final Class<?> targetType) {
+        return new RouterException(
+                String.format(
+                        "The type of value '%s' (value: %s) is not compatible with '%s'",
+                        value.getClass(), value, targetType
+                )
+        );
+    }
+
+    /**
+     * Converter for links to a primitive pin. The value is set to the target pin as
+     * primitive; {@link #convert(Object)} is delegated to the converter between the
+     * types of source and target pin.
+     */
+    private static final class PrimitiveConverter implements ValueConverter {
+        private final ValueConverter converter;
+        private final BiConsumer<Object, Pin> primitiveSetter;
+
+        private PrimitiveConverter(final ValueConverter converter, final BiConsumer<Object, Pin> primitiveSetter) {
+            this.converter = converter;
+            this.primitiveSetter = primitiveSetter;
+        }
+
+        @Override
+        public Object convert(final @Nullable Object value) {
+            return converter.convert(value);
+        }
+
+        @Override
+        public void convertTo(final @Nullable Object value, final Pin target) {
+            primitiveSetter.accept(value, target);
+        }
+    }
+
+    /**
+     * Kind of primitive pin
+     */
+    private enum PrimitiveKind {
+        BOOLEAN, INT, LONG, DOUBLE;
+
+        /**
+         * Returns the kind of primitive pin
+         *
+         * @param pin the pin
+         * @return the kind, or {@code null} if the pin is not a primitive pin
+         */
+        @Nullable
+        private static PrimitiveKind of(final Pin pin) {
+            if (pin instanceof BooleanPin) {
+                return BOOLEAN;
+            } else if (pin instanceof IntPin) {
+                return INT;
+            } else if (pin instanceof LongPin) {
+                return LONG;
+            } else if (pin instanceof DoublePin) {
+                return DOUBLE;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Converter for links between two primitive pins. The value of source pin is read as raw
+     * bits ({@code 1}/{@code 0} for {@code boolean}, the value for {@code int} and {@code long},
+     * {@link Double#doubleToRawLongBits(double)} for {@code double}) and set to the target pin
+     * as primitive. The types have been validated when the link was created, therefore only
+     * the conversions of {@link #findStatic(Class, Class)} are possible.
+     */
+    private static final class PinToPinConverter implements ValueConverter {
+        private final ValueConverter converter;
+        private final PrimitiveKind sourceKind;
+        private final PrimitiveKind targetKind;
+
+        private PinToPinConverter(final ValueConverter converter, final PrimitiveKind sourceKind, final PrimitiveKind targetKind) {
+            this.converter = converter;
+            this.sourceKind = sourceKind;
+            this.targetKind = targetKind;
+        }
+
+        @Override
+        public Object convert(final @Nullable Object value) {
+            return converter.convert(value);
+        }
+
+        @Override
+        public void convertTo(final @Nullable Object value, final Pin target) {
+            converter.convertTo(value, target);
+        }
+
+        @Override
+        public boolean isPinToPin() {
+            return true;
+        }
+
+        @Override
+        public long read(final Pin source) {
+            switch (sourceKind) {
+                case BOOLEAN:
+                    return ((BooleanPin) source).getBooleanValue() ? 1L : 0L;
+                case INT:
+                    return ((IntPin) source).getIntValue();
+                case LONG:
+                    return ((LongPin) source).getLongValue();
+                default:
+                    return Double.doubleToRawLongBits(((DoublePin) source).getDoubleValue());
+            }
+        }
+
+        @Override
+        public void write(final long bits, final Pin target) {
+            switch (targetKind) {
+                case BOOLEAN:
+                    ((BooleanPin) target).setBooleanValue(toBoolean(bits));
+                    break;
+                case INT:
+                    // source is boolean or int
+                    ((IntPin) target).setIntValue((int) bits);
+                    break;
+                case LONG:
+                    // source is boolean, int or long
+                    ((LongPin) target).setLongValue(bits);
+                    break;
+                default:
+                    ((DoublePin) target).setDoubleValue(sourceKind == PrimitiveKind.DOUBLE ? Double.longBitsToDouble(bits) : bits);
+            }
+        }
+
+        /**
+         * Converts the raw bits to a {@code boolean}
+         *
+         * @param bits the value of source pin as raw bits
+         * @return {@code false} for 0, {@code true} for 1
+         * @throws RouterException for any other number
+         */
+        private boolean toBoolean(final long bits) {
+            final var number = sourceKind == PrimitiveKind.DOUBLE ? Double.longBitsToDouble(bits) : bits;
+            if (number == 0d) {
+                return false;
+            } else if (number == 1d) {
+                return true;
+            }
+            throw incompatible(box(bits), Boolean.class);
+        }
+
+        /**
+         * Returns the raw bits as boxed value of source type
+         *
+         * @param bits the value of source pin as raw bits
+         * @return the boxed value
+         */
+        private Object box(final long bits) {
+            switch (sourceKind) {
+                case BOOLEAN:
+                    return bits != 0;
+                case INT:
+                    return (int) bits;
+                case LONG:
+                    return bits;
+                default:
+                    return Double.longBitsToDouble(bits);
+            }
+        }
+    }
+
+    /**
+     * Converter for values which type is known at runtime only. The converter
+     * per runtime type is resolved once and cached.
+     */
+    private static final class DynamicConverter implements ValueConverter {
+        private final Map<Class<?>, Optional<ValueConverter>> converters = new ConcurrentHashMap<>();
+        private final Class<?> targetType;
+
+        private DynamicConverter(final Class<?> targetType) {
+            this.targetType = targetType;
+        }
+
+        @Override
+        public Object convert(final @Nullable Object value) {
+            if (targetType.isInstance(value)) {
+                return value;
+            }
+            final var converter = converters
+                    .computeIfAbsent(value.getClass(), valueType -> Optional.ofNullable(findStatic(valueType, targetType)))
+                    .orElseThrow(() -> incompatible(value, targetType));
+            return converter.convert(value);
+        }
+    }
+}
@@ -0,0 +1,429 @@
+package li.pitschmann.knx.logic;
+
+import li.pitschmann.knx.core.annotations.Nullable;
+import li.pitschmann.knx.logic.components.ExecutableComponent;
+import li.pitschmann.knx.logic.components.LogicComponent;
+import li.pitschmann.knx.logic.components.OutboxComponent;
+import li.pitschmann.knx.logic.pin.Pin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Glitch-free {@link PropagationStrategy} (see {@link PropagationMode#WAVE})
+ * <p>
+ * The values are set to the linked input pins only, and the owning components
+ * are collected as dirty into a work queue that is ordered by the topological
+ * rank of {@link RoutingTable#rank(int)}. A component is executed when all its
+ * upstream components have been executed, and at most once per wave. This
+ * avoids intermediate values when a component is reachable via several paths
+ * (e.g. diamond) and therefore also redundant outbound events.
+ * <p>
+ * Per component only the workflow of last arrived value is tracked.
+ * <p>
+ * Several events can be propagated in a single wave (see {@link #propagateAll(List, RoutingTable)}):
+ * all inbox components are updated first and a component with changed inputs
+ * from several events is executed only once.
+ * <p>
+ * The values of feedback links are propagated in a new wave that is started
+ * from the targets of feedback links (see {@link #propagateFeedback(RouterContext, RoutingTable)}).
+ * <p>
+ * The state of a wave is kept in per-thread scratch arrays that are reused by all waves
+ * of the thread; only the entries of components reached by the wave are reset afterwards.
+ * Therefore the cost of a wave depends on the reached components and not on the size of
+ * the routing table.
+ *
+ * @author PITSCHR
+ */
+final class WavePropagationStrategy extends AbstractPropagationStrategy {
+    private static final Logger log = LoggerFactory.getLogger(WavePropagationStrategy.class);
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+    /**
+     * Shared instance; the strategy has no state besides the per-thread scratch
+     */
+    static final WavePropagationStrategy INSTANCE = new WavePropagationStrategy();
+
+    private WavePropagationStrategy() {
+    }
+
+    @Override
+    public List<Workflow> propagate(final RouterContext context, final RoutingTable table) {
+        return propagateAll(List.of(context), table).get(0);
+    }
+
+    @Override
+    public List<List<Workflow>> propagateAll(final List<RouterContext> contexts, final RoutingTable table) {
+        final var wave = new Wave(contexts, table);
+        try {
+            // start of wave: all inbox components of all events
+            for (var i = 0; i < contexts.size(); i++) {
+                final var context = contexts.get(i);
+                for (final var inboxComponent : context.getInboxComponents()) {
+                    onInboxComponent(context, inboxComponent);
+                    for (final var output : inboxComponent.getOutputPins()) {
+                        final var outputId = table.pinId(output);
+                        if (outputId < 0) {
+                            final var newWorkflow = context.newWorkflow().add(output, output.getValue());
+                            log.debug("Dead End for '{}': {}", output, newWorkflow);
+                            addWorkflow(wave.workflowLists.get(i), newWorkflow);
+                        } else {
+                            wave.forwardLinks(i, outputId, context.newWorkflow());
+                        }
+                    }
+                }
+            }
+
+            // execute dirty components in topological order
+            wave.run();
+        } finally {
+            wave.release();
+        }
+        return wave.workflowLists;
+    }
+
+    /**
+     * Propagates the values collected for feedback links of {@link RouterContext}
+     * in a new wave
+     *
+     * @param context the context of routing with pending feedback values
+     * @param table   the routing table to be used for routing
+     * @return list of workflow during the routing
+     */
+    List<Workflow> propagateFeedback(final RouterContext context, final RoutingTable table) {
+        final var wave = new Wave(List.of(context), table);
+        try {
+            for (final var feedback : context.drainFeedback()) {
+                final var feedbackIndex = feedback.getFeedbackIndex();
+                wave.forwardLink(0, null, table.feedbackLink(feedbackIndex), table.feedbackConverter(feedbackIndex),
+                        feedback.getValue(), feedback.getWorkflow());
+            }
+            wave.run();
+        } finally {
+            wave.release();
+        }
+        return wave.workflowLists.get(0);
+    }
+
+    /**
+     * State of a single wave
+     */
+    private final class Wave {
+        private final List<RouterContext> contexts;
+        private final RoutingTable table;
+        /**
+         * List of workflows per event (same index as in {@link #contexts})
+         */
+        private final List<List<Workflow>> workflowLists;
+        private final Scratch scratch;
+
+        private Wave(final List<RouterContext> contexts, final RoutingTable table) {
+            this.contexts = contexts;
+            this.table = table;
+            this.workflowLists = new ArrayList<>(contexts.size());
+            for (var i = 0; i < contexts.size(); i++) {
+                this.workflowLists.add(new ArrayList<>());
+            }
+            this.scratch = Scratch.acquire(table.componentCount());
+        }
+
+        /**
+         * Resets the entries of reached components and releases the scratch for the next wave
+         */
+        private void release() {
+            scratch.release();
+        }
+
+        /**
+         * Forwards the value to all {@link Pin}s that are linked with the pin of {@code sourceId}
+         * and marks the owning components as dirty. No component is executed here.
+         * <p>
+         * The value of source pin is read (and boxed) only if it is recorded by the workflow
+         * or not transferred pin-to-pin (see {@link #isPinToPin(RoutingTable, int, Workflow)}).
+         *
+         * @param owner          the index of event the value belongs to
+         * @param sourceId       the id of {@link Pin} where the value comes from
+         * @param parentWorkflow the workflow until the component of {@link Pin}
+         */
+        private void forwardLinks(final int owner,
+                                  final int sourceId,
+                                  final Workflow parentWorkflow) {
+            final var source = table.pin(sourceId);
+            final var pinToPin = isPinToPin(table, sourceId, parentWorkflow);
+            final var value = pinToPin ? null : source.getValue();
+            final var workflow = parentWorkflow.add(source, value);
+            final var linkEnd = table.linkEnd(sourceId);
+            var linkIndex = table.linkStart(sourceId);
+            final var feedback = collectFeedback(contexts.get(owner), table, sourceId, value, workflow);
+            if (linkIndex == linkEnd) {
+                if (!feedback) {
+                    log.debug("Dead End for '{}': {}", source, workflow);
+                    addWorkflow(workflowLists.get(owner), workflow);
+                }
+                return;
+            }
+
+            for (; linkIndex < linkEnd; linkIndex++) {
+                final var targetId = table.link(linkIndex);
+                if (log.isDebugEnabled()) {
+                    log.debug("{} ==> {}", source.getUid(), table.pin(targetId).getUid());
+                }
+                forwardLink(owner, pinToPin ? source : null, targetId, table.converter(linkIndex), value, workflow);
+            }
+        }
+
+        /**
+         * Forwards the value to the {@link Pin} of {@code targetId} and marks the
+         * owning component as dirty.
+         *
+         * @param owner     the index of event the value belongs to
+         * @param source    the {@link Pin} to transfer the value pin-to-pin from
+         *                  (see {@link ValueConverter#transfer(Pin, Pin)}); if null the {@code value} is forwarded
+         * @param targetId  the id of {@link Pin} that should receive the value
+         * @param converter the converter of link
+         * @param value     the value to be forwarded; may be null
+         * @param workflow  the workflow for pass-through
+         */
+        private void forwardLink(final int owner,
+                                 final @Nullable Pin source,
+                                 final int targetId,
+                                 final ValueConverter converter,
+                                 final @Nullable Object value,
+                                 final Workflow workflow) {
+            final var target = table.pin(targetId);
+            final var newWorkflow = workflow.add(target, value);
+            final var component = getComponent(table, targetId);
+            if (!(component instanceof OutboxComponent || component instanceof LogicComponent)) {
+                log.warn("Dead End for '{}': {}", target.getUid(), newWorkflow);
+                throw unsupportedComponent(component);
+            }
+
+            // convert the value if necessary and set it to the pin
+            if (source != null) {
+                converter.transfer(source, target);
+            } else {
+                converter.convertTo(value, target);
+            }
+            markDirty(table.componentOf(targetId), owner, newWorkflow);
+        }
+
+        /**
+         * Marks the component as dirty so it will be executed in this wave.
+         * <p>
+         * If the component is already dirty because of another event, the workflow
+         * of the other event ends here as the component is executed once for both.
+         *
+         * @param componentId id of component
+         * @param owner       the index of event the arrived value belongs to
+         * @param workflow    the workflow of arrived value
+         */
+        private void markDirty(final int componentId, final int owner, final Workflow workflow) {
+            final var s = scratch;
+            if (s.executed[componentId]) {
+                // may happen only when components are linked in a cycle
+                log.debug("Component already executed in this wave: {}", table.component(componentId));
+            } else {
+                final var previousWorkflow = s.componentWorkflows[componentId];
+                if (previousWorkflow == null) {
+                    s.touched[s.touchedCount++] = componentId;
+                    s.queue.add(table.rank(componentId), componentId);
+                } else if (s.componentOwners[componentId] != owner) {
+                    log.debug("Workflow merged into event #{}: {}", owner, previousWorkflow);
+                    addWorkflow(workflowLists.get(s.componentOwners[componentId]), previousWorkflow);
+                }
+                s.componentWorkflows[componentId] = workflow;
+                s.componentOwners[componentId] = owner;
+            }
+        }
+
+        /**
+         * Executes all dirty components in order of their topological rank
+         */
+        private void run() {
+            final var s = scratch;
+            int componentId;
+            while ((componentId = s.queue.poll()) >= 0) {
+                final var component = table.component(componentId);
+                final var workflow = s.componentWorkflows[componentId];
+                final var owner = s.componentOwners[componentId];
+                s.executed[componentId] = true;
+
+                if (component instanceof ExecutableComponent) {
+                    ((ExecutableComponent) component).execute();
+                }
+
+                // The workflow ends here when it is an output component
+                if (component instanceof OutboxComponent) {
+                    log.debug("Outbox Component: {}, Workflow: {}", component, workflow);
+                    forwardOutboxComponent(contexts.get(owner), (OutboxComponent) component);
+                    addWorkflow(workflowLists.get(owner), workflow);
+                }
+                // Otherwise forward the values which are marked as refreshed
+                else {
+                    final var outputEnd = table.outputEnd(componentId);
+                    for (var i = table.outputStart(componentId); i < outputEnd; i++) {
+                        final var outputId = table.output(i);
+                        final var output = table.pin(outputId);
+                        if (output.isRefresh() || output.isAlwaysTrigger()) {
+                            forwardLinks(owner, outputId, workflow);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Per-thread scratch state of a wave, sized to the number of components and
+     * reused by all waves of the thread. Only the entries of components that have
+     * been reached by a wave (see {@link #touched}) are reset on {@link #release()}.
+     */
+    private static final class Scratch {
+        /**
+         * Workflow of last arrived value per component; not null means the component is dirty
+         */
+        private Workflow[] componentWorkflows = new Workflow[0];
+        /**
+         * Index of event (in {@link Wave#contexts}) that owns the last arrived value per component
+         */
+        private int[] componentOwners = new int[0];
+        /**
+         * Flag per component if it has been already executed in this wave
+         */
+        private boolean[] executed = new boolean[0];
+        /**
+         * Ids of components reached by the wave; each component is added at most once
+         */
+        private int[] touched = new int[0];
+        private int touchedCount;
+        private final RankQueue queue = new RankQueue();
+        private boolean inUse;
+
+        /**
+         * Returns the scratch of current thread with capacity for given number of components.
+         * If the scratch of current thread is in use (a wave started within a wave, e.g.
+         * by a synchronous outbound), a new scratch is returned.
+         *
+         * @param componentCount number of components of routing table
+         * @return scratch for the wave
+         */
+        private static Scratch acquire(final int componentCount) {
+            var scratch = SCRATCH.get();
+            if (scratch.inUse) {
+                scratch = new Scratch();
+            }
+            scratch.inUse = true;
+            if (scratch.executed.length < componentCount) {
+                scratch.componentWorkflows = new Workflow[componentCount];
+                scratch.componentOwners = new int[componentCount];
+                scratch.executed = new boolean[componentCount];
+                scratch.touched = new int[componentCount];
+            }
+            // ranks are between 0 and number of components (components in a cycle)
+            scratch.queue.ensureCapacity(componentCount + 1);
+            return scratch;
+        }
+
+        private void release() {
+            for (var i = 0; i < touchedCount; i++) {
+                final var componentId = touched[i];
+                componentWorkflows[componentId] = null;
+                executed[componentId] = false;
+            }
+            touchedCount = 0;
+            queue.clear();
+            inUse = false;
+        }
+    }
+
+    /**
+     * Primitive priority queue of component ids bucketed by topological rank.
+     * The component with the lowest rank is polled first, components with
+     * the same rank are polled in order of their ids.
+     */
+    private static final class RankQueue {
+        private int[][] buckets = new int[0][];
+        /**
+         * Position of next id to be polled per rank
+         */
+        private int[] heads = new int[0];
+        /**
+         * Number of ids added per rank (including the polled ids)
+         */
+        private int[] sizes = new int[0];
+        /**
+         * Ranks that have been used since last {@link #clear()}
+         */
+        private int[] usedRanks = new int[0];
+        private int usedRankCount;
+        private int minRank = Integer.MAX_VALUE;
+        private int maxRank = -1;
+
+        private void ensureCapacity(final int rankCount) {
+            if (buckets.length < rankCount) {
+                buckets = Arrays.copyOf(buckets, rankCount);
+                heads = new int[rankCount];
+                sizes = new int[rankCount];
+                usedRanks = new int[rankCount];
+            }
+        }
+
+        private void add(final int rank, final int id) {
+            var bucket = buckets[rank];
+            final var size = sizes[rank];
+            if (size == 0) {
+                usedRanks[usedRankCount++] = rank;
+                if (bucket == null) {
+                    bucket = new int[4];
+                    buckets[rank] = bucket;
+                }
+            } else if (size == bucket.length) {
+                bucket = Arrays.copyOf(bucket, size * 2);
+                buckets[rank] = bucket;
+            }
+
+            // keep the ids not polled yet in ascending order
+            final var head = heads[rank];
+            var index = Arrays.binarySearch(bucket, head, size, id);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            System.arraycopy(bucket, index, bucket, index + 1, size - index);
+            bucket[index] = id;
+            sizes[rank] = size + 1;
+
+            minRank = Math.min(minRank, rank);
+            maxRank = Math.max(maxRank, rank);
+        }
+
+        /**
+         * Polls the id with the lowest rank
+         *
+         * @return id, or {@code -1} if the queue is empty
+         */
+        private int poll() {
+            while (minRank <= maxRank) {
+                final var head = heads[minRank];
+                if (head < sizes[minRank]) {
+                    heads[minRank] = head + 1;
+                    return buckets[minRank][head];
+                }
+                minRank++;
+            }
+            return -1;
+        }
+
+        private void clear() {
+            for (var i = 0; i < usedRankCount; i++) {
+                final var rank = usedRanks[i];
+                heads[rank] = 0;
+                sizes[rank] = 0;
+            }
+            usedRankCount = 0;
+            minRank = Integer.MAX_VALUE;
+            maxRank = -1;
+        }
+    }
+}
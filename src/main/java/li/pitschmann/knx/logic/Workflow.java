@@ -5,28 +5,37 @@ import li.pitschmann.knx.core.utils.Strings;
 import li.pitschmann.knx.logic.uid.UID;
 import li.pitschmann.knx.logic.uid.UIDAware;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * {@link Workflow} implementation containing {@link WorkflowEntry} and
  * representing the workflow of routing.
+ * <p>
+ * The workflow is persistent: a new workflow created by {@link #add(UID, Object)}
+ * refers to its parent workflow and holds only the new entry, therefore the
+ * entries are structurally shared between workflows. The list of entries is
+ * materialized on first call of {@link #getFlows()} only.
+ * <p>
+ * A disabled workflow (see {@link #disabled()}) records nothing and
+ * {@link #add(UID, Object)} returns the same instance without any allocation.
  *
  * @author PITSCHR
  */
 public final class Workflow {
-    private static final Workflow EMPTY = new Workflow();
-    private final List<WorkflowEntry> flows;
-
-    private Workflow() {
-        flows = List.of();
-    }
+    private static final Workflow EMPTY = new Workflow(null, null, 0);
+    private static final Workflow DISABLED = new Workflow(null, null, 0);
+    private final Workflow parent;
+    private final WorkflowEntry entry;
+    private final int size;
+    /**
+     * Materialized list of entries; lazily initialized (benign race as list is immutable)
+     */
+    private List<WorkflowEntry> flows;
 
-    private Workflow(final Workflow workflow, final WorkflowEntry newEntry) {
-        // add new workflow entry to the list and make the list immutable
-        final var tmpFlows = new ArrayList<>(workflow.flows);
-        tmpFlows.add(newEntry);
-        flows = List.copyOf(tmpFlows);
+    private Workflow(final @Nullable Workflow parent, final @Nullable WorkflowEntry entry, final int size) {
+        this.parent = parent;
+        this.entry = entry;
+        this.size = size;
     }
 
     /**
@@ -39,13 +48,43 @@ public final class Workflow {
         return Workflow.EMPTY;
     }
 
+    /**
+     * Returns a disabled workflow that doesn't record anything.
+     * Used when tracing is turned off (see {@link TracingMode}).
+     *
+     * @return disabled workflow
+     */
+    public static Workflow disabled() {
+        return Workflow.DISABLED;
+    }
+
+    /**
+     * Returns if the workflow records the entries
+     *
+     * @return {@code true} if enabled, {@code false} if disabled
+     */
+    public boolean isEnabled() {
+        return this != DISABLED;
+    }
+
     /**
      * List of {@link WorkflowEntry}
      *
      * @return immutable list
      */
     public List<WorkflowEntry> getFlows() {
-        return flows;
+        var list = flows;
+        if (list == null) {
+            final var entries = new WorkflowEntry[size];
+            var workflow = this;
+            for (var i = size - 1; i >= 0; i--) {
+                entries[i] = workflow.entry;
+                workflow = workflow.parent;
+            }
+            list = List.of(entries);
+            flows = list;
+        }
+        return list;
     }
 
     /**
@@ -77,15 +116,15 @@ public final class Workflow {
      * @return the calculated duration in milliseconds
      */
     public long calculateDuration() {
-        final var originalFlowSize = flows.size();
-        if (originalFlowSize < 4) {
+        if (size < 4) {
             return 0L;
         } else {
-            long duration = 0;
+            final var flows = getFlows();
+            long durationNanos = 0;
             for (int i = 1; i < flows.size() - 1; i += 2) {
-                duration += flows.get(i + 1).getInstant().toEpochMilli() - flows.get(i).getInstant().toEpochMilli();
+                durationNanos += flows.get(i + 1).getNanos() - flows.get(i).getNanos();
             }
-            return duration;
+            return durationNanos / 1_000_000L;
         }
     }
 
@@ -94,9 +133,12 @@ public final class Workflow {
      *
      * @param uidAware an instance that implements {@link UIDAware}; may not be null
      * @param value    the value to be recorded to new workflow entry; may be null
-     * @return a new {@link Workflow} with the new value
+     * @return a new {@link Workflow} with the new value, or same instance if disabled
      */
     public Workflow add(final UIDAware uidAware, final @Nullable Object value) {
+        if (this == DISABLED) {
+            return this;
+        }
         return add(uidAware.getUid(), value);
     }
 
@@ -105,17 +147,20 @@ public final class Workflow {
      *
      * @param uid   an instance of {@link UID}; may not be null
      * @param value the value to be recorded to new workflow entry; may be null
-     * @return a new {@link Workflow} with the new value
+     * @return a new {@link Workflow} with the new value, or same instance if disabled
      */
     public Workflow add(final UID uid, final @Nullable Object value) {
-        return new Workflow(this, new WorkflowEntry(uid, value));
+        if (this == DISABLED) {
+            return this;
+        }
+        return new Workflow(this, new WorkflowEntry(uid, value), size + 1);
     }
 
     @Override
     public String toString() {
         return Strings.toStringHelper(this) //
                 .add("duration", calculateDuration()) //
-                .add("flows", flows) //
+                .add("flows", getFlows()) //
                 .toString();
     }
 }
@@ -11,7 +11,7 @@ import java.util.Objects;
 /**
  * Immutable workflow entry containing:
  * <ul>
- *     <li>Instant for timestamp; the instantiation timestamp is used</li>
+ *     <li>Monotonic timestamp in nanoseconds; the instantiation timestamp is used</li>
  *     <li>UID for identification to whom the value belongs to at the timestamp</li>
  *     <li>the value; may be null</li>
  * </ul>
@@ -19,23 +19,39 @@ import java.util.Objects;
  * @author PITSCHR
  */
 public final class WorkflowEntry {
-    private final Instant instant;
+    /**
+     * Origin to convert the monotonic nanoseconds to wall-clock {@link Instant}
+     */
+    private static final long ORIGIN_NANOS = System.nanoTime();
+    private static final Instant ORIGIN_INSTANT = Instant.now();
+    private final long nanos;
     private final UID uid;
     private final Object value;
 
     public WorkflowEntry(final UID uid, final @Nullable Object value) {
-        this.instant = Instant.now();
+        this.nanos = System.nanoTime();
         this.uid = Objects.requireNonNull(uid);
         this.value = value;
     }
 
     /**
-     * The timestamp when the workflow entry was created
+     * The timestamp when the workflow entry was created. It is derived
+     * from the monotonic {@link #getNanos()}.
      *
      * @return the {@link Instant}
      */
     public Instant getInstant() {
-        return instant;
+        return ORIGIN_INSTANT.plusNanos(nanos - ORIGIN_NANOS);
+    }
+
+    /**
+     * The monotonic timestamp in nanoseconds (see {@link System#nanoTime()}) when
+     * the workflow entry was created. Only meaningful to calculate durations.
+     *
+     * @return the monotonic timestamp in nanoseconds
+     */
+    public long getNanos() {
+        return nanos;
     }
 
     /**
@@ -77,7 +93,7 @@ public final class WorkflowEntry {
         }
 
         return Strings.toStringHelper(this) //
-                .add("instant", instant) //
+                .add("instant", getInstant()) //
                 .add("uid", uid) //
                 .add("value", valueAsString) //
                 .toString();
@@ -35,9 +35,18 @@ abstract class AbstractExecutableComponent<T> extends AbstractComponent<T> imple
 
     @Override
     public void execute() {
+        executeLock.lock();
+        try {
+            executeExclusive();
+        } finally {
+            executeLock.unlock();
+        }
+    }
+
+    @Override
+    public void executeExclusive() {
         LOG.trace("START 'execute()' method for '{}'", getUid());
 
-        executeLock.lock();
         final var start = System.nanoTime();
         try {
             executeSafe();
@@ -46,7 +55,6 @@ abstract class AbstractExecutableComponent<T> extends AbstractComponent<T> imple
             executedCount++;
             executedTime += System.nanoTime() - start;
 
-            executeLock.unlock();
             LOG.trace("END 'execute()' method for '{}'", getUid());
         }
     }
@@ -1,10 +1,12 @@
 package li.pitschmann.knx.logic.components;
 
+import li.pitschmann.knx.core.annotations.Nullable;
 import li.pitschmann.knx.logic.History;
 import li.pitschmann.knx.logic.components.outbox.Outbox;
 import li.pitschmann.knx.logic.connector.Connector;
 import li.pitschmann.knx.logic.connector.ConnectorFactory;
 import li.pitschmann.knx.logic.event.EventKey;
+import li.pitschmann.knx.logic.event.EventPriority;
 
 import java.util.List;
 import java.util.Objects;
@@ -19,6 +21,7 @@ abstract class AbstractOutboxComponent extends AbstractComponent<Outbox> impleme
     private final History<Object> history = new History<>();
     private final List<Connector> inputConnectors;
     private final EventKey eventKey;
+    private final EventPriority priority;
 
     /**
      * Package-protected constructor that wraps the {@link Outbox} object
@@ -27,8 +30,20 @@ abstract class AbstractOutboxComponent extends AbstractComponent<Outbox> impleme
      * @param outbox   the {@link Outbox} instance to be wrapped; may not be null
      */
     AbstractOutboxComponent(final EventKey eventKey, final Outbox outbox) {
+        this(eventKey, outbox, null);
+    }
+
+    /**
+     * Package-protected constructor that wraps the {@link Outbox} object
+     *
+     * @param eventKey for invocation by an event; may not be null
+     * @param outbox   the {@link Outbox} instance to be wrapped; may not be null
+     * @param priority the priority of sent events; if null the priority is inherited
+     */
+    AbstractOutboxComponent(final EventKey eventKey, final Outbox outbox, final @Nullable EventPriority priority) {
         super(outbox);
         this.eventKey = Objects.requireNonNull(eventKey);
+        this.priority = priority;
         inputConnectors = ConnectorFactory.getInputConnectors(outbox);
     }
 
@@ -49,6 +64,12 @@ abstract class AbstractOutboxComponent extends AbstractComponent<Outbox> impleme
         return eventKey;
     }
 
+    @Nullable
+    @Override
+    public EventPriority getPriority() {
+        return priority;
+    }
+
     @Override
     public History<Object> getHistory() {
         return history;
@@ -13,6 +13,16 @@ public interface ExecutableComponent extends Component {
      */
     void execute();
 
+    /**
+     * Executes the component without acquiring the lock of {@link #execute()}.
+     * <p>
+     * The caller must guarantee that this component is executed and its input
+     * pins are written by a single thread at a time (e.g. single-writer mailbox).
+     */
+    default void executeExclusive() {
+        execute();
+    }
+
     /**
      * Returns a {@code long} number how many times this logic component was executed.
      *
@@ -4,6 +4,11 @@ import li.pitschmann.knx.core.utils.Strings;
 import li.pitschmann.knx.logic.Logic;
 import li.pitschmann.knx.logic.connector.Connector;
 import li.pitschmann.knx.logic.connector.ConnectorFactory;
+import li.pitschmann.knx.logic.connector.DynamicConnector;
+import li.pitschmann.knx.logic.pin.BooleanPin;
+import li.pitschmann.knx.logic.pin.DoublePin;
+import li.pitschmann.knx.logic.pin.IntPin;
+import li.pitschmann.knx.logic.pin.LongPin;
 import li.pitschmann.knx.logic.pin.Pin;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,6 +28,11 @@ import java.util.Objects;
  *                             `-- (no) -------------´                            `--- (no) ---------------´
  *
  * </pre>
+ * <p>
+ * The input and output pins are kept in shadow arrays together with the last values of
+ * output pins, therefore the change detection of outputs doesn't allocate. The shadow
+ * arrays are rebuilt only when the pins of a {@link DynamicConnector} have been changed.
+ * Values of primitive output pins (e.g. {@link DoublePin}) are compared as primitive.
  *
  * @author PITSCHR
  */
@@ -30,6 +40,13 @@ public final class LogicComponentImpl extends AbstractExecutableComponent<Logic>
     private static final Logger LOG = LoggerFactory.getLogger(LogicComponentImpl.class);
     private final List<Connector> inputConnectors;
     private final List<Connector> outputConnectors;
+    private final DynamicConnector[] dynamicConnectors;
+    private final List<?>[] dynamicPinSnapshots;
+    private Pin[] inputPins;
+    private Pin[] outputPins;
+    private boolean[] outputPrimitive;
+    private long[] outputPrimitiveValues;
+    private Object[] outputValues;
     private long logicCount;
     private int numberOfPreviousInputPins = -1;
 
@@ -42,6 +59,67 @@ public final class LogicComponentImpl extends AbstractExecutableComponent<Logic>
         super(logic);
         inputConnectors = ConnectorFactory.getInputConnectors(logic);
         outputConnectors = ConnectorFactory.getOutputConnectors(logic);
+
+        final var dynamicConnectorList = new ArrayList<DynamicConnector>();
+        for (final var connector : getConnectors()) {
+            if (connector instanceof DynamicConnector) {
+                dynamicConnectorList.add((DynamicConnector) connector);
+            }
+        }
+        dynamicConnectors = dynamicConnectorList.toArray(new DynamicConnector[0]);
+        dynamicPinSnapshots = new List<?>[dynamicConnectors.length];
+    }
+
+    /**
+     * Rebuilds the shadow arrays of pins if not built yet or if the pins
+     * of a {@link DynamicConnector} have been changed. The pins of dynamic
+     * connector are published as a new snapshot on each change, therefore
+     * a change is detected by identity of the snapshot.
+     */
+    private void refreshShadowPins() {
+        var changed = inputPins == null;
+        for (var i = 0; i < dynamicConnectors.length; i++) {
+            final var snapshot = dynamicConnectors[i].getPins();
+            if (snapshot != dynamicPinSnapshots[i]) {
+                dynamicPinSnapshots[i] = snapshot;
+                changed = true;
+            }
+        }
+
+        if (changed) {
+            inputPins = getInputPins().toArray(new Pin[0]);
+            outputPins = getOutputPins().toArray(new Pin[0]);
+            outputPrimitive = new boolean[outputPins.length];
+            outputPrimitiveValues = new long[outputPins.length];
+            outputValues = new Object[outputPins.length];
+            for (var i = 0; i < outputPins.length; i++) {
+                final var output = outputPins[i];
+                outputPrimitive[i] = output instanceof BooleanPin || output instanceof IntPin
+                        || output instanceof LongPin || output instanceof DoublePin;
+            }
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Shadow pins rebuilt for '{}' (inputs: {}, outputs: {})", getUid(), inputPins.length, outputPins.length);
+            }
+        }
+    }
+
+    /**
+     * Returns the value of primitive pin as {@code long} bits for comparison.
+     * The {@code double} values are compared like {@link Double#equals(Object)}.
+     *
+     * @param pin the primitive pin
+     * @return the value as bits
+     */
+    private static long primitiveBits(final Pin pin) {
+        if (pin instanceof BooleanPin) {
+            return ((BooleanPin) pin).getBooleanValue() ? 1L : 0L;
+        } else if (pin instanceof IntPin) {
+            return ((IntPin) pin).getIntValue();
+        } else if (pin instanceof LongPin) {
+            return ((LongPin) pin).getLongValue();
+        } else {
+            return Double.doubleToLongBits(((DoublePin) pin).getDoubleValue());
+        }
     }
 
     /***
@@ -52,15 +130,16 @@ public final class LogicComponentImpl extends AbstractExecutableComponent<Logic>
         // starts logic
         getWrappedObject().start();
 
-        final var inputs = this.getInputPins();
-        final var outputs = this.getOutputPins();
+        refreshShadowPins();
+        final var inputs = this.inputPins;
+        final var outputs = this.outputPins;
 
         // check if there is at least one input marked as refreshed
         boolean anyInputRefreshed = false;
-        if (numberOfPreviousInputPins != inputs.size()) {
+        if (numberOfPreviousInputPins != inputs.length) {
             // the current number of inputs differs with the number of inputs we had previously
             // e.g. when an input pin has been removed
-            numberOfPreviousInputPins = inputs.size();
+            numberOfPreviousInputPins = inputs.length;
             anyInputRefreshed = true;
         } else {
             for (final var input : inputs) {
@@ -70,7 +149,9 @@ public final class LogicComponentImpl extends AbstractExecutableComponent<Logic>
                 }
             }
         }
-        inputs.forEach(Pin::clearRefresh);
+        for (final var input : inputs) {
+            input.clearRefresh();
+        }
 
         // initialize?
         final var init = this.executedCount() == 0;
@@ -88,7 +169,9 @@ public final class LogicComponentImpl extends AbstractExecutableComponent<Logic>
             // mark all outputs as 'refreshed' on initialization,
             // components listening on outputs should be notified
             // even if there was no value change!
-            outputs.forEach(Pin::setRefresh);
+            for (final var output : outputs) {
+                output.setRefresh();
+            }
         } else {
             if (LOG.isTraceEnabled()) {
                 LOG.trace("Enter normal body for '{}'", this.getUid());
@@ -96,22 +179,37 @@ public final class LogicComponentImpl extends AbstractExecutableComponent<Logic>
 
             // not initialization - clear 'refresh' flag for all
             // outputs we will figure out which values have been changed
-            outputs.forEach(Pin::clearRefresh);
+            for (final var output : outputs) {
+                output.clearRefresh();
+            }
 
             // execute logic only when at least one input was marked as 'refreshed'
             // and then figure out which output pins have been changed
             if (anyInputRefreshed) {
-                // store outputs for later comparison
-                final var oldOutputValues = outputs.stream().map(Pin::getValue).toArray();
+                // store outputs for later comparison (in the shadow arrays)
+                for (var i = 0; i < outputs.length; i++) {
+                    if (outputPrimitive[i]) {
+                        outputPrimitiveValues[i] = primitiveBits(outputs[i]);
+                    } else {
+                        outputValues[i] = outputs[i].getValue();
+                    }
+                }
 
                 // execute logic and increment the logic counter
                 getWrappedObject().logic();
                 logicCount++;
 
                 // set refresh flag for changed output values
-                for (var i = 0; i < outputs.size(); i++) {
-                    final var output = outputs.get(i);
-                    final var valueChanged = !Objects.equals(output.getValue(), oldOutputValues[i]);
+                for (var i = 0; i < outputs.length; i++) {
+                    final var output = outputs[i];
+                    final boolean valueChanged;
+                    if (outputPrimitive[i]) {
+                        valueChanged = primitiveBits(output) != outputPrimitiveValues[i];
+                    } else {
+                        valueChanged = !Objects.equals(output.getValue(), outputValues[i]);
+                        // don't keep the old value reachable until the next execution
+                        outputValues[i] = null;
+                    }
                     if (valueChanged || output.isAlwaysTrigger()) {
                         output.setRefresh();
                     }
@@ -1,9 +1,11 @@
 package li.pitschmann.knx.logic.components;
 
+import li.pitschmann.knx.core.annotations.Nullable;
 import li.pitschmann.knx.logic.HistoryAware;
 import li.pitschmann.knx.logic.connector.InputConnectorAware;
 import li.pitschmann.knx.logic.event.Event;
 import li.pitschmann.knx.logic.event.EventKey;
+import li.pitschmann.knx.logic.event.EventPriority;
 
 /**
  * Generic Outbox Component
@@ -39,4 +41,16 @@ public interface OutboxComponent extends
      * @return the {@link EventKey}; may not be null
      */
     EventKey getEventKey();
+
+    /**
+     * The {@link EventPriority} of the {@link Event} sent by this
+     * outbox component. If not defined, the priority is inherited
+     * from the event that triggered the workflow.
+     *
+     * @return the {@link EventPriority}, or {@code null} to inherit the priority
+     */
+    @Nullable
+    default EventPriority getPriority() {
+        return null;
+    }
 }
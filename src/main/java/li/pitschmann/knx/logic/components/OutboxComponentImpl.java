@@ -1,8 +1,10 @@
 package li.pitschmann.knx.logic.components;
 
+import li.pitschmann.knx.core.annotations.Nullable;
 import li.pitschmann.knx.core.utils.Strings;
 import li.pitschmann.knx.logic.components.outbox.Outbox;
 import li.pitschmann.knx.logic.event.EventKey;
+import li.pitschmann.knx.logic.event.EventPriority;
 
 /**
  * Implementation of {@link OutboxComponent} that wraps an {@link Outbox}
@@ -30,12 +32,25 @@ public final class OutboxComponentImpl extends AbstractOutboxComponent {
         super(key, outbox);
     }
 
+    /**
+     * Creates a new wrapper instance of {@link OutboxComponent}
+     * for given {@link Outbox} instance that sends events with given priority
+     *
+     * @param key      the event key; may not be null
+     * @param outbox   the {@link Outbox} instance that should be wrapped; may not be null
+     * @param priority the priority of sent events; if null the priority of triggering event is inherited
+     */
+    public OutboxComponentImpl(final EventKey key, final Outbox outbox, final @Nullable EventPriority priority) {
+        super(key, outbox, priority);
+    }
+
     @Override
     public String toString() {
         return Strings.toStringHelper(this)
                 .add("uid", getUid())
                 .add("outboxClass", getWrappedObject().getClass().getName())
                 .add("eventKey", getEventKey())
+                .add("priority", getPriority())
                 .add("history", getHistory())
                 .toString();
     }
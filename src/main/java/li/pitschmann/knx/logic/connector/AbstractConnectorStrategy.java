@@ -1,6 +1,7 @@
 package li.pitschmann.knx.logic.connector;
 
 import li.pitschmann.knx.logic.descriptor.DescriptorFactory;
+import li.pitschmann.knx.logic.descriptor.FieldDescriptor;
 import li.pitschmann.knx.logic.helpers.ReflectHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,11 +14,23 @@ import java.util.List;
 /**
  * {@link ConnectorStrategy} for fetching all {@link Connector} based on the fields
  * with annotations described by {@link #getAnnotationClass()}.
+ * <p>
+ * The annotated fields of a class are looked up once and cached as prototype
+ * {@link FieldDescriptor}s (annotation values, resolved field types and accessors).
+ * Creating the connectors for a new owner binds the prototypes to the owner only,
+ * without reflection. The cache is a {@link ClassValue} and doesn't prevent the
+ * unloading of classes (e.g. logic classes of a plugin).
  *
  * @author PITSCHR
  */
 public abstract class AbstractConnectorStrategy implements ConnectorStrategy {
     private final Logger log = LoggerFactory.getLogger(getClass());
+    private final ClassValue<List<FieldDescriptor>> prototypes = new ClassValue<>() {
+        @Override
+        protected List<FieldDescriptor> computeValue(final Class<?> type) {
+            return createPrototypes(type);
+        }
+    };
 
     /**
      * Returns the class of annotation that should be used for look up
@@ -37,20 +50,18 @@ public abstract class AbstractConnectorStrategy implements ConnectorStrategy {
      */
     @Override
     public List<Connector> getConnectors(final Object obj) {
-        // Get annotated fields (including fields from super classes)
-        final var annotationClass = getAnnotationClass();
-        final var fields = ReflectHelper.filterFieldsByAnnotation(obj.getClass().getDeclaredFields(), annotationClass);
+        final var descriptors = prototypes.get(obj.getClass());
 
         // Return unmodifiable empty list if no annotation specific field is available
-        if (fields.isEmpty()) {
+        if (descriptors.isEmpty()) {
             return List.of();
         }
 
-        final var connectors = new ArrayList<Connector>(fields.size());
-        for (final var field : fields) {
-            final var descriptor = DescriptorFactory.createFieldDescriptor(obj, field, annotationClass);
+        final var connectors = new ArrayList<Connector>(descriptors.size());
+        for (final var prototype : descriptors) {
+            final var descriptor = prototype.bindTo(obj);
             final Connector connector;
-            if (Iterable.class.isAssignableFrom(field.getType())) {
+            if (Iterable.class.isAssignableFrom(descriptor.getField().getType())) {
                 connector = new DynamicConnector(descriptor);
             } else {
                 connector = new StaticConnector(descriptor);
@@ -58,8 +69,28 @@ public abstract class AbstractConnectorStrategy implements ConnectorStrategy {
             connectors.add(connector);
         }
 
-        log.debug("Connectors for annotation '{}': {}", annotationClass, connectors);
+        if (log.isDebugEnabled()) {
+            log.debug("Connectors for annotation '{}': {}", getAnnotationClass(), connectors);
+        }
         return List.copyOf(connectors);
     }
 
+    /**
+     * Creates the prototype {@link FieldDescriptor}s for the annotated fields of given class
+     *
+     * @param type the class to be looked up
+     * @return unmodifiable list of prototype {@link FieldDescriptor}; is empty if no annotated field found
+     */
+    private List<FieldDescriptor> createPrototypes(final Class<?> type) {
+        final var annotationClass = getAnnotationClass();
+        final var fields = ReflectHelper.filterFieldsByAnnotation(type.getDeclaredFields(), annotationClass);
+
+        final var descriptors = new ArrayList<FieldDescriptor>(fields.size());
+        for (final var field : fields) {
+            descriptors.add(DescriptorFactory.createPrototype(field, annotationClass));
+        }
+
+        log.debug("Field descriptors for class '{}' and annotation '{}' cached: {}", type, annotationClass, descriptors);
+        return List.copyOf(descriptors);
+    }
 }
@@ -8,7 +8,6 @@ import li.pitschmann.knx.logic.descriptor.InputDescriptor;
 import li.pitschmann.knx.logic.descriptor.OutputDescriptor;
 import li.pitschmann.knx.logic.exceptions.MaximumBoundException;
 import li.pitschmann.knx.logic.exceptions.MinimumBoundException;
-import li.pitschmann.knx.logic.helpers.ReflectHelper;
 import li.pitschmann.knx.logic.helpers.ValueHelper;
 import li.pitschmann.knx.logic.pin.DynamicPin;
 import li.pitschmann.knx.logic.pin.Pin;
@@ -17,11 +16,11 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -37,20 +36,32 @@ import java.util.stream.Stream;
  * final var 2ndPin = connector.getPin(2);  // return the pin on index = 2
  * final var newPin = connector.addPin();   // add a new pin at the last index
  * }</pre>
+ * <p>
+ * The pins are published as an immutable snapshot on each modification, so reading
+ * the pins (e.g. {@link #getPin(int)}, {@link #getPins()}) is lock-free and doesn't copy.
+ * Modifications are serialized by a lock.
+ * <p>
+ * The integrity between the pins and the dynamic list of owner is verified after each
+ * modification. The deep integrity check (value and index of each pin) is expensive
+ * and can be enabled with the system property {@value #DEEP_CHECK_PROPERTY} for
+ * verification purposes (e.g. enabled by tests).
  *
  * @author PITSCHR
  */
 public final class DynamicConnector extends AbstractConnector {
     private static final Logger LOG = LoggerFactory.getLogger(DynamicConnector.class);
-    private static final boolean FIELD_SYNC_DEEP_CHECK = true; // true = performs a deep sync (performance!)
+    /**
+     * System property to enable the deep integrity check (value and index of each pin)
+     */
+    public static final String DEEP_CHECK_PROPERTY = "knx.logic.dynamicConnector.deepCheck";
+    private static final boolean FIELD_SYNC_DEEP_CHECK = Boolean.getBoolean(DEEP_CHECK_PROPERTY); // true = performs a deep sync (performance!)
     private static final int FIELD_INITIAL_SIZE = 16; // hopefully big enough for most cases!
 
     private final AtomicReference<List<Object>> dynamicListReference = new AtomicReference<>();
-    private final List<DynamicPin> pins = new ArrayList<>(FIELD_INITIAL_SIZE);
-    private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
-    private final Lock readLock = this.readWriteLock.readLock();
-    private final Lock writeLock = this.readWriteLock.writeLock();
+    private final List<DynamicPin> internalPins = new ArrayList<>(FIELD_INITIAL_SIZE);
+    private final ReentrantLock lock = new ReentrantLock();
     private final Object defaultValue;
+    private volatile List<DynamicPin> pins = List.of();
 
     /**
      * Constructor for {@link DynamicConnector}
@@ -78,7 +89,7 @@ public final class DynamicConnector extends AbstractConnector {
      * @return the size of {@link DynamicPin}s
      */
     public int size() {
-        return this.getPins().size();
+        return this.pins.size();
     }
 
     /**
@@ -88,7 +99,7 @@ public final class DynamicConnector extends AbstractConnector {
      */
     private void initializeDynamicPins(final FieldDescriptor descriptor) {
         // create a copy of original list and retrieve its size
-        final var originalIterable = ReflectHelper.getInternalValue(descriptor.getOwner(), descriptor.getField());
+        final var originalIterable = descriptor.getAccessor().get();
         final var originalList = new ArrayList<>();
         if (originalIterable instanceof Collection) {
             originalList.addAll((Collection<?>) originalIterable);
@@ -99,7 +110,7 @@ public final class DynamicConnector extends AbstractConnector {
         // create a new list and increase to the minimum occurrence
         // all values are taken from defaultValue
         final var list = new ArrayList<>(FIELD_INITIAL_SIZE);
-        ReflectHelper.setInternalValue(descriptor.getOwner(), descriptor.getField(), list);
+        descriptor.getAccessor().set(list);
         dynamicListReference.set(list);
         tryIncrease(Math.max(originalList.size(), minimumOfOccurrences()));
 
@@ -120,13 +131,7 @@ public final class DynamicConnector extends AbstractConnector {
      * @return list of {@link DynamicPin}; may be empty; not null
      */
     public List<DynamicPin> getPins() {
-        this.readLock.lock();
-        try {
-            return List.copyOf(this.pins);
-        } finally {
-            integrityDynamicPinCheck();
-            this.readLock.unlock();
-        }
+        return this.pins;
     }
 
 
@@ -139,13 +144,7 @@ public final class DynamicConnector extends AbstractConnector {
      */
     @Nullable
     public DynamicPin getPin(final int index) {
-        this.readLock.lock();
-        try {
-            return this.pins.get(index);
-        } finally {
-            integrityDynamicPinCheck();
-            this.readLock.unlock();
-        }
+        return this.pins.get(index);
     }
 
     /**
@@ -155,7 +154,12 @@ public final class DynamicConnector extends AbstractConnector {
      * @throws MaximumBoundException in case the maximum bound has already been reached
      */
     public DynamicPin addPin() {
-        return addPin(size());
+        this.lock.lock();
+        try {
+            return addPins(this.internalPins.size(), 1).get(0);
+        } finally {
+            this.lock.unlock();
+        }
     }
 
     /**
@@ -166,39 +170,74 @@ public final class DynamicConnector extends AbstractConnector {
      * @throws MaximumBoundException in case the maximum bound has already been reached
      */
     public DynamicPin addPin(final int index) {
-        this.writeLock.lock();
+        return addPins(index, 1).get(0);
+    }
+
+    /**
+     * Creates and adds {@code count} new {@link DynamicPin}s at given {@code index}.
+     * The pins at and after {@code index} are shifted to the right.
+     *
+     * @param index the index of first {@link DynamicPin} to be added; must be in valid size range
+     * @param count the number of {@link DynamicPin}s to be added; may not be negative
+     * @return unmodifiable list of newly created {@link DynamicPin}s; not null
+     * @throws MaximumBoundException in case the maximum bound would be exceeded
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public List<DynamicPin> addPins(final int index, final int count) {
+        Preconditions.checkArgument(count >= 0, "Count may not be negative: {}", count);
+        this.lock.lock();
         try {
-            if (size() >= maximumOfOccurrences()) {
-                throw new MaximumBoundException(
-                        String.format(
-                                "Maximum number of pin already reached for connector '%s': maximum=%s, actual=%s",
-                                getName(),
-                                maximumOfOccurrences(),
-                                size()
-                        )
-                );
-            }
+            final var newPins = addPinsInternal(index, count);
+            publishPins();
+            return newPins;
+        } finally {
+            this.lock.unlock();
+        }
+    }
 
-            this.dynamicListReference.get().add(index, defaultValue);
+    /**
+     * Creates and adds {@code count} new {@link DynamicPin}s at given {@code index}
+     * without publishing the pins. The caller must hold the lock.
+     *
+     * @param index the index of first {@link DynamicPin} to be added
+     * @param count the number of {@link DynamicPin}s to be added
+     * @return unmodifiable list of newly created {@link DynamicPin}s; not null
+     */
+    private List<DynamicPin> addPinsInternal(final int index, final int count) {
+        final var size = this.internalPins.size();
+        if (size + count > maximumOfOccurrences()) {
+            throw new MaximumBoundException(
+                    String.format(
+                            "Maximum number of pin already reached for connector '%s': maximum=%s, actual=%s",
+                            getName(),
+                            maximumOfOccurrences(),
+                            size
+                    )
+            );
+        }
+        Objects.checkIndex(index, size + 1);
+        if (count == 0) {
+            return List.of();
+        }
 
-            // create new
-            final var newPin = new DynamicPin(this, index);
-            this.pins.add(index, newPin);
+        this.dynamicListReference.get().addAll(index, Collections.nCopies(count, defaultValue));
 
-            // verify&correct index
-            this.correctIndex(this.pins);
+        // create new
+        final var newPins = new ArrayList<DynamicPin>(count);
+        for (var i = 0; i < count; i++) {
+            newPins.add(new DynamicPin(this, index + i));
+        }
+        this.internalPins.addAll(index, newPins);
 
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("New dynamic pin added: {}[{}] (owner={})", getDescriptor().getName(), index, getDescriptor().getOwner());
-            }
-            return newPin;
-        } finally {
-            integrityDynamicPinCheck();
-            this.writeLock.unlock();
+        // correct index of shifted pins
+        this.reindex(index + count);
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("{} new dynamic pin(s) added: {}[{}] (owner={})", count, getDescriptor().getName(), index, getDescriptor().getOwner());
         }
+        return List.copyOf(newPins);
     }
 
-
     /**
      * Increases the size of {@link DynamicPin} to {@code desiredSize} and returns
      * an unmodifiable list of {@link DynamicPin} that were newly created and added
@@ -210,27 +249,19 @@ public final class DynamicConnector extends AbstractConnector {
      * occurrence or if the component has more fields than desired size already
      */
     public List<DynamicPin> tryIncrease(final int desiredSize) {
-        this.writeLock.lock();
+        this.lock.lock();
         try {
             // desired size to be corrected?
-            final var actualSize = size();
+            final var actualSize = this.internalPins.size();
             if (actualSize >= desiredSize) {
                 LOG.debug("Desired size already reached: actual={}, desiredSize={}", actualSize, desiredSize);
                 return List.of();
             } else {
-                final var delta = Math.min(desiredSize, maximumOfOccurrences()) - actualSize;
-                final var tmpPins = new ArrayList<DynamicPin>(delta);
-                for (int i = 0; i < delta; i++) {
-                    tmpPins.add(addPin());
-                }
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("{} new dynamic pin added for: {}", tmpPins.size(), getDescriptor().getOwner());
-                }
-                return List.copyOf(tmpPins);
+                final var delta = Math.max(0, Math.min(desiredSize, maximumOfOccurrences()) - actualSize);
+                return addPins(actualSize, delta);
             }
         } finally {
-            integrityDynamicPinCheck();
-            this.writeLock.unlock();
+            this.lock.unlock();
         }
     }
 
@@ -242,31 +273,65 @@ public final class DynamicConnector extends AbstractConnector {
      * @throws MinimumBoundException in case the minimum bound has already been reached
      */
     public DynamicPin removePin(final int index) {
-        this.writeLock.lock();
+        return removePins(index, index + 1).get(0);
+    }
+
+    /**
+     * Removes the {@link DynamicPin}s from {@code fromIndex}, inclusive, to {@code toIndex},
+     * exclusive. The pins after {@code toIndex} are shifted to the left.
+     *
+     * @param fromIndex the index of first {@link DynamicPin} to be removed
+     * @param toIndex   the index after the last {@link DynamicPin} to be removed
+     * @return unmodifiable list of {@link DynamicPin}s which have been removed; not null
+     * @throws MinimumBoundException     in case the minimum bound would be undercut
+     * @throws IndexOutOfBoundsException if the range is out of range
+     */
+    public List<DynamicPin> removePins(final int fromIndex, final int toIndex) {
+        this.lock.lock();
         try {
-            if (size() <= minimumOfOccurrences()) {
+            final var size = this.internalPins.size();
+            if (size - (toIndex - fromIndex) < minimumOfOccurrences()) {
                 throw new MinimumBoundException(
                         String.format(
                                 "Minimum number of pins already reached for connector '%s': minimum=%s, actual=%s",
                                 getName(),
                                 minimumOfOccurrences(),
-                                size()
+                                size
                         )
                 );
             }
+            Objects.checkFromToIndex(fromIndex, toIndex, size);
 
-            this.dynamicListReference.get().remove(index);
-            final var oldPin = this.pins.remove(index);
-            LOG.debug("Dynamic pin removed from list index {}: {}", index, oldPin.getUid());
-
-            // verify&correct index
-            this.correctIndex(this.pins);
-
-            return oldPin;
+            final var oldPins = removePinsInternal(fromIndex, toIndex);
+            publishPins();
+            return oldPins;
         } finally {
-            integrityDynamicPinCheck();
-            this.writeLock.unlock();
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the {@link DynamicPin}s in the given range without checking the minimum
+     * bound and without publishing the pins. The caller must hold the lock.
+     *
+     * @param fromIndex the index of first {@link DynamicPin} to be removed
+     * @param toIndex   the index after the last {@link DynamicPin} to be removed
+     * @return unmodifiable list of {@link DynamicPin}s which have been removed; not null
+     */
+    private List<DynamicPin> removePinsInternal(final int fromIndex, final int toIndex) {
+        this.dynamicListReference.get().subList(fromIndex, toIndex).clear();
+        final var removedPins = this.internalPins.subList(fromIndex, toIndex);
+        final var oldPins = List.copyOf(removedPins);
+        removedPins.clear();
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Dynamic pins removed from list index {} to {}: {}", fromIndex, toIndex,
+                    oldPins.stream().map(DynamicPin::getUid).collect(Collectors.toList()));
         }
+
+        // correct index of shifted pins
+        this.reindex(fromIndex);
+
+        return oldPins;
     }
 
     /**
@@ -274,18 +339,64 @@ public final class DynamicConnector extends AbstractConnector {
      * {@link DynamicPin}s and then re-initialize with minimum size
      */
     public void reset() {
-        this.writeLock.lock();
+        this.lock.lock();
         try {
-            this.dynamicListReference.get().clear();
-            this.pins.clear();
+            reset(minimumOfOccurrences());
+        } finally {
+            this.lock.unlock();
+        }
+    }
 
-            tryIncrease(minimumOfOccurrences());
+    /**
+     * Resets the {@link DynamicConnector} by removing all existing
+     * {@link DynamicPin}s and then re-initialize with given {@code size}
+     * in one pass
+     *
+     * @param size the number of {@link DynamicPin}s after reset
+     * @return unmodifiable list of newly created {@link DynamicPin}s; not null
+     * @throws MinimumBoundException in case the size is less than minimum bound
+     * @throws MaximumBoundException in case the size is greater than maximum bound
+     */
+    public List<DynamicPin> reset(final int size) {
+        if (size < minimumOfOccurrences()) {
+            throw new MinimumBoundException(
+                    String.format(
+                            "Size is less than minimum number of pins for connector '%s': minimum=%s, size=%s",
+                            getName(),
+                            minimumOfOccurrences(),
+                            size
+                    )
+            );
+        } else if (size > maximumOfOccurrences()) {
+            throw new MaximumBoundException(
+                    String.format(
+                            "Size is greater than maximum number of pins for connector '%s': maximum=%s, size=%s",
+                            getName(),
+                            maximumOfOccurrences(),
+                            size
+                    )
+            );
+        }
+        this.lock.lock();
+        try {
+            removePinsInternal(0, this.internalPins.size());
+            final var newPins = addPinsInternal(0, size);
+            publishPins();
+            return newPins;
         } finally {
-            integrityDynamicPinCheck();
-            this.writeLock.unlock();
+            this.lock.unlock();
         }
     }
 
+    /**
+     * Publishes the immutable snapshot of pins for readers and checks the integrity.
+     * The caller must hold the lock.
+     */
+    private void publishPins() {
+        this.pins = List.copyOf(this.internalPins);
+        integrityDynamicPinCheck();
+    }
+
     private int maximumOfOccurrences() {
         final var descriptor = getDescriptor();
         if (descriptor instanceof InputDescriptor) {
@@ -307,24 +418,15 @@ public final class DynamicConnector extends AbstractConnector {
     }
 
     /**
-     * Corrects the index of {@link DynamicPin} in the given {@code pins} list.
-     * This method must be called when adding or removing a {@link DynamicPin}.
+     * Corrects the index of {@link DynamicPin}s starting from {@code fromIndex}
+     * in a single pass. This method must be called when adding or removing
+     * {@link DynamicPin}s. The caller must hold the lock.
      *
-     * @param pins list of dynamic pins that may be subject to be corrected; may not be null
+     * @param fromIndex the index of first {@link DynamicPin} that may be subject to be corrected
      */
-    private void correctIndex(final List<DynamicPin> pins) {
-        var corrected = false;
-        for (var i = 0; i < pins.size(); i++) {
-            final var pin = pins.get(i);
-            if (pin.getIndex() != i) {
-                LOG.debug("Correct index for pin '{}' (before: {}, after: {})", pin.getUid(), pin.getIndex(), i);
-                ReflectHelper.setInternalValue(pin, "index", i);
-                corrected = true;
-            }
-        }
-
-        if (corrected) {
-            LOG.debug("Index order of 'internalPins' now: {}", this.pins);
+    private void reindex(final int fromIndex) {
+        for (var i = fromIndex; i < this.internalPins.size(); i++) {
+            this.internalPins.get(i).setIndex(i);
         }
     }
 
@@ -341,36 +443,32 @@ public final class DynamicConnector extends AbstractConnector {
 
     /**
      * Checks the integrity of dynamic pins (that is owned by wrapper) and
-     * dynamic reference list (that is owned by logic component)
+     * dynamic reference list (that is owned by logic component).
+     * The caller must hold the lock.
      */
     private void integrityDynamicPinCheck() {
-        this.readLock.lock();
-        try {
-            final var checkPins = List.copyOf(this.pins);
-            final var checkDynamicListValues = new ArrayList<>(this.dynamicListReference.get()); // as it may contain null values
-
-            // verify if the size of internalPins and dynamicPinReferences matches
-            Preconditions.checkState(checkDynamicListValues.size() == checkPins.size(),
-                    "Size of 'dynamicListReference' and 'pins' doesn't match! (dynamicListReference: {}, pins: {})",
-                    checkDynamicListValues.size(), checkPins.size());
-
-            // deep check (value check, index check)
-            if (FIELD_SYNC_DEEP_CHECK) {
-                for (var i = 0; i < checkPins.size(); i++) {
-                    final var internalVal = checkPins.get(i).getValue();
-                    final var referenceVal = checkDynamicListValues.get(i);
-
-                    Preconditions.checkState(checkPins.get(i).getIndex() == i,
-                            "Index of 'pins' doesn't match with current index '{}'! (pins.index: {})", i,
-                            checkPins.get(i).getIndex());
-
-                    Preconditions.checkState(Objects.equals(internalVal, referenceVal),
-                            "Value of 'dynamicListReference' and 'pins' doesn't match! (dynamicListReference[{}]: {}, pins[{}]: {})",
-                            i, referenceVal, i, internalVal);
-                }
+        final var checkPins = this.internalPins;
+        final var checkDynamicListValues = this.dynamicListReference.get();
+
+        // verify if the size of internalPins and dynamicPinReferences matches
+        Preconditions.checkState(checkDynamicListValues.size() == checkPins.size(),
+                "Size of 'dynamicListReference' and 'pins' doesn't match! (dynamicListReference: {}, pins: {})",
+                checkDynamicListValues.size(), checkPins.size());
+
+        // deep check (value check, index check)
+        if (FIELD_SYNC_DEEP_CHECK) {
+            for (var i = 0; i < checkPins.size(); i++) {
+                final var internalVal = checkPins.get(i).getValue();
+                final var referenceVal = checkDynamicListValues.get(i);
+
+                Preconditions.checkState(checkPins.get(i).getIndex() == i,
+                        "Index of 'pins' doesn't match with current index '{}'! (pins.index: {})", i,
+                        checkPins.get(i).getIndex());
+
+                Preconditions.checkState(Objects.equals(internalVal, referenceVal),
+                        "Value of 'dynamicListReference' and 'pins' doesn't match! (dynamicListReference[{}]: {}, pins[{}]: {})",
+                        i, referenceVal, i, internalVal);
             }
-        } finally {
-            this.readLock.unlock();
         }
     }
 }
@@ -2,6 +2,10 @@ package li.pitschmann.knx.logic.connector;
 
 import li.pitschmann.knx.core.utils.Strings;
 import li.pitschmann.knx.logic.descriptor.FieldDescriptor;
+import li.pitschmann.knx.logic.pin.BooleanPin;
+import li.pitschmann.knx.logic.pin.DoublePin;
+import li.pitschmann.knx.logic.pin.IntPin;
+import li.pitschmann.knx.logic.pin.LongPin;
 import li.pitschmann.knx.logic.pin.Pin;
 import li.pitschmann.knx.logic.pin.StaticPin;
 
@@ -17,14 +21,35 @@ public final class StaticConnector extends AbstractConnector {
 
     /**
      * Constructor for {@link StaticPin} that represents a
-     * single field.
+     * single field. For a primitive field of type {@code boolean},
+     * {@code int}, {@code long} or {@code double} the primitive
+     * specialized pin is created.
      *
      * @param descriptor field descriptor; may not be null
      */
     public StaticConnector(final FieldDescriptor descriptor) {
         super(descriptor);
 
-        this.pin = new StaticPin(this);
+        this.pin = createPin();
+    }
+
+    /**
+     * Creates the {@link StaticPin} based on the type of field
+     *
+     * @return a new {@link StaticPin}
+     */
+    private StaticPin createPin() {
+        final var type = getDescriptor().getField().getType();
+        if (type == boolean.class) {
+            return new BooleanPin(this);
+        } else if (type == int.class) {
+            return new IntPin(this);
+        } else if (type == long.class) {
+            return new LongPin(this);
+        } else if (type == double.class) {
+            return new DoublePin(this);
+        }
+        return new StaticPin(this);
     }
 
     @Override
@@ -0,0 +1,80 @@
+package li.pitschmann.knx.logic.db;
+
+import li.pitschmann.knx.logic.db.dao.JournalDao;
+import li.pitschmann.knx.logic.db.models.EventJournalModel;
+import li.pitschmann.knx.logic.db.models.WorkflowJournalModel;
+import li.pitschmann.knx.logic.journal.JournalEntry;
+import li.pitschmann.knx.logic.journal.JournalWriter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * {@link JournalWriter} that inserts a batch of {@link JournalEntry} into the
+ * 'event_journal' and 'workflow_journal' tables within a single transaction
+ *
+ * @author PITSCHR
+ */
+public final class DatabaseJournalWriter implements JournalWriter {
+    private final DatabaseManager databaseManager;
+
+    public DatabaseJournalWriter(final DatabaseManager databaseManager) {
+        this.databaseManager = Objects.requireNonNull(databaseManager);
+    }
+
+    @Override
+    public void write(final List<JournalEntry> entries) {
+        final var eventModels = new ArrayList<EventJournalModel>(entries.size());
+        for (final var entry : entries) {
+            final var event = entry.getEvent();
+            eventModels.add(EventJournalModel.builder()
+                    .direction(entry.getDirection().name())
+                    .channel(event.getKey().getChannel())
+                    .key(event.getKey().getIdentifier())
+                    .value(event.getData())
+                    .eventTs(entry.getInstant())
+                    .build());
+        }
+
+        databaseManager.jdbi().useTransaction(handle -> {
+            final var dao = handle.attach(JournalDao.class);
+            final var eventJournalIds = dao.insertEvents(eventModels);
+
+            final var workflowModels = new ArrayList<WorkflowJournalModel>();
+            for (var i = 0; i < eventJournalIds.length; i++) {
+                addWorkflowModels(workflowModels, eventJournalIds[i], entries.get(i));
+            }
+            if (!workflowModels.isEmpty()) {
+                dao.insertWorkflows(workflowModels);
+            }
+        });
+    }
+
+    /**
+     * Adds a {@link WorkflowJournalModel} for each workflow entry of {@link JournalEntry}
+     *
+     * @param models         the list where models should be added to
+     * @param eventJournalId the primary key of event journal
+     * @param entry          the journal entry containing the workflows
+     */
+    private static void addWorkflowModels(final List<WorkflowJournalModel> models,
+                                          final int eventJournalId,
+                                          final JournalEntry entry) {
+        final var workflows = entry.getWorkflows();
+        for (var workflowIndex = 0; workflowIndex < workflows.size(); workflowIndex++) {
+            final var flows = workflows.get(workflowIndex).getFlows();
+            for (var step = 0; step < flows.size(); step++) {
+                final var flow = flows.get(step);
+                models.add(WorkflowJournalModel.builder()
+                        .eventJournalId(eventJournalId)
+                        .workflowIndex(workflowIndex)
+                        .step(step)
+                        .uid(flow.getUid())
+                        .value(flow.getValue())
+                        .entryTs(flow.getInstant())
+                        .build());
+            }
+        }
+    }
+}
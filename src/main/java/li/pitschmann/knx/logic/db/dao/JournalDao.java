@@ -0,0 +1,53 @@
+package li.pitschmann.knx.logic.db.dao;
+
+import li.pitschmann.knx.logic.db.models.EventJournalModel;
+import li.pitschmann.knx.logic.db.models.WorkflowJournalModel;
+import org.jdbi.v3.sqlobject.customizer.BindBean;
+import org.jdbi.v3.sqlobject.statement.GetGeneratedKeys;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+
+import java.util.List;
+
+/**
+ * DAO for 'event_journal' and 'workflow_journal' tables
+ *
+ * @author PITSCHR
+ */
+public interface JournalDao {
+    /**
+     * Returns the total size of event journal
+     *
+     * @return size of event journal
+     */
+    @SqlQuery("SELECT COUNT(*) FROM event_journal")
+    int eventSize();
+
+    /**
+     * Returns the total size of workflow journal
+     *
+     * @return size of workflow journal
+     */
+    @SqlQuery("SELECT COUNT(*) FROM workflow_journal")
+    int workflowSize();
+
+    /**
+     * Inserts the {@link EventJournalModel}s into database in a single batch
+     *
+     * @param models models to be inserted
+     * @return newly generated primary keys, in order of {@code models}
+     */
+    @GetGeneratedKeys
+    @SqlBatch("INSERT INTO event_journal (direction, channel, key, value, valueType, eventTs) " +
+            "VALUES (:direction, :channel, :key, :value, :valueType, :eventTs)")
+    int[] insertEvents(@BindBean final List<EventJournalModel> models);
+
+    /**
+     * Inserts the {@link WorkflowJournalModel}s into database in a single batch
+     *
+     * @param models models to be inserted
+     */
+    @SqlBatch("INSERT INTO workflow_journal (eventJournalId, workflowIndex, step, uid, value, valueType, entryTs) " +
+            "VALUES (:eventJournalId, :workflowIndex, :step, :uid, :value, :valueType, :entryTs)")
+    void insertWorkflows(@BindBean final List<WorkflowJournalModel> models);
+}
@@ -195,9 +195,8 @@ abstract class AbstractComponentLoader<T extends Component> {
     private void updateDynamicField(final DynamicConnector connector, final ConnectorModel connectorModel) {
         final var pinModels = databaseManager.dao(PinsDao.class).getByConnectorId(connectorModel.getId());
 
-        // remove all existing
-        connector.reset();
-        connector.tryIncrease(pinModels.size());
+        // remove all existing and re-create in one pass
+        connector.reset(pinModels.size());
         Preconditions.checkState(connector.size() == pinModels.size(),
                 "Could not reset to desired size (actual={}, desired={})", connector.size(), pinModels.size());
 
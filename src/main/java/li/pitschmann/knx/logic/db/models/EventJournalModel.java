@@ -0,0 +1,120 @@
+package li.pitschmann.knx.logic.db.models;
+
+import li.pitschmann.knx.core.annotations.Nullable;
+import li.pitschmann.knx.core.utils.Strings;
+import li.pitschmann.knx.logic.journal.JournalEntry;
+
+import java.time.Instant;
+
+/**
+ * Database model for inbound and outbound events of {@link JournalEntry}
+ *
+ * @author PITSCHR
+ */
+public final class EventJournalModel extends Model {
+    private String direction;
+    private String channel;
+    private String key;
+    private String value;
+    private Class<?> valueType;
+    private Instant eventTs;
+
+    /**
+     * Creates a new {@link Builder} instance for {@link EventJournalModel}
+     *
+     * @return {@link Builder}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String getDirection() {
+        return direction;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    @Nullable
+    public String getValue() {
+        return value;
+    }
+
+    @Nullable
+    public Class<?> getValueType() {
+        return valueType;
+    }
+
+    public Instant getEventTs() {
+        return eventTs;
+    }
+
+    @Override
+    public String toString() {
+        return Strings.toStringHelper(this) //
+                .add("id", getId()) //
+                .add("direction", direction) //
+                .add("channel", channel) //
+                .add("key", key) //
+                .add("value", value) //
+                .add("valueType", valueType) //
+                .add("eventTs", eventTs) //
+                .toString();
+    }
+
+    /**
+     * Builder instance for {@link EventJournalModel}
+     *
+     * @author PITSCHR
+     */
+    public static class Builder {
+        private String direction;
+        private String channel;
+        private String key;
+        private String value;
+        private Class<?> valueType;
+        private Instant eventTs;
+
+        public Builder direction(final String direction) {
+            this.direction = direction;
+            return this;
+        }
+
+        public Builder channel(final String channel) {
+            this.channel = channel;
+            return this;
+        }
+
+        public Builder key(final String key) {
+            this.key = key;
+            return this;
+        }
+
+        public Builder value(final @Nullable Object value) {
+            this.value = value == null ? null : value.toString();
+            this.valueType = value == null ? null : value.getClass();
+            return this;
+        }
+
+        public Builder eventTs(final Instant eventTs) {
+            this.eventTs = eventTs;
+            return this;
+        }
+
+        public EventJournalModel build() {
+            final var model = new EventJournalModel();
+            model.direction = this.direction;
+            model.channel = this.channel;
+            model.key = this.key;
+            model.value = this.value;
+            model.valueType = this.valueType;
+            model.eventTs = this.eventTs;
+            return model;
+        }
+    }
+}
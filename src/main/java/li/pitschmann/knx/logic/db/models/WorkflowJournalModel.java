@@ -0,0 +1,135 @@
+package li.pitschmann.knx.logic.db.models;
+
+import li.pitschmann.knx.core.annotations.Nullable;
+import li.pitschmann.knx.core.utils.Strings;
+import li.pitschmann.knx.logic.WorkflowEntry;
+import li.pitschmann.knx.logic.uid.UID;
+
+import java.time.Instant;
+
+/**
+ * Database model for a {@link WorkflowEntry} of an inbound event
+ * that has been recorded in {@link EventJournalModel}
+ *
+ * @author PITSCHR
+ */
+public final class WorkflowJournalModel extends Model {
+    private int eventJournalId;
+    private int workflowIndex;
+    private int step;
+    private UID uid;
+    private String value;
+    private Class<?> valueType;
+    private Instant entryTs;
+
+    /**
+     * Creates a new {@link Builder} instance for {@link WorkflowJournalModel}
+     *
+     * @return {@link Builder}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int getEventJournalId() {
+        return eventJournalId;
+    }
+
+    public int getWorkflowIndex() {
+        return workflowIndex;
+    }
+
+    public int getStep() {
+        return step;
+    }
+
+    public UID getUid() {
+        return uid;
+    }
+
+    @Nullable
+    public String getValue() {
+        return value;
+    }
+
+    @Nullable
+    public Class<?> getValueType() {
+        return valueType;
+    }
+
+    public Instant getEntryTs() {
+        return entryTs;
+    }
+
+    @Override
+    public String toString() {
+        return Strings.toStringHelper(this) //
+                .add("id", getId()) //
+                .add("eventJournalId", eventJournalId) //
+                .add("workflowIndex", workflowIndex) //
+                .add("step", step) //
+                .add("uid", uid) //
+                .add("value", value) //
+                .add("valueType", valueType) //
+                .add("entryTs", entryTs) //
+                .toString();
+    }
+
+    /**
+     * Builder instance for {@link WorkflowJournalModel}
+     *
+     * @author PITSCHR
+     */
+    public static class Builder {
+        private int eventJournalId;
+        private int workflowIndex;
+        private int step;
+        private UID uid;
+        private String value;
+        private Class<?> valueType;
+        private Instant entryTs;
+
+        public Builder eventJournalId(final int eventJournalId) {
+            this.eventJournalId = eventJournalId;
+            return this;
+        }
+
+        public Builder workflowIndex(final int workflowIndex) {
+            this.workflowIndex = workflowIndex;
+            return this;
+        }
+
+        public Builder step(final int step) {
+            this.step = step;
+            return this;
+        }
+
+        public Builder uid(final UID uid) {
+            this.uid = uid;
+            return this;
+        }
+
+        public Builder value(final @Nullable Object value) {
+            this.value = value == null ? null : value.toString();
+            this.valueType = value == null ? null : value.getClass();
+            return this;
+        }
+
+        public Builder entryTs(final Instant entryTs) {
+            this.entryTs = entryTs;
+            return this;
+        }
+
+        public WorkflowJournalModel build() {
+            final var model = new WorkflowJournalModel();
+            model.eventJournalId = this.eventJournalId;
+            model.workflowIndex = this.workflowIndex;
+            model.step = this.step;
+            model.uid = this.uid;
+            model.value = this.value;
+            model.valueType = this.valueType;
+            model.entryTs = this.entryTs;
+            return model;
+        }
+    }
+}
@@ -39,4 +39,24 @@ public final class DescriptorFactory {
         throw new IllegalArgumentException(String.format("No suitable DescriptorStrategy found for given: owner=%s, field=%s and annotation=%s",
                 owner, field, annotation));
     }
+
+    /**
+     * Creates the prototype {@link FieldDescriptor} without owner for given {@link Field} and {@code annotation}.
+     * The prototype is bound to an owner by {@link FieldDescriptor#bindTo(Object)}.
+     *
+     * @param field      the field that should be described; may not be null
+     * @param annotation the type of annotation to define the {@link DescriptorStrategy}; may not be null
+     * @return prototype {@link FieldDescriptor} instance
+     * @throws IllegalArgumentException if no suitable {@link DescriptorStrategy} could be found
+     */
+    public static FieldDescriptor createPrototype(final Field field,
+                                                  final Class<? extends Annotation> annotation) {
+        if (Input.class.isAssignableFrom(annotation)) {
+            return INPUT_DESCRIPTOR_STRATEGY.createPrototype(field);
+        } else if (Output.class.isAssignableFrom(annotation)) {
+            return OUTPUT_DESCRIPTOR_STRATEGY.createPrototype(field);
+        }
+        throw new IllegalArgumentException(String.format("No suitable DescriptorStrategy found for given: field=%s and annotation=%s",
+                field, annotation));
+    }
 }
@@ -0,0 +1,336 @@
+package li.pitschmann.knx.logic.descriptor;
+
+import li.pitschmann.knx.core.annotations.Nullable;
+import li.pitschmann.knx.core.utils.Strings;
+import li.pitschmann.knx.logic.exceptions.ReflectException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Objects;
+
+/**
+ * Accessor to read and write the value of a {@link Field} for an owner.
+ * <p>
+ * The getter and setter are resolved once as {@link MethodHandle}s adapted
+ * to {@code (Object)Object} and {@code (Object,Object)void}, so reading and
+ * writing the value doesn't need the reflective access check of
+ * {@link Field#get(Object)} and {@link Field#set(Object, Object)} anymore.
+ * Primitive values are boxed and unboxed by the handles; for fields of type
+ * {@code boolean}, {@code int}, {@code long} and {@code double} the value can
+ * be read and written without boxing by the primitive accessors
+ * (e.g. {@link #getDouble()} and {@link #setDouble(double)}).
+ * <p>
+ * The handles don't depend on the owner, an accessor can be bound to another
+ * owner of the same class by {@link #bindTo(Object)} without resolving the handles again.
+ * <p>
+ * <strong>This bypasses the security check for private fields!</strong>
+ * <p>
+ * This class is immutable.
+ *
+ * @author PITSCHR
+ */
+public final class FieldAccessor {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private final @Nullable Object owner;
+    private final Field field;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+    private final MethodHandle primitiveGetter;
+    private final MethodHandle primitiveSetter;
+
+    private FieldAccessor(final @Nullable Object owner,
+                          final Field field,
+                          final MethodHandle getter,
+                          final MethodHandle setter,
+                          final @Nullable MethodHandle primitiveGetter,
+                          final @Nullable MethodHandle primitiveSetter) {
+        this.owner = owner;
+        this.field = field;
+        this.getter = getter;
+        this.setter = setter;
+        this.primitiveGetter = primitiveGetter;
+        this.primitiveSetter = primitiveSetter;
+    }
+
+    /**
+     * Creates the {@link FieldAccessor} for the {@link Field} of given owner
+     *
+     * @param owner the instance that keeps the field; may not be null
+     * @param field the field to be accessed; may not be null
+     * @return a new {@link FieldAccessor}
+     * @throws ReflectException if the field is not accessible
+     */
+    public static FieldAccessor of(final Object owner, final Field field) {
+        return unbound(field).bindTo(owner);
+    }
+
+    /**
+     * Creates the {@link FieldAccessor} for the {@link Field} without owner. The unbound
+     * accessor is a prototype only and should be bound to an owner by {@link #bindTo(Object)}.
+     *
+     * @param field the field to be accessed; may not be null
+     * @return a new unbound {@link FieldAccessor}
+     * @throws ReflectException if the field is not accessible
+     */
+    static FieldAccessor unbound(final Field field) {
+        Objects.requireNonNull(field);
+        try {
+            if (!field.trySetAccessible()) {
+                throw new ReflectException(String.format("Field '%s' is not accessible", field));
+            }
+            final var lookup = MethodHandles.lookup();
+            var getter = lookup.unreflectGetter(field);
+            var setter = lookup.unreflectSetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                // static field: the owner argument is ignored
+                getter = MethodHandles.dropArguments(getter, 0, Object.class);
+                setter = MethodHandles.dropArguments(setter, 0, Object.class);
+            }
+            // primitive field: handles without boxing of value, e.g. (Object)double and (Object,double)void
+            MethodHandle primitiveGetter = null;
+            MethodHandle primitiveSetter = null;
+            final var type = field.getType();
+            if (type.isPrimitive()) {
+                primitiveGetter = getter.asType(MethodType.methodType(type, Object.class));
+                primitiveSetter = setter.asType(MethodType.methodType(void.class, Object.class, type));
+            }
+            return new FieldAccessor(null, field, getter.asType(GETTER_TYPE), setter.asType(SETTER_TYPE),
+                    primitiveGetter, primitiveSetter);
+        } catch (final IllegalAccessException | SecurityException e) {
+            throw new ReflectException(String.format("Could not access field '%s'", field), e);
+        }
+    }
+
+    /**
+     * Returns a {@link FieldAccessor} for the same {@link Field} with given owner.
+     * The resolved handles are shared with this accessor.
+     *
+     * @param owner the instance that keeps the field; may not be null
+     * @return a new {@link FieldAccessor} bound to the owner
+     * @throws ReflectException if the owner doesn't declare the field
+     */
+    public FieldAccessor bindTo(final Object owner) {
+        Objects.requireNonNull(owner);
+        if (!field.getDeclaringClass().isInstance(owner)) {
+            throw new ReflectException(String.format("Owner '%s' doesn't declare the field '%s'", owner, field));
+        }
+        return new FieldAccessor(owner, field, getter, setter, primitiveGetter, primitiveSetter);
+    }
+
+    /**
+     * Returns the value of field
+     *
+     * @return value, may be {@code null}
+     */
+    @Nullable
+    public Object get() {
+        try {
+            return (Object) getter.invokeExact(owner);
+        } catch (final Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            throw getFailed(t);
+        }
+    }
+
+    /**
+     * Sets the value of field
+     *
+     * @param newValue the new value; may be {@code null} if the field is not primitive
+     */
+    public void set(final @Nullable Object newValue) {
+        try {
+            setter.invokeExact(owner, newValue);
+        } catch (final Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            throw setFailed(newValue, t);
+        }
+    }
+
+    /**
+     * Returns the value of {@code boolean} field without boxing
+     *
+     * @return the primitive value
+     * @throws ReflectException if the field is not of type {@code boolean}
+     */
+    public boolean getBoolean() {
+        final var handle = primitiveGetterFor(boolean.class);
+        try {
+            return (boolean) handle.invokeExact(owner);
+        } catch (final Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            throw getFailed(t);
+        }
+    }
+
+    /**
+     * Sets the value of {@code boolean} field without boxing
+     *
+     * @param newValue the new value
+     * @throws ReflectException if the field is not of type {@code boolean}
+     */
+    public void setBoolean(final boolean newValue) {
+        final var handle = primitiveSetterFor(boolean.class);
+        try {
+            handle.invokeExact(owner, newValue);
+        } catch (final Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            throw setFailed(newValue, t);
+        }
+    }
+
+    /**
+     * Returns the value of {@code int} field without boxing
+     *
+     * @return the primitive value
+     * @throws ReflectException if the field is not of type {@code int}
+     */
+    public int getInt() {
+        final var handle = primitiveGetterFor(int.class);
+        try {
+            return (int) handle.invokeExact(owner);
+        } catch (final Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            throw getFailed(t);
+        }
+    }
+
+    /**
+     * Sets the value of {@code int} field without boxing
+     *
+     * @param newValue the new value
+     * @throws ReflectException if the field is not of type {@code int}
+     */
+    public void setInt(final int newValue) {
+        final var handle = primitiveSetterFor(int.class);
+        try {
+            handle.invokeExact(owner, newValue);
+        } catch (final Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            throw setFailed(newValue, t);
+        }
+    }
+
+    /**
+     * Returns the value of {@code long} field without boxing
+     *
+     * @return the primitive value
+     * @throws ReflectException if the field is not of type {@code long}
+     */
+    public long getLong() {
+        final var handle = primitiveGetterFor(long.class);
+        try {
+            return (long) handle.invokeExact(owner);
+        } catch (final Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            throw getFailed(t);
+        }
+    }
+
+    /**
+     * Sets the value of {@code long} field without boxing
+     *
+     * @param newValue the new value
+     * @throws ReflectException if the field is not of type {@code long}
+     */
+    public void setLong(final long newValue) {
+        final var handle = primitiveSetterFor(long.class);
+        try {
+            handle.invokeExact(owner, newValue);
+        } catch (final Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            throw setFailed(newValue, t);
+        }
+    }
+
+    /**
+     * Returns the value of {@code double} field without boxing
+     *
+     * @return the primitive value
+     * @throws ReflectException if the field is not of type {@code double}
+     */
+    public double getDouble() {
+        final var handle = primitiveGetterFor(double.class);
+        try {
+            return (double) handle.invokeExact(owner);
+        } catch (final Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            throw getFailed(t);
+        }
+    }
+
+    /**
+     * Sets the value of {@code double} field without boxing
+     *
+     * @param newValue the new value
+     * @throws ReflectException if the field is not of type {@code double}
+     */
+    public void setDouble(final double newValue) {
+        final var handle = primitiveSetterFor(double.class);
+        try {
+            handle.invokeExact(owner, newValue);
+        } catch (final Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            throw setFailed(newValue, t);
+        }
+    }
+
+    /**
+     * Returns the primitive getter if the field is of given primitive type
+     *
+     * @param type the expected primitive type
+     * @return the getter
+     * @throws ReflectException if the field is not of given type
+     */
+    private MethodHandle primitiveGetterFor(final Class<?> type) {
+        checkPrimitiveType(type);
+        return primitiveGetter;
+    }
+
+    /**
+     * Returns the primitive setter if the field is of given primitive type
+     *
+     * @param type the expected primitive type
+     * @return the setter
+     * @throws ReflectException if the field is not of given type
+     */
+    private MethodHandle primitiveSetterFor(final Class<?> type) {
+        checkPrimitiveType(type);
+        return primitiveSetter;
+    }
+
+    private void checkPrimitiveType(final Class<?> type) {
+        if (field.getType() != type) {
+            throw new ReflectException(String.format("Field '%s' is not of type '%s'", field, type));
+        }
+    }
+
+    private ReflectException getFailed(final Throwable t) {
+        return new ReflectException(String.format("Could not get value for owner '%s' and field '%s'", owner, field), t);
+    }
+
+    private ReflectException setFailed(final Object newValue, final Throwable t) {
+        return new ReflectException(String.format("Could not set value '%s' for owner '%s' and field '%s'", newValue, owner, field), t);
+    }
+
+    @Override
+    public String toString() {
+        return Strings.toStringHelper(this) //
+                .add("owner", owner) //
+                .add("field", field) //
+                .toString();
+    }
+}
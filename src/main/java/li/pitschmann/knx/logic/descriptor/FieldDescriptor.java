@@ -1,5 +1,6 @@
 package li.pitschmann.knx.logic.descriptor;
 
+import li.pitschmann.knx.core.annotations.Nullable;
 import li.pitschmann.knx.core.utils.Strings;
 import li.pitschmann.knx.logic.helpers.ValueHelper;
 
@@ -8,13 +9,19 @@ import java.util.Objects;
 
 /**
  * Descriptor for annotated fields.
+ * <p>
+ * The reflection (resolving the field type and the {@link FieldAccessor}) is done by
+ * a prototype descriptor without owner once per class; the descriptor for an owner is
+ * created by {@link #bindTo(Object)} and shares the resolved metadata with its prototype.
  *
  * @author PITSCHR
  */
 public class FieldDescriptor implements Descriptor {
-    private final Object owner;
+    private final @Nullable Object owner;
     private final Field field;
     private final Class<?> fieldType;
+    private final @Nullable FieldDescriptor prototype;
+    private volatile FieldAccessor accessor;
 
     /**
      * Package-private Constructor for {@link FieldDescriptor}
@@ -23,9 +30,43 @@ public class FieldDescriptor implements Descriptor {
      * @param field the field that should be described; may not be null
      */
     FieldDescriptor(final Object owner, final Field field) {
-        this.owner = Objects.requireNonNull(owner);
+        this(Objects.requireNonNull(owner), new FieldDescriptor(field));
+    }
+
+    /**
+     * Package-private Constructor for a prototype {@link FieldDescriptor} without owner
+     *
+     * @param field the field that should be described; may not be null
+     */
+    FieldDescriptor(final Field field) {
+        this.owner = null;
         this.field = Objects.requireNonNull(field);
         this.fieldType = Objects.requireNonNull(ValueHelper.getFieldType(field));
+        this.prototype = null;
+    }
+
+    /**
+     * Package-private Constructor for {@link FieldDescriptor} bound to the owner
+     *
+     * @param owner     the owner that holds the field; may not be null
+     * @param prototype the prototype descriptor with the resolved metadata; may not be null
+     */
+    FieldDescriptor(final Object owner, final FieldDescriptor prototype) {
+        this.owner = Objects.requireNonNull(owner);
+        this.field = prototype.field;
+        this.fieldType = prototype.fieldType;
+        this.prototype = prototype;
+    }
+
+    /**
+     * Returns a new {@link FieldDescriptor} for the owner that shares the
+     * resolved metadata (field type and accessor) with this descriptor.
+     *
+     * @param owner the owner that holds the field; may not be null
+     * @return a new {@link FieldDescriptor} bound to the owner
+     */
+    public FieldDescriptor bindTo(final Object owner) {
+        return new FieldDescriptor(owner, this);
     }
 
     /**
@@ -64,12 +105,40 @@ public class FieldDescriptor implements Descriptor {
     /**
      * Returns the owner of current {@link Descriptor}
      *
-     * @return the owner of field; may not be null
+     * @return the owner of field; {@code null} for a prototype descriptor
      */
+    @Nullable
     public Object getOwner() {
         return owner;
     }
 
+    /**
+     * Returns the {@link FieldAccessor} to read and write the value of field for the owner.
+     * The accessor is resolved once on first access and then re-used by all pins of the field;
+     * for a descriptor bound from a prototype the handles of prototype accessor are re-used.
+     *
+     * @return the field accessor; may not be null
+     */
+    public FieldAccessor getAccessor() {
+        var result = accessor;
+        if (result == null) {
+            synchronized (this) {
+                result = accessor;
+                if (result == null) {
+                    if (prototype != null) {
+                        result = prototype.getAccessor().bindTo(owner);
+                    } else if (owner != null) {
+                        result = FieldAccessor.of(owner, field);
+                    } else {
+                        result = FieldAccessor.unbound(field);
+                    }
+                    accessor = result;
+                }
+            }
+        }
+        return result;
+    }
+
     @Override
     public String toString() {
         return Strings.toStringHelper(this)
@@ -17,4 +17,13 @@ public interface FieldDescriptorStrategy extends DescriptorStrategy {
      */
     @Override
     FieldDescriptor createDescriptor(Object owner, Field field);
+
+    /**
+     * Creates a new prototype instance of {@link FieldDescriptor} without owner
+     * which can be bound to owners by {@link FieldDescriptor#bindTo(Object)}
+     *
+     * @param field the field that describes the field descriptor; may not be null
+     * @return prototype {@link FieldDescriptor}
+     */
+    FieldDescriptor createPrototype(Field field);
 }
@@ -16,7 +16,17 @@ public final class InputDescriptor extends FieldDescriptor {
     private final boolean alwaysTrigger;
 
     InputDescriptor(final Object owner, final Input annotation, final Field field) {
-        super(owner, field);
+        this(owner, new InputDescriptor(annotation, field));
+    }
+
+    /**
+     * Constructor for a prototype descriptor without owner
+     *
+     * @param annotation the annotation of field; may not be null
+     * @param field      the field that should be described; may not be null
+     */
+    InputDescriptor(final Input annotation, final Field field) {
+        super(field);
 
         final var tmpMin = annotation.min();
         final var tmpMax = annotation.max();
@@ -31,6 +41,18 @@ public final class InputDescriptor extends FieldDescriptor {
         alwaysTrigger = trigger == Trigger.ALWAYS;
     }
 
+    private InputDescriptor(final Object owner, final InputDescriptor prototype) {
+        super(owner, prototype);
+        this.min = prototype.min;
+        this.max = prototype.max;
+        this.alwaysTrigger = prototype.alwaysTrigger;
+    }
+
+    @Override
+    public InputDescriptor bindTo(final Object owner) {
+        return new InputDescriptor(owner, this);
+    }
+
     /**
      * <p>Minimum of occurrences for input values.</p>
      *
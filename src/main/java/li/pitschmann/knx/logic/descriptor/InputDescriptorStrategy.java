@@ -16,4 +16,10 @@ public final class InputDescriptorStrategy implements FieldDescriptorStrategy {
         final var annotation = field.getAnnotation(Input.class);
         return new InputDescriptor(owner, annotation, field);
     }
+
+    @Override
+    public InputDescriptor createPrototype(final Field field) {
+        final var annotation = field.getAnnotation(Input.class);
+        return new InputDescriptor(annotation, field);
+    }
 }
@@ -16,7 +16,17 @@ public final class OutputDescriptor extends FieldDescriptor {
     private final boolean alwaysTrigger;
 
     OutputDescriptor(final Object owner, final Output annotation, final Field field) {
-        super(owner, field);
+        this(owner, new OutputDescriptor(annotation, field));
+    }
+
+    /**
+     * Constructor for a prototype descriptor without owner
+     *
+     * @param annotation the annotation of field; may not be null
+     * @param field      the field that should be described; may not be null
+     */
+    OutputDescriptor(final Output annotation, final Field field) {
+        super(field);
 
         final var tmpMin = annotation.min();
         final var tmpMax = annotation.max();
@@ -31,6 +41,18 @@ public final class OutputDescriptor extends FieldDescriptor {
         alwaysTrigger = trigger == Trigger.ALWAYS;
     }
 
+    private OutputDescriptor(final Object owner, final OutputDescriptor prototype) {
+        super(owner, prototype);
+        this.min = prototype.min;
+        this.max = prototype.max;
+        this.alwaysTrigger = prototype.alwaysTrigger;
+    }
+
+    @Override
+    public OutputDescriptor bindTo(final Object owner) {
+        return new OutputDescriptor(owner, this);
+    }
+
     /**
      * <p>Minimum of occurrences for output values.</p>
      *
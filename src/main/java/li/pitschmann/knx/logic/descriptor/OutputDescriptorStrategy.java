@@ -9,11 +9,17 @@ import java.lang.reflect.Field;
  *
  * @author PITSCHR
  */
-public final class OutputDescriptorStrategy implements DescriptorStrategy {
+public final class OutputDescriptorStrategy implements FieldDescriptorStrategy {
 
     @Override
     public OutputDescriptor createDescriptor(final Object owner, final Field field) {
         final var annotation = field.getAnnotation(Output.class);
         return new OutputDescriptor(owner, annotation, field);
     }
+
+    @Override
+    public OutputDescriptor createPrototype(final Field field) {
+        final var annotation = field.getAnnotation(Output.class);
+        return new OutputDescriptor(annotation, field);
+    }
 }
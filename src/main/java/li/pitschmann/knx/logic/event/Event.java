@@ -15,17 +15,31 @@ import java.util.Objects;
 public final class Event {
     private final EventKey key;
     private final Object value;
+    private final EventPriority priority;
 
     /**
      * Creates an Event element that contains {@link EventKey} and
-     * the value to be transferred.
+     * the value to be transferred with {@link EventPriority#NORMAL}.
      *
      * @param key   the event key that this event belongs to; may not be null
      * @param value the value of event to be read and transferred; may not be null
      */
     public Event(final EventKey key, final Object value) {
+        this(key, value, EventPriority.NORMAL);
+    }
+
+    /**
+     * Creates an Event element that contains {@link EventKey},
+     * the value to be transferred and the priority.
+     *
+     * @param key      the event key that this event belongs to; may not be null
+     * @param value    the value of event to be read and transferred; may not be null
+     * @param priority the priority of event; may not be null
+     */
+    public Event(final EventKey key, final Object value, final EventPriority priority) {
         this.key = Objects.requireNonNull(key);
         this.value = Objects.requireNonNull(value);
+        this.priority = Objects.requireNonNull(priority);
     }
 
     /**
@@ -46,6 +60,15 @@ public final class Event {
         return value;
     }
 
+    /**
+     * Returns the priority
+     *
+     * @return an {@link EventPriority}; may not be null
+     */
+    public EventPriority getPriority() {
+        return priority;
+    }
+
     @Override
     public String toString() {
         final var helper = Strings.toStringHelper(this)
@@ -57,6 +80,7 @@ public final class Event {
         } else {
             helper.add("data", value);
         }
+        helper.add("priority", priority);
 
         return helper.toString();
     }
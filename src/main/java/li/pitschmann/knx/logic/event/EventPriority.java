@@ -0,0 +1,30 @@
+package li.pitschmann.knx.logic.event;
+
+/**
+ * Priority of an {@link Event}, following the priority classes of KNX telegrams.
+ * The constants are declared from highest to lowest priority.
+ *
+ * @author PITSCHR
+ */
+public enum EventPriority {
+
+    /**
+     * <p>System priority, reserved for system and management events.</p>
+     */
+    SYSTEM,
+
+    /**
+     * <p>Urgent priority (KNX: alarm), e.g. alarms and window contacts.</p>
+     */
+    URGENT,
+
+    /**
+     * <p>Normal priority, default for events.</p>
+     */
+    NORMAL,
+
+    /**
+     * <p>Low priority, e.g. periodic meter readings.</p>
+     */
+    LOW
+}
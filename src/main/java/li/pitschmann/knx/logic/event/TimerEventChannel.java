@@ -0,0 +1,264 @@
+package li.pitschmann.knx.logic.event;
+
+import li.pitschmann.knx.core.utils.Preconditions;
+import li.pitschmann.knx.core.utils.Strings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Event Channel for timers (delays, timeouts and periodic logic)
+ * <p>
+ * A timer is identified by the identifier of {@link EventKey} and is scheduled
+ * by an outbound {@link Event} of this channel:
+ * <ul>
+ *     <li>a positive {@link Duration} or {@link Number} (milliseconds) schedules the timer;
+ *     a pending timer with the same identifier is re-scheduled (e.g. staircase timer)</li>
+ *     <li>a zero or negative {@link Duration} or {@link Number} cancels the pending timer</li>
+ * </ul>
+ * When a timer expires, an inbound {@link Event} with the same {@link EventKey} and
+ * the value {@link Boolean#TRUE} is delivered to the router. Expiries within the same
+ * tick are delivered as one batch. Periodic timers can be scheduled with
+ * {@link #schedulePeriodic(String, Duration)}.
+ * <p>
+ * The timers are kept in a hashed timing wheel, which allows a large number of pending
+ * timers; the accuracy of timers is one tick (see {@code Router.Builder#timerTick(Duration)}).
+ * The wheel is advanced by a periodic task on the timer of scheduler, which is started
+ * with the first scheduled timer.
+ *
+ * @author PITSCHR
+ */
+public final class TimerEventChannel implements EventChannel {
+    public static final String CHANNEL_ID = "timer";
+    private static final Logger log = LoggerFactory.getLogger(TimerEventChannel.class);
+    private static final int BUCKET_COUNT = 512;
+    private final TimingWheel wheel = new TimingWheel(BUCKET_COUNT);
+    private final Consumer<List<Event>> inbound;
+    private final ScheduledExecutorService timer;
+    private final long tickNanos;
+    private final LongAdder expiredCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private ScheduledFuture<?> tickTask;
+    private long startNanos;
+    private volatile boolean closed;
+
+    /**
+     * Creates a new timer event channel
+     *
+     * @param inbound the consumer of expired timer events, called by the timer with
+     *                a batch of events expired within the same tick; may not be null
+     * @param tick    the duration of a tick; must be positive
+     * @param timer   the timer to advance the wheel (owned by the scheduler); may not be null
+     */
+    public TimerEventChannel(final Consumer<List<Event>> inbound, final Duration tick, final ScheduledExecutorService timer) {
+        Preconditions.checkArgument(!tick.isNegative() && !tick.isZero(), "Tick must be positive: {}", tick);
+        this.inbound = Objects.requireNonNull(inbound);
+        this.timer = Objects.requireNonNull(timer);
+        this.tickNanos = tick.toNanos();
+    }
+
+    /**
+     * Creates the {@link EventKey} for the timer
+     *
+     * @param name the name of timer
+     * @return a new {@link EventKey} of this channel
+     */
+    public static EventKey createKey(final String name) {
+        return new EventKey(CHANNEL_ID, name);
+    }
+
+    @Override
+    public String getChannel() {
+        return CHANNEL_ID;
+    }
+
+    @Override
+    public void outbound(final Event event) {
+        final var name = event.getKey().getIdentifier();
+        final var data = event.getData();
+        final long delayNanos;
+        if (data instanceof Duration) {
+            delayNanos = ((Duration) data).toNanos();
+        } else if (data instanceof Number) {
+            delayNanos = Duration.ofMillis(((Number) data).longValue()).toNanos();
+        } else {
+            throw new IllegalArgumentException("Unsupported value for timer '" + name + "': " + data);
+        }
+
+        if (delayNanos > 0) {
+            schedule(name, Duration.ofNanos(delayNanos));
+        } else {
+            cancel(name);
+        }
+    }
+
+    /**
+     * Schedules a one-shot timer; a pending timer with the same name is re-scheduled
+     *
+     * @param name  the name of timer; may not be null
+     * @param delay the delay until expiry; must be positive
+     */
+    public void schedule(final String name, final Duration delay) {
+        Preconditions.checkArgument(!delay.isNegative() && !delay.isZero(), "Delay must be positive: {}", delay);
+        wheel.schedule(Objects.requireNonNull(name), toTicks(delay), 0);
+        ensureStarted();
+        log.trace("Timer '{}' scheduled: {}", name, delay);
+    }
+
+    /**
+     * Schedules a periodic timer; a pending timer with the same name is re-scheduled
+     *
+     * @param name   the name of timer; may not be null
+     * @param period the period between expiries, the first expiry is after one period; must be positive
+     */
+    public void schedulePeriodic(final String name, final Duration period) {
+        Preconditions.checkArgument(!period.isNegative() && !period.isZero(), "Period must be positive: {}", period);
+        final var periodTicks = toTicks(period);
+        wheel.schedule(Objects.requireNonNull(name), periodTicks, periodTicks);
+        ensureStarted();
+        log.trace("Periodic timer '{}' scheduled: {}", name, period);
+    }
+
+    /**
+     * Cancels the pending timer
+     *
+     * @param name the name of timer; may not be null
+     * @return {@code true} if a pending timer has been cancelled, {@code false} if there was no pending timer
+     */
+    public boolean cancel(final String name) {
+        final var cancelled = wheel.cancel(Objects.requireNonNull(name));
+        log.trace("Timer '{}' cancelled: {}", name, cancelled);
+        return cancelled;
+    }
+
+    /**
+     * Returns if the timer is pending
+     *
+     * @param name the name of timer; may not be null
+     * @return {@code true} if pending
+     */
+    public boolean isPending(final String name) {
+        return wheel.isPending(Objects.requireNonNull(name));
+    }
+
+    /**
+     * Returns the number of pending timers
+     *
+     * @return number of pending timers
+     */
+    public int getPendingCount() {
+        return wheel.size();
+    }
+
+    /**
+     * Returns the number of expired timers
+     *
+     * @return number of expired timers
+     */
+    public long getExpiredCount() {
+        return expiredCount.sum();
+    }
+
+    /**
+     * Returns the number of batches of expired timers delivered to the router
+     *
+     * @return number of batches
+     */
+    public long getBatchCount() {
+        return batchCount.sum();
+    }
+
+    /**
+     * Stops advancing the wheel; pending timers won't expire anymore
+     */
+    public void close() {
+        closed = true;
+        final ScheduledFuture<?> task;
+        synchronized (this) {
+            task = tickTask;
+        }
+        if (task != null) {
+            task.cancel(false);
+        }
+        log.debug("Timer stopped: {}", this);
+    }
+
+    /**
+     * Converts the duration to ticks, rounded up
+     *
+     * @param duration the duration
+     * @return number of ticks
+     */
+    private long toTicks(final Duration duration) {
+        final var nanos = duration.toNanos();
+        return nanos / tickNanos + (nanos % tickNanos == 0 ? 0 : 1);
+    }
+
+    /**
+     * Starts the periodic task advancing the wheel if not started yet
+     */
+    private synchronized void ensureStarted() {
+        if (tickTask == null && !closed) {
+            startNanos = System.nanoTime() - wheel.currentTick() * tickNanos;
+            try {
+                tickTask = timer.scheduleAtFixedRate(this::tick, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+            } catch (final RejectedExecutionException e) {
+                log.debug("Timer not started because of shutdown: {}", this);
+            }
+        }
+    }
+
+    /**
+     * Advances the timing wheel by one tick and delivers the expired timers
+     */
+    private void tick() {
+        if (closed) {
+            return;
+        }
+        // catch up when the timer was delayed for more than one tick
+        final var tick = Math.max(wheel.currentTick() + 1, (System.nanoTime() - startNanos) / tickNanos);
+        final var names = wheel.advance(tick);
+        if (!names.isEmpty()) {
+            deliver(names);
+        }
+    }
+
+    /**
+     * Delivers the expired timers as one batch
+     *
+     * @param names names of expired timers
+     */
+    private void deliver(final List<String> names) {
+        final var events = new ArrayList<Event>(names.size());
+        for (final var name : names) {
+            events.add(new Event(createKey(name), Boolean.TRUE));
+        }
+        expiredCount.add(events.size());
+        batchCount.increment();
+        try {
+            inbound.accept(events);
+        } catch (final Throwable t) {
+            log.error("Could not deliver expired timers: {}", names, t);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Strings.toStringHelper(this) //
+                .add("tickNanos", tickNanos) //
+                .add("pendingCount", wheel.size()) //
+                .add("expiredCount", expiredCount.sum()) //
+                .add("batchCount", batchCount.sum()) //
+                .toString();
+    }
+}
@@ -0,0 +1,214 @@
+package li.pitschmann.knx.logic.event;
+
+import li.pitschmann.knx.core.utils.Maps;
+import li.pitschmann.knx.core.utils.Preconditions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hashed timing wheel for named timers.
+ * <p>
+ * The time is divided into ticks. Each timer is put into the bucket of its
+ * deadline tick modulo the number of buckets, and the buckets are kept as
+ * intrusive doubly linked lists. Therefore scheduling and cancelling a timer
+ * is {@code O(1)} and advancing the wheel by one tick visits the timers of
+ * one bucket only, which allows to hold a large number of pending timers.
+ * Timers with a deadline beyond one revolution of the wheel stay in their
+ * bucket until their deadline tick has been reached.
+ * <p>
+ * There is at most one pending timer per name: scheduling a timer with a
+ * name of a pending timer replaces the pending timer (reschedule).
+ * <p>
+ * The wheel doesn't have its own clock; the owner advances the wheel to the
+ * current tick (see {@link #advance(long)}).
+ * <p>
+ * This class is thread-safe.
+ * This class is package-protected and should be used by {@link TimerEventChannel} only.
+ *
+ * @author PITSCHR
+ */
+final class TimingWheel {
+    private final Timer[] buckets;
+    private final int mask;
+    private final Map<String, Timer> timers = Maps.newHashMap(1024);
+    private long currentTick;
+
+    /**
+     * Creates a timing wheel
+     *
+     * @param bucketCount number of buckets; must be a power of two
+     */
+    TimingWheel(final int bucketCount) {
+        Preconditions.checkArgument(bucketCount > 0 && Integer.bitCount(bucketCount) == 1,
+                "Number of buckets must be a power of two: {}", bucketCount);
+        this.buckets = new Timer[bucketCount];
+        this.mask = bucketCount - 1;
+    }
+
+    /**
+     * Schedules the timer, a pending timer with the same name is replaced
+     *
+     * @param name        the name of timer
+     * @param delayTicks  the number of ticks after current tick the timer expires; at least one tick
+     * @param periodTicks the number of ticks between expirations of a periodic timer, or {@code 0} for a one-shot timer
+     */
+    synchronized void schedule(final String name, final long delayTicks, final long periodTicks) {
+        final var existing = timers.remove(name);
+        if (existing != null) {
+            unlink(existing);
+        }
+        final var timer = new Timer(name, currentTick + Math.max(1, delayTicks), Math.max(0, periodTicks));
+        timers.put(name, timer);
+        link(timer);
+    }
+
+    /**
+     * Cancels the pending timer
+     *
+     * @param name the name of timer
+     * @return {@code true} if a pending timer has been cancelled
+     */
+    synchronized boolean cancel(final String name) {
+        final var timer = timers.remove(name);
+        if (timer == null) {
+            return false;
+        }
+        unlink(timer);
+        return true;
+    }
+
+    /**
+     * Returns if there is a pending timer for the name
+     *
+     * @param name the name of timer
+     * @return {@code true} if pending
+     */
+    synchronized boolean isPending(final String name) {
+        return timers.containsKey(name);
+    }
+
+    /**
+     * Returns the number of pending timers
+     *
+     * @return number of pending timers
+     */
+    synchronized int size() {
+        return timers.size();
+    }
+
+    /**
+     * Returns the current tick the wheel has been advanced to
+     *
+     * @return current tick
+     */
+    synchronized long currentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Advances the wheel to the given tick and returns the names of expired timers.
+     * Periodic timers are re-scheduled for their next period.
+     *
+     * @param tick the tick to advance to; ticks in the past are ignored
+     * @return names of expired timers in order of their deadlines; may be empty
+     */
+    synchronized List<String> advance(final long tick) {
+        if (tick <= currentTick) {
+            return List.of();
+        }
+
+        final var expired = new ArrayList<Timer>();
+        if (tick - currentTick >= buckets.length) {
+            // lagging behind more than one revolution (e.g. system suspend): visit each bucket once
+            currentTick = tick;
+            for (var i = 0; i < buckets.length; i++) {
+                expireBucket(i, expired);
+            }
+            expired.sort((t1, t2) -> Long.compare(t1.deadlineTick, t2.deadlineTick));
+        } else {
+            while (currentTick < tick) {
+                currentTick++;
+                expireBucket((int) (currentTick & mask), expired);
+            }
+        }
+
+        final var names = new ArrayList<String>(expired.size());
+        for (final var timer : expired) {
+            names.add(timer.name);
+            if (timer.periodTicks > 0) {
+                // next period after current tick; missed periods are skipped, the phase is kept
+                var next = timer.deadlineTick + timer.periodTicks;
+                if (next <= currentTick) {
+                    next += ((currentTick - next) / timer.periodTicks + 1) * timer.periodTicks;
+                }
+                timer.deadlineTick = next;
+                link(timer);
+            } else {
+                timers.remove(timer.name);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Removes the timers of bucket whose deadline has been reached
+     *
+     * @param bucket  the index of bucket
+     * @param expired list of expired timers to add to
+     */
+    private void expireBucket(final int bucket, final List<Timer> expired) {
+        var timer = buckets[bucket];
+        while (timer != null) {
+            final var next = timer.next;
+            if (timer.deadlineTick <= currentTick) {
+                unlink(timer);
+                expired.add(timer);
+            }
+            timer = next;
+        }
+    }
+
+    private void link(final Timer timer) {
+        final var bucket = (int) (timer.deadlineTick & mask);
+        timer.bucket = bucket;
+        timer.prev = null;
+        timer.next = buckets[bucket];
+        if (timer.next != null) {
+            timer.next.prev = timer;
+        }
+        buckets[bucket] = timer;
+    }
+
+    private void unlink(final Timer timer) {
+        if (timer.prev == null) {
+            buckets[timer.bucket] = timer.next;
+        } else {
+            timer.prev.next = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = null;
+        timer.next = null;
+    }
+
+    /**
+     * Pending timer as node of the bucket list
+     */
+    private static final class Timer {
+        private final String name;
+        private final long periodTicks;
+        private long deadlineTick;
+        private int bucket;
+        private Timer prev;
+        private Timer next;
+
+        private Timer(final String name, final long deadlineTick, final long periodTicks) {
+            this.name = name;
+            this.deadlineTick = deadlineTick;
+            this.periodTicks = periodTicks;
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package li.pitschmann.knx.logic.journal;
+
+import li.pitschmann.knx.core.utils.Preconditions;
+import li.pitschmann.knx.core.utils.Strings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Journal for workflows of inbound events and for outbound events.
+ * <p>
+ * Entries are recorded into a bounded ring buffer without blocking the caller
+ * and are passed in batches to the {@link JournalWriter} by a write task on the
+ * persistence executor; there is at most one write task at a time. A batch is
+ * written when it reached the flush size or when the flush interval elapsed since
+ * the first entry of batch. When the buffer is full the entry is dropped
+ * (see {@link #getDroppedCount()}).
+ *
+ * @author PITSCHR
+ */
+public final class Journal {
+    private static final Logger log = LoggerFactory.getLogger(Journal.class);
+    private final JournalWriter writer;
+    private final BlockingQueue<JournalEntry> buffer;
+    private final List<JournalEntry> batch;
+    private final int flushSize;
+    private final long flushIntervalNanos;
+    private final Executor executor;
+    private final ScheduledExecutorService timer;
+    private final LongAdder recordedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder writtenCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private volatile boolean running = true;
+    private boolean writing;
+    private ScheduledFuture<?> pendingFlush;
+
+    /**
+     * Creates a new journal
+     *
+     * @param writer        the writer for batches of entries; may not be null
+     * @param capacity      the capacity of buffer; must be positive
+     * @param flushSize     the maximum number of entries per batch; must be positive
+     * @param flushInterval the maximum time to wait for a batch to be filled; must be positive
+     * @param executor      the executor for the write tasks (e.g. persistence lane); may not be null
+     * @param timer         the timer for the flush interval (owned by the scheduler); may not be null
+     */
+    public Journal(final JournalWriter writer, final int capacity, final int flushSize, final Duration flushInterval,
+                   final Executor executor, final ScheduledExecutorService timer) {
+        Preconditions.checkArgument(capacity > 0, "Capacity must be positive: {}", capacity);
+        Preconditions.checkArgument(flushSize > 0, "Flush size must be positive: {}", flushSize);
+        Preconditions.checkArgument(!flushInterval.isNegative() && !flushInterval.isZero(),
+                "Flush interval must be positive: {}", flushInterval);
+        this.writer = Objects.requireNonNull(writer);
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.batch = new ArrayList<>(Math.min(capacity, flushSize));
+        this.flushSize = flushSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.executor = Objects.requireNonNull(executor);
+        this.timer = Objects.requireNonNull(timer);
+    }
+
+    /**
+     * Records the {@link JournalEntry}. This method does not block; if the buffer
+     * is full or the journal is already closed, the entry is dropped.
+     *
+     * @param entry the entry to be recorded
+     * @return {@code true} if recorded, {@code false} if dropped
+     */
+    public boolean record(final JournalEntry entry) {
+        if (running && buffer.offer(entry)) {
+            // closed in meanwhile: the final drain of close(Duration) may have been passed already,
+            // the entry is taken back unless it has been drained (and therefore written) by close
+            if (!running && buffer.remove(entry)) {
+                droppedCount.increment();
+                log.trace("Journal entry dropped because of close: {}", entry);
+                return false;
+            }
+            recordedCount.increment();
+            if (buffer.size() >= flushSize) {
+                flush();
+            } else {
+                scheduleFlush();
+            }
+            return true;
+        }
+        droppedCount.increment();
+        log.trace("Journal entry dropped: {}", entry);
+        return false;
+    }
+
+    /**
+     * Schedules the flush after the flush interval, unless a flush is already
+     * scheduled or a write task is pending
+     */
+    private synchronized void scheduleFlush() {
+        if (writing || pendingFlush != null) {
+            return;
+        }
+        try {
+            pendingFlush = timer.schedule(this::flush, flushIntervalNanos, TimeUnit.NANOSECONDS);
+        } catch (final RejectedExecutionException e) {
+            // shutdown in progress: the entries are written by close(Duration)
+            log.debug("Journal flush not scheduled because of shutdown: {}", this);
+        }
+    }
+
+    /**
+     * Submits the write task to the executor, unless a write task is already pending
+     */
+    private void flush() {
+        synchronized (this) {
+            if (writing) {
+                return;
+            }
+            writing = true;
+            if (pendingFlush != null) {
+                pendingFlush.cancel(false);
+                pendingFlush = null;
+            }
+        }
+        try {
+            executor.execute(this::writeBatch);
+        } catch (final RejectedExecutionException e) {
+            // shutdown in progress: the entries are written by close(Duration)
+            log.debug("Journal write not submitted because of shutdown: {}", this);
+            synchronized (this) {
+                writing = false;
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Write task: writes one batch and submits the next write task (or schedules
+     * the flush) if there are still entries in the buffer
+     */
+    private void writeBatch() {
+        buffer.drainTo(batch, flushSize);
+        write(batch);
+
+        final boolean more;
+        synchronized (this) {
+            writing = false;
+            more = !buffer.isEmpty();
+            notifyAll();
+        }
+        if (more) {
+            if (buffer.size() >= flushSize || !running) {
+                flush();
+            } else {
+                scheduleFlush();
+            }
+        }
+    }
+
+    /**
+     * Writes the batch using {@link JournalWriter} and clears the batch
+     *
+     * @param batch the batch to be written
+     */
+    private void write(final List<JournalEntry> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            writer.write(batch);
+            writtenCount.add(batch.size());
+        } catch (final RuntimeException e) {
+            failedCount.add(batch.size());
+            log.warn("Could not write {} journal entries", batch.size(), e);
+        } finally {
+            batchCount.increment();
+            batch.clear();
+        }
+    }
+
+    /**
+     * Closes the journal. No new entries are accepted anymore; the pending write
+     * task is awaited within the timeout and the remaining entries are written by
+     * the calling thread, as the executor may already be shut down.
+     *
+     * @param timeout the maximum time to wait for the pending write task
+     * @return {@code true} if all entries are written, {@code false} if timeout elapsed before
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean close(final Duration timeout) throws InterruptedException {
+        running = false;
+        final var deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (this) {
+            while (writing) {
+                final var remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    log.debug("Journal not closed within timeout: {}", this);
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+            // no write tasks anymore: the remaining entries are written below
+            writing = true;
+            if (pendingFlush != null) {
+                pendingFlush.cancel(false);
+                pendingFlush = null;
+            }
+        }
+
+        while (!buffer.isEmpty()) {
+            buffer.drainTo(batch, flushSize);
+            write(batch);
+        }
+        log.debug("Journal closed: {}", this);
+        return true;
+    }
+
+    /**
+     * Returns the number of entries currently waiting in the buffer
+     *
+     * @return number of buffered entries
+     */
+    public int getBufferSize() {
+        return buffer.size();
+    }
+
+    /**
+     * Returns the number of entries that have been accepted by {@link #record(JournalEntry)}
+     *
+     * @return number of recorded entries
+     */
+    public long getRecordedCount() {
+        return recordedCount.sum();
+    }
+
+    /**
+     * Returns the number of entries that have been dropped because the buffer was full
+     * or the journal was already closed
+     *
+     * @return number of dropped entries
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * Returns the number of entries that have been written successfully
+     *
+     * @return number of written entries
+     */
+    public long getWrittenCount() {
+        return writtenCount.sum();
+    }
+
+    /**
+     * Returns the number of entries that could not be written due an error of {@link JournalWriter}
+     *
+     * @return number of failed entries
+     */
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    /**
+     * Returns the number of batches passed to {@link JournalWriter}
+     *
+     * @return number of batches
+     */
+    public long getBatchCount() {
+        return batchCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return Strings.toStringHelper(this) //
+                .add("running", running) //
+                .add("bufferSize", buffer.size()) //
+                .add("recordedCount", recordedCount.sum()) //
+                .add("droppedCount", droppedCount.sum()) //
+                .add("writtenCount", writtenCount.sum()) //
+                .add("failedCount", failedCount.sum()) //
+                .add("batchCount", batchCount.sum()) //
+                .toString();
+    }
+}
@@ -0,0 +1,101 @@
+package li.pitschmann.knx.logic.journal;
+
+import li.pitschmann.knx.core.utils.Strings;
+import li.pitschmann.knx.logic.Workflow;
+import li.pitschmann.knx.logic.event.Event;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable entry of {@link Journal} for an inbound {@link Event} with
+ * its {@link Workflow}s or an outbound {@link Event}
+ *
+ * @author PITSCHR
+ */
+public final class JournalEntry {
+    private final Direction direction;
+    private final Event event;
+    private final List<Workflow> workflows;
+    private final Instant instant;
+
+    private JournalEntry(final Direction direction, final Event event, final List<Workflow> workflows) {
+        this.direction = direction;
+        this.event = Objects.requireNonNull(event);
+        this.workflows = Objects.requireNonNull(workflows);
+        this.instant = Instant.now();
+    }
+
+    /**
+     * Creates a new {@link JournalEntry} for an inbound {@link Event}
+     *
+     * @param event     the inbound event; may not be null
+     * @param workflows the workflows of routing; may not be null
+     * @return a new {@link JournalEntry}
+     */
+    public static JournalEntry inbound(final Event event, final List<Workflow> workflows) {
+        return new JournalEntry(Direction.INBOUND, event, workflows);
+    }
+
+    /**
+     * Creates a new {@link JournalEntry} for an outbound {@link Event}
+     *
+     * @param event the outbound event; may not be null
+     * @return a new {@link JournalEntry}
+     */
+    public static JournalEntry outbound(final Event event) {
+        return new JournalEntry(Direction.OUTBOUND, event, List.of());
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+
+    public Event getEvent() {
+        return event;
+    }
+
+    /**
+     * Returns the workflows of an inbound {@link Event}. Empty for outbound
+     * events and for inbound events that were not traced.
+     *
+     * @return immutable list of workflows
+     */
+    public List<Workflow> getWorkflows() {
+        return workflows;
+    }
+
+    /**
+     * Returns the instant when the entry has been created
+     *
+     * @return instant
+     */
+    public Instant getInstant() {
+        return instant;
+    }
+
+    @Override
+    public String toString() {
+        return Strings.toStringHelper(this) //
+                .add("direction", direction) //
+                .add("event", event) //
+                .add("workflows", workflows) //
+                .add("instant", instant) //
+                .toString();
+    }
+
+    /**
+     * Direction of {@link Event}
+     */
+    public enum Direction {
+        /**
+         * <p>Event received by {@code Router#inbound(Event)}</p>
+         */
+        INBOUND,
+        /**
+         * <p>Event sent by {@code Router#outbound(Event)}</p>
+         */
+        OUTBOUND
+    }
+}
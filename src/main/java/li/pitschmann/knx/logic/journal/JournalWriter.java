@@ -0,0 +1,23 @@
+package li.pitschmann.knx.logic.journal;
+
+import java.util.List;
+
+/**
+ * Writer of {@link JournalEntry} batches to the data source.
+ * <p>
+ * It is called by one write task of {@link Journal} at a time (not
+ * concurrently), therefore implementations do not need to be thread-safe.
+ *
+ * @author PITSCHR
+ */
+@FunctionalInterface
+public interface JournalWriter {
+
+    /**
+     * Writes the batch of journal entries
+     *
+     * @param entries the entries to be written, in order of recording; the list is
+     *                re-used by the caller and may not be kept after return
+     */
+    void write(List<JournalEntry> entries);
+}
@@ -0,0 +1,81 @@
+package li.pitschmann.knx.logic.pin;
+
+import li.pitschmann.knx.core.annotations.Nullable;
+import li.pitschmann.knx.core.utils.Preconditions;
+import li.pitschmann.knx.logic.connector.StaticConnector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Static Pin for a primitive {@code boolean} field
+ * <p>
+ * The value is read, compared and written as primitive {@code boolean}, so
+ * setting a value doesn't box the old and new value for the change detection.
+ *
+ * @author PITSCHR
+ */
+public final class BooleanPin extends StaticPin {
+    private static final Logger LOG = LoggerFactory.getLogger(BooleanPin.class);
+
+    /**
+     * Constructor for {@link BooleanPin}
+     *
+     * @param connector the static connector owning this pin; the field must be of type {@code boolean}
+     */
+    public BooleanPin(final StaticConnector connector) {
+        super(connector);
+        Preconditions.checkArgument(getDescriptor().getField().getType() == boolean.class,
+                "Field must be of type 'boolean': {}", getDescriptor().getField());
+    }
+
+    /**
+     * Returns the value of current {@link Pin} as primitive
+     *
+     * @return value
+     */
+    public boolean getBooleanValue() {
+        return accessor().getBoolean();
+    }
+
+    /**
+     * Sets the value of current {@link Pin} as primitive
+     *
+     * @param newValue the value to be set
+     */
+    public void setBooleanValue(final boolean newValue) {
+        final var oldValue = accessor().getBoolean();
+
+        final var valueChanged = oldValue != newValue;
+        if (valueChanged || isAlwaysTrigger()) {
+            accessor().setBoolean(newValue);
+            this.setRefresh();
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Value set for '{}' (old: {}, new: {}, valueChanged: {})",
+                    getUid(), oldValue, newValue, valueChanged);
+        }
+    }
+
+    @Override
+    public Object getValue() {
+        return accessor().getBoolean();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A {@code null} value sets the default value {@code false}.
+     */
+    @Override
+    public void setValue(final @Nullable Object newValue) {
+        if (newValue == null) {
+            setBooleanValue(false);
+        } else if (newValue instanceof Boolean) {
+            setBooleanValue((Boolean) newValue);
+        } else {
+            // not the type of field, let the accessor reject the value
+            super.setValue(newValue);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package li.pitschmann.knx.logic.pin;
+
+import li.pitschmann.knx.core.annotations.Nullable;
+import li.pitschmann.knx.core.utils.Preconditions;
+import li.pitschmann.knx.logic.connector.StaticConnector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Static Pin for a primitive {@code double} field
+ * <p>
+ * The value is read, compared and written as primitive {@code double}, so
+ * setting a value doesn't box the old and new value for the change detection.
+ * <p>
+ * The values are compared like {@link Double#equals(Object)}: {@link Double#NaN} is
+ * equal to itself and {@code 0.0} is not equal to {@code -0.0}.
+ *
+ * @author PITSCHR
+ */
+public final class DoublePin extends StaticPin {
+    private static final Logger LOG = LoggerFactory.getLogger(DoublePin.class);
+
+    /**
+     * Constructor for {@link DoublePin}
+     *
+     * @param connector the static connector owning this pin; the field must be of type {@code double}
+     */
+    public DoublePin(final StaticConnector connector) {
+        super(connector);
+        Preconditions.checkArgument(getDescriptor().getField().getType() == double.class,
+                "Field must be of type 'double': {}", getDescriptor().getField());
+    }
+
+    /**
+     * Returns the value of current {@link Pin} as primitive
+     *
+     * @return value
+     */
+    public double getDoubleValue() {
+        return accessor().getDouble();
+    }
+
+    /**
+     * Sets the value of current {@link Pin} as primitive
+     *
+     * @param newValue the value to be set
+     */
+    public void setDoubleValue(final double newValue) {
+        final var oldValue = accessor().getDouble();
+
+        final var valueChanged = Double.compare(oldValue, newValue) != 0;
+        if (valueChanged || isAlwaysTrigger()) {
+            accessor().setDouble(newValue);
+            this.setRefresh();
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Value set for '{}' (old: {}, new: {}, valueChanged: {})",
+                    getUid(), oldValue, newValue, valueChanged);
+        }
+    }
+
+    @Override
+    public Object getValue() {
+        return accessor().getDouble();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A {@code null} value sets the default value {@code 0.0}.
+     */
+    @Override
+    public void setValue(final @Nullable Object newValue) {
+        if (newValue == null) {
+            setDoubleValue(0d);
+        } else if (newValue instanceof Double) {
+            setDoubleValue((Double) newValue);
+        } else {
+            // not the type of field, let the accessor reject the value
+            super.setValue(newValue);
+        }
+    }
+}
@@ -1,9 +1,9 @@
 package li.pitschmann.knx.logic.pin;
 
 import li.pitschmann.knx.core.annotations.Nullable;
+import li.pitschmann.knx.core.utils.Preconditions;
 import li.pitschmann.knx.core.utils.Strings;
 import li.pitschmann.knx.logic.connector.DynamicConnector;
-import li.pitschmann.knx.logic.helpers.ReflectHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,8 +17,8 @@ import java.util.Objects;
  */
 public final class DynamicPin extends AbstractPin<DynamicConnector> {
     private static final Logger LOG = LoggerFactory.getLogger(DynamicPin.class);
-    private final int index;
     private final List<Object> list;
+    private volatile int index;
 
     /**
      * Constructor for {@link DynamicPin}
@@ -26,10 +26,11 @@ public final class DynamicPin extends AbstractPin<DynamicConnector> {
      * @param connector the dynamic connector owning this pin
      * @param index     the index of dynamic pin that is owned by connector
      */
+    @SuppressWarnings("unchecked")
     public DynamicPin(final DynamicConnector connector, final int index) {
         super(connector);
         this.index = index;
-        list = ReflectHelper.getInternalValue(connector.getDescriptor().getOwner(), connector.getDescriptor().getField());
+        list = (List<Object>) Objects.requireNonNull(connector.getDescriptor().getAccessor().get());
     }
 
     /**
@@ -42,6 +43,18 @@ public final class DynamicPin extends AbstractPin<DynamicConnector> {
         return this.index;
     }
 
+    /**
+     * Sets the index of {@link DynamicPin}. This method is designed to be called
+     * by the owning {@link DynamicConnector} only when the list of {@link DynamicPin}
+     * is altered.
+     *
+     * @param index the new index; may not be negative
+     */
+    public void setIndex(final int index) {
+        Preconditions.checkArgument(index >= 0, "Index may not be negative: {}", index);
+        this.index = index;
+    }
+
     @Override
     @Nullable
     public Object getValue() {
@@ -0,0 +1,81 @@
+package li.pitschmann.knx.logic.pin;
+
+import li.pitschmann.knx.core.annotations.Nullable;
+import li.pitschmann.knx.core.utils.Preconditions;
+import li.pitschmann.knx.logic.connector.StaticConnector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Static Pin for a primitive {@code int} field
+ * <p>
+ * The value is read, compared and written as primitive {@code int}, so
+ * setting a value doesn't box the old and new value for the change detection.
+ *
+ * @author PITSCHR
+ */
+public final class IntPin extends StaticPin {
+    private static final Logger LOG = LoggerFactory.getLogger(IntPin.class);
+
+    /**
+     * Constructor for {@link IntPin}
+     *
+     * @param connector the static connector owning this pin; the field must be of type {@code int}
+     */
+    public IntPin(final StaticConnector connector) {
+        super(connector);
+        Preconditions.checkArgument(getDescriptor().getField().getType() == int.class,
+                "Field must be of type 'int': {}", getDescriptor().getField());
+    }
+
+    /**
+     * Returns the value of current {@link Pin} as primitive
+     *
+     * @return value
+     */
+    public int getIntValue() {
+        return accessor().getInt();
+    }
+
+    /**
+     * Sets the value of current {@link Pin} as primitive
+     *
+     * @param newValue the value to be set
+     */
+    public void setIntValue(final int newValue) {
+        final var oldValue = accessor().getInt();
+
+        final var valueChanged = oldValue != newValue;
+        if (valueChanged || isAlwaysTrigger()) {
+            accessor().setInt(newValue);
+            this.setRefresh();
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Value set for '{}' (old: {}, new: {}, valueChanged: {})",
+                    getUid(), oldValue, newValue, valueChanged);
+        }
+    }
+
+    @Override
+    public Object getValue() {
+        return accessor().getInt();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A {@code null} value sets the default value {@code 0}.
+     */
+    @Override
+    public void setValue(final @Nullable Object newValue) {
+        if (newValue == null) {
+            setIntValue(0);
+        } else if (newValue instanceof Integer) {
+            setIntValue((Integer) newValue);
+        } else {
+            // not the type of field, let the accessor reject the value
+            super.setValue(newValue);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package li.pitschmann.knx.logic.pin;
+
+import li.pitschmann.knx.core.annotations.Nullable;
+import li.pitschmann.knx.core.utils.Preconditions;
+import li.pitschmann.knx.logic.connector.StaticConnector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Static Pin for a primitive {@code long} field
+ * <p>
+ * The value is read, compared and written as primitive {@code long}, so
+ * setting a value doesn't box the old and new value for the change detection.
+ *
+ * @author PITSCHR
+ */
+public final class LongPin extends StaticPin {
+    private static final Logger LOG = LoggerFactory.getLogger(LongPin.class);
+
+    /**
+     * Constructor for {@link LongPin}
+     *
+     * @param connector the static connector owning this pin; the field must be of type {@code long}
+     */
+    public LongPin(final StaticConnector connector) {
+        super(connector);
+        Preconditions.checkArgument(getDescriptor().getField().getType() == long.class,
+                "Field must be of type 'long': {}", getDescriptor().getField());
+    }
+
+    /**
+     * Returns the value of current {@link Pin} as primitive
+     *
+     * @return value
+     */
+    public long getLongValue() {
+        return accessor().getLong();
+    }
+
+    /**
+     * Sets the value of current {@link Pin} as primitive
+     *
+     * @param newValue the value to be set
+     */
+    public void setLongValue(final long newValue) {
+        final var oldValue = accessor().getLong();
+
+        final var valueChanged = oldValue != newValue;
+        if (valueChanged || isAlwaysTrigger()) {
+            accessor().setLong(newValue);
+            this.setRefresh();
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Value set for '{}' (old: {}, new: {}, valueChanged: {})",
+                    getUid(), oldValue, newValue, valueChanged);
+        }
+    }
+
+    @Override
+    public Object getValue() {
+        return accessor().getLong();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A {@code null} value sets the default value {@code 0}.
+     */
+    @Override
+    public void setValue(final @Nullable Object newValue) {
+        if (newValue == null) {
+            setLongValue(0L);
+        } else if (newValue instanceof Long) {
+            setLongValue((Long) newValue);
+        } else {
+            // not the type of field, let the accessor reject the value
+            super.setValue(newValue);
+        }
+    }
+}
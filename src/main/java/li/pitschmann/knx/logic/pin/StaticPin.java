@@ -3,7 +3,7 @@ package li.pitschmann.knx.logic.pin;
 import li.pitschmann.knx.core.annotations.Nullable;
 import li.pitschmann.knx.core.utils.Strings;
 import li.pitschmann.knx.logic.connector.StaticConnector;
-import li.pitschmann.knx.logic.helpers.ReflectHelper;
+import li.pitschmann.knx.logic.descriptor.FieldAccessor;
 import li.pitschmann.knx.logic.helpers.ValueHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,11 +12,16 @@ import java.util.Objects;
 
 /**
  * Static Field with 1-to-1 relationship
+ * <p>
+ * For primitive fields of type {@code boolean}, {@code int}, {@code long} and {@code double}
+ * the specialized {@link BooleanPin}, {@link IntPin}, {@link LongPin} and {@link DoublePin}
+ * are used (see {@link StaticConnector}).
  *
  * @author PITSCHR
  */
-public final class StaticPin extends AbstractPin<StaticConnector> {
+public class StaticPin extends AbstractPin<StaticConnector> {
     private static final Logger LOG = LoggerFactory.getLogger(StaticPin.class);
+    private final FieldAccessor accessor;
 
     /**
      * Constructor for {@link StaticPin}
@@ -25,20 +30,29 @@ public final class StaticPin extends AbstractPin<StaticConnector> {
      */
     public StaticPin(final StaticConnector connector) {
         super(connector);
+        this.accessor = Objects.requireNonNull(connector.getDescriptor().getAccessor());
 
         tryInitializeDefaultValue();
     }
 
+    /**
+     * Returns the {@link FieldAccessor} of field
+     *
+     * @return accessor; not null
+     */
+    final FieldAccessor accessor() {
+        return accessor;
+    }
+
     /**
      * Tries to initialize the default value in case no value
      * was set.
      */
     private void tryInitializeDefaultValue() {
-        final var descriptor = getDescriptor();
-        final var obj = ReflectHelper.getInternalValue(descriptor.getOwner(), descriptor.getField());
+        final var obj = accessor.get();
         if (obj == null) {
-            final var defaultValue = ValueHelper.getDefaultValueFor(descriptor.getFieldType());
-            ReflectHelper.setInternalValue(descriptor.getOwner(), descriptor.getField(), defaultValue);
+            final var defaultValue = ValueHelper.getDefaultValueFor(getDescriptor().getFieldType());
+            accessor.set(defaultValue);
             LOG.debug("Static Pin '{}' initialized with default value: {}", getUid(), defaultValue);
         } else {
             LOG.debug("Static Pin '{}' initialized with value: {}", getUid(), obj);
@@ -48,7 +62,7 @@ public final class StaticPin extends AbstractPin<StaticConnector> {
     @Override
     @Nullable
     public Object getValue() {
-        return ReflectHelper.getInternalValue(getDescriptor().getOwner(), getDescriptor().getField());
+        return accessor.get();
     }
 
     @Override
@@ -58,9 +72,9 @@ public final class StaticPin extends AbstractPin<StaticConnector> {
         final var valueChanged = !Objects.equals(oldValue, newValue);
         if (valueChanged || isAlwaysTrigger()) {
             if (newValue == null) {
-                ReflectHelper.setInternalValue(getDescriptor().getOwner(), getDescriptor().getField(), ValueHelper.getDefaultValueFor(getDescriptor().getFieldType()));
+                accessor.set(ValueHelper.getDefaultValueFor(getDescriptor().getFieldType()));
             } else {
-                ReflectHelper.setInternalValue(getDescriptor().getOwner(), getDescriptor().getField(), newValue);
+                accessor.set(newValue);
             }
             this.setRefresh();
         }
@@ -0,0 +1,261 @@
+package li.pitschmann.knx.logic.replay;
+
+import li.pitschmann.knx.core.datapoint.value.DataPointValue;
+import li.pitschmann.knx.core.utils.Strings;
+import li.pitschmann.knx.logic.event.Event;
+import li.pitschmann.knx.logic.event.EventKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Recorder of inbound {@link Event}s to a compact append-only binary trace file
+ * (see {@link EventTraceFormat}) that can be replayed by {@link EventReplayer}.
+ * <p>
+ * For each event the channel, identifier, value and the monotonic time since
+ * the previous event are recorded. Values of {@link DataPointValue} are recorded
+ * as raw bytes; {@code byte[]}, {@link Boolean}, {@link Integer}, {@link Long},
+ * {@link Double} and {@link String} are recorded with their type. Events with
+ * other values are skipped (see {@link #getSkippedCount()}).
+ * <p>
+ * The recorder is attached to the router by {@code Router.Builder#recorder(EventRecorder)}
+ * and must be closed by the caller after shutdown of router.
+ * Events are written into a buffer and the buffer is written to the file when full,
+ * or on {@link #flush()} and {@link #close()}. An I/O error does not interrupt the
+ * routing, the event is counted as failed (see {@link #getFailedCount()}).
+ * <p>
+ * An existing file is continued with a new recording session.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @author PITSCHR
+ */
+public final class EventRecorder implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(EventRecorder.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private final Path file;
+    private final DataOutputStream out;
+    private final Map<EventKey, Integer> keyIds = new HashMap<>();
+    private final LongAdder recordedCount = new LongAdder();
+    private final LongAdder skippedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private long lastNanos;
+    private boolean closed;
+
+    private EventRecorder(final Path file, final DataOutputStream out) {
+        this.file = file;
+        this.out = out;
+        this.lastNanos = System.nanoTime();
+    }
+
+    /**
+     * Opens the trace file for recording. A new file is created if it doesn't exist,
+     * otherwise the recording is appended to the existing file.
+     *
+     * @param file the path of trace file; may not be null
+     * @return a new {@link EventRecorder}
+     * @throws IOException if the file could not be opened or is not a trace file
+     */
+    public static EventRecorder open(final Path file) throws IOException {
+        Objects.requireNonNull(file);
+        final var newFile = !Files.exists(file) || Files.size(file) == 0;
+        if (!newFile) {
+            // verify that we continue a trace file
+            EventTraceReader.open(file).close();
+        }
+
+        final var out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND),
+                BUFFER_SIZE));
+        try {
+            if (newFile) {
+                out.writeInt(EventTraceFormat.MAGIC);
+                out.writeByte(EventTraceFormat.VERSION);
+            }
+            out.writeByte(EventTraceFormat.RECORD_SESSION);
+            out.writeLong(System.currentTimeMillis());
+        } catch (final IOException e) {
+            out.close();
+            throw e;
+        }
+        log.debug("Event recording started: {}", file);
+        return new EventRecorder(file, out);
+    }
+
+    /**
+     * Records the {@link Event}
+     *
+     * @param event the event to be recorded; may not be null
+     * @return {@code true} if recorded, {@code false} if skipped or failed
+     */
+    public synchronized boolean record(final Event event) {
+        final var nanos = System.nanoTime();
+        if (closed) {
+            failedCount.increment();
+            return false;
+        }
+
+        final var value = event.getData();
+        final int valueType;
+        if (value instanceof byte[] || value instanceof DataPointValue) {
+            valueType = EventTraceFormat.VALUE_BYTES;
+        } else if (value instanceof Boolean) {
+            valueType = EventTraceFormat.VALUE_BOOLEAN;
+        } else if (value instanceof Integer) {
+            valueType = EventTraceFormat.VALUE_INTEGER;
+        } else if (value instanceof Long) {
+            valueType = EventTraceFormat.VALUE_LONG;
+        } else if (value instanceof Double) {
+            valueType = EventTraceFormat.VALUE_DOUBLE;
+        } else if (value instanceof String) {
+            valueType = EventTraceFormat.VALUE_STRING;
+        } else {
+            skippedCount.increment();
+            log.debug("Event skipped because of unsupported value type: {}", event);
+            return false;
+        }
+
+        try {
+            final var keyId = keyId(event.getKey());
+            out.writeByte(EventTraceFormat.RECORD_EVENT);
+            EventTraceFormat.writeVarLong(out, keyId);
+            EventTraceFormat.writeVarLong(out, Math.max(0, nanos - lastNanos));
+            out.writeByte(valueType);
+            writeValue(valueType, value);
+            lastNanos = nanos;
+            recordedCount.increment();
+            return true;
+        } catch (final IOException e) {
+            // stop recording as the trace file may end with an incomplete record
+            failedCount.increment();
+            log.warn("Could not record event, recording stopped: {}", event, e);
+            closed = true;
+            try {
+                out.close();
+            } catch (final IOException ignored) {
+                // already failed
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Returns the id of {@link EventKey}; the key is defined in the trace file on first use
+     *
+     * @param key the event key
+     * @return id of key
+     * @throws IOException if an I/O error occurs
+     */
+    private int keyId(final EventKey key) throws IOException {
+        final var keyId = keyIds.get(key);
+        if (keyId != null) {
+            return keyId;
+        }
+        final var newKeyId = keyIds.size();
+        out.writeByte(EventTraceFormat.RECORD_KEY);
+        EventTraceFormat.writeVarLong(out, newKeyId);
+        EventTraceFormat.writeString(out, key.getChannel());
+        EventTraceFormat.writeString(out, key.getIdentifier());
+        keyIds.put(key, newKeyId);
+        return newKeyId;
+    }
+
+    private void writeValue(final int valueType, final Object value) throws IOException {
+        switch (valueType) {
+            case EventTraceFormat.VALUE_BYTES:
+                EventTraceFormat.writeBytes(out,
+                        value instanceof byte[] ? (byte[]) value : ((DataPointValue) value).toByteArray());
+                break;
+            case EventTraceFormat.VALUE_BOOLEAN:
+                out.writeBoolean((Boolean) value);
+                break;
+            case EventTraceFormat.VALUE_INTEGER:
+                out.writeInt((Integer) value);
+                break;
+            case EventTraceFormat.VALUE_LONG:
+                out.writeLong((Long) value);
+                break;
+            case EventTraceFormat.VALUE_DOUBLE:
+                out.writeDouble((Double) value);
+                break;
+            case EventTraceFormat.VALUE_STRING:
+            default:
+                EventTraceFormat.writeString(out, (String) value);
+        }
+    }
+
+    /**
+     * Writes the buffered events to the trace file
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public synchronized void flush() throws IOException {
+        if (!closed) {
+            out.flush();
+        }
+    }
+
+    /**
+     * Writes the buffered events and closes the trace file. Events recorded
+     * after close are counted as failed.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            out.close();
+            log.debug("Event recording stopped: {}", this);
+        }
+    }
+
+    /**
+     * Returns the number of recorded events
+     *
+     * @return number of recorded events
+     */
+    public long getRecordedCount() {
+        return recordedCount.sum();
+    }
+
+    /**
+     * Returns the number of events skipped because of unsupported value type
+     *
+     * @return number of skipped events
+     */
+    public long getSkippedCount() {
+        return skippedCount.sum();
+    }
+
+    /**
+     * Returns the number of events that could not be recorded because of I/O error
+     * or because the recorder has been closed
+     *
+     * @return number of failed events
+     */
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return Strings.toStringHelper(this) //
+                .add("file", file) //
+                .add("recordedCount", recordedCount.sum()) //
+                .add("skippedCount", skippedCount.sum()) //
+                .add("failedCount", failedCount.sum()) //
+                .toString();
+    }
+}
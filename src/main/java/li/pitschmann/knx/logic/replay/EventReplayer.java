@@ -0,0 +1,115 @@
+package li.pitschmann.knx.logic.replay;
+
+import li.pitschmann.knx.core.utils.Preconditions;
+import li.pitschmann.knx.logic.Router;
+import li.pitschmann.knx.logic.scheduler.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays the trace file recorded by {@link EventRecorder} into a {@link Router}
+ * and reports the throughput and latency percentiles (see {@link ReplayReport}).
+ * <p>
+ * The speed of replay is relative to the recording: {@code 1} replays the events
+ * in real-time, {@code N} is N-times faster and {@link #MAX_SPEED} submits the
+ * events as fast as possible without waiting.
+ *
+ * <pre>{@code
+ * final var report = new EventReplayer(router).replay(Path.of("trace.bin"), 10);
+ * }</pre>
+ *
+ * @author PITSCHR
+ */
+public final class EventReplayer {
+    /**
+     * Speed to replay the events without waiting
+     */
+    public static final double MAX_SPEED = Double.POSITIVE_INFINITY;
+    private static final Logger log = LoggerFactory.getLogger(EventReplayer.class);
+    private final Router router;
+
+    /**
+     * Creates a replayer for the {@link Router}
+     *
+     * @param router the router the events should be submitted to; may not be null
+     */
+    public EventReplayer(final Router router) {
+        this.router = Objects.requireNonNull(router);
+    }
+
+    /**
+     * Replays the events of trace file and waits until the routing of all events has been completed
+     *
+     * @param file  the path of trace file; may not be null
+     * @param speed the speed relative to the recording, or {@link #MAX_SPEED}; must be positive
+     * @return report of replay
+     * @throws IOException          if the trace file could not be read
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public ReplayReport replay(final Path file, final double speed) throws IOException, InterruptedException {
+        Preconditions.checkArgument(speed > 0, "Speed must be positive: {}", speed);
+
+        final var latencies = new LatencyHistogram();
+        final var failedCount = new LongAdder();
+        final var completed = new Semaphore(0);
+        var eventCount = 0L;
+        var firstTimestampNanos = -1L;
+        var startNanos = 0L;
+
+        try (final var reader = EventTraceReader.open(file)) {
+            RecordedEvent recordedEvent;
+            while ((recordedEvent = reader.next()) != null) {
+                if (firstTimestampNanos < 0) {
+                    firstTimestampNanos = recordedEvent.getTimestampNanos();
+                    startNanos = System.nanoTime();
+                } else if (speed != MAX_SPEED) {
+                    awaitUntil(startNanos + (long) ((recordedEvent.getTimestampNanos() - firstTimestampNanos) / speed));
+                }
+
+                final var submitNanos = System.nanoTime();
+                router.inbound(recordedEvent.getEvent()).whenComplete((workflows, throwable) -> {
+                    latencies.record(System.nanoTime() - submitNanos);
+                    if (throwable != null) {
+                        failedCount.increment();
+                    }
+                    completed.release();
+                });
+                eventCount++;
+            }
+        }
+
+        // wait for completion of routing
+        for (var pending = eventCount; pending > 0; pending -= Integer.MAX_VALUE) {
+            completed.acquire((int) Math.min(pending, Integer.MAX_VALUE));
+        }
+
+        final var report = new ReplayReport(eventCount, failedCount.sum(),
+                Duration.ofNanos(eventCount == 0 ? 0 : System.nanoTime() - startNanos), latencies);
+        log.debug("Replay of '{}' completed (speed: {}): {}", file, speed, report);
+        return report;
+    }
+
+    /**
+     * Waits until the {@link System#nanoTime()} reached the deadline
+     *
+     * @param deadlineNanos the deadline
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private static void awaitUntil(final long deadlineNanos) throws InterruptedException {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+}
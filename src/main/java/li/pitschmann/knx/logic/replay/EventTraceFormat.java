@@ -0,0 +1,131 @@
+package li.pitschmann.knx.logic.replay;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary format of event trace files written by {@link EventRecorder} and
+ * read by {@link EventTraceReader}.
+ * <p>
+ * A trace file starts with the {@link #MAGIC} and {@link #VERSION} followed by
+ * records. Each record starts with the record type:
+ * <ul>
+ *     <li>{@link #RECORD_SESSION}: start of a recording session with the wall-clock time
+ *     (epoch millis); the key dictionary and the monotonic time base are reset</li>
+ *     <li>{@link #RECORD_KEY}: definition of an event key with the next key id, channel and identifier</li>
+ *     <li>{@link #RECORD_EVENT}: an event with key id, nanoseconds since previous event of session,
+ *     value type and value</li>
+ * </ul>
+ * Numbers are written as variable-length integers (7 bits per byte) to keep the file compact.
+ * <p>
+ * This class is package-protected and should be used by classes of this package only.
+ *
+ * @author PITSCHR
+ */
+final class EventTraceFormat {
+    static final int MAGIC = 0x4B4C5452; // KLTR
+    static final int VERSION = 1;
+
+    static final int RECORD_SESSION = 0;
+    static final int RECORD_KEY = 1;
+    static final int RECORD_EVENT = 2;
+
+    static final int VALUE_BYTES = 0;
+    static final int VALUE_BOOLEAN = 1;
+    static final int VALUE_INTEGER = 2;
+    static final int VALUE_LONG = 3;
+    static final int VALUE_DOUBLE = 4;
+    static final int VALUE_STRING = 5;
+
+    private EventTraceFormat() {
+        throw new AssertionError("Don't touch me!");
+    }
+
+    /**
+     * Writes a non-negative number as variable-length integer
+     *
+     * @param out   the output
+     * @param value the non-negative value
+     * @throws IOException if an I/O error occurs
+     */
+    static void writeVarLong(final DataOutput out, final long value) throws IOException {
+        var v = value;
+        while ((v & ~0x7FL) != 0) {
+            out.writeByte((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.writeByte((int) v);
+    }
+
+    /**
+     * Reads a variable-length integer
+     *
+     * @param in the input
+     * @return the value
+     * @throws IOException if an I/O error occurs or the number is malformed
+     */
+    static long readVarLong(final DataInput in) throws IOException {
+        var value = 0L;
+        for (var shift = 0; shift < 64; shift += 7) {
+            final var b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length integer");
+    }
+
+    /**
+     * Writes the string as UTF-8 with variable-length size prefix
+     *
+     * @param out  the output
+     * @param text the text
+     * @throws IOException if an I/O error occurs
+     */
+    static void writeString(final DataOutput out, final String text) throws IOException {
+        writeBytes(out, text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads the string written by {@link #writeString(DataOutput, String)}
+     *
+     * @param in the input
+     * @return the text
+     * @throws IOException if an I/O error occurs
+     */
+    static String readString(final DataInput in) throws IOException {
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the bytes with variable-length size prefix
+     *
+     * @param out   the output
+     * @param bytes the bytes
+     * @throws IOException if an I/O error occurs
+     */
+    static void writeBytes(final DataOutput out, final byte[] bytes) throws IOException {
+        writeVarLong(out, bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads the bytes written by {@link #writeBytes(DataOutput, byte[])}
+     *
+     * @param in the input
+     * @return the bytes
+     * @throws IOException if an I/O error occurs
+     */
+    static byte[] readBytes(final DataInput in) throws IOException {
+        final var length = readVarLong(in);
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Length too large: " + length);
+        }
+        final var bytes = new byte[(int) length];
+        in.readFully(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,158 @@
+package li.pitschmann.knx.logic.replay;
+
+import li.pitschmann.knx.core.annotations.Nullable;
+import li.pitschmann.knx.logic.event.Event;
+import li.pitschmann.knx.logic.event.EventKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reader of trace files written by {@link EventRecorder}.
+ * <p>
+ * The timestamps of events are continuous over all recording sessions of the
+ * trace file: a session starts at the wall-clock offset to the first session,
+ * but never before the last event of previous session.
+ * <p>
+ * A trace file that ends with an incomplete record (e.g. the application has
+ * been killed during recording) is read until the last complete record.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @author PITSCHR
+ */
+public final class EventTraceReader implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(EventTraceReader.class);
+    private final DataInputStream in;
+    private final List<EventKey> keys = new ArrayList<>();
+    private long firstSessionMillis = -1;
+    private long sessionBaseNanos;
+    private long timestampNanos;
+
+    private EventTraceReader(final DataInputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * Opens the trace file for reading
+     *
+     * @param file the path of trace file; may not be null
+     * @return a new {@link EventTraceReader}
+     * @throws IOException if the file could not be opened or is not a supported trace file
+     */
+    public static EventTraceReader open(final Path file) throws IOException {
+        final var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(Objects.requireNonNull(file))));
+        try {
+            final var magic = in.readInt();
+            if (magic != EventTraceFormat.MAGIC) {
+                throw new IOException("Not an event trace file: " + file);
+            }
+            final var version = in.readUnsignedByte();
+            if (version != EventTraceFormat.VERSION) {
+                throw new IOException("Unsupported version of event trace file '" + file + "': " + version);
+            }
+        } catch (final IOException e) {
+            in.close();
+            throw e instanceof EOFException ? new IOException("Not an event trace file: " + file, e) : e;
+        }
+        return new EventTraceReader(in);
+    }
+
+    /**
+     * Reads the next {@link RecordedEvent}
+     *
+     * @return the next recorded event, or {@code null} if end of trace file has been reached
+     * @throws IOException if an I/O error occurs or the trace file is corrupt
+     */
+    @Nullable
+    public RecordedEvent next() throws IOException {
+        try {
+            int recordType;
+            while ((recordType = in.read()) >= 0) {
+                switch (recordType) {
+                    case EventTraceFormat.RECORD_SESSION:
+                        readSession();
+                        break;
+                    case EventTraceFormat.RECORD_KEY:
+                        readKey();
+                        break;
+                    case EventTraceFormat.RECORD_EVENT:
+                        return readEvent();
+                    default:
+                        throw new IOException("Unsupported record type: " + recordType);
+                }
+            }
+        } catch (final EOFException e) {
+            log.debug("Trace file ends with an incomplete record");
+        }
+        return null;
+    }
+
+    private void readSession() throws IOException {
+        final var sessionMillis = in.readLong();
+        if (firstSessionMillis < 0) {
+            firstSessionMillis = sessionMillis;
+        }
+        sessionBaseNanos = Math.max(timestampNanos, TimeUnit.MILLISECONDS.toNanos(sessionMillis - firstSessionMillis));
+        timestampNanos = sessionBaseNanos;
+        keys.clear();
+    }
+
+    private void readKey() throws IOException {
+        final var keyId = EventTraceFormat.readVarLong(in);
+        if (keyId != keys.size()) {
+            throw new IOException("Unexpected key id: " + keyId + " (expected: " + keys.size() + ")");
+        }
+        keys.add(new EventKey(EventTraceFormat.readString(in), EventTraceFormat.readString(in)));
+    }
+
+    private RecordedEvent readEvent() throws IOException {
+        final var keyId = EventTraceFormat.readVarLong(in);
+        if (keyId >= keys.size()) {
+            throw new IOException("Unknown key id: " + keyId);
+        }
+        final var deltaNanos = EventTraceFormat.readVarLong(in);
+        final var valueType = in.readUnsignedByte();
+        final Object value;
+        switch (valueType) {
+            case EventTraceFormat.VALUE_BYTES:
+                value = EventTraceFormat.readBytes(in);
+                break;
+            case EventTraceFormat.VALUE_BOOLEAN:
+                value = in.readBoolean();
+                break;
+            case EventTraceFormat.VALUE_INTEGER:
+                value = in.readInt();
+                break;
+            case EventTraceFormat.VALUE_LONG:
+                value = in.readLong();
+                break;
+            case EventTraceFormat.VALUE_DOUBLE:
+                value = in.readDouble();
+                break;
+            case EventTraceFormat.VALUE_STRING:
+                value = EventTraceFormat.readString(in);
+                break;
+            default:
+                throw new IOException("Unsupported value type: " + valueType);
+        }
+        timestampNanos += deltaNanos;
+        return new RecordedEvent(timestampNanos, new Event(keys.get((int) keyId), value));
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
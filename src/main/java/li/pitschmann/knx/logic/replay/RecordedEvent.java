@@ -0,0 +1,47 @@
+package li.pitschmann.knx.logic.replay;
+
+import li.pitschmann.knx.core.utils.Strings;
+import li.pitschmann.knx.logic.event.Event;
+
+import java.util.Objects;
+
+/**
+ * Immutable {@link Event} read from trace file by {@link EventTraceReader}
+ *
+ * @author PITSCHR
+ */
+public final class RecordedEvent {
+    private final long timestampNanos;
+    private final Event event;
+
+    RecordedEvent(final long timestampNanos, final Event event) {
+        this.timestampNanos = timestampNanos;
+        this.event = Objects.requireNonNull(event);
+    }
+
+    /**
+     * Returns the monotonic timestamp of event in nanoseconds since the start of recording
+     *
+     * @return timestamp in nanoseconds
+     */
+    public long getTimestampNanos() {
+        return timestampNanos;
+    }
+
+    /**
+     * Returns the recorded event
+     *
+     * @return event; not null
+     */
+    public Event getEvent() {
+        return event;
+    }
+
+    @Override
+    public String toString() {
+        return Strings.toStringHelper(this) //
+                .add("timestampNanos", timestampNanos) //
+                .add("event", event) //
+                .toString();
+    }
+}
@@ -0,0 +1,100 @@
+package li.pitschmann.knx.logic.replay;
+
+import li.pitschmann.knx.core.utils.Strings;
+import li.pitschmann.knx.logic.scheduler.LatencyHistogram;
+
+import java.time.Duration;
+
+/**
+ * Immutable report of a replay by {@link EventReplayer} with the throughput
+ * and the latency percentiles of routing (from submission of event to the
+ * completion of all its workflows)
+ *
+ * @author PITSCHR
+ */
+public final class ReplayReport {
+    private final long eventCount;
+    private final long failedCount;
+    private final Duration elapsed;
+    private final Duration latencyP50;
+    private final Duration latencyP90;
+    private final Duration latencyP99;
+    private final Duration latencyMax;
+
+    ReplayReport(final long eventCount, final long failedCount, final Duration elapsed, final LatencyHistogram latencies) {
+        this.eventCount = eventCount;
+        this.failedCount = failedCount;
+        this.elapsed = elapsed;
+        this.latencyP50 = Duration.ofNanos(latencies.percentile(50));
+        this.latencyP90 = Duration.ofNanos(latencies.percentile(90));
+        this.latencyP99 = Duration.ofNanos(latencies.percentile(99));
+        this.latencyMax = Duration.ofNanos(latencies.percentile(100));
+    }
+
+    /**
+     * Returns the number of replayed events
+     *
+     * @return number of events
+     */
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Returns the number of events whose routing completed exceptionally
+     *
+     * @return number of failed events
+     */
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    /**
+     * Returns the elapsed time from first event until the routing of all events has been completed
+     *
+     * @return elapsed time
+     */
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * Returns the throughput of replay
+     *
+     * @return events per second
+     */
+    public double getThroughput() {
+        final var nanos = elapsed.toNanos();
+        return nanos == 0 ? 0 : eventCount * 1_000_000_000d / nanos;
+    }
+
+    public Duration getLatencyP50() {
+        return latencyP50;
+    }
+
+    public Duration getLatencyP90() {
+        return latencyP90;
+    }
+
+    public Duration getLatencyP99() {
+        return latencyP99;
+    }
+
+    public Duration getLatencyMax() {
+        return latencyMax;
+    }
+
+    @Override
+    public String toString() {
+        return Strings.toStringHelper(this) //
+                .add("eventCount", eventCount) //
+                .add("failedCount", failedCount) //
+                .add("elapsed", elapsed) //
+                .add("throughput", String.format("%.1f/s", getThroughput())) //
+                .add("latencyP50", latencyP50) //
+                .add("latencyP90", latencyP90) //
+                .add("latencyP99", latencyP99) //
+                .add("latencyMax", latencyMax) //
+                .toString();
+    }
+}
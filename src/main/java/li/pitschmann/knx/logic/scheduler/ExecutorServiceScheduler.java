@@ -0,0 +1,172 @@
+package li.pitschmann.knx.logic.scheduler;
+
+import li.pitschmann.knx.core.utils.Preconditions;
+import li.pitschmann.knx.core.utils.Strings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link Scheduler} backed by an {@link ExecutorService} per {@link Lane}.
+ * <p>
+ * The executors of lanes are instrumented to collect the {@link LaneStatistics}.
+ * Several lanes may share the same {@link ExecutorService}. If the routing lane is
+ * backed by a {@link ForkJoinPool} it is also used for the parallel propagation,
+ * otherwise an own pool is created. The timer is a single daemon thread.
+ *
+ * @author PITSCHR
+ */
+final class ExecutorServiceScheduler implements Scheduler {
+    private static final Logger log = LoggerFactory.getLogger(ExecutorServiceScheduler.class);
+    private final Map<Lane, LaneExecutor> laneExecutors = new EnumMap<>(Lane.class);
+    private final Set<ExecutorService> executorServices = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final ForkJoinPool forkJoinPool;
+    private final ScheduledThreadPoolExecutor timer;
+    private final String name;
+
+    /**
+     * Creates a scheduler
+     *
+     * @param name             the name of scheduler (for logging)
+     * @param executorServices the executor service per lane; all lanes are required
+     */
+    ExecutorServiceScheduler(final String name, final Map<Lane, ExecutorService> executorServices) {
+        this.name = Objects.requireNonNull(name);
+        for (final var lane : Lane.values()) {
+            final var executorService = executorServices.get(lane);
+            Preconditions.checkArgument(executorService != null, "No executor service for lane: {}", lane);
+            this.laneExecutors.put(lane, new LaneExecutor(lane, executorService));
+            this.executorServices.add(executorService);
+        }
+
+        final var routingExecutorService = executorServices.get(Lane.ROUTING);
+        if (routingExecutorService instanceof ForkJoinPool) {
+            this.forkJoinPool = (ForkJoinPool) routingExecutorService;
+        } else {
+            // threads of fork join pool are started on demand only
+            this.forkJoinPool = new ForkJoinPool();
+            this.executorServices.add(this.forkJoinPool);
+        }
+
+        this.timer = new ScheduledThreadPoolExecutor(1, r -> {
+            final var thread = new Thread(r, "knx-logic-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.setRemoveOnCancelPolicy(true);
+        this.timer.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.timer.setContinueExistingPeriodicTasksAfterShutdownPolicy(false);
+        this.executorServices.add(this.timer);
+    }
+
+    @Override
+    public Executor executor(final Lane lane) {
+        return laneExecutors.get(lane);
+    }
+
+    @Override
+    public LaneStatistics statistics(final Lane lane) {
+        return laneExecutors.get(lane).statistics();
+    }
+
+    @Override
+    public ForkJoinPool forkJoinPool() {
+        return forkJoinPool;
+    }
+
+    @Override
+    public ScheduledExecutorService timer() {
+        return timer;
+    }
+
+    @Override
+    public void shutdown() {
+        log.debug("Shutdown of scheduler: {}", this);
+        executorServices.forEach(ExecutorService::shutdown);
+    }
+
+    @Override
+    public boolean awaitTermination(final Duration timeout) throws InterruptedException {
+        final var deadline = System.nanoTime() + timeout.toNanos();
+        for (final var executorService : executorServices) {
+            final var remaining = deadline - System.nanoTime();
+            if (!executorService.awaitTermination(Math.max(0, remaining), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return Strings.toStringHelper(this) //
+                .add("name", name) //
+                .add("routing", statistics(Lane.ROUTING)) //
+                .add("outbound", statistics(Lane.OUTBOUND)) //
+                .add("persistence", statistics(Lane.PERSISTENCE)) //
+                .toString();
+    }
+
+    /**
+     * Instrumented {@link Executor} of a {@link Lane}
+     */
+    private static final class LaneExecutor implements Executor {
+        private final Lane lane;
+        private final ExecutorService executorService;
+        private final LongAdder submittedCount = new LongAdder();
+        private final LongAdder startedCount = new LongAdder();
+        private final LongAdder completedCount = new LongAdder();
+        private final LongAdder rejectedCount = new LongAdder();
+        private final AtomicInteger activeCount = new AtomicInteger();
+
+        private LaneExecutor(final Lane lane, final ExecutorService executorService) {
+            this.lane = lane;
+            this.executorService = executorService;
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            Objects.requireNonNull(command);
+            submittedCount.increment();
+            try {
+                executorService.execute(() -> {
+                    startedCount.increment();
+                    activeCount.incrementAndGet();
+                    try {
+                        command.run();
+                    } finally {
+                        activeCount.decrementAndGet();
+                        completedCount.increment();
+                    }
+                });
+            } catch (final RejectedExecutionException e) {
+                submittedCount.decrement();
+                rejectedCount.increment();
+                throw e;
+            }
+        }
+
+        private LaneStatistics statistics() {
+            final var submitted = submittedCount.sum();
+            final var queued = Math.max(0, submitted - startedCount.sum());
+            return new LaneStatistics(lane, submitted, completedCount.sum(), rejectedCount.sum(),
+                    activeCount.get(), (int) Math.min(Integer.MAX_VALUE, queued));
+        }
+    }
+}
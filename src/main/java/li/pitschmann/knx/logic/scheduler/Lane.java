@@ -0,0 +1,26 @@
+package li.pitschmann.knx.logic.scheduler;
+
+/**
+ * Lanes of {@link Scheduler}. Each lane has its own executor, so blocking
+ * tasks of one lane (e.g. writing to KNX) do not tie up the threads of
+ * another lane (e.g. routing).
+ *
+ * @author PITSCHR
+ */
+public enum Lane {
+
+    /**
+     * <p>Propagation of inbound events through the linked components.</p>
+     */
+    ROUTING,
+
+    /**
+     * <p>Outbound I/O of events to the event channels (e.g. KNX).</p>
+     */
+    OUTBOUND,
+
+    /**
+     * <p>Persistence of workflows and events to the data source.</p>
+     */
+    PERSISTENCE
+}
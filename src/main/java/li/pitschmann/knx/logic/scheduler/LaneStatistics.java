@@ -0,0 +1,94 @@
+package li.pitschmann.knx.logic.scheduler;
+
+import li.pitschmann.knx.core.utils.Strings;
+
+import java.util.Objects;
+
+/**
+ * Immutable snapshot of statistics for a {@link Lane}
+ *
+ * @author PITSCHR
+ */
+public final class LaneStatistics {
+    private final Lane lane;
+    private final long submittedCount;
+    private final long completedCount;
+    private final long rejectedCount;
+    private final int activeCount;
+    private final int queueSize;
+
+    LaneStatistics(final Lane lane,
+                   final long submittedCount,
+                   final long completedCount,
+                   final long rejectedCount,
+                   final int activeCount,
+                   final int queueSize) {
+        this.lane = Objects.requireNonNull(lane);
+        this.submittedCount = submittedCount;
+        this.completedCount = completedCount;
+        this.rejectedCount = rejectedCount;
+        this.activeCount = activeCount;
+        this.queueSize = queueSize;
+    }
+
+    public Lane getLane() {
+        return lane;
+    }
+
+    /**
+     * Returns the number of tasks that have been accepted
+     *
+     * @return number of submitted tasks
+     */
+    public long getSubmittedCount() {
+        return submittedCount;
+    }
+
+    /**
+     * Returns the number of tasks that have been completed (successfully or not)
+     *
+     * @return number of completed tasks
+     */
+    public long getCompletedCount() {
+        return completedCount;
+    }
+
+    /**
+     * Returns the number of tasks that have been rejected (e.g. after shutdown)
+     *
+     * @return number of rejected tasks
+     */
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * Returns the number of tasks that are currently executing
+     *
+     * @return number of active tasks
+     */
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    /**
+     * Returns the number of tasks that are waiting for execution
+     *
+     * @return number of queued tasks
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    @Override
+    public String toString() {
+        return Strings.toStringHelper(this) //
+                .add("lane", lane) //
+                .add("submittedCount", submittedCount) //
+                .add("completedCount", completedCount) //
+                .add("rejectedCount", rejectedCount) //
+                .add("activeCount", activeCount) //
+                .add("queueSize", queueSize) //
+                .toString();
+    }
+}
@@ -0,0 +1,101 @@
+package li.pitschmann.knx.logic.scheduler;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of latencies in nanoseconds with log-linear buckets: each power of two
+ * is split into {@code 32} linear sub-buckets, therefore the relative error of a
+ * percentile is at most about 3% with a fixed memory footprint, independent of the
+ * number of recorded values.
+ * <p>
+ * Values are recorded without locking.
+ *
+ * @author PITSCHR
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private final AtomicLongArray counts = new AtomicLongArray((64 - SUB_BUCKET_BITS) * SUB_BUCKETS);
+
+    /**
+     * Records the latency
+     *
+     * @param nanos latency in nanoseconds; negative values are recorded as zero
+     */
+    public void record(final long nanos) {
+        counts.incrementAndGet(bucketOf(Math.max(0, nanos)));
+    }
+
+    /**
+     * Returns the number of recorded values
+     *
+     * @return number of values
+     */
+    public long count() {
+        var count = 0L;
+        for (var i = 0; i < counts.length(); i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the latency at given percentile (nearest-rank)
+     *
+     * @param percentile percentile between {@code 0} and {@code 100}
+     * @return the upper bound of bucket in nanoseconds, or {@code 0} if no values recorded
+     */
+    public long percentile(final double percentile) {
+        final var snapshot = new long[counts.length()];
+        var total = 0L;
+        for (var i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        final var rank = Math.max(1, (long) Math.ceil(percentile / 100d * total));
+        var cumulative = 0L;
+        for (var i = 0; i < snapshot.length; i++) {
+            cumulative += snapshot[i];
+            if (cumulative >= rank) {
+                return upperBoundOf(i);
+            }
+        }
+        return upperBoundOf(snapshot.length - 1);
+    }
+
+    /**
+     * Returns the bucket index of value
+     *
+     * @param value non-negative value
+     * @return index of bucket
+     */
+    static int bucketOf(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final var magnitude = 63 - Long.numberOfLeadingZeros(value);
+        final var shift = magnitude - SUB_BUCKET_BITS;
+        final var subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Returns the highest value of bucket
+     *
+     * @param bucket index of bucket
+     * @return upper bound (inclusive)
+     */
+    static long upperBoundOf(final int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        final var shift = bucket / SUB_BUCKETS - 1;
+        final var subBucket = (long) (bucket % SUB_BUCKETS);
+        final var lowerBound = (1L << (shift + SUB_BUCKET_BITS)) | (subBucket << shift);
+        return lowerBound + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,71 @@
+package li.pitschmann.knx.logic.scheduler;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Scheduler that provides an {@link Executor} per {@link Lane} to
+ * the router. Instances are created by {@link Schedulers}.
+ * <p>
+ * All threads of the router are owned by the scheduler: besides the lanes
+ * it provides the {@link ForkJoinPool} for parallel propagation and the
+ * timer for delayed tasks. They are shut down together with the lanes.
+ *
+ * @author PITSCHR
+ */
+public interface Scheduler {
+
+    /**
+     * Returns the {@link Executor} for given {@link Lane}
+     *
+     * @param lane the lane; may not be null
+     * @return executor of lane
+     */
+    Executor executor(Lane lane);
+
+    /**
+     * Returns a snapshot of statistics for given {@link Lane}
+     *
+     * @param lane the lane; may not be null
+     * @return statistics of lane
+     */
+    LaneStatistics statistics(Lane lane);
+
+    /**
+     * Returns the {@link ForkJoinPool} to execute the components in parallel
+     * (see {@code PropagationMode#PARALLEL}). The pool is owned by the scheduler
+     * and must not be shut down by the caller.
+     *
+     * @return fork join pool
+     */
+    ForkJoinPool forkJoinPool();
+
+    /**
+     * Returns the timer for delayed and periodic tasks (e.g. coalescing windows,
+     * outbound rate limits and timer events). The timer tasks should be short and
+     * hand over the actual work to the executor of a {@link Lane}. The timer is owned
+     * by the scheduler and must not be shut down by the caller; delayed tasks that are
+     * still pending on {@link #shutdown()} are discarded.
+     *
+     * @return timer
+     */
+    ScheduledExecutorService timer();
+
+    /**
+     * Initiates an orderly shutdown: no new tasks are accepted anymore,
+     * but the already submitted tasks are still executed (drain).
+     */
+    void shutdown();
+
+    /**
+     * Blocks until all submitted tasks of all lanes have completed after
+     * {@link #shutdown()}, or the timeout occurs
+     *
+     * @param timeout the maximum time to wait
+     * @return {@code true} if all lanes are terminated, {@code false} if timeout elapsed before
+     * @throws InterruptedException if interrupted while waiting
+     */
+    boolean awaitTermination(Duration timeout) throws InterruptedException;
+}
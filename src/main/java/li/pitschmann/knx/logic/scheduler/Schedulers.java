@@ -0,0 +1,153 @@
+package li.pitschmann.knx.logic.scheduler;
+
+import li.pitschmann.knx.core.utils.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Factory for {@link Scheduler} instances
+ *
+ * <pre>{@code
+ * final var router = Router.builder()
+ *      .scheduler(Schedulers.fixed(4, 8, 1))
+ *      .build();
+ * }</pre>
+ *
+ * @author PITSCHR
+ */
+public final class Schedulers {
+    private static final Logger log = LoggerFactory.getLogger(Schedulers.class);
+    /**
+     * Handle for {@code Executors#newVirtualThreadPerTaskExecutor()} which is available
+     * on Java 21+ only; {@code null} if not supported by the current runtime
+     */
+    private static final MethodHandle VIRTUAL_THREAD_EXECUTOR = lookupVirtualThreadExecutor();
+
+    private Schedulers() {
+        throw new AssertionError("Don't touch me!");
+    }
+
+    /**
+     * Creates the default {@link Scheduler} with a fixed thread pool per lane:
+     * one thread per available processor for routing, 8 threads for outbound I/O
+     * and 2 threads for persistence
+     *
+     * @return a new {@link Scheduler}
+     */
+    public static Scheduler createDefault() {
+        return fixed(Math.max(2, Runtime.getRuntime().availableProcessors()), 8, 2);
+    }
+
+    /**
+     * Creates a {@link Scheduler} with a fixed thread pool per lane
+     *
+     * @param routingThreads     number of threads for {@link Lane#ROUTING}
+     * @param outboundThreads    number of threads for {@link Lane#OUTBOUND}
+     * @param persistenceThreads number of threads for {@link Lane#PERSISTENCE}
+     * @return a new {@link Scheduler}
+     */
+    public static Scheduler fixed(final int routingThreads, final int outboundThreads, final int persistenceThreads) {
+        Preconditions.checkArgument(routingThreads > 0, "Number of routing threads must be positive: {}", routingThreads);
+        Preconditions.checkArgument(outboundThreads > 0, "Number of outbound threads must be positive: {}", outboundThreads);
+        Preconditions.checkArgument(persistenceThreads > 0, "Number of persistence threads must be positive: {}", persistenceThreads);
+
+        final var executorServices = new EnumMap<Lane, ExecutorService>(Lane.class);
+        executorServices.put(Lane.ROUTING, Executors.newFixedThreadPool(routingThreads, threadFactory(Lane.ROUTING)));
+        executorServices.put(Lane.OUTBOUND, Executors.newFixedThreadPool(outboundThreads, threadFactory(Lane.OUTBOUND)));
+        executorServices.put(Lane.PERSISTENCE, Executors.newFixedThreadPool(persistenceThreads, threadFactory(Lane.PERSISTENCE)));
+        return new ExecutorServiceScheduler("fixed", executorServices);
+    }
+
+    /**
+     * Creates a {@link Scheduler} with a {@link ForkJoinPool} (in async mode) for
+     * {@link Lane#ROUTING} and fixed thread pools for blocking lanes of
+     * {@link Lane#OUTBOUND} and {@link Lane#PERSISTENCE}
+     *
+     * @param parallelism        the parallelism for {@link Lane#ROUTING}
+     * @param outboundThreads    number of threads for {@link Lane#OUTBOUND}
+     * @param persistenceThreads number of threads for {@link Lane#PERSISTENCE}
+     * @return a new {@link Scheduler}
+     */
+    public static Scheduler forkJoin(final int parallelism, final int outboundThreads, final int persistenceThreads) {
+        Preconditions.checkArgument(parallelism > 0, "Parallelism must be positive: {}", parallelism);
+        Preconditions.checkArgument(outboundThreads > 0, "Number of outbound threads must be positive: {}", outboundThreads);
+        Preconditions.checkArgument(persistenceThreads > 0, "Number of persistence threads must be positive: {}", persistenceThreads);
+
+        final var executorServices = new EnumMap<Lane, ExecutorService>(Lane.class);
+        executorServices.put(Lane.ROUTING,
+                new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true));
+        executorServices.put(Lane.OUTBOUND, Executors.newFixedThreadPool(outboundThreads, threadFactory(Lane.OUTBOUND)));
+        executorServices.put(Lane.PERSISTENCE, Executors.newFixedThreadPool(persistenceThreads, threadFactory(Lane.PERSISTENCE)));
+        return new ExecutorServiceScheduler("forkJoin", executorServices);
+    }
+
+    /**
+     * Creates a {@link Scheduler} with a virtual thread per task for all lanes.
+     * Requires Java 21 or newer, see {@link #isVirtualThreadsSupported()}.
+     *
+     * @return a new {@link Scheduler}
+     * @throws UnsupportedOperationException if virtual threads are not supported by the runtime
+     */
+    public static Scheduler virtualThreads() {
+        if (!isVirtualThreadsSupported()) {
+            throw new UnsupportedOperationException(
+                    "Virtual threads are not supported by Java runtime: " + Runtime.version());
+        }
+
+        final var executorServices = new EnumMap<Lane, ExecutorService>(Lane.class);
+        for (final var lane : Lane.values()) {
+            executorServices.put(lane, newVirtualThreadExecutor());
+        }
+        return new ExecutorServiceScheduler("virtualThreads", executorServices);
+    }
+
+    /**
+     * Returns if virtual threads are supported by the current Java runtime
+     *
+     * @return {@code true} if supported, otherwise {@code false}
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return VIRTUAL_THREAD_EXECUTOR != null;
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) VIRTUAL_THREAD_EXECUTOR.invokeExact();
+        } catch (final Throwable t) {
+            throw new IllegalStateException("Could not create virtual thread executor", t);
+        }
+    }
+
+    private static MethodHandle lookupVirtualThreadExecutor() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+        } catch (final NoSuchMethodException | IllegalAccessException e) {
+            log.debug("Virtual threads are not supported by Java runtime: {}", Runtime.version());
+            return null;
+        }
+    }
+
+    /**
+     * Creates a {@link ThreadFactory} with name of lane as thread name prefix
+     *
+     * @param lane the lane
+     * @return thread factory
+     */
+    private static ThreadFactory threadFactory(final Lane lane) {
+        final var prefix = "knx-logic-" + lane.name().toLowerCase(Locale.ROOT) + "-";
+        final var counter = new AtomicInteger();
+        return r -> new Thread(r, prefix + counter.incrementAndGet());
+    }
+}
@@ -36,6 +36,7 @@ import test.components.logic.AndLogic;
 import javax.servlet.http.HttpServletResponse;
 import java.nio.file.Path;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doReturn;
@@ -369,4 +370,104 @@ class ConnectorControllerTest {
         verify(serviceSpy).removePin(connector, 0);
         verify(registrySpy, never()).deregister(any(DynamicPin.class));
     }
+
+    @Test
+    @DisplayName("Endpoint: Add Pins To Dynamic Connector (OK)")
+    void testAddPins_OK() {
+        final var serviceSpy = spy(new ConnectorService(mock(DatabaseManager.class), mock(Router.class)));
+        final var registrySpy = spy(new UIDRegistry());
+        final var component = createLogicComponent(LogicD.class);
+        registrySpy.register(component);
+        final var connector = (DynamicConnector) component.getConnector("i");
+
+        final var controller = new ConnectorController(
+                serviceSpy,
+                registrySpy
+        );
+
+        final var context = contextSpy();
+        controller.addPins(context, connector.getUid().toString(), null, 3);
+
+        verify(context).status(HttpServletResponse.SC_OK);
+        verify(serviceSpy).addPins(connector, 1, 3);
+        assertThat(connector.size()).isEqualTo(4);
+        verify(registrySpy).register(connector.getPin(1));
+        verify(registrySpy).register(connector.getPin(2));
+        verify(registrySpy).register(connector.getPin(3));
+    }
+
+    @Test
+    @DisplayName("Endpoint: Add Pins To Dynamic Connector (Invalid Count)")
+    void testAddPins_InvalidCount() {
+        final var serviceMock = mock(ConnectorService.class);
+        final var registry = new UIDRegistry();
+        final var component = createLogicComponent(LogicD.class);
+        registry.register(component);
+        final var connector = (DynamicConnector) component.getConnector("i");
+
+        final var controller = new ConnectorController(
+                serviceMock,
+                registry
+        );
+
+        final var context = contextSpy();
+        controller.addPins(context, connector.getUid().toString(), 0, 0);
+
+        verify(context).status(HttpServletResponse.SC_BAD_REQUEST);
+        assertContextJsonErrorMessage(context, "Count of pins must be positive: 0");
+        verify(serviceMock, never()).addPins(any(DynamicConnector.class), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Endpoint: Delete Pins From Dynamic Connector (OK)")
+    void testDeletePins_OK() {
+        final var databaseManagerMock = mock(DatabaseManager.class);
+        doReturn(mock(PinLinksDao.class)).when(databaseManagerMock).dao(PinLinksDao.class);
+        final var serviceSpy = spy(new ConnectorService(databaseManagerMock, mock(Router.class)));
+        final var registrySpy = spy(new UIDRegistry());
+        final var component = createLogicComponent(LogicD.class);
+        registrySpy.register(component);
+        final var connector = (DynamicConnector) component.getConnector("i");
+        connector.addPins(1, 3); // index=1..3 (index 0 has already been initialized)
+        final var dynamicPin1 = connector.getPin(1);
+        final var dynamicPin2 = connector.getPin(2);
+        final var dynamicPin3 = connector.getPin(3);
+
+        final var controller = new ConnectorController(
+                serviceSpy,
+                registrySpy
+        );
+
+        final var context = contextSpy();
+        controller.deletePins(context, connector.getUid().toString(), 1, 3);
+
+        verify(context).status(HttpServletResponse.SC_OK);
+        verify(serviceSpy).removePins(connector, 1, 3);
+        assertThat(connector.getPins()).hasSize(2).contains(dynamicPin3);
+        verify(registrySpy).deregister(dynamicPin1);
+        verify(registrySpy).deregister(dynamicPin2);
+        verify(registrySpy, never()).deregister(dynamicPin3);
+    }
+
+    @Test
+    @DisplayName("Endpoint: Delete Pins From Dynamic Connector (Out Of Range)")
+    void testDeletePins_OutOfRange() {
+        final var serviceMock = mock(ConnectorService.class);
+        final var registry = new UIDRegistry();
+        final var component = createLogicComponent(LogicD.class);
+        registry.register(component);
+        final var connector = (DynamicConnector) component.getConnector("i");
+
+        final var controller = new ConnectorController(
+                serviceMock,
+                registry
+        );
+
+        final var context = contextSpy();
+        controller.deletePins(context, connector.getUid().toString(), 0, 2);
+
+        verify(context).status(HttpServletResponse.SC_BAD_REQUEST);
+        assertContextJsonErrorMessage(context, "Range of connector 'i' is out of range: 0..2 (min=0, max=1)");
+        verify(serviceMock, never()).removePins(any(DynamicConnector.class), anyInt(), anyInt());
+    }
 }
@@ -29,6 +29,7 @@ import java.io.File;
 import static li.pitschmann.knx.logic.uid.UIDFactory.createUid;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 /**
  * Test for {@link ConnectorService}
@@ -153,4 +154,44 @@ class ConnectorServiceTest extends BaseDatabaseSuite {
         assertThat(pinModel5.getIndex()).isEqualTo(0);
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Test #addPins(DynamicConnector, int, int) and #removePins(DynamicConnector, int, int)")
+    void test_addPins_and_then_removePins() {
+        executeSqlFile(new File("src/test/resources/sql/testCases/ConnectorServiceTest-joinerLogic.sql"));
+
+        final var routerMock = mock(Router.class);
+        final var service = new ConnectorService(databaseManager, routerMock);
+
+        final var component = this.<LogicComponent>loadComponentById(1);
+        final var connector = (DynamicConnector) component.getConnector("inputs");
+
+        // Action #1: add two pins at index 1 (maximum is 4)
+        final var newPins = service.addPins(connector, 1, 2);
+        assertThat(newPins).hasSize(2);
+        assertThat(pinsDao().size()).isEqualTo(5);
+
+        // uid-pin-logic-input[1] --> before: index=1, after: index=3
+        assertThat(pinsDao().find(2).getIndex()).isEqualTo(3);
+        // new pins --> index=1, 2
+        assertThat(pinsDao().find(4).getUid()).isEqualTo(newPins.get(0).getUid());
+        assertThat(pinsDao().find(4).getIndex()).isEqualTo(1);
+        assertThat(pinsDao().find(5).getUid()).isEqualTo(newPins.get(1).getUid());
+        assertThat(pinsDao().find(5).getIndex()).isEqualTo(2);
+
+        // Action #2: remove pins at index 0..2 (uid-pin-logic-input[0] and 1st new pin)
+        final var removedPins = service.removePins(connector, 0, 2);
+        assertThat(removedPins).hasSize(2);
+        assertThat(pinsDao().size()).isEqualTo(3);
+        assertThat(pinsDao().find(1)).isNull();
+        assertThat(pinsDao().find(4)).isNull();
+
+        // 2nd new pin --> before: index=2, after: index=0
+        assertThat(pinsDao().find(5).getIndex()).isEqualTo(0);
+        // uid-pin-logic-input[1] --> before: index=3, after: index=1
+        assertThat(pinsDao().find(2).getIndex()).isEqualTo(1);
+
+        // links of removed pins are removed from router
+        verify(routerMock).unlink(removedPins.get(0));
+        verify(routerMock).unlink(removedPins.get(1));
+    }
+}
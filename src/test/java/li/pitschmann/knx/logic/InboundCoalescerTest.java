@@ -0,0 +1,184 @@
+package li.pitschmann.knx.logic;
+
+import li.pitschmann.knx.logic.event.Event;
+import li.pitschmann.knx.logic.event.EventKey;
+import li.pitschmann.knx.logic.exceptions.RouterException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test implementation of {@link InboundCoalescer}
+ *
+ * @author PITSCHR
+ */
+class InboundCoalescerTest {
+    private static final EventKey KEY_A = new EventKey("var", "a");
+    private static final EventKey KEY_B = new EventKey("var", "b");
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    void shutdownTimer() {
+        timer.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Coalescing mode NONE and non-positive window are not supported")
+    void testInvalid() {
+        assertThatThrownBy(() -> new InboundCoalescer(CoalescingMode.NONE, Duration.ofMillis(100), timer, this::propagate))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new InboundCoalescer(CoalescingMode.DEBOUNCE, Duration.ZERO, timer, this::propagate))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Debounce: only the latest event per key is propagated after the window")
+    void testDebounce() throws Exception {
+        final var propagated = new CopyOnWriteArrayList<Event>();
+        final var coalescer = new InboundCoalescer(CoalescingMode.DEBOUNCE, Duration.ofMillis(200), timer, event -> {
+            propagated.add(event);
+            return propagate(event);
+        });
+
+        final var futures = new ArrayList<CompletableFuture<List<Workflow>>>();
+        for (var i = 0; i < 10; i++) {
+            futures.add(coalescer.submit(new Event(KEY_A, i)));
+        }
+        futures.add(coalescer.submit(new Event(KEY_B, "b")));
+
+        // nothing propagated within the window
+        assertThat(propagated).isEmpty();
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+        assertThat(propagated).hasSize(2);
+        assertThat(propagated.stream().filter(e -> e.getKey().equals(KEY_A)).findFirst().orElseThrow().getData()).isEqualTo(9);
+
+        // merged events are completed with the result of latest event
+        assertThat(futures.get(0).get()).isSameAs(futures.get(9).get());
+
+        assertThat(coalescer.getReceivedCount()).isEqualTo(11);
+        assertThat(coalescer.getPropagatedCount()).isEqualTo(2);
+        assertThat(coalescer.getMergedCount()).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("Debounce: a continuous stream of events is propagated once per window")
+    void testDebounceContinuousStream() throws Exception {
+        final var propagated = new CopyOnWriteArrayList<Event>();
+        final var coalescer = new InboundCoalescer(CoalescingMode.DEBOUNCE, Duration.ofMillis(100), timer, event -> {
+            propagated.add(event);
+            return propagate(event);
+        });
+
+        // an event every 20 ms for 1 second (e.g. wind sensor)
+        CompletableFuture<List<Workflow>> lastFuture = null;
+        for (var i = 0; i < 50; i++) {
+            lastFuture = coalescer.submit(new Event(KEY_A, i));
+            Thread.sleep(20);
+        }
+        assertThat(propagated.size()).isGreaterThanOrEqualTo(5);
+
+        // the final state is propagated
+        lastFuture.get(5, TimeUnit.SECONDS);
+        assertThat(propagated.get(propagated.size() - 1).getData()).isEqualTo(49);
+        assertThat(coalescer.getReceivedCount()).isEqualTo(50);
+        assertThat(coalescer.getPropagatedCount() + coalescer.getMergedCount()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("Throttle: first event is propagated immediately, latest of the window afterwards")
+    void testThrottle() throws Exception {
+        final var propagated = new CopyOnWriteArrayList<Event>();
+        final var coalescer = new InboundCoalescer(CoalescingMode.THROTTLE, Duration.ofMillis(200), timer, event -> {
+            propagated.add(event);
+            return propagate(event);
+        });
+
+        final var futures = new ArrayList<CompletableFuture<List<Workflow>>>();
+        for (var i = 0; i < 10; i++) {
+            futures.add(coalescer.submit(new Event(KEY_A, i)));
+        }
+
+        // first event is propagated without delay
+        assertThat(propagated).hasSize(1);
+        assertThat(propagated.get(0).getData()).isEqualTo(0);
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+        assertThat(propagated).hasSize(2);
+        assertThat(propagated.get(1).getData()).isEqualTo(9);
+
+        assertThat(coalescer.getReceivedCount()).isEqualTo(10);
+        assertThat(coalescer.getPropagatedCount()).isEqualTo(2);
+        assertThat(coalescer.getMergedCount()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Exception of propagation is passed to the future")
+    void testException() {
+        final var coalescer = new InboundCoalescer(CoalescingMode.DEBOUNCE, Duration.ofMillis(10), timer, event -> {
+            throw new RouterException("Failure");
+        });
+
+        assertThatThrownBy(() -> coalescer.submit(new Event(KEY_A, 1)).get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(RouterException.class);
+    }
+
+    @Test
+    @DisplayName("Shutdown: pending events are propagated immediately")
+    void testShutdown() throws Exception {
+        final var propagated = new CopyOnWriteArrayList<Event>();
+        final var coalescer = new InboundCoalescer(CoalescingMode.DEBOUNCE, Duration.ofHours(1), timer, event -> {
+            propagated.add(event);
+            return propagate(event);
+        });
+
+        final var futureA = coalescer.submit(new Event(KEY_A, 1));
+        final var futureB = coalescer.submit(new Event(KEY_B, 2));
+        assertThat(propagated).isEmpty();
+
+        coalescer.shutdown();
+        assertThat(futureA.get(5, TimeUnit.SECONDS)).hasSize(1);
+        assertThat(futureB.get(5, TimeUnit.SECONDS)).hasSize(1);
+        assertThat(propagated).hasSize(2);
+
+        // events after shutdown are propagated without coalescing
+        coalescer.submit(new Event(KEY_A, 3)).get(5, TimeUnit.SECONDS);
+        coalescer.submit(new Event(KEY_A, 4)).get(5, TimeUnit.SECONDS);
+        assertThat(propagated).hasSize(4);
+        assertThat(coalescer.getMergedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Throttle: event is propagated outside of the lock of slot")
+    void testThrottleOutsideOfLock() throws Exception {
+        final var coalescer = new AtomicReference<InboundCoalescer>();
+        coalescer.set(new InboundCoalescer(CoalescingMode.THROTTLE, Duration.ofMillis(100), timer, event -> {
+            if (Integer.valueOf(1).equals(event.getData())) {
+                // another thread submits an event with same key while the first is propagated
+                CompletableFuture.runAsync(() -> coalescer.get().submit(new Event(KEY_A, 2))).join();
+            }
+            return propagate(event);
+        }));
+
+        assertThat(coalescer.get().submit(new Event(KEY_A, 1)).get(5, TimeUnit.SECONDS)).hasSize(1);
+        assertThat(coalescer.get().getReceivedCount()).isEqualTo(2);
+        coalescer.get().shutdown();
+    }
+
+    private CompletableFuture<List<Workflow>> propagate(final Event event) {
+        return CompletableFuture.completedFuture(List.of(Workflow.create()));
+    }
+}
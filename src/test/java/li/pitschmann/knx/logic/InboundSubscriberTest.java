@@ -0,0 +1,205 @@
+package li.pitschmann.knx.logic;
+
+import li.pitschmann.knx.core.utils.Sleeper;
+import li.pitschmann.knx.logic.components.InboxComponent;
+import li.pitschmann.knx.logic.components.LogicComponent;
+import li.pitschmann.knx.logic.components.OutboxComponent;
+import li.pitschmann.knx.logic.event.Event;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import test.TestHelpers;
+import test.components.logic.FunctionLogic;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static test.TestHelpers.createEvent;
+import static test.TestHelpers.createInboxComponent;
+import static test.TestHelpers.createLogicComponent;
+
+/**
+ * Test implementation of {@link InboundSubscriber}
+ *
+ * @author PITSCHR
+ */
+class InboundSubscriberTest {
+
+    @Test
+    @DisplayName("Invalid capacity and max in-flight")
+    void testInvalid() {
+        final var router = Router.createDefault();
+        assertThatThrownBy(() -> new InboundSubscriber(router, 0, 1, OverflowPolicy.BLOCK))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new InboundSubscriber(router, 1, 0, OverflowPolicy.BLOCK))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Events from publisher are routed with demand-based flow control")
+    void testPublisher() {
+        final var router = Router.createDefault();
+        final var inbox = createInboxComponent("subscriberPublisher");
+        final var outbox = TestHelpers.createOutboxComponent();
+        router.register(inbox);
+        router.register(outbox);
+        router.link(inbox.getOutputPin("data"), outbox.getInputPin("data"));
+
+        final var subscriber = router.newInboundSubscriber(10, OverflowPolicy.BLOCK);
+        try (final var publisher = new SubmissionPublisher<Event>()) {
+            publisher.subscribe(subscriber);
+            for (var i = 0; i < 100; i++) {
+                publisher.submit(createEvent(inbox, i));
+            }
+        }
+
+        waitUntil(() -> subscriber.getRoutedCount() == 100);
+        assertThat(subscriber.getSubmittedCount()).isEqualTo(100);
+        assertThat(subscriber.getDroppedCount()).isZero();
+        assertThat(subscriber.getRejectedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Overflow policy DROP_OLDEST drops the oldest event with same key")
+    void testDropOldest() {
+        final var latch = new CountDownLatch(1);
+        final var router = Router.createDefault();
+        final var inboxA = registerBlocking(router, "subscriberDropA", latch);
+        final var inboxB = registerBlocking(router, "subscriberDropB", latch);
+        final var inboxC = registerBlocking(router, "subscriberDropC", latch);
+
+        final var subscriber = new InboundSubscriber(router, 2, 1, OverflowPolicy.DROP_OLDEST);
+        // first event is in-flight and blocked
+        assertThat(subscriber.submit(createEvent(inboxA, "A1"))).isTrue();
+        assertThat(subscriber.submit(createEvent(inboxA, "A2"))).isTrue();
+        assertThat(subscriber.submit(createEvent(inboxB, "B1"))).isTrue();
+        assertThat(subscriber.getQueueSize()).isEqualTo(2);
+
+        // A2 is dropped (same key)
+        assertThat(subscriber.submit(createEvent(inboxA, "A3"))).isTrue();
+        // B1 is dropped (oldest)
+        assertThat(subscriber.submit(createEvent(inboxC, "C1"))).isTrue();
+        assertThat(subscriber.getQueueSize()).isEqualTo(2);
+        assertThat(subscriber.getDroppedCount()).isEqualTo(2);
+
+        latch.countDown();
+        waitUntil(() -> subscriber.getRoutedCount() == 3);
+        assertThat(inboxA.getHistory().values()).containsExactly("A1", "A3");
+        assertThat(inboxB.getHistory().values()).isEmpty();
+        assertThat(inboxC.getHistory().values()).containsExactly("C1");
+    }
+
+    @Test
+    @DisplayName("Overflow policy REJECT rejects the new event")
+    void testReject() {
+        final var latch = new CountDownLatch(1);
+        final var router = Router.createDefault();
+        final var inbox = registerBlocking(router, "subscriberReject", latch);
+
+        final var subscriber = new InboundSubscriber(router, 1, 1, OverflowPolicy.REJECT);
+        assertThat(subscriber.submit(createEvent(inbox, 1))).isTrue();  // in-flight
+        assertThat(subscriber.submit(createEvent(inbox, 2))).isTrue();  // queued
+        assertThat(subscriber.submit(createEvent(inbox, 3))).isFalse(); // rejected
+        assertThat(subscriber.getRejectedCount()).isEqualTo(1);
+
+        latch.countDown();
+        waitUntil(() -> subscriber.getRoutedCount() == 2);
+        assertThat(inbox.getHistory().values()).containsExactly(1, 2);
+    }
+
+    @Test
+    @DisplayName("Only events delivered by publisher replenish the demand")
+    void testDemandOnlyForPublisherEvents() {
+        final var router = Router.createDefault();
+        final var inbox = createInboxComponent("subscriberDemand");
+        final var outbox = TestHelpers.createOutboxComponent();
+        router.register(inbox);
+        router.register(outbox);
+        router.link(inbox.getOutputPin("data"), outbox.getInputPin("data"));
+
+        final var requested = new AtomicLong();
+        final var subscriber = router.newInboundSubscriber(10, OverflowPolicy.BLOCK);
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(final long n) {
+                requested.addAndGet(n);
+            }
+
+            @Override
+            public void cancel() {
+                // NO-OP
+            }
+        });
+        assertThat(requested.get()).isEqualTo(10);
+
+        // events submitted directly don't increase the demand
+        for (var i = 0; i < 5; i++) {
+            assertThat(subscriber.submit(createEvent(inbox, i))).isTrue();
+        }
+        waitUntil(() -> subscriber.getRoutedCount() == 5);
+        assertThat(requested.get()).isEqualTo(10);
+
+        // events delivered by the publisher are replenished
+        for (var i = 0; i < 3; i++) {
+            subscriber.onNext(createEvent(inbox, i));
+        }
+        waitUntil(() -> subscriber.getRoutedCount() == 8);
+        assertThat(requested.get()).isEqualTo(13);
+    }
+
+    @Test
+    @DisplayName("Synchronously routed events don't recurse")
+    void testSynchronousRouting() {
+        final var latch = new CountDownLatch(1);
+        final var router = Router.createDefault();
+        final var inbox = registerBlocking(router, "subscriberSynchronous", latch);
+        // not registered: routing completes synchronously as there is no inbox component
+        final var unknownInbox = createInboxComponent("subscriberSynchronousUnknown");
+
+        final var count = 100_000;
+        final var subscriber = new InboundSubscriber(router, count, 1, OverflowPolicy.REJECT);
+        // first event is in-flight and blocked, all others are queued
+        assertThat(subscriber.submit(createEvent(inbox, "blocked"))).isTrue();
+        for (var i = 0; i < count; i++) {
+            assertThat(subscriber.submit(createEvent(unknownInbox, i))).isTrue();
+        }
+        assertThat(subscriber.getQueueSize()).isEqualTo(count);
+
+        latch.countDown();
+        waitUntil(() -> subscriber.getRoutedCount() == count + 1);
+        assertThat(subscriber.getQueueSize()).isZero();
+    }
+
+    /**
+     * Registers: Inbox => Function Logic (blocked until latch is released) => Outbox
+     */
+    private static InboxComponent registerBlocking(final Router router, final String key, final CountDownLatch latch) {
+        final InboxComponent inbox = createInboxComponent(key);
+        final LogicComponent blockingLogic = createLogicComponent(new FunctionLogic<>(value -> {
+            try {
+                latch.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return value;
+        }));
+        final OutboxComponent outbox = TestHelpers.createOutboxComponent();
+        router.register(inbox);
+        router.register(blockingLogic);
+        router.register(outbox);
+        router.link(inbox.getOutputPin("data"), blockingLogic.getInputPin("input"));
+        router.link(blockingLogic.getOutputPin("output"), outbox.getInputPin("data"));
+        return inbox;
+    }
+
+    private static void waitUntil(final BooleanSupplier condition) {
+        for (var i = 0; i < 500 && !condition.getAsBoolean(); i++) {
+            Sleeper.milliseconds(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,251 @@
+package li.pitschmann.knx.logic;
+
+import li.pitschmann.knx.logic.components.InboxComponent;
+import li.pitschmann.knx.logic.components.InboxComponentImpl;
+import li.pitschmann.knx.logic.components.inbox.VariableInbox;
+import li.pitschmann.knx.logic.event.EventKey;
+import li.pitschmann.knx.logic.event.KnxEventChannel;
+import li.pitschmann.knx.logic.event.VariableEventChannel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test for {@link InboxIndex}
+ *
+ * @author PITSCHR
+ */
+class InboxIndexTest {
+
+    @Test
+    @DisplayName("Exact subscription")
+    void testExact() {
+        final var index = new InboxIndex();
+        final var inbox = createInbox(VariableEventChannel.CHANNEL_ID, "kitchen.light");
+        index.register(inbox);
+
+        assertThat(index.find(key(VariableEventChannel.CHANNEL_ID, "kitchen.light"))).containsExactly(inbox);
+        assertThat(index.find(key(VariableEventChannel.CHANNEL_ID, "kitchen"))).isEmpty();
+        assertThat(index.find(key(KnxEventChannel.CHANNEL_ID, "kitchen.light"))).isEmpty();
+
+        index.deregister(inbox);
+        assertThat(index.find(key(VariableEventChannel.CHANNEL_ID, "kitchen.light"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("KNX: Wildcard and range subscriptions of group addresses")
+    void testGroupAddress() {
+        final var index = new InboxIndex();
+        final var all = createInbox(KnxEventChannel.CHANNEL_ID, "*");
+        final var mainGroup = createInbox(KnxEventChannel.CHANNEL_ID, "1/*");
+        final var middleGroup = createInbox(KnxEventChannel.CHANNEL_ID, "1/2/*");
+        final var subRange = createInbox(KnxEventChannel.CHANNEL_ID, "1/2/10-20");
+        final var single = createInbox(KnxEventChannel.CHANNEL_ID, "1/2/3");
+        final var freeLevelRange = createInbox(KnxEventChannel.CHANNEL_ID, "2560-2815");
+        final var exact = createInbox(KnxEventChannel.CHANNEL_ID, "2563");
+        index.register(all);
+        index.register(mainGroup);
+        index.register(middleGroup);
+        index.register(subRange);
+        index.register(single);
+        index.register(freeLevelRange);
+        index.register(exact);
+
+        // 1/2/3 = 2563
+        assertThat(index.find(key(KnxEventChannel.CHANNEL_ID, "2563")))
+                .containsExactlyInAnyOrder(all, mainGroup, middleGroup, single, freeLevelRange, exact);
+        assertThat(index.find(key(KnxEventChannel.CHANNEL_ID, "1/2/3")))
+                .containsExactlyInAnyOrder(all, mainGroup, middleGroup, single, freeLevelRange, exact);
+        // 1/2/15 = 2575
+        assertThat(index.find(key(KnxEventChannel.CHANNEL_ID, "2575")))
+                .containsExactlyInAnyOrder(all, mainGroup, middleGroup, subRange, freeLevelRange);
+        // 1/3/0 = 2816
+        assertThat(index.find(key(KnxEventChannel.CHANNEL_ID, "2816"))).containsExactlyInAnyOrder(all, mainGroup);
+        // 2/0/0 = 4096
+        assertThat(index.find(key(KnxEventChannel.CHANNEL_ID, "4096"))).containsExactly(all);
+        // not a group address
+        assertThat(index.find(key(KnxEventChannel.CHANNEL_ID, "foobar"))).isEmpty();
+        // different channel
+        assertThat(index.find(key(VariableEventChannel.CHANNEL_ID, "2563"))).isEmpty();
+
+        index.deregister(all);
+        index.deregister(middleGroup);
+        index.deregister(freeLevelRange);
+        assertThat(index.find(key(KnxEventChannel.CHANNEL_ID, "2575"))).containsExactlyInAnyOrder(mainGroup, subRange);
+    }
+
+    @Test
+    @DisplayName("KNX: Free-level range across several middle groups")
+    void testGroupAddressRangeAcrossMiddleGroups() {
+        final var index = new InboxIndex();
+        final var inbox = createInbox(KnxEventChannel.CHANNEL_ID, "250-1000");
+        index.register(inbox);
+
+        assertThat(index.find(key(KnxEventChannel.CHANNEL_ID, "249"))).isEmpty();
+        assertThat(index.find(key(KnxEventChannel.CHANNEL_ID, "250"))).containsExactly(inbox);
+        assertThat(index.find(key(KnxEventChannel.CHANNEL_ID, "512"))).containsExactly(inbox);
+        assertThat(index.find(key(KnxEventChannel.CHANNEL_ID, "1000"))).containsExactly(inbox);
+        assertThat(index.find(key(KnxEventChannel.CHANNEL_ID, "1001"))).isEmpty();
+
+        index.deregister(inbox);
+        assertThat(index.find(key(KnxEventChannel.CHANNEL_ID, "512"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("KNX: Dispatch table is re-compiled after registration change")
+    void testKnxDispatchTable() {
+        final var index = new InboxIndex();
+        assertThat(index.getKnxDispatchTable()).isSameAs(KnxDispatchTable.EMPTY);
+
+        final var inbox = createInbox(KnxEventChannel.CHANNEL_ID, "1/2/*");
+        final var inbox2 = createInbox(KnxEventChannel.CHANNEL_ID, "1/2/*");
+        index.register(inbox);
+        index.register(inbox2);
+
+        final var table = index.getKnxDispatchTable();
+        assertThat(index.getKnxDispatchTable()).isSameAs(table);
+        assertThat(table.get(2559)).isNull();
+        assertThat(table.get(2560)).containsExactlyInAnyOrder(inbox, inbox2);
+        // group addresses with same subscribers share the same set
+        assertThat(table.get(2815)).isSameAs(table.get(2560));
+        assertThat(table.get(2816)).isNull();
+        // event key is created once per group address
+        assertThat(table.eventKey(2563)).isEqualTo(key(KnxEventChannel.CHANNEL_ID, "2563"));
+        assertThat(table.eventKey(2563)).isSameAs(table.eventKey(2563));
+
+        index.deregister(inbox);
+        final var table2 = index.getKnxDispatchTable();
+        assertThat(table2).isNotSameAs(table);
+        assertThat(table2.get(2560)).containsExactly(inbox2);
+
+        index.deregister(inbox2);
+        assertThat(index.getKnxDispatchTable()).isSameAs(KnxDispatchTable.EMPTY);
+    }
+
+    @Test
+    @DisplayName("KNX: Unsupported group address patterns")
+    void testGroupAddressInvalid() {
+        final var index = new InboxIndex();
+        assertThatThrownBy(() -> index.register(createInbox(KnxEventChannel.CHANNEL_ID, "32/*")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.register(createInbox(KnxEventChannel.CHANNEL_ID, "1/8/*")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.register(createInbox(KnxEventChannel.CHANNEL_ID, "1/2/20-10")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.register(createInbox(KnxEventChannel.CHANNEL_ID, "1/2")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.register(createInbox(KnxEventChannel.CHANNEL_ID, "a/b/c")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.register(createInbox(KnxEventChannel.CHANNEL_ID, "1-2-3")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Variable: Prefix subscriptions")
+    void testPrefix() {
+        final var index = new InboxIndex();
+        final var all = createInbox(VariableEventChannel.CHANNEL_ID, "*");
+        final var kitchen = createInbox(VariableEventChannel.CHANNEL_ID, "kitchen.*");
+        final var kitchenLight = createInbox(VariableEventChannel.CHANNEL_ID, "kitchen.light*");
+        final var exact = createInbox(VariableEventChannel.CHANNEL_ID, "kitchen.light");
+        index.register(all);
+        index.register(kitchen);
+        index.register(kitchenLight);
+        index.register(exact);
+
+        assertThat(index.find(key(VariableEventChannel.CHANNEL_ID, "kitchen.light")))
+                .containsExactlyInAnyOrder(all, kitchen, kitchenLight, exact);
+        assertThat(index.find(key(VariableEventChannel.CHANNEL_ID, "kitchen.temperature")))
+                .containsExactlyInAnyOrder(all, kitchen);
+        assertThat(index.find(key(VariableEventChannel.CHANNEL_ID, "kitchen"))).containsExactly(all);
+        assertThat(index.find(key(VariableEventChannel.CHANNEL_ID, "bath.light"))).containsExactly(all);
+        assertThat(index.find(key(KnxEventChannel.CHANNEL_ID, "kitchen.light"))).isEmpty();
+
+        index.deregister(all);
+        index.deregister(kitchen);
+        assertThat(index.find(key(VariableEventChannel.CHANNEL_ID, "kitchen.temperature"))).isEmpty();
+        assertThat(index.find(key(VariableEventChannel.CHANNEL_ID, "kitchen.light")))
+                .containsExactlyInAnyOrder(kitchenLight, exact);
+    }
+
+    @Test
+    @DisplayName("Look up returns an immutable snapshot of subscriptions")
+    void testImmutableSnapshot() {
+        final var index = new InboxIndex();
+        final var exact = createInbox(VariableEventChannel.CHANNEL_ID, "kitchen.light");
+        index.register(exact);
+
+        final var found = index.find(key(VariableEventChannel.CHANNEL_ID, "kitchen.light"));
+        assertThatThrownBy(() -> found.add(createInbox(VariableEventChannel.CHANNEL_ID, "kitchen.light")))
+                .isInstanceOf(UnsupportedOperationException.class);
+
+        // registration after look up doesn't alter the found set
+        final var other = createInbox(VariableEventChannel.CHANNEL_ID, "kitchen.light");
+        index.register(other);
+        assertThat(found).containsExactly(exact);
+        assertThat(index.find(key(VariableEventChannel.CHANNEL_ID, "kitchen.light")))
+                .containsExactlyInAnyOrder(exact, other);
+    }
+
+    @Test
+    @DisplayName("Concurrent registration and look up of exact and prefix subscriptions")
+    void testConcurrentRegisterAndFind() throws InterruptedException, ExecutionException, TimeoutException {
+        final var index = new InboxIndex();
+        final var exact = createInbox(VariableEventChannel.CHANNEL_ID, "kitchen.light");
+        final var prefix = createInbox(VariableEventChannel.CHANNEL_ID, "kitchen.*");
+        index.register(exact);
+        index.register(prefix);
+
+        final var executor = Executors.newFixedThreadPool(3);
+        try {
+            final var running = new AtomicBoolean(true);
+            final var lookups = new ArrayList<Future<Integer>>();
+            for (var i = 0; i < 2; i++) {
+                lookups.add(executor.submit(() -> {
+                    var count = 0;
+                    while (running.get()) {
+                        assertThat(index.find(key(VariableEventChannel.CHANNEL_ID, "kitchen.light"))).contains(exact, prefix);
+                        count++;
+                    }
+                    return count;
+                }));
+            }
+
+            // register and de-register other subscriptions of same key and same prefixes
+            for (var i = 0; i < 5000; i++) {
+                final var otherExact = createInbox(VariableEventChannel.CHANNEL_ID, "kitchen.light");
+                final var otherPrefix = createInbox(VariableEventChannel.CHANNEL_ID, "kitchen.l" + (i % 10) + "*");
+                index.register(otherExact);
+                index.register(otherPrefix);
+                index.deregister(otherExact);
+                index.deregister(otherPrefix);
+            }
+            running.set(false);
+
+            for (final var lookup : lookups) {
+                assertThat(lookup.get(5, TimeUnit.SECONDS)).isPositive();
+            }
+            assertThat(index.find(key(VariableEventChannel.CHANNEL_ID, "kitchen.light"))).containsExactlyInAnyOrder(exact, prefix);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static EventKey key(final String channel, final String identifier) {
+        return new EventKey(channel, identifier);
+    }
+
+    private static InboxComponent createInbox(final String channel, final String identifier) {
+        return new InboxComponentImpl(key(channel, identifier), new VariableInbox());
+    }
+}
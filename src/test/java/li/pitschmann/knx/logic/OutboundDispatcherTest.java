@@ -0,0 +1,243 @@
+package li.pitschmann.knx.logic;
+
+import li.pitschmann.knx.logic.event.Event;
+import li.pitschmann.knx.logic.event.EventChannel;
+import li.pitschmann.knx.logic.event.EventKey;
+import li.pitschmann.knx.logic.event.EventPriority;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test implementation of {@link OutboundDispatcher}
+ *
+ * @author PITSCHR
+ */
+class OutboundDispatcherTest {
+    private static final EventKey KEY_A = new EventKey("test", "a");
+    private static final EventKey KEY_B = new EventKey("test", "b");
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    void shutdownTimer() {
+        timer.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Invalid rate limits")
+    void testInvalidRateLimit() {
+        assertThatThrownBy(() -> RateLimit.of(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RateLimit.of(Double.POSITIVE_INFINITY, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RateLimit.of(10, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Pending events with same key are collapsed, last value wins")
+    void testCoalescing() throws InterruptedException {
+        final var executor = Executors.newSingleThreadExecutor();
+        final var channel = new BlockingChannel();
+        final var dispatched = new CopyOnWriteArrayList<Event>();
+        final var dispatcher = new OutboundDispatcher(executor, timer, Map.of(), dispatched::add);
+
+        // first event blocks the channel
+        dispatcher.submit(channel, new Event(KEY_A, 0));
+        assertThat(channel.started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (var i = 1; i <= 10; i++) {
+            dispatcher.submit(channel, new Event(KEY_A, i));
+        }
+        dispatcher.submit(channel, new Event(KEY_B, "b"));
+        assertThat(dispatcher.getQueueSize()).isEqualTo(2);
+        assertThat(dispatcher.getQueueSize("test")).isEqualTo(2);
+        assertThat(dispatcher.getQueueSize("unknown")).isZero();
+
+        channel.blocker.countDown();
+        shutdown(executor);
+
+        assertThat(channel.values).containsExactly(0, 10, "b");
+        assertThat(dispatched).hasSize(3);
+        assertThat(dispatcher.getSubmittedCount()).isEqualTo(12);
+        assertThat(dispatcher.getCoalescedCount()).isEqualTo(9);
+        assertThat(dispatcher.getDispatchedCount()).isEqualTo(3);
+        assertThat(dispatcher.getQueueSize()).isZero();
+        assertThat(dispatcher.getMaxLatency().toNanos()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Pending events with higher priority are sent first")
+    void testPriority() throws InterruptedException {
+        final var executor = Executors.newSingleThreadExecutor();
+        final var channel = new BlockingChannel();
+        final var dispatcher = new OutboundDispatcher(executor, timer, Map.of(), e -> {
+        });
+
+        // first event blocks the channel
+        dispatcher.submit(channel, new Event(KEY_A, 0));
+        assertThat(channel.started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        dispatcher.submit(channel, new Event(new EventKey("test", "low"), "low", EventPriority.LOW));
+        dispatcher.submit(channel, new Event(new EventKey("test", "normal"), "normal"));
+        dispatcher.submit(channel, new Event(new EventKey("test", "urgent"), "urgent", EventPriority.URGENT));
+        // collapsed event is moved up to the higher priority
+        dispatcher.submit(channel, new Event(KEY_B, "b-low", EventPriority.LOW));
+        dispatcher.submit(channel, new Event(KEY_B, "b-system", EventPriority.SYSTEM));
+        assertThat(dispatcher.getQueueSize()).isEqualTo(4);
+
+        channel.blocker.countDown();
+        shutdown(executor);
+
+        assertThat(channel.values).containsExactly(0, "b-system", "urgent", "normal", "low");
+        assertThat(dispatcher.getCoalescedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Events are sent according to rate limit")
+    void testRateLimit() throws InterruptedException {
+        final var executor = Executors.newSingleThreadExecutor();
+        final var values = new CopyOnWriteArrayList<Object>();
+        final var latch = new CountDownLatch(6);
+        final var channel = newChannel(event -> {
+            values.add(event.getData());
+            latch.countDown();
+        });
+        final var dispatcher = new OutboundDispatcher(executor, timer, Map.of("test", RateLimit.of(20, 1)), e -> {
+        });
+
+        final var start = System.nanoTime();
+        for (var i = 0; i < 6; i++) {
+            dispatcher.submit(channel, new Event(new EventKey("test", "ga-" + i), i));
+        }
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        final var elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // 1 event immediately (burst) and 5 events with 50ms each
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(200);
+        assertThat(values).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(dispatcher.getThrottledCount()).isPositive();
+        shutdown(executor);
+    }
+
+    @Test
+    @DisplayName("Shutdown sends pending events without rate limit")
+    void testShutdown() throws InterruptedException {
+        final var executor = Executors.newSingleThreadExecutor();
+        final var values = new CopyOnWriteArrayList<Object>();
+        final var channel = newChannel(event -> values.add(event.getData()));
+        final var dispatcher = new OutboundDispatcher(executor, timer, Map.of("test", RateLimit.of(0.1, 1)), e -> {
+        });
+
+        for (var i = 0; i < 5; i++) {
+            dispatcher.submit(channel, new Event(new EventKey("test", "ga-" + i), i));
+        }
+        dispatcher.shutdown();
+        shutdown(executor);
+
+        assertThat(values).containsExactly(0, 1, 2, 3, 4);
+    }
+
+    @Test
+    @DisplayName("Shutdown sends all pending events before the executor is shut down")
+    void testShutdownManyPending() throws InterruptedException {
+        final var executor = Executors.newSingleThreadExecutor();
+        final var channel = new BlockingChannel();
+        final var dispatcher = new OutboundDispatcher(executor, timer, Map.of(), e -> {
+        });
+
+        // first event is blocked, all others are pending (more than one drain batch)
+        final var count = 200;
+        for (var i = 0; i < count; i++) {
+            dispatcher.submit(channel, new Event(new EventKey("test", "ga-" + i), i));
+        }
+        assertThat(channel.started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // same order as router: dispatcher first, then the executor
+        dispatcher.shutdown();
+        executor.shutdown();
+        channel.blocker.countDown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(channel.values).hasSize(count);
+        assertThat(dispatcher.getQueueSize()).isZero();
+        assertThat(dispatcher.getDispatchedCount()).isEqualTo(count);
+    }
+
+    @Test
+    @DisplayName("Failure of event channel is counted and does not stop the queue")
+    void testFailure() throws InterruptedException {
+        final var executor = Executors.newSingleThreadExecutor();
+        final var channel = newChannel(event -> {
+            if (event.getKey().equals(KEY_A)) {
+                throw new IllegalStateException("Failure!");
+            }
+        });
+        final var dispatched = new CopyOnWriteArrayList<Event>();
+        final var dispatcher = new OutboundDispatcher(executor, timer, Map.of(), dispatched::add);
+
+        dispatcher.submit(channel, new Event(KEY_A, 1));
+        dispatcher.submit(channel, new Event(KEY_B, 2));
+        shutdown(executor);
+
+        assertThat(dispatcher.getFailedCount()).isEqualTo(1);
+        assertThat(dispatcher.getDispatchedCount()).isEqualTo(1);
+        assertThat(dispatched).hasSize(1);
+    }
+
+    private static void shutdown(final ExecutorService executor) throws InterruptedException {
+        // let the pending drain tasks to be executed
+        Thread.sleep(100);
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static EventChannel newChannel(final Consumer<Event> consumer) {
+        return new EventChannel() {
+            @Override
+            public String getChannel() {
+                return "test";
+            }
+
+            @Override
+            public void outbound(final Event event) {
+                consumer.accept(event);
+            }
+        };
+    }
+
+    /**
+     * Event channel that blocks the first outbound until released
+     */
+    private static final class BlockingChannel implements EventChannel {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch blocker = new CountDownLatch(1);
+        private final List<Object> values = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String getChannel() {
+            return "test";
+        }
+
+        @Override
+        public void outbound(final Event event) {
+            values.add(event.getData());
+            started.countDown();
+            try {
+                blocker.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package li.pitschmann.knx.logic;
+
+import li.pitschmann.knx.logic.event.EventPriority;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test for {@link PriorityLanes}
+ *
+ * @author PITSCHR
+ */
+class PriorityLanesTest {
+
+    @Test
+    @DisplayName("Invalid maximum number of routings in flight")
+    void testInvalid() {
+        assertThatThrownBy(() -> new PriorityLanes(PriorityMode.STRICT, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("No priority scheduling: routings are started immediately")
+    void testNone() {
+        final var lanes = new PriorityLanes(PriorityMode.NONE, 1);
+        final var routings = new Routings();
+
+        final var future1 = lanes.submit(EventPriority.LOW, routings.routing("low-1"));
+        final var future2 = lanes.submit(EventPriority.URGENT, routings.routing("urgent-1"));
+        assertThat(routings.started).containsExactly("low-1", "urgent-1");
+        assertThat(lanes.getInFlight()).isZero();
+
+        routings.completeAll();
+        assertThat(future1.join()).isEqualTo("low-1");
+        assertThat(future2.join()).isEqualTo("urgent-1");
+        assertThat(lanes.getSubmittedCount(EventPriority.URGENT)).isEqualTo(1);
+        assertThat(lanes.getCompletedCount(EventPriority.URGENT)).isEqualTo(1);
+        assertThat(lanes.getCompletedCount(EventPriority.LOW)).isEqualTo(1);
+        assertThat(lanes.getCompletedCount(EventPriority.NORMAL)).isZero();
+        assertThat(lanes.getLatency(EventPriority.NORMAL, 99)).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    @DisplayName("Strict priority: queued routings with higher priority are started first")
+    void testStrict() {
+        final var lanes = new PriorityLanes(PriorityMode.STRICT, 1);
+        final var routings = new Routings();
+
+        final var first = lanes.submit(EventPriority.LOW, routings.routing("low-1"));
+        lanes.submit(EventPriority.LOW, routings.routing("low-2"));
+        lanes.submit(EventPriority.NORMAL, routings.routing("normal-1"));
+        final var urgent = lanes.submit(EventPriority.URGENT, routings.routing("urgent-1"));
+        lanes.submit(EventPriority.SYSTEM, routings.routing("system-1"));
+        assertThat(routings.started).containsExactly("low-1");
+        assertThat(lanes.getInFlight()).isEqualTo(1);
+        assertThat(lanes.getQueueSize(EventPriority.LOW)).isEqualTo(1);
+        assertThat(lanes.getQueueSize(EventPriority.URGENT)).isEqualTo(1);
+
+        routings.completeAll();
+        assertThat(routings.started).containsExactly("low-1", "system-1", "urgent-1", "normal-1", "low-2");
+        assertThat(first.join()).isEqualTo("low-1");
+        assertThat(urgent.join()).isEqualTo("urgent-1");
+        assertThat(lanes.getInFlight()).isZero();
+        assertThat(lanes.getQueueSize(EventPriority.LOW)).isZero();
+        assertThat(lanes.getMaxQueueSize(EventPriority.LOW)).isEqualTo(1);
+        assertThat(lanes.getCompletedCount(EventPriority.LOW)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Weighted priority: lower priorities progress while higher priorities are pending")
+    void testWeighted() {
+        final var lanes = new PriorityLanes(PriorityMode.WEIGHTED, 1);
+        final var routings = new Routings();
+
+        lanes.submit(EventPriority.NORMAL, routings.routing("blocker"));
+        for (var i = 0; i < 20; i++) {
+            lanes.submit(EventPriority.URGENT, routings.routing("urgent"));
+            lanes.submit(EventPriority.LOW, routings.routing("low"));
+        }
+
+        // complete the first 10 routings after the blocker
+        routings.completeNext();
+        for (var i = 0; i < 9; i++) {
+            routings.completeNext();
+        }
+        final var startedAfterBlocker = routings.started.subList(1, 11);
+        // weights urgent 4 : low 1
+        assertThat(startedAfterBlocker.stream().filter("urgent"::equals).count()).isEqualTo(8);
+        assertThat(startedAfterBlocker.stream().filter("low"::equals).count()).isEqualTo(2);
+
+        routings.completeAll();
+        assertThat(routings.started).hasSize(41);
+        assertThat(lanes.getCompletedCount(EventPriority.LOW)).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Failing routing releases its slot")
+    void testFailure() {
+        final var lanes = new PriorityLanes(PriorityMode.STRICT, 1);
+        final var routings = new Routings();
+
+        assertThatThrownBy(() -> lanes.submit(EventPriority.NORMAL, () -> {
+            throw new IllegalStateException("Failure!");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(lanes.getInFlight()).isZero();
+
+        lanes.submit(EventPriority.NORMAL, routings.routing("first"));
+        final CompletableFuture<String> failed = lanes.submit(EventPriority.NORMAL, () -> {
+            throw new IllegalStateException("Failure!");
+        });
+        lanes.submit(EventPriority.NORMAL, routings.routing("second"));
+        routings.completeAll();
+
+        assertThat(failed.isCompletedExceptionally()).isTrue();
+        assertThat(routings.started).containsExactly("first", "second");
+        assertThat(lanes.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Synchronously completed routings do not recurse")
+    void testSynchronousCompletion() {
+        final var lanes = new PriorityLanes(PriorityMode.STRICT, 1);
+        final var routings = new Routings();
+
+        lanes.submit(EventPriority.NORMAL, routings.routing("blocker"));
+        final var futures = new ArrayList<CompletableFuture<String>>();
+        for (var i = 0; i < 100_000; i++) {
+            futures.add(lanes.submit(EventPriority.NORMAL, () -> CompletableFuture.completedFuture("done")));
+        }
+        routings.completeAll();
+
+        assertThat(futures.stream().allMatch(f -> "done".equals(f.join()))).isTrue();
+        assertThat(lanes.getInFlight()).isZero();
+        assertThat(lanes.getCompletedCount(EventPriority.NORMAL)).isEqualTo(100_001);
+    }
+
+    /**
+     * Routings that are completed manually in order of their start
+     */
+    private static final class Routings {
+        private final List<String> started = new ArrayList<>();
+        private final List<CompletableFuture<String>> futures = new ArrayList<>();
+        private int completed;
+
+        private Supplier<CompletableFuture<String>> routing(final String name) {
+            return () -> {
+                final var future = new CompletableFuture<String>();
+                started.add(name);
+                futures.add(future);
+                return future;
+            };
+        }
+
+        private void completeNext() {
+            final var index = completed++;
+            futures.get(index).complete(started.get(index));
+        }
+
+        private void completeAll() {
+            while (completed < futures.size()) {
+                completeNext();
+            }
+        }
+    }
+}
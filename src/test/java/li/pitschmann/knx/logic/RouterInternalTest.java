@@ -0,0 +1,102 @@
+package li.pitschmann.knx.logic;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import test.TestHelpers;
+import test.components.logic.NegationLogic;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static test.TestHelpers.createInboxComponent;
+import static test.TestHelpers.createLogicComponent;
+
+/**
+ * Test implementation of {@link RouterInternal}
+ *
+ * @author PITSCHR
+ */
+class RouterInternalTest {
+
+    @Test
+    @DisplayName("Routing table is compiled at the end of each change")
+    void testCompileEagerly() {
+        final var routerInternal = newRouterInternal();
+        final var inbox = createInboxComponent();
+        final var notLogic = createLogicComponent(NegationLogic.class);
+
+        routerInternal.register(inbox);
+        assertThat(routerInternal.isCompiled()).isTrue();
+        routerInternal.register(notLogic);
+        assertThat(routerInternal.isCompiled()).isTrue();
+
+        final var tableBeforeLink = routerInternal.getRoutingTable();
+        routerInternal.link(inbox.getOutputPin("data"), notLogic.getInputPin("input"));
+        assertThat(routerInternal.isCompiled()).isTrue();
+        final var table = routerInternal.getRoutingTable();
+        assertThat(table).isNotSameAs(tableBeforeLink);
+        assertThat(table.linkedPins(notLogic.getInputPin("input"))).containsExactly(inbox.getOutputPin("data"));
+
+        // reading doesn't re-compile
+        assertThat(routerInternal.getRoutingTable()).isSameAs(table);
+
+        routerInternal.unlink(inbox.getOutputPin("data"), notLogic.getInputPin("input"));
+        assertThat(routerInternal.isCompiled()).isTrue();
+        assertThat(routerInternal.getRoutingTable().linkedPins(notLogic.getInputPin("input"))).isEmpty();
+
+        routerInternal.deregister(notLogic);
+        assertThat(routerInternal.isCompiled()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Routing table is compiled once when the outermost batch is committed")
+    void testCompileBatch() {
+        final var routerInternal = newRouterInternal();
+        final var inbox = createInboxComponent();
+        final var notLogic = createLogicComponent(NegationLogic.class);
+        final var outbox = TestHelpers.createOutboxComponent();
+
+        routerInternal.beginBatch();
+        routerInternal.register(inbox);
+        routerInternal.register(notLogic);
+        routerInternal.beginBatch();
+        routerInternal.register(outbox);
+        routerInternal.link(inbox.getOutputPin("data"), notLogic.getInputPin("input"));
+        routerInternal.link(notLogic.getOutputPin("output"), outbox.getInputPin("data"));
+        routerInternal.commitBatch();
+        assertThat(routerInternal.isCompiled()).isFalse();
+        routerInternal.commitBatch();
+        assertThat(routerInternal.isCompiled()).isTrue();
+
+        final var table = routerInternal.getRoutingTable();
+        assertThat(table.componentCount()).isEqualTo(3);
+        assertThat(table.linkedPins(outbox.getInputPin("data"))).containsExactly(notLogic.getOutputPin("output"));
+
+        // no open batch anymore
+        assertThatThrownBy(routerInternal::commitBatch).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Routing table is compiled on demand when read within a batch")
+    void testCompileOnDemandWithinBatch() {
+        final var routerInternal = newRouterInternal();
+        final var inbox = createInboxComponent();
+        final var notLogic = createLogicComponent(NegationLogic.class);
+
+        routerInternal.beginBatch();
+        routerInternal.register(inbox);
+        routerInternal.register(notLogic);
+        routerInternal.link(inbox.getOutputPin("data"), notLogic.getInputPin("input"));
+        assertThat(routerInternal.isCompiled()).isFalse();
+
+        assertThat(routerInternal.getRoutingTable().linkedPins(notLogic.getInputPin("input")))
+                .containsExactly(inbox.getOutputPin("data"));
+        assertThat(routerInternal.isCompiled()).isTrue();
+        routerInternal.commitBatch();
+    }
+
+    private static RouterInternal newRouterInternal() {
+        return new RouterInternal(PropagationMode.DEPTH_FIRST, Runnable::run, ForkJoinPool.commonPool(), 10, false);
+    }
+}
@@ -2,13 +2,25 @@ package li.pitschmann.knx.logic;
 
 import li.pitschmann.knx.core.utils.Sleeper;
 import li.pitschmann.knx.logic.components.Component;
+import li.pitschmann.knx.logic.components.InboxComponentImpl;
+import li.pitschmann.knx.logic.components.OutboxComponentImpl;
+import li.pitschmann.knx.logic.components.inbox.VariableInbox;
+import li.pitschmann.knx.logic.components.outbox.VariableOutbox;
 import li.pitschmann.knx.logic.connector.Connector;
 import li.pitschmann.knx.logic.connector.InputConnectorAware;
 import li.pitschmann.knx.logic.descriptor.FieldDescriptor;
 import li.pitschmann.knx.logic.event.Event;
+import li.pitschmann.knx.logic.event.EventChannel;
 import li.pitschmann.knx.logic.event.EventKey;
+import li.pitschmann.knx.logic.event.EventPriority;
+import li.pitschmann.knx.logic.event.KnxEventChannel;
 import li.pitschmann.knx.logic.exceptions.RouterException;
+import li.pitschmann.knx.logic.journal.JournalEntry;
 import li.pitschmann.knx.logic.pin.Pin;
+import li.pitschmann.knx.logic.scheduler.Lane;
+import li.pitschmann.knx.logic.scheduler.LaneStatistics;
+import li.pitschmann.knx.logic.scheduler.Scheduler;
+import li.pitschmann.knx.logic.scheduler.Schedulers;
 import li.pitschmann.knx.logic.uid.UID;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -24,8 +36,19 @@ import test.components.logic.JoinerLogic;
 import test.components.logic.NegationLogic;
 import test.components.logic.ThroughputLogic;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -1349,6 +1372,1048 @@ class RouterTest {
         }
     }
 
+    /**
+     * Wave propagation with two paths that are joined afterwards (diamond).
+     * The joiner should be executed only once and the outbox should not
+     * receive any intermediate value.
+     *
+     * <pre>
+     *                 Throughput Logic
+     *                   .---------.
+     *          ,-----> [x]       [x] ------.          Joiner Logic
+     *         /         `---------´         \          .---------.
+     *  Inbox -´                              `------> [0]        |
+     *         \       Upper Case Logic                 |        [x] --> Outbox
+     *          \        .---------.          ,------> [1]        |
+     *           `----> [x]       [x] -------´          `---------´
+     *                   `---------´
+     * </pre>
+     */
+    @Test
+    @DisplayName("Wave: Workflow with two paths that will be joined afterwards")
+    void waveJoin() throws ExecutionException, InterruptedException {
+        final var router = Router.builder().propagationMode(PropagationMode.WAVE).build();
+
+        // --------------------------------------------------
+        // create components
+        // --------------------------------------------------
+        final var inbox = createInboxComponent();
+        final var pipeLogic = createLogicComponent(ThroughputLogic.class);
+        final var upperCaseLogic = createLogicComponent(new FunctionLogic<String, String>(String::toUpperCase));
+        final var joinerLogic = createLogicComponent(JoinerLogic.class);
+        final var outbox = TestHelpers.createOutboxComponent();
+
+        // --------------------------------------------------
+        // registering components
+        // --------------------------------------------------
+        router.register(inbox);
+        router.register(pipeLogic);
+        router.register(upperCaseLogic);
+        router.register(joinerLogic);
+        router.register(outbox);
+
+        // --------------------------------------------------
+        // linking components
+        // --------------------------------------------------
+        router.link(inbox.getOutputPin("data"), pipeLogic.getInputPin("input"));
+        router.link(pipeLogic.getOutputPin("output"), joinerLogic.getInputPin("inputs[0]"));
+        router.link(inbox.getOutputPin("data"), upperCaseLogic.getInputPin("input"));
+        router.link(upperCaseLogic.getOutputPin("output"), joinerLogic.getInputPin("inputs[1]"));
+        router.link(joinerLogic.getOutputPin("output"), outbox.getInputPin("data"));
+
+        // ---------------------------------------
+        // Test
+        // ---------------------------------------
+        final var workflows = router.inbound(createEvent(inbox, "a")).get();
+
+        // ---------------------------------------
+        // Verification
+        // ---------------------------------------
+        assertThat(workflows).hasSize(1);
+        assertThat(joinerLogic.executedCount()).isEqualTo(1);
+
+        final var historyEntries = outbox.getHistory().copyAsList();
+        assertThat(historyEntries).hasSize(1);
+        assertThat(historyEntries.get(0).getValue()).isEqualTo("a A");
+    }
+
+    /**
+     * Wave propagation of several events on the same thread should re-use the
+     * state of the wave. Each event should execute the components again.
+     */
+    @Test
+    @DisplayName("Wave: Several events through two paths that will be joined afterwards")
+    void waveJoinSeveralEvents() throws ExecutionException, InterruptedException {
+        final var router = Router.builder().propagationMode(PropagationMode.WAVE).build();
+
+        final var inbox = createInboxComponent();
+        final var upperCaseLogic = createLogicComponent(new FunctionLogic<String, String>(String::toUpperCase));
+        final var joinerLogic = createLogicComponent(JoinerLogic.class);
+        final var outbox = TestHelpers.createOutboxComponent();
+
+        router.register(inbox);
+        router.register(upperCaseLogic);
+        router.register(joinerLogic);
+        router.register(outbox);
+
+        router.link(inbox.getOutputPin("data"), joinerLogic.getInputPin("inputs[0]"));
+        router.link(inbox.getOutputPin("data"), upperCaseLogic.getInputPin("input"));
+        router.link(upperCaseLogic.getOutputPin("output"), joinerLogic.getInputPin("inputs[1]"));
+        router.link(joinerLogic.getOutputPin("output"), outbox.getInputPin("data"));
+
+        for (final var value : List.of("a", "b", "c")) {
+            assertThat(router.inbound(createEvent(inbox, value)).get()).hasSize(1);
+        }
+
+        assertThat(joinerLogic.executedCount()).isEqualTo(3);
+        final var historyEntries = outbox.getHistory().copyAsList();
+        assertThat(historyEntries).hasSize(3);
+        assertThat(historyEntries.get(0).getValue()).isEqualTo("a A");
+        assertThat(historyEntries.get(1).getValue()).isEqualTo("b B");
+        assertThat(historyEntries.get(2).getValue()).isEqualTo("c C");
+    }
+
+    /**
+     * Wave propagation for a long pipeline should give same result
+     * like {@link #longPipelineWorkflow()}
+     */
+    @Test
+    @DisplayName("Wave: Long pipeline workflow with 1000 Increment Logic components")
+    void waveLongPipeline() throws ExecutionException, InterruptedException {
+        final var router = Router.builder().propagationMode(PropagationMode.WAVE).build();
+        final var loops = 1000;
+
+        final var inbox = createInboxComponent();
+        final var pipes = IntStream.range(0, loops)
+                .mapToObj(i -> createLogicComponent(IncrementLogic.class))
+                .collect(Collectors.toList());
+        final var outbox = TestHelpers.createOutboxComponent();
+
+        router.register(inbox);
+        pipes.forEach(router::register);
+        router.register(outbox);
+
+        var previousPin = inbox.getOutputPin("data");
+        for (var pipe : pipes) {
+            router.link(previousPin, pipe.getInputPin("input"));
+            previousPin = pipe.getOutputPin("output");
+        }
+        router.link(previousPin, outbox.getInputPin("data"));
+
+        final var workflows = router.inbound(createEvent(inbox, 0)).get();
+
+        assertThat(outbox.getData()).isEqualTo(loops);
+        assertThat(workflows).hasSize(1);
+        assertThat(workflows.get(0).getFlows()).hasSize(1 + loops * 2 + 1);
+    }
+
+    /**
+     * Parallel propagation with two paths that are joined afterwards (diamond).
+     * Same like {@link #waveJoin()} the joiner should be executed only once.
+     */
+    @Test
+    @DisplayName("Parallel: Workflow with two paths that will be joined afterwards")
+    void parallelJoin() throws ExecutionException, InterruptedException {
+        final var router = Router.builder().propagationMode(PropagationMode.PARALLEL).build();
+
+        final var inbox = createInboxComponent();
+        final var pipeLogic = createLogicComponent(ThroughputLogic.class);
+        final var upperCaseLogic = createLogicComponent(new FunctionLogic<String, String>(String::toUpperCase));
+        final var joinerLogic = createLogicComponent(JoinerLogic.class);
+        final var outbox = TestHelpers.createOutboxComponent();
+
+        router.register(inbox);
+        router.register(pipeLogic);
+        router.register(upperCaseLogic);
+        router.register(joinerLogic);
+        router.register(outbox);
+
+        router.link(inbox.getOutputPin("data"), pipeLogic.getInputPin("input"));
+        router.link(pipeLogic.getOutputPin("output"), joinerLogic.getInputPin("inputs[0]"));
+        router.link(inbox.getOutputPin("data"), upperCaseLogic.getInputPin("input"));
+        router.link(upperCaseLogic.getOutputPin("output"), joinerLogic.getInputPin("inputs[1]"));
+        router.link(joinerLogic.getOutputPin("output"), outbox.getInputPin("data"));
+
+        final var workflows = router.inbound(createEvent(inbox, "a")).get();
+
+        assertThat(workflows).hasSize(1);
+        assertThat(joinerLogic.executedCount()).isEqualTo(1);
+
+        final var historyEntries = outbox.getHistory().copyAsList();
+        assertThat(historyEntries).hasSize(1);
+        assertThat(historyEntries.get(0).getValue()).isEqualTo("a A");
+    }
+
+    /**
+     * Parallel propagation of one event that fans out to many independent branches
+     *
+     * <pre>
+     *                 NOT Logic #1
+     *                 .---------.
+     *          ,---> [x]       [x] --> Outbox #1
+     *         /       `---------´
+     *  Inbox -+      ...
+     *         \       NOT Logic #100
+     *          \      .---------.
+     *           `--> [x]       [x] --> Outbox #100
+     *                 `---------´
+     * </pre>
+     */
+    @Test
+    @DisplayName("Parallel: Workflow with fan-out to 100 independent branches")
+    void parallelFanOut() throws ExecutionException, InterruptedException {
+        final var router = Router.builder().propagationMode(PropagationMode.PARALLEL).build();
+        final var branches = 100;
+
+        final var inbox = createInboxComponent();
+        final var notLogics = IntStream.range(0, branches)
+                .mapToObj(i -> createLogicComponent(NegationLogic.class))
+                .collect(Collectors.toList());
+        final var outboxes = IntStream.range(0, branches)
+                .mapToObj(i -> TestHelpers.createOutboxComponent())
+                .collect(Collectors.toList());
+
+        router.register(inbox);
+        notLogics.forEach(router::register);
+        outboxes.forEach(router::register);
+
+        for (var i = 0; i < branches; i++) {
+            router.link(inbox.getOutputPin("data"), notLogics.get(i).getInputPin("input"));
+            router.link(notLogics.get(i).getOutputPin("output"), outboxes.get(i).getInputPin("data"));
+        }
+
+        final var workflows = router.inbound(createEvent(inbox, false)).get();
+
+        assertThat(workflows).hasSize(branches);
+        for (final var outbox : outboxes) {
+            assertThat(outbox.getData()).isEqualTo(true);
+        }
+
+        // 2nd event: components are reached and executed again
+        final var workflows2 = router.inbound(createEvent(inbox, true)).get();
+
+        assertThat(workflows2).hasSize(branches);
+        for (var i = 0; i < branches; i++) {
+            assertThat(notLogics.get(i).executedCount()).isEqualTo(2);
+            assertThat(outboxes.get(i).getData()).isEqualTo(false);
+        }
+    }
+
+    /**
+     * Mailbox propagation for a long pipeline should give same result
+     * like {@link #longPipelineWorkflow()}
+     */
+    @Test
+    @DisplayName("Mailbox: Long pipeline workflow with 1000 Increment Logic components")
+    void mailboxLongPipeline() throws ExecutionException, InterruptedException {
+        final var router = Router.builder().propagationMode(PropagationMode.MAILBOX).build();
+        final var loops = 1000;
+
+        final var inbox = createInboxComponent();
+        final var pipes = IntStream.range(0, loops)
+                .mapToObj(i -> createLogicComponent(IncrementLogic.class))
+                .collect(Collectors.toList());
+        final var outbox = TestHelpers.createOutboxComponent();
+
+        router.register(inbox);
+        pipes.forEach(router::register);
+        router.register(outbox);
+
+        var previousPin = inbox.getOutputPin("data");
+        for (var pipe : pipes) {
+            router.link(previousPin, pipe.getInputPin("input"));
+            previousPin = pipe.getOutputPin("output");
+        }
+        router.link(previousPin, outbox.getInputPin("data"));
+
+        final var workflows = router.inbound(createEvent(inbox, 0)).get();
+
+        assertThat(outbox.getData()).isEqualTo(loops);
+        assertThat(workflows).hasSize(1);
+        assertThat(workflows.get(0).getFlows()).hasSize(1 + loops * 2 + 1);
+    }
+
+    /**
+     * Mailbox propagation with many concurrent events to a shared component.
+     * All events should be completed and the last value should win.
+     *
+     * <pre>
+     *                 Increment Logic
+     *                  .---------.
+     *     Inbox -----> [x]       [x] --> Outbox
+     *                  `---------´
+     * </pre>
+     */
+    @Test
+    @DisplayName("Mailbox: Many concurrent events to a shared component")
+    void mailboxConcurrentEvents() throws ExecutionException, InterruptedException {
+        final var router = Router.builder().propagationMode(PropagationMode.MAILBOX).build();
+        final var numberOfEvents = 1000;
+
+        final var inbox = createInboxComponent();
+        final var incrementLogic = createLogicComponent(IncrementLogic.class);
+        final var outbox = TestHelpers.createOutboxComponent();
+
+        router.register(inbox);
+        router.register(incrementLogic);
+        router.register(outbox);
+
+        router.link(inbox.getOutputPin("data"), incrementLogic.getInputPin("input"));
+        router.link(incrementLogic.getOutputPin("output"), outbox.getInputPin("data"));
+
+        final var futures = IntStream.range(0, numberOfEvents)
+                .mapToObj(i -> router.inbound(createEvent(inbox, i)))
+                .collect(Collectors.toList());
+        for (final var future : futures) {
+            assertThat(future.get()).isNotEmpty();
+        }
+
+        // pending input updates may be batched, but never executed more than once per event
+        assertThat(incrementLogic.executedCount()).isBetween(1L, (long) numberOfEvents);
+        assertThat(outbox.getData()).isEqualTo(numberOfEvents);
+    }
+
+    /**
+     * Batch of events for two inbox components that are joined afterwards.
+     * Both inbox components are updated first and the joiner should be
+     * executed only once.
+     *
+     * <pre>
+     *                        Joiner Logic
+     *                         .---------.
+     *  Inbox (a) -----------> [0]        |
+     *                         |        [x] --> Outbox
+     *  Inbox (b) -----------> [1]        |
+     *                         `---------´
+     * </pre>
+     */
+    @Test
+    @DisplayName("Batch: Two events that will be joined afterwards in a single wave")
+    void batchJoin() throws ExecutionException, InterruptedException {
+        final var router = Router.createDefault();
+
+        // --------------------------------------------------
+        // create components
+        // --------------------------------------------------
+        final var inboxA = createInboxComponent("batchA");
+        final var inboxB = createInboxComponent("batchB");
+        final var joinerLogic = createLogicComponent(JoinerLogic.class);
+        final var outbox = TestHelpers.createOutboxComponent();
+
+        // --------------------------------------------------
+        // registering components
+        // --------------------------------------------------
+        router.register(inboxA);
+        router.register(inboxB);
+        router.register(joinerLogic);
+        router.register(outbox);
+
+        // --------------------------------------------------
+        // linking components
+        // --------------------------------------------------
+        router.link(inboxA.getOutputPin("data"), joinerLogic.getInputPin("inputs[0]"));
+        router.link(inboxB.getOutputPin("data"), joinerLogic.getInputPin("inputs[1]"));
+        router.link(joinerLogic.getOutputPin("output"), outbox.getInputPin("data"));
+
+        // ---------------------------------------
+        // Test
+        // ---------------------------------------
+        final var workflowLists = router.inbound(List.of(
+                createEvent(inboxA, "a"),
+                createEvent(inboxB, "b"),
+                createEvent("batchUnknown", "c")
+        )).get();
+
+        // ---------------------------------------
+        // Verification
+        // ---------------------------------------
+        assertThat(workflowLists).hasSize(3);
+        // workflow of first event ends at joiner logic (merged)
+        assertThat(workflowLists.get(0)).hasSize(1);
+        assertThat(workflowLists.get(0).get(0).getFlows()).hasSize(2);
+        // workflow of second event is propagated to the outbox
+        assertThat(workflowLists.get(1)).hasSize(1);
+        assertThat(workflowLists.get(1).get(0).getFlows()).hasSize(4);
+        // no inbox component for third event
+        assertThat(workflowLists.get(2)).isEmpty();
+
+        assertThat(joinerLogic.executedCount()).isEqualTo(1);
+        final var historyEntries = outbox.getHistory().copyAsList();
+        assertThat(historyEntries).hasSize(1);
+        assertThat(historyEntries.get(0).getValue()).isEqualTo("a b");
+    }
+
+    /**
+     * Batch of events without any suitable inbox component
+     */
+    @Test
+    @DisplayName("Batch: Events without inbox components")
+    void batchNoInboxComponents() throws ExecutionException, InterruptedException {
+        final var router = Router.createDefault();
+
+        final var workflowLists = router.inbound(List.of(
+                createEvent("batchUnknown1", 1),
+                createEvent("batchUnknown2", 2)
+        )).get();
+
+        assertThat(workflowLists).containsExactly(List.of(), List.of());
+    }
+
+    /**
+     * Batch of events in mailbox mode
+     */
+    @Test
+    @DisplayName("Mailbox: Batch of events")
+    void mailboxBatch() throws ExecutionException, InterruptedException {
+        final var router = Router.builder().propagationMode(PropagationMode.MAILBOX).build();
+
+        final var inboxA = createInboxComponent("mailboxBatchA");
+        final var inboxB = createInboxComponent("mailboxBatchB");
+        final var joinerLogic = createLogicComponent(JoinerLogic.class);
+        final var outbox = TestHelpers.createOutboxComponent();
+        router.register(inboxA);
+        router.register(inboxB);
+        router.register(joinerLogic);
+        router.register(outbox);
+        router.link(inboxA.getOutputPin("data"), joinerLogic.getInputPin("inputs[0]"));
+        router.link(inboxB.getOutputPin("data"), joinerLogic.getInputPin("inputs[1]"));
+        router.link(joinerLogic.getOutputPin("output"), outbox.getInputPin("data"));
+
+        final var workflowLists = router.inbound(List.of(
+                createEvent(inboxA, "a"),
+                createEvent(inboxB, "b")
+        )).get();
+
+        assertThat(workflowLists).hasSize(2);
+        final var historyEntries = outbox.getHistory().copyAsList();
+        assertThat(historyEntries.get(historyEntries.size() - 1).getValue()).isEqualTo("a b");
+    }
+
+    /**
+     * Mailbox rejected by the executor should complete the propagation exceptionally
+     */
+    @Test
+    @DisplayName("Mailbox: Rejected mailbox completes the routing exceptionally")
+    void mailboxRejected() throws InterruptedException {
+        final var delegate = Schedulers.fixed(1, 1, 1);
+        final var scheduler = new Scheduler() {
+            @Override
+            public Executor executor(final Lane lane) {
+                if (lane == Lane.ROUTING) {
+                    return task -> {
+                        throw new RejectedExecutionException("Rejected for test");
+                    };
+                }
+                return delegate.executor(lane);
+            }
+
+            @Override
+            public LaneStatistics statistics(final Lane lane) {
+                return delegate.statistics(lane);
+            }
+
+            @Override
+            public ForkJoinPool forkJoinPool() {
+                return delegate.forkJoinPool();
+            }
+
+            @Override
+            public ScheduledExecutorService timer() {
+                return delegate.timer();
+            }
+
+            @Override
+            public void shutdown() {
+                delegate.shutdown();
+            }
+
+            @Override
+            public boolean awaitTermination(final Duration timeout) throws InterruptedException {
+                return delegate.awaitTermination(timeout);
+            }
+        };
+        final var router = Router.builder().propagationMode(PropagationMode.MAILBOX).scheduler(scheduler).build();
+
+        final var inbox = createInboxComponent();
+        final var outbox = TestHelpers.createOutboxComponent();
+        router.register(inbox);
+        router.register(outbox);
+        router.link(inbox.getOutputPin("data"), outbox.getInputPin("data"));
+
+        final var future = router.inbound(createEvent(inbox, "foo"));
+        assertThat(future.isCompletedExceptionally()).isTrue();
+        assertThatThrownBy(future::get).hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(outbox.getHistory().values()).isEmpty();
+
+        // mailbox is not stuck as scheduled: the next routing is rejected again
+        assertThat(router.inbound(createEvent(inbox, "bar")).isCompletedExceptionally()).isTrue();
+        router.shutdown(Duration.ZERO);
+    }
+
+    /**
+     * Outbound events are published to the subscribers of outbound publisher
+     */
+    @Test
+    @DisplayName("Outbound events are published to subscribers")
+    void outboundPublisher() throws ExecutionException, InterruptedException {
+        final var router = Router.createDefault();
+
+        final var inbox = createInboxComponent();
+        final var outbox = TestHelpers.createOutboxComponent();
+        router.register(inbox);
+        router.register(outbox);
+        router.link(inbox.getOutputPin("data"), outbox.getInputPin("data"));
+
+        final var received = new CopyOnWriteArrayList<Event>();
+        final var latch = new CountDownLatch(2);
+        router.getOutboundPublisher().subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(final Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(final Event item) {
+                received.add(item);
+                latch.countDown();
+            }
+
+            @Override
+            public void onError(final Throwable throwable) {
+                // NO-OP
+            }
+
+            @Override
+            public void onComplete() {
+                // NO-OP
+            }
+        });
+
+        router.inbound(createEvent(inbox, "foo")).get();
+        router.inbound(createEvent(inbox, "bar")).get();
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(received).hasSize(2);
+        assertThat(received.get(0).getKey()).isEqualTo(outbox.getEventKey());
+        assertThat(received.get(0).getData()).isEqualTo("foo");
+        assertThat(received.get(1).getData()).isEqualTo("bar");
+        assertThat(router.getOutboundDroppedCount()).isZero();
+    }
+
+    /**
+     * Router with a custom scheduler routes on its lanes and can be shut down
+     */
+    @Test
+    @DisplayName("Router with custom scheduler and shutdown")
+    void customSchedulerAndShutdown() throws ExecutionException, InterruptedException {
+        final var scheduler = Schedulers.fixed(1, 1, 1);
+        final var router = Router.builder().scheduler(scheduler).build();
+        assertThat(router.getScheduler()).isSameAs(scheduler);
+
+        final var inbox = createInboxComponent();
+        final var outbox = TestHelpers.createOutboxComponent();
+        router.register(inbox);
+        router.register(outbox);
+        router.link(inbox.getOutputPin("data"), outbox.getInputPin("data"));
+
+        router.inbound(createEvent(inbox, "foo")).get();
+        assertThat(outbox.getHistory().values()).containsExactly("foo");
+        assertThat(scheduler.statistics(Lane.ROUTING).getSubmittedCount()).isEqualTo(1);
+
+        router.shutdown(Duration.ZERO);
+        assertThatThrownBy(() -> router.inbound(createEvent(inbox, "bar")))
+                .isInstanceOf(RejectedExecutionException.class);
+    }
+
+    /**
+     * A routing that is still running when the router is shut down completes
+     * and its outbound event is sent, although the outbound lane has been shut down
+     */
+    @Test
+    @DisplayName("Router shutdown while an outbound-producing routing is running")
+    void shutdownWithRunningRouting() throws ExecutionException, InterruptedException, TimeoutException {
+        final var router = Router.builder().build();
+        final var sent = new CopyOnWriteArrayList<Event>();
+        router.register(new EventChannel() {
+            @Override
+            public String getChannel() {
+                return "shutdown";
+            }
+
+            @Override
+            public void outbound(final Event event) {
+                sent.add(event);
+            }
+        });
+
+        final var started = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final var inbox = createInboxComponent();
+        final var blockingLogic = createLogicComponent(new FunctionLogic<Object, Object>(value -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return value;
+        }));
+        final var outbox = new OutboxComponentImpl(new EventKey("shutdown", "blocked"), new VariableOutbox());
+        router.register(inbox);
+        router.register(blockingLogic);
+        router.register(outbox);
+        router.link(inbox.getOutputPin("data"), blockingLogic.getInputPin("input"));
+        router.link(blockingLogic.getOutputPin("output"), outbox.getInputPin("data"));
+
+        final var future = router.inbound(createEvent(inbox, "final"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // shut down while the routing is blocked
+        final var terminated = new CompletableFuture<Boolean>();
+        final var shutdownThread = new Thread(() -> {
+            try {
+                terminated.complete(router.shutdown(Duration.ofSeconds(5)));
+            } catch (final InterruptedException e) {
+                terminated.completeExceptionally(e);
+            }
+        });
+        shutdownThread.start();
+        Sleeper.milliseconds(200);
+
+        release.countDown();
+        assertThat(future.get(5, TimeUnit.SECONDS)).hasSize(1);
+        assertThat(terminated.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(sent).hasSize(1);
+        assertThat(sent.get(0).getData()).isEqualTo("final");
+    }
+
+    /**
+     * Components and links registered in a batch are routed after the batch has been committed
+     */
+    @Test
+    @DisplayName("Batch of registrations and links")
+    void batch() throws ExecutionException, InterruptedException {
+        final var router = Router.builder().build();
+
+        final var inbox = createInboxComponent();
+        final var notLogic = createLogicComponent(NegationLogic.class);
+        final var outbox = TestHelpers.createOutboxComponent();
+        router.batch(() -> {
+            router.register(inbox);
+            router.register(notLogic);
+            router.register(outbox);
+            router.link(inbox.getOutputPin("data"), notLogic.getInputPin("input"));
+            router.link(notLogic.getOutputPin("output"), outbox.getInputPin("data"));
+        });
+
+        assertThat(router.inbound(createEvent(inbox, true)).get()).hasSize(1);
+        assertThat(outbox.getHistory().values()).containsExactly(false);
+    }
+
+    /**
+     * With tracing turned off no workflow is recorded, but the values are still routed
+     */
+    @Test
+    @DisplayName("Tracing: OFF")
+    void tracingOff() throws ExecutionException, InterruptedException {
+        final var router = Router.builder().tracing(TracingMode.OFF).build();
+
+        final var inbox = createInboxComponent();
+        final var notLogic = createLogicComponent(NegationLogic.class);
+        final var outbox = TestHelpers.createOutboxComponent();
+        router.register(inbox);
+        router.register(notLogic);
+        router.register(outbox);
+        router.link(inbox.getOutputPin("data"), notLogic.getInputPin("input"));
+        router.link(notLogic.getOutputPin("output"), outbox.getInputPin("data"));
+
+        final var workflows = router.inbound(createEvent(inbox, true)).get();
+        assertThat(workflows).isEmpty();
+        assertThat(outbox.getHistory().values()).containsExactly(false);
+    }
+
+    /**
+     * With tracing turned off the values between primitive pins are transferred pin-to-pin
+     * <pre>
+     *  Inbox ---> NOT Logic ---> NOT Logic ---> NOT Logic ---> Outbox
+     * </pre>
+     */
+    @Test
+    @DisplayName("Tracing: OFF with pin-to-pin links")
+    void tracingOffPinToPin() throws ExecutionException, InterruptedException {
+        for (final var propagationMode : PropagationMode.values()) {
+            final var router = Router.builder().propagationMode(propagationMode).tracing(TracingMode.OFF).build();
+
+            final var inbox = createInboxComponent();
+            final var notLogic1 = createLogicComponent(NegationLogic.class);
+            final var notLogic2 = createLogicComponent(NegationLogic.class);
+            final var notLogic3 = createLogicComponent(NegationLogic.class);
+            final var outbox = TestHelpers.createOutboxComponent();
+            router.register(inbox);
+            router.register(notLogic1);
+            router.register(notLogic2);
+            router.register(notLogic3);
+            router.register(outbox);
+            router.link(inbox.getOutputPin("data"), notLogic1.getInputPin("input"));
+            router.link(notLogic1.getOutputPin("output"), notLogic2.getInputPin("input"));
+            router.link(notLogic2.getOutputPin("output"), notLogic3.getInputPin("input"));
+            router.link(notLogic3.getOutputPin("output"), outbox.getInputPin("data"));
+
+            assertThat(router.inbound(createEvent(inbox, true)).get()).isEmpty();
+            assertThat(router.inbound(createEvent(inbox, false)).get()).isEmpty();
+            assertThat(outbox.getHistory().values()).containsExactly(false, true);
+            assertThat(router.shutdown(Duration.ofSeconds(5))).isTrue();
+        }
+    }
+
+    /**
+     * With sampled tracing every N-th event is recorded only
+     */
+    @Test
+    @DisplayName("Tracing: SAMPLED (every 2nd event)")
+    void tracingSampled() throws ExecutionException, InterruptedException {
+        final var router = Router.builder().tracing(TracingMode.SAMPLED).tracingSampleRate(2).build();
+
+        final var inbox = createInboxComponent();
+        final var outbox = TestHelpers.createOutboxComponent();
+        router.register(inbox);
+        router.register(outbox);
+        router.link(inbox.getOutputPin("data"), outbox.getInputPin("data"));
+
+        assertThat(router.inbound(createEvent(inbox, 1)).get()).hasSize(1);
+        assertThat(router.inbound(createEvent(inbox, 2)).get()).isEmpty();
+        assertThat(router.inbound(createEvent(inbox, 3)).get()).hasSize(1);
+        assertThat(router.inbound(createEvent(inbox, 4)).get()).isEmpty();
+        assertThat(outbox.getHistory().values()).containsExactly(1, 2, 3, 4);
+    }
+
+    /**
+     * Inbound events are recorded with their workflows in the journal
+     */
+    @Test
+    @DisplayName("Journal: inbound events with workflows are written in batch")
+    void journal() throws ExecutionException, InterruptedException {
+        final var entries = new CopyOnWriteArrayList<JournalEntry>();
+        final var router = Router.builder().journal(entries::addAll).journalFlush(10, Duration.ofMillis(50)).build();
+
+        final var inbox = createInboxComponent();
+        final var outbox = TestHelpers.createOutboxComponent();
+        router.register(inbox);
+        router.register(outbox);
+        router.link(inbox.getOutputPin("data"), outbox.getInputPin("data"));
+
+        final var workflows = router.inbound(createEvent(inbox, 4711)).get();
+        router.inbound(List.of(createEvent(inbox, 13), createEvent(inbox, 17))).get();
+        assertThat(router.shutdown(Duration.ofSeconds(5))).isTrue();
+
+        final var inboundEntries = entries.stream()
+                .filter(e -> e.getDirection() == JournalEntry.Direction.INBOUND)
+                .collect(Collectors.toList());
+        assertThat(inboundEntries).hasSize(3);
+        assertThat(inboundEntries.get(0).getEvent().getData()).isEqualTo(4711);
+        assertThat(inboundEntries.get(0).getWorkflows()).isSameAs(workflows);
+        assertThat(router.getJournal().getDroppedCount()).isZero();
+        assertThat(router.getJournal().getWrittenCount()).isEqualTo(entries.size());
+    }
+
+    /**
+     * Links between pins with incompatible types are rejected when linking
+     */
+    @Test
+    @DisplayName("ERROR: Link between incompatible types")
+    void testLinkIncompatibleTypes() {
+        final var router = Router.createDefault();
+
+        final var joinerLogic = createLogicComponent(JoinerLogic.class);
+        final var notLogic = createLogicComponent(NegationLogic.class);
+        router.register(joinerLogic);
+        router.register(notLogic);
+
+        // String -> Boolean
+        assertThatThrownBy(() -> router.link(joinerLogic.getOutputPin("output"), notLogic.getInputPin("input")))
+                .isInstanceOf(RouterException.class)
+                .hasMessageStartingWith("The type 'class java.lang.String' of source pin is not compatible with 'class java.lang.Boolean' of target pin");
+        assertThat(router.findLinkedPins(notLogic.getInputPin("input"))).isEmpty();
+
+        // Boolean -> String
+        router.link(notLogic.getOutputPin("output"), joinerLogic.getInputPin("inputs[0]"));
+        assertThat(router.findLinkedPins(notLogic.getOutputPin("output"))).hasSize(1);
+    }
+
+    /**
+     * Links that would create a cycle are rejected when linking
+     *
+     * <pre>
+     *            NOT Logic (1)    NOT Logic (2)
+     *             .-------.        .-------.
+     *  Inbox ---> |       | -----> |       | ---.
+     *        .--> |       |        |       |    |
+     *        |    `-------´        `-------´    |
+     *        `------------- rejected -----------´
+     * </pre>
+     */
+    @Test
+    @DisplayName("ERROR: Link that would create a cycle")
+    void testLinkCycle() {
+        final var router = Router.createDefault();
+
+        final var inbox = createInboxComponent();
+        final var notLogic1 = createLogicComponent(NegationLogic.class);
+        final var notLogic2 = createLogicComponent(NegationLogic.class);
+        router.register(inbox);
+        router.register(notLogic1);
+        router.register(notLogic2);
+
+        router.link(inbox.getOutputPin("data"), notLogic1.getInputPin("input"));
+        router.link(notLogic1.getOutputPin("output"), notLogic2.getInputPin("input"));
+
+        // NOT (2) -> NOT (1)
+        assertThatThrownBy(() -> router.link(notLogic2.getOutputPin("output"), notLogic1.getInputPin("input")))
+                .isInstanceOf(RouterException.class)
+                .hasMessageStartingWith("The link would create a cycle, use a feedback link instead");
+        assertThat(router.findLinkedPins(notLogic2.getOutputPin("output"))).isEmpty();
+
+        // NOT (2) -> NOT (2)
+        assertThatThrownBy(() -> router.link(notLogic2.getOutputPin("output"), notLogic2.getInputPin("input")))
+                .isInstanceOf(RouterException.class);
+
+        // as feedback link it is accepted
+        router.linkFeedback(notLogic2.getOutputPin("output"), notLogic1.getInputPin("input"));
+        assertThat(router.findLinkedPins(notLogic2.getOutputPin("output"))).containsExactly(notLogic1.getInputPin("input"));
+
+        // after unlink of feedback link, the regular link is still rejected
+        router.unlink(notLogic1.getInputPin("input"));
+        assertThat(router.findLinkedPins(notLogic2.getOutputPin("output"))).isEmpty();
+        router.link(inbox.getOutputPin("data"), notLogic1.getInputPin("input"));
+        assertThatThrownBy(() -> router.link(notLogic2.getOutputPin("output"), notLogic1.getInputPin("input")))
+                .isInstanceOf(RouterException.class);
+    }
+
+    /**
+     * The value of feedback link is propagated in the next wave until
+     * the maximum number of feedback iterations is reached.
+     *
+     * <pre>
+     *               Increment Logic
+     *                .---------.
+     *  Inbox ------> |         | ------> Outbox
+     *           .--> |         | ---.
+     *           |    `---------´    |
+     *           `---- feedback -----´
+     * </pre>
+     */
+    @Test
+    @DisplayName("Feedback link is propagated in the next wave with max iterations")
+    void testFeedbackLink() throws ExecutionException, InterruptedException {
+        for (final var propagationMode : PropagationMode.values()) {
+            final var router = Router.builder()
+                    .propagationMode(propagationMode)
+                    .maxFeedbackIterations(5)
+                    .build();
+
+            final var inbox = createInboxComponent();
+            final var incrementLogic = createLogicComponent(IncrementLogic.class);
+            final var outbox = TestHelpers.createOutboxComponent();
+            router.register(inbox);
+            router.register(incrementLogic);
+            router.register(outbox);
+
+            router.link(inbox.getOutputPin("data"), incrementLogic.getInputPin("input"));
+            router.link(incrementLogic.getOutputPin("output"), outbox.getInputPin("data"));
+            router.linkFeedback(incrementLogic.getOutputPin("output"), incrementLogic.getInputPin("input"));
+
+            // 1st wave + 5 feedback waves
+            final var workflows = router.inbound(createEvent(inbox, 10)).get();
+            assertThat(incrementLogic.executedCount()).isEqualTo(6);
+            assertThat(outbox.getData()).isEqualTo(16);
+            assertThat(workflows).hasSize(6);
+            assertThat(router.shutdown(Duration.ofSeconds(5))).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("KNX: Telegrams are routed by group address or dropped if not subscribed")
+    void testInboundKnx() throws ExecutionException, InterruptedException {
+        final var router = Router.builder().build();
+
+        final var inbox = new InboxComponentImpl(new EventKey(KnxEventChannel.CHANNEL_ID, "1/2/*"), new VariableInbox());
+        final var outbox = TestHelpers.createOutboxComponent();
+        router.register(inbox);
+        router.register(outbox);
+        router.link(inbox.getOutputPin("data"), outbox.getInputPin("data"));
+
+        // 1/2/3 = 2563
+        final var workflows = router.inboundKnx(2563, "foobar").get();
+        assertThat(workflows).hasSize(1);
+        assertThat(outbox.getData()).isEqualTo("foobar");
+        assertThat(router.getKnxRoutedCount()).isEqualTo(1);
+        assertThat(router.getKnxDroppedCount()).isZero();
+
+        // 1/3/0 = 2816 (not subscribed)
+        assertThat(router.inboundKnx(2816, "dropped").get()).isEmpty();
+        assertThat(outbox.getData()).isEqualTo("foobar");
+        assertThat(router.getKnxRoutedCount()).isEqualTo(1);
+        assertThat(router.getKnxDroppedCount()).isEqualTo(1);
+
+        assertThatThrownBy(() -> router.inboundKnx(65536, "out of range")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(router.shutdown(Duration.ofSeconds(5))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Sharding: Event for inbox components of several shards, shards are merged and split by link/unlink")
+    void testSharding() throws ExecutionException, InterruptedException {
+        final var router = Router.builder().build();
+
+        // two inbox components for same event, but not linked with each other
+        final var inbox1 = createInboxComponent("sharding");
+        final var inbox2 = createInboxComponent("sharding");
+        final var negationLogic = createLogicComponent(NegationLogic.class);
+        final var outbox1 = TestHelpers.createOutboxComponent();
+        final var outbox2 = TestHelpers.createOutboxComponent();
+        router.register(inbox1);
+        router.register(inbox2);
+        router.register(negationLogic);
+        router.register(outbox1);
+        router.register(outbox2);
+        router.link(inbox1.getOutputPin("data"), negationLogic.getInputPin("input"));
+        router.link(negationLogic.getOutputPin("output"), outbox1.getInputPin("data"));
+        router.link(inbox2.getOutputPin("data"), outbox2.getInputPin("data"));
+
+        final var workflows = router.inbound(createEvent("sharding", Boolean.TRUE)).get();
+        assertThat(workflows).hasSize(2);
+        assertThat(outbox1.getData()).isEqualTo(Boolean.FALSE);
+        assertThat(outbox2.getData()).isEqualTo(Boolean.TRUE);
+
+        final var workflowLists = router.inbound(List.of(createEvent("sharding", Boolean.FALSE))).get();
+        assertThat(workflowLists).hasSize(1);
+        assertThat(workflowLists.get(0)).hasSize(2);
+        assertThat(outbox1.getData()).isEqualTo(Boolean.TRUE);
+        assertThat(outbox2.getData()).isEqualTo(Boolean.FALSE);
+
+        // merge shards
+        router.link(inbox2.getOutputPin("data"), negationLogic.getInputPin("input"));
+        assertThat(router.inbound(createEvent("sharding", Boolean.TRUE)).get()).hasSize(2);
+        assertThat(outbox1.getData()).isEqualTo(Boolean.FALSE);
+        assertThat(outbox2.getData()).isEqualTo(Boolean.TRUE);
+
+        // split shards
+        router.unlink(inbox2.getOutputPin("data"), negationLogic.getInputPin("input"));
+        router.unlink(inbox1.getOutputPin("data"), negationLogic.getInputPin("input"));
+        assertThat(router.inbound(createEvent("sharding", Boolean.FALSE)).get()).hasSize(2);
+        assertThat(outbox1.getData()).isEqualTo(Boolean.FALSE);
+        assertThat(outbox2.getData()).isEqualTo(Boolean.FALSE);
+
+        assertThat(router.shutdown(Duration.ofSeconds(5))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Sharding: Shards are merged while a routing is in flight, new routings wait for the routings of former shards")
+    void testShardingMergeInFlight() throws ExecutionException, InterruptedException, TimeoutException {
+        // the executor of merged shard is chosen by order of components, therefore repeated
+        for (var i = 0; i < 5; i++) {
+            final var router = Router.builder().build();
+            final var started = new CountDownLatch(1);
+            final var release = new CountDownLatch(1);
+
+            // shard #1: blocked until released
+            final var blockedInbox = createInboxComponent("merge-blocked");
+            final var blockingLogic = createLogicComponent(new FunctionLogic<Object, Object>(value -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return value;
+            }));
+            final var blockedOutbox = TestHelpers.createOutboxComponent();
+            router.register(blockedInbox);
+            router.register(blockingLogic);
+            router.register(blockedOutbox);
+            router.link(blockedInbox.getOutputPin("data"), blockingLogic.getInputPin("input"));
+            router.link(blockingLogic.getOutputPin("output"), blockedOutbox.getInputPin("data"));
+
+            // shard #2: not blocked
+            final var freeInbox = createInboxComponent("merge-free");
+            final var negationLogic = createLogicComponent(NegationLogic.class);
+            final var freeOutbox = TestHelpers.createOutboxComponent();
+            router.register(freeInbox);
+            router.register(negationLogic);
+            router.register(freeOutbox);
+            router.link(freeInbox.getOutputPin("data"), negationLogic.getInputPin("input"));
+            router.link(negationLogic.getOutputPin("output"), freeOutbox.getInputPin("data"));
+
+            final var blockedFuture = router.inbound(createEvent("merge-blocked", Boolean.TRUE));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // merge shards while shard #1 is busy
+            router.link(blockedInbox.getOutputPin("data"), negationLogic.getInputPin("input"));
+            final var freeFuture = router.inbound(createEvent("merge-free", Boolean.TRUE));
+            Sleeper.milliseconds(100);
+            assertThat(freeFuture.isDone()).isFalse();
+
+            release.countDown();
+            assertThat(blockedFuture.get(5, TimeUnit.SECONDS)).hasSize(1);
+            assertThat(freeFuture.get(5, TimeUnit.SECONDS)).hasSize(1);
+            assertThat(blockedOutbox.getData()).isEqualTo(Boolean.TRUE);
+            assertThat(freeOutbox.getData()).isEqualTo(Boolean.FALSE);
+            assertThat(router.shutdown(Duration.ofSeconds(5))).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Priority: Events are routed by priority lanes, outbox components inherit or override the priority")
+    void testPriorityLanes() throws ExecutionException, InterruptedException {
+        final var router = Router.builder().priorityLanes(PriorityMode.STRICT, 2).build();
+        assertThat(router.getPriorityLanes().getMode()).isSameAs(PriorityMode.STRICT);
+
+        final var sent = new CopyOnWriteArrayList<Event>();
+        final var latch = new CountDownLatch(2);
+        router.register(new EventChannel() {
+            @Override
+            public String getChannel() {
+                return "priority";
+            }
+
+            @Override
+            public void outbound(final Event event) {
+                sent.add(event);
+                latch.countDown();
+            }
+        });
+
+        final var inbox = createInboxComponent("priority");
+        final var outboxInherit = new OutboxComponentImpl(new EventKey("priority", "inherit"), new VariableOutbox());
+        final var outboxLow = new OutboxComponentImpl(new EventKey("priority", "low"), new VariableOutbox(), EventPriority.LOW);
+        router.register(inbox);
+        router.register(outboxInherit);
+        router.register(outboxLow);
+        router.link(inbox.getOutputPin("data"), outboxInherit.getInputPin("data"));
+        router.link(inbox.getOutputPin("data"), outboxLow.getInputPin("data"));
+
+        final var alarm = new Event(inbox.getEventKey(), "alarm", EventPriority.URGENT);
+        assertThat(router.inbound(alarm).get()).hasSize(2);
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(sent).hasSize(2);
+        for (final var event : sent) {
+            final var expected = event.getKey().getIdentifier().equals("low") ? EventPriority.LOW : EventPriority.URGENT;
+            assertThat(event.getPriority()).isSameAs(expected);
+        }
+
+        // several events are routed with the highest priority
+        router.inbound(List.of(
+                new Event(inbox.getEventKey(), "meter", EventPriority.LOW),
+                new Event(inbox.getEventKey(), "alarm", EventPriority.URGENT)
+        )).get();
+
+        final var lanes = router.getPriorityLanes();
+        assertThat(lanes.getCompletedCount(EventPriority.URGENT)).isEqualTo(2);
+        assertThat(lanes.getCompletedCount(EventPriority.LOW)).isZero();
+        assertThat(lanes.getLatency(EventPriority.URGENT, 99).toNanos()).isPositive();
+        assertThat(lanes.getInFlight()).isZero();
+        assertThat(router.shutdown(Duration.ofSeconds(5))).isTrue();
+    }
+
     /*
      * Router supports only OutboxComponent or LogicComponent
      */
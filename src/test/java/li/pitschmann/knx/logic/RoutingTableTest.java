@@ -0,0 +1,164 @@
+package li.pitschmann.knx.logic;
+
+import li.pitschmann.knx.logic.components.Component;
+import li.pitschmann.knx.logic.connector.Connector;
+import li.pitschmann.knx.logic.pin.Pin;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import test.TestHelpers;
+import test.components.logic.NegationLogic;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static test.TestHelpers.createInboxComponent;
+import static test.TestHelpers.createLogicComponent;
+
+/**
+ * Test implementation of {@link RoutingTable}
+ *
+ * @author PITSCHR
+ */
+class RoutingTableTest {
+
+    @Test
+    @DisplayName("Empty routing table")
+    void testEmpty() {
+        final var table = RoutingTable.EMPTY;
+        assertThat(table.pinCount()).isZero();
+        assertThat(table.componentCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Compile routing table for: Inbox => NOT Logic => Outbox")
+    void testCompile() {
+        final var inbox = createInboxComponent();
+        final var notLogic = createLogicComponent(NegationLogic.class);
+        final var outbox = TestHelpers.createOutboxComponent();
+
+        final var inboxOutput = inbox.getOutputPin("data");
+        final var notInput = notLogic.getInputPin("input");
+        final var notOutput = notLogic.getOutputPin("output");
+        final var outboxInput = outbox.getInputPin("data");
+
+        final var connectorComponentMap = new LinkedHashMap<Connector, Component>();
+        inbox.getConnectors().forEach(c -> connectorComponentMap.put(c, inbox));
+        notLogic.getConnectors().forEach(c -> connectorComponentMap.put(c, notLogic));
+        outbox.getConnectors().forEach(c -> connectorComponentMap.put(c, outbox));
+
+        final var linkMap = new LinkedHashMap<Pin, Map<Pin, ValueConverter>>();
+        link(linkMap, inboxOutput, notInput);
+        link(linkMap, notOutput, outboxInput);
+
+        final var table = new RoutingTable(List.of(inbox, notLogic, outbox), connectorComponentMap, linkMap);
+        assertThat(table.componentCount()).isEqualTo(3);
+        assertThat(table.pinCount()).isEqualTo(4);
+
+        // owner of pins are pre-resolved
+        assertThat(table.component(table.componentOf(table.pinId(inboxOutput)))).isSameAs(inbox);
+        assertThat(table.component(table.componentOf(table.pinId(notInput)))).isSameAs(notLogic);
+        assertThat(table.component(table.componentOf(table.pinId(notOutput)))).isSameAs(notLogic);
+        assertThat(table.component(table.componentOf(table.pinId(outboxInput)))).isSameAs(outbox);
+
+        // links
+        final var notOutputId = table.pinId(notOutput);
+        assertThat(table.linkEnd(notOutputId) - table.linkStart(notOutputId)).isEqualTo(1);
+        assertThat(table.pin(table.link(table.linkStart(notOutputId)))).isSameAs(outboxInput);
+        assertThat(table.linkedPins(notInput)).containsExactly(inboxOutput);
+        // opposite direction is not a link for propagation
+        final var notInputId = table.pinId(notInput);
+        assertThat(table.linkEnd(notInputId) - table.linkStart(notInputId)).isZero();
+
+        // output pins of NOT logic
+        final var notLogicId = table.componentId(notLogic);
+        assertThat(table.outputEnd(notLogicId) - table.outputStart(notLogicId)).isEqualTo(1);
+        assertThat(table.pin(table.output(table.outputStart(notLogicId)))).isSameAs(notOutput);
+
+        // unknown pin
+        final var unknownPin = createInboxComponent().getOutputPin("data");
+        assertThat(table.pinId(unknownPin)).isEqualTo(-1);
+        assertThat(table.linkedPins(unknownPin)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Topological rank of components: Inbox => NOT Logic => NOT Logic => Outbox")
+    void testRank() {
+        final var inbox = createInboxComponent();
+        final var notLogic1 = createLogicComponent(NegationLogic.class);
+        final var notLogic2 = createLogicComponent(NegationLogic.class);
+        final var outbox = TestHelpers.createOutboxComponent();
+
+        final var connectorComponentMap = new LinkedHashMap<Connector, Component>();
+        outbox.getConnectors().forEach(c -> connectorComponentMap.put(c, outbox));
+        notLogic2.getConnectors().forEach(c -> connectorComponentMap.put(c, notLogic2));
+        notLogic1.getConnectors().forEach(c -> connectorComponentMap.put(c, notLogic1));
+        inbox.getConnectors().forEach(c -> connectorComponentMap.put(c, inbox));
+
+        final var linkMap = new LinkedHashMap<Pin, Map<Pin, ValueConverter>>();
+        link(linkMap, inbox.getOutputPin("data"), notLogic1.getInputPin("input"));
+        link(linkMap, notLogic1.getOutputPin("output"), notLogic2.getInputPin("input"));
+        link(linkMap, notLogic2.getOutputPin("output"), outbox.getInputPin("data"));
+        // shortcut from inbox to outbox should not lower the rank of outbox
+        link(linkMap, inbox.getOutputPin("data"), outbox.getInputPin("data"));
+
+        // registered in reverse order
+        final var table = new RoutingTable(List.of(outbox, notLogic2, notLogic1, inbox), connectorComponentMap, linkMap);
+        assertThat(table.rank(table.componentId(inbox))).isEqualTo(0);
+        assertThat(table.rank(table.componentId(notLogic1))).isEqualTo(1);
+        assertThat(table.rank(table.componentId(notLogic2))).isEqualTo(2);
+        assertThat(table.rank(table.componentId(outbox))).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Shards of components: (Inbox => NOT Logic => Outbox) and (Inbox => Outbox)")
+    void testShards() {
+        final var inbox1 = createInboxComponent();
+        final var notLogic = createLogicComponent(NegationLogic.class);
+        final var outbox1 = TestHelpers.createOutboxComponent();
+        final var inbox2 = createInboxComponent();
+        final var outbox2 = TestHelpers.createOutboxComponent();
+        final var unlinked = createLogicComponent(NegationLogic.class);
+
+        final var connectorComponentMap = new LinkedHashMap<Connector, Component>();
+        for (final var component : List.of(inbox1, notLogic, outbox1, inbox2, outbox2, unlinked)) {
+            component.getConnectors().forEach(c -> connectorComponentMap.put(c, component));
+        }
+
+        final var linkMap = new LinkedHashMap<Pin, Map<Pin, ValueConverter>>();
+        // linked against the direction to verify that direction is not relevant
+        link(linkMap, notLogic.getOutputPin("output"), outbox1.getInputPin("data"));
+        link(linkMap, inbox1.getOutputPin("data"), notLogic.getInputPin("input"));
+        link(linkMap, inbox2.getOutputPin("data"), outbox2.getInputPin("data"));
+
+        final var table = new RoutingTable(List.of(outbox1, inbox2, notLogic, unlinked, inbox1, outbox2), connectorComponentMap, linkMap);
+        assertThat(table.shardCount()).isEqualTo(3);
+        final var shard1 = table.shardOf(table.componentId(inbox1));
+        assertThat(table.shardOf(table.componentId(notLogic))).isEqualTo(shard1);
+        assertThat(table.shardOf(table.componentId(outbox1))).isEqualTo(shard1);
+        final var shard2 = table.shardOf(table.componentId(inbox2));
+        assertThat(table.shardOf(table.componentId(outbox2))).isEqualTo(shard2);
+        final var shard3 = table.shardOf(table.componentId(unlinked));
+        assertThat(List.of(shard1, shard2, shard3)).containsExactlyInAnyOrder(0, 1, 2);
+    }
+
+    @Test
+    @DisplayName("Routing table is not affected when source maps are changed afterwards")
+    void testImmutable() {
+        final var inbox = createInboxComponent();
+        final var outbox = TestHelpers.createOutboxComponent();
+
+        final var linkMap = new LinkedHashMap<Pin, Map<Pin, ValueConverter>>();
+        link(linkMap, inbox.getOutputPin("data"), outbox.getInputPin("data"));
+
+        final var table = new RoutingTable(List.of(), Map.of(), linkMap);
+        linkMap.clear();
+
+        assertThat(table.linkedPins(inbox.getOutputPin("data"))).containsExactly(outbox.getInputPin("data"));
+    }
+
+    private static void link(final Map<Pin, Map<Pin, ValueConverter>> linkMap, final Pin source, final Pin target) {
+        linkMap.computeIfAbsent(source, key -> new LinkedHashMap<>()).put(target, ValueConverters.forLink(source, target));
+    }
+}
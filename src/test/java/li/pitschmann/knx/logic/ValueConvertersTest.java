@@ -0,0 +1,218 @@
+package li.pitschmann.knx.logic;
+
+import li.pitschmann.knx.logic.annotations.Input;
+import li.pitschmann.knx.logic.components.LogicComponent;
+import li.pitschmann.knx.logic.connector.StaticConnector;
+import li.pitschmann.knx.logic.exceptions.RouterException;
+import li.pitschmann.knx.logic.pin.Pin;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static test.TestHelpers.createLogicComponent;
+
+/**
+ * Test implementation of {@link ValueConverters}
+ *
+ * @author PITSCHR
+ */
+class ValueConvertersTest {
+
+    @Test
+    @DisplayName("No conversion for assignable types")
+    void testIdentity() {
+        final var value = List.of("a");
+        assertThat(ValueConverters.of(List.class, Object.class).convert(value)).isSameAs(value);
+        assertThat(ValueConverters.of(Integer.class, Number.class).convert(4711)).isEqualTo(4711);
+    }
+
+    @Test
+    @DisplayName("Null value is converted to default value of target type")
+    void testNull() {
+        assertThat(ValueConverters.of(Integer.class, Integer.class).convert(null)).isEqualTo(0);
+        assertThat(ValueConverters.of(Boolean.class, String.class).convert(null)).isEqualTo("");
+        assertThat(ValueConverters.of(Object.class, Object.class).convert(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("Any value to String")
+    void testToString() {
+        assertThat(ValueConverters.of(Integer.class, String.class).convert(13)).isEqualTo("13");
+        assertThat(ValueConverters.of(Boolean.class, String.class).convert(true)).isEqualTo("true");
+    }
+
+    @Test
+    @DisplayName("Boolean to Number in type of target")
+    void testBooleanToNumber() {
+        assertThat(ValueConverters.of(Boolean.class, Integer.class).convert(true)).isEqualTo(1);
+        assertThat(ValueConverters.of(Boolean.class, Long.class).convert(false)).isEqualTo(0L);
+        assertThat(ValueConverters.of(Boolean.class, Double.class).convert(true)).isEqualTo(1d);
+        assertThat(ValueConverters.of(Boolean.class, BigDecimal.class).convert(true)).isEqualTo(BigDecimal.ONE);
+    }
+
+    @Test
+    @DisplayName("Number to Boolean for integral and floating numbers")
+    void testNumberToBoolean() {
+        final var converter = ValueConverters.of(Double.class, Boolean.class);
+        assertThat(converter.convert(1d)).isEqualTo(Boolean.TRUE);
+        assertThat(converter.convert(0d)).isEqualTo(Boolean.FALSE);
+        assertThat(ValueConverters.of(Integer.class, Boolean.class).convert(1)).isEqualTo(Boolean.TRUE);
+        assertThat(ValueConverters.of(Long.class, Boolean.class).convert(0L)).isEqualTo(Boolean.FALSE);
+
+        assertThatThrownBy(() -> converter.convert(0.5d))
+                .isInstanceOf(RouterException.class)
+                .hasMessage("The type of value 'class java.lang.Double' (value: 0.5) is not compatible with 'class java.lang.Boolean'");
+    }
+
+    @Test
+    @DisplayName("Lossless numeric widening")
+    void testWidening() {
+        assertThat(ValueConverters.of(Integer.class, Long.class).convert(17)).isEqualTo(17L);
+        assertThat(ValueConverters.of(Short.class, Integer.class).convert((short) 3)).isEqualTo(3);
+        assertThat(ValueConverters.of(Float.class, Double.class).convert(1.5f)).isEqualTo(1.5d);
+        assertThat(ValueConverters.of(Integer.class, BigDecimal.class).convert(42)).isEqualTo(new BigDecimal("42"));
+
+        // narrowing is not supported
+        assertThat(ValueConverters.of(Long.class, Integer.class)).isNull();
+        assertThat(ValueConverters.of(Double.class, Float.class)).isNull();
+    }
+
+    @Test
+    @DisplayName("Conversion by runtime type for non-final source types")
+    void testDynamic() {
+        final var converter = ValueConverters.of(Object.class, Boolean.class);
+        assertThat(converter.convert(true)).isEqualTo(Boolean.TRUE);
+        assertThat(converter.convert(1.0d)).isEqualTo(Boolean.TRUE);
+        assertThat(converter.convert(0)).isEqualTo(Boolean.FALSE);
+        assertThatThrownBy(() -> converter.convert("foo"))
+                .isInstanceOf(RouterException.class)
+                .hasMessage("The type of value 'class java.lang.String' (value: foo) is not compatible with 'class java.lang.Boolean'");
+
+        assertThat(ValueConverters.of(Number.class, Long.class).convert(7)).isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("Value is set as primitive to a primitive target pin")
+    void testPrimitiveTarget() {
+        final var logic = new PrimitiveLogic();
+        final var component = createLogicComponent(logic);
+        final var intPin = pin(component, "intField");
+        final var booleanPin = pin(component, "booleanField");
+        final var longPin = pin(component, "longField");
+        final var doublePin = pin(component, "doubleField");
+        final var floatPin = pin(component, "floatField");
+
+        // int -> double
+        ValueConverters.forLink(intPin, doublePin).convertTo(7, doublePin);
+        assertThat(logic.doubleField).isEqualTo(7d);
+        // float -> double
+        ValueConverters.forLink(floatPin, doublePin).convertTo(1.5f, doublePin);
+        assertThat(logic.doubleField).isEqualTo(1.5d);
+        // boolean -> long
+        ValueConverters.forLink(booleanPin, longPin).convertTo(true, longPin);
+        assertThat(logic.longField).isEqualTo(1L);
+        // int -> boolean
+        final var toBoolean = ValueConverters.forLink(intPin, booleanPin);
+        toBoolean.convertTo(1, booleanPin);
+        assertThat(logic.booleanField).isTrue();
+        assertThatThrownBy(() -> toBoolean.convertTo(2, booleanPin)).isInstanceOf(RouterException.class);
+        // null -> default value
+        ValueConverters.forLink(booleanPin, intPin).convertTo(null, intPin);
+        assertThat(logic.intField).isZero();
+        ValueConverters.forLink(intPin, doublePin).convertTo(null, doublePin);
+        assertThat(logic.doubleField).isZero();
+
+        // boxed value is still available
+        assertThat(ValueConverters.forLink(intPin, longPin).convert(7)).isEqualTo(7L);
+
+        // not compatible
+        assertThatThrownBy(() -> ValueConverters.forLink(doublePin, intPin)).isInstanceOf(RouterException.class);
+    }
+
+    @Test
+    @DisplayName("Value is transferred pin-to-pin between primitive pins")
+    void testPinToPin() {
+        final var sourceLogic = new PrimitiveLogic();
+        final var sourceComponent = createLogicComponent(sourceLogic);
+        final var logic = new PrimitiveLogic();
+        final var component = createLogicComponent(logic);
+        final var intPin = pin(component, "intField");
+        final var booleanPin = pin(component, "booleanField");
+        final var longPin = pin(component, "longField");
+        final var doublePin = pin(component, "doubleField");
+
+        // double -> double
+        sourceLogic.doubleField = -13.37d;
+        final var doubleToDouble = ValueConverters.forLink(pin(sourceComponent, "doubleField"), doublePin);
+        assertThat(doubleToDouble.isPinToPin()).isTrue();
+        doubleToDouble.transfer(pin(sourceComponent, "doubleField"), doublePin);
+        assertThat(logic.doubleField).isEqualTo(-13.37d);
+        // int -> double
+        sourceLogic.intField = 7;
+        ValueConverters.forLink(pin(sourceComponent, "intField"), doublePin).transfer(pin(sourceComponent, "intField"), doublePin);
+        assertThat(logic.doubleField).isEqualTo(7d);
+        // int -> long
+        sourceLogic.intField = -8;
+        ValueConverters.forLink(pin(sourceComponent, "intField"), longPin).transfer(pin(sourceComponent, "intField"), longPin);
+        assertThat(logic.longField).isEqualTo(-8L);
+        // boolean -> int
+        sourceLogic.booleanField = true;
+        ValueConverters.forLink(pin(sourceComponent, "booleanField"), intPin).transfer(pin(sourceComponent, "booleanField"), intPin);
+        assertThat(logic.intField).isEqualTo(1);
+        // double -> boolean
+        sourceLogic.doubleField = 1d;
+        ValueConverters.forLink(pin(sourceComponent, "doubleField"), booleanPin).transfer(pin(sourceComponent, "doubleField"), booleanPin);
+        assertThat(logic.booleanField).isTrue();
+        // int -> boolean (not 0 or 1)
+        sourceLogic.intField = 2;
+        final var intToBoolean = ValueConverters.forLink(pin(sourceComponent, "intField"), booleanPin);
+        assertThatThrownBy(() -> intToBoolean.transfer(pin(sourceComponent, "intField"), booleanPin)).isInstanceOf(RouterException.class);
+
+        // raw bits can be written later (e.g. after the source pin has been changed)
+        sourceLogic.doubleField = 4.5d;
+        final var bits = doubleToDouble.read(pin(sourceComponent, "doubleField"));
+        sourceLogic.doubleField = 0d;
+        doubleToDouble.write(bits, doublePin);
+        assertThat(logic.doubleField).isEqualTo(4.5d);
+
+        // not pin-to-pin: float source pin is not a primitive pin
+        assertThat(ValueConverters.forLink(pin(component, "floatField"), doublePin).isPinToPin()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Incompatible final types")
+    void testIncompatible() {
+        assertThat(ValueConverters.of(String.class, Boolean.class)).isNull();
+        assertThat(ValueConverters.of(String.class, Integer.class)).isNull();
+        assertThat(ValueConverters.of(Boolean.class, Character.class)).isNull();
+    }
+
+    private static Pin pin(final LogicComponent component, final String name) {
+        return ((StaticConnector) component.getInputConnector(name)).getPin();
+    }
+
+    /**
+     * Internal test logic with primitive fields for testing purpose only
+     */
+    private static class PrimitiveLogic implements Logic {
+        @Input
+        private int intField;
+        @Input
+        private boolean booleanField;
+        @Input
+        private long longField;
+        @Input
+        private double doubleField;
+        @Input
+        private float floatField;
+
+        @Override
+        public void logic() {
+            // NO-OP
+        }
+    }
+}
@@ -23,6 +23,7 @@ class WorkflowEntryTest {
 
         // test methods
         assertThat(entry.getInstant()).isNotNull();
+        assertThat(entry.getNanos()).isLessThanOrEqualTo(System.nanoTime());
         assertThat(entry.getUid()).isNotNull().hasToString("WORKFLOW-UID-1");
         assertThat(entry.getValue()).isInstanceOf(String.class).isEqualTo("FOOBAR");
 
@@ -32,6 +33,17 @@ class WorkflowEntryTest {
         );
     }
 
+    @Test
+    @DisplayName("WorkflowEntry timestamps are monotonic")
+    void testMonotonic() {
+        final var mockUid = mock(UID.class);
+        final var entry1 = new WorkflowEntry(mockUid, 1);
+        final var entry2 = new WorkflowEntry(mockUid, 2);
+
+        assertThat(entry2.getNanos()).isGreaterThanOrEqualTo(entry1.getNanos());
+        assertThat(entry2.getInstant()).isAfterOrEqualTo(entry1.getInstant());
+    }
+
     @Test
     @DisplayName("WorkflowEntry with NULL value")
     void testWithNullValue() {
@@ -30,6 +30,36 @@ class WorkflowTest {
         assertThat(workflow).hasToString("Workflow{duration=0, flows=[]}");
     }
 
+    @Test
+    @DisplayName("Test disabled workflow")
+    void testDisabledWorkflow() {
+        final var workflow = Workflow.disabled();
+        assertThat(workflow.isEnabled()).isFalse();
+        assertThat(Workflow.create().isEnabled()).isTrue();
+
+        // nothing is recorded and no new instance is created
+        assertThat(workflow.add(mock(UID.class), "ONE")).isSameAs(workflow);
+        assertThat(workflow.add(mock(UIDAware.class), "TWO")).isSameAs(workflow);
+        assertThat(workflow.getFlows()).isEmpty();
+        assertThat(workflow.calculateDuration()).isZero();
+    }
+
+    @Test
+    @DisplayName("Test workflow entries are shared between workflows")
+    void testSharedEntries() {
+        final var workflow1 = Workflow.create().add(mock(UID.class), "ONE");
+        final var workflow2a = workflow1.add(mock(UID.class), "TWO-A");
+        final var workflow2b = workflow1.add(mock(UID.class), "TWO-B");
+
+        assertThat(workflow1.getFlows()).hasSize(1);
+        assertThat(workflow2a.getFlows()).hasSize(2);
+        assertThat(workflow2b.getFlows()).hasSize(2);
+        assertThat(workflow2a.getFlows().get(0)).isSameAs(workflow1.getFlows().get(0));
+        assertThat(workflow2b.getFlows().get(0)).isSameAs(workflow1.getFlows().get(0));
+        assertThat(workflow2a.getFlows().get(1).getValue()).isEqualTo("TWO-A");
+        assertThat(workflow2b.getFlows().get(1).getValue()).isEqualTo("TWO-B");
+    }
+
     @Test
     @DisplayName("Test non-empty workflow")
     void testNonEmptyWorkflow() {
@@ -74,4 +74,20 @@ class AbstractExecutableComponentTest {
         assertThat(component.executedTime()).isNotZero();
     }
 
+    @Test
+    @DisplayName("OK: AbstractExecutableComponent executed exclusively (without lock)")
+    void testExecuteExclusive() {
+        final var component = new AbstractExecutableComponent<>(new LogicA()) {
+            @Override
+            protected void executeSafe() {
+                // NO-OP
+            }
+        };
+
+        component.executeExclusive();
+        component.execute();
+        assertThat(component.executedCount()).isEqualTo(2);
+        assertThat(component.executedTime()).isNotZero();
+    }
+
 }
@@ -5,6 +5,7 @@ import li.pitschmann.knx.logic.annotations.Input;
 import li.pitschmann.knx.logic.annotations.Output;
 import li.pitschmann.knx.logic.connector.DynamicConnector;
 import li.pitschmann.knx.logic.connector.StaticConnector;
+import li.pitschmann.knx.logic.pin.DoublePin;
 import li.pitschmann.knx.logic.pin.DynamicPin;
 import li.pitschmann.knx.logic.pin.StaticPin;
 import org.junit.jupiter.api.DisplayName;
@@ -149,6 +150,68 @@ class LogicComponentImplTest {
         );
     }
 
+    @Test
+    @DisplayName("Test Logic Component with primitive outputs and change of dynamic pins")
+    void testLogicWithPrimitiveOutputsAndDynamicPins() {
+        final var logic = new Logic() {
+            @Input(min = 1)
+            private List<Integer> ints;
+
+            @Output
+            private double avg;
+
+            @Output
+            private List<Integer> copies;
+
+            @Override
+            public void logic() {
+                this.avg = ints.stream().mapToInt(Integer::valueOf).average().orElse(0);
+            }
+        };
+        final var component = new LogicComponentImpl(logic);
+        assertThat(component.getOutputPin("avg")).isInstanceOf(DoublePin.class);
+
+        // init run
+        component.getInputPin("ints[0]").setValue(4);
+        component.execute();
+        assertThat(component.logicCount()).isEqualTo(1);
+        assertThat(component.getOutputPin("avg").getValue()).isEqualTo(4.0);
+        assertThat(component.getOutputPin("avg").isRefresh()).isTrue();
+
+        // 2nd run: input and primitive output changed
+        component.getInputPin("ints[0]").setValue(6);
+        component.execute();
+        assertThat(component.logicCount()).isEqualTo(2);
+        assertThat(component.getOutputPin("avg").getValue()).isEqualTo(6.0);
+        assertThat(component.getOutputPin("avg").isRefresh()).isTrue();
+
+        // 3rd run: new input pin is taken into account
+        final var inputConnector = (DynamicConnector) component.getInputConnector("ints");
+        inputConnector.addPin().setValue(2);
+        component.execute();
+        assertThat(component.logicCount()).isEqualTo(3);
+        assertThat(component.getOutputPin("avg").getValue()).isEqualTo(4.0);
+        assertThat(component.getOutputPin("avg").isRefresh()).isTrue();
+
+        // 4th run: inputs changed, but the primitive output remains same
+        component.getInputPin("ints[0]").setValue(2);
+        component.getInputPin("ints[1]").setValue(6);
+        component.execute();
+        assertThat(component.logicCount()).isEqualTo(4);
+        assertThat(component.getOutputPin("avg").getValue()).isEqualTo(4.0);
+        assertThat(component.getOutputPin("avg").isRefresh()).isFalse();
+
+        // 5th run: new output pin is taken into account (refresh flag cleared)
+        final var outputConnector = (DynamicConnector) component.getOutputConnector("copies");
+        final var newOutputPin = outputConnector.addPin();
+        newOutputPin.setRefresh();
+        component.getInputPin("ints[1]").setValue(8);
+        component.execute();
+        assertThat(component.logicCount()).isEqualTo(5);
+        assertThat(component.getOutputPin("avg").getValue()).isEqualTo(5.0);
+        assertThat(newOutputPin.isRefresh()).isFalse();
+    }
+
 //    @Test
 //    @DisplayName("Try to load a logic component from class multiple times")
 //    void loadLogicClassMultipleTimes() {
@@ -2,6 +2,7 @@ package li.pitschmann.knx.logic.components;
 
 import li.pitschmann.knx.logic.components.outbox.VariableOutbox;
 import li.pitschmann.knx.logic.event.EventKey;
+import li.pitschmann.knx.logic.event.EventPriority;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -23,6 +24,15 @@ class OutboxComponentImplTest {
         // Verification
         // ---------------------------------------
         assertThat(component.getEventKey()).isInstanceOf(EventKey.class);
+        assertThat(component.getPriority()).isNull();
+    }
+
+    @Test
+    @DisplayName("Test Outbox Component with priority")
+    void testOutboxComponentWithPriority() {
+        final var component = new OutboxComponentImpl(mock(EventKey.class), new VariableOutbox(), EventPriority.LOW);
+
+        assertThat(component.getPriority()).isSameAs(EventPriority.LOW);
     }
 
     @Test
@@ -38,6 +48,7 @@ class OutboxComponentImplTest {
                         "uid=%s, " + //
                         "outboxClass=li.pitschmann.knx.logic.components.outbox.VariableOutbox, " + //
                         "eventKey=EVENT-KEY-STRING, " + //
+                        "priority=null, " + //
                         "history=%s" + //
                         "}", //
                 component.getUid(), component.getHistory())
@@ -68,6 +68,35 @@ public class ConnectorFactoryTest {
         assertThat(outputConnectors.get(1)).isInstanceOf(DynamicConnector.class);
     }
 
+    @Test
+    @DisplayName("Create connectors for two instances of same class")
+    public void connectorsOfSameClass() {
+        final var component = new TestLogic();
+        final var component2 = new TestLogic();
+
+        final var inputConnector = (StaticConnector) ConnectorFactory.getInputConnectors(component).get(0);
+        final var inputConnector2 = (StaticConnector) ConnectorFactory.getInputConnectors(component2).get(0);
+        final var outputConnector = (DynamicConnector) ConnectorFactory.getOutputConnectors(component).get(0);
+        final var outputConnector2 = (DynamicConnector) ConnectorFactory.getOutputConnectors(component2).get(0);
+
+        // metadata is shared, but connectors are bound to their own owner
+        assertThat(inputConnector).isNotSameAs(inputConnector2);
+        assertThat(inputConnector.getDescriptor().getField()).isSameAs(inputConnector2.getDescriptor().getField());
+        assertThat(inputConnector.getDescriptor().getOwner()).isSameAs(component);
+        assertThat(inputConnector2.getDescriptor().getOwner()).isSameAs(component2);
+        assertThat(outputConnector.getDescriptor().getOwner()).isSameAs(component);
+        assertThat(outputConnector2.getDescriptor().getOwner()).isSameAs(component2);
+
+        // values are written to the own owner only
+        inputConnector.getPin().setValue(13);
+        inputConnector2.getPin().setValue(17);
+        outputConnector2.addPin().setValue("foo");
+        assertThat(component.input).isEqualTo(13);
+        assertThat(component2.input).isEqualTo(17);
+        assertThat(component.outputs).hasSize(1);
+        assertThat(component2.outputs).hasSize(2);
+    }
+
     @Test
     @DisplayName("Constructor not instantiable")
     public void testConstructorNonInstantiable() {
@@ -77,4 +106,20 @@ public class ConnectorFactoryTest {
             ctor.newInstance();
         }).hasCauseInstanceOf(AssertionError.class);
     }
+
+    /**
+     * Internal test logic for testing purpose only
+     */
+    private static class TestLogic implements Logic {
+        @Input
+        private int input;
+
+        @Output
+        private List<String> outputs;
+
+        @Override
+        public void logic() {
+            // NO-OP (not a part of test)
+        }
+    }
 }
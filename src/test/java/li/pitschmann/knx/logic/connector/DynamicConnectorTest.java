@@ -141,6 +141,96 @@ class DynamicConnectorTest {
                 .hasMessageStartingWith("Maximum number of pin already reached for connector");
     }
 
+    @Test
+    @DisplayName("Pins of DynamicConnector are an immutable snapshot")
+    void pinsSnapshot() {
+        final var component = createLogicComponent(TestLogic.class);
+        final var connector = (DynamicConnector) component.getInputConnector(0);  // field: inputs
+        final var pin1 = connector.addPin();
+
+        // same snapshot until the connector is modified
+        final var snapshot = connector.getPins();
+        assertThat(connector.getPins()).isSameAs(snapshot);
+        assertThatThrownBy(() -> snapshot.add(pin1)).isInstanceOf(UnsupportedOperationException.class);
+
+        // modification publishes a new snapshot, the old snapshot remains unchanged
+        final var pin2 = connector.addPin(0);
+        assertThat(snapshot).containsExactly(pin1);
+        assertThat(connector.getPins()).isNotSameAs(snapshot).containsExactly(pin2, pin1);
+
+        connector.removePin(1);
+        assertThat(connector.getPins()).containsExactly(pin2);
+        assertThatThrownBy(() -> connector.getPin(1)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("Add and remove pins in bulk to/from DynamicConnector")
+    void bulkPins() {
+        final var component = createLogicComponent(TestLogic.class);
+        final var connector = (DynamicConnector) component.getInputConnector(0);  // field: inputs
+        final var pin1 = connector.addPin(); // index: 0
+        final var pin2 = connector.addPin(); // index: 1
+        pin1.setValue("foo");
+        pin2.setValue("bar");
+
+        // add three pins at index=1
+        final var newPins = connector.addPins(1, 3);
+        assertThat(newPins).hasSize(3);
+        assertPins(5, connector);
+        assertThat(connector.getPins()).containsExactly(pin1, newPins.get(0), newPins.get(1), newPins.get(2), pin2);
+        assertPinValues(connector, "foo", "", "", "", "bar");
+
+        // no pin added
+        assertThat(connector.addPins(0, 0)).isEmpty();
+        assertPins(5, connector);
+
+        // would exceed max=5
+        assertThatThrownBy(() -> connector.addPins(0, 1))
+                .isInstanceOf(MaximumBoundException.class)
+                .hasMessageStartingWith("Maximum number of pin already reached for connector");
+        assertThatThrownBy(() -> connector.addPins(0, -1)).isInstanceOf(IllegalArgumentException.class);
+
+        // remove pins from index=0 to index=3 (exclusive)
+        final var removedPins = connector.removePins(0, 3);
+        assertThat(removedPins).hasSize(3);
+        assertThat(removedPins.get(0)).isSameAs(pin1);
+        assertThat(removedPins.get(1)).isSameAs(newPins.get(0));
+        assertThat(removedPins.get(2)).isSameAs(newPins.get(1));
+        assertPins(2, connector);
+        assertThat(connector.getPins()).containsExactly(newPins.get(2), pin2);
+        assertPinValues(connector, "", "bar");
+        assertThatThrownBy(() -> connector.removePins(1, 3)).isInstanceOf(IndexOutOfBoundsException.class);
+
+        // would undercut min=2
+        final var connector2 = (DynamicConnector) component.getInputConnector(1);  // field: inputs2
+        assertThatThrownBy(() -> connector2.removePins(0, 1))
+                .isInstanceOf(MinimumBoundException.class)
+                .hasMessageStartingWith("Minimum number of pins already reached for connector");
+    }
+
+    @Test
+    @DisplayName("Reset DynamicConnector to a given size")
+    void resetConnectorToSize() {
+        final var component = createLogicComponent(TestLogic.class);
+        final var connector = (DynamicConnector) component.getInputConnector(1);  // field: inputs2
+        final var oldPins = connector.getPins();
+        oldPins.get(0).setValue("foo");
+
+        final var newPins = connector.reset(4);
+        assertPins(4, connector);
+        assertThat(connector.getPins()).isEqualTo(newPins).doesNotContain(oldPins.get(0), oldPins.get(1));
+        assertPinValues(connector, "", "", "", "");
+
+        assertThatThrownBy(() -> connector.reset(1))
+                .isInstanceOf(MinimumBoundException.class)
+                .hasMessageStartingWith("Size is less than minimum number of pins for connector");
+        final var connector1 = (DynamicConnector) component.getInputConnector(0);  // field: inputs
+        assertThatThrownBy(() -> connector1.reset(6))
+                .isInstanceOf(MaximumBoundException.class)
+                .hasMessageStartingWith("Size is greater than maximum number of pins for connector");
+        assertPins(0, connector1);
+    }
+
     @Test
     @DisplayName("Try add new pins to DynamicConnector")
     void tryAddPins() {
@@ -3,6 +3,9 @@ package li.pitschmann.knx.logic.connector;
 import li.pitschmann.knx.logic.Logic;
 import li.pitschmann.knx.logic.annotations.Input;
 import li.pitschmann.knx.logic.annotations.Output;
+import li.pitschmann.knx.logic.pin.BooleanPin;
+import li.pitschmann.knx.logic.pin.IntPin;
+import li.pitschmann.knx.logic.pin.StaticPin;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -53,6 +56,7 @@ class StaticConnectorTest {
         assertThat(pin.getConnector()).isSameAs(connector);
         assertThat(pin.getDescriptor()).isSameAs(connector.getDescriptor());
         assertThat(pin.getValue()).isEqualTo(false); // default instantiated value
+        assertThat(pin).isInstanceOf(BooleanPin.class);
 
         assertThat(connector).hasToString(
                 String.format("StaticConnector{" +
@@ -123,6 +127,10 @@ class StaticConnectorTest {
         assertThat(logicComponent.getOutputConnectors()).hasSize(1);
         assertThat(logicComponent.getOutputPins()).hasSize(1);
         assertPinValue(logicComponent.getOutputConnector("m"), "Hello");
+
+        // primitive specialized pins for primitive fields
+        assertThat(((StaticConnector) logicComponent.getInputConnector("a")).getPin()).isInstanceOf(IntPin.class);
+        assertThat(((StaticConnector) logicComponent.getInputConnector("b")).getPin().getClass()).isEqualTo(StaticPin.class);
     }
 
     /**
@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2022 Pitschmann Christoph
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package li.pitschmann.knx.logic.db;
+
+import li.pitschmann.knx.logic.Workflow;
+import li.pitschmann.knx.logic.db.models.EventJournalModel;
+import li.pitschmann.knx.logic.event.Event;
+import li.pitschmann.knx.logic.event.EventKey;
+import li.pitschmann.knx.logic.journal.JournalEntry;
+import li.pitschmann.knx.logic.uid.UIDFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import test.BaseDatabaseSuite;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test case for writing journal entries to database
+ * {@link DatabaseJournalWriter} and {@link li.pitschmann.knx.logic.db.dao.JournalDao}
+ *
+ * @author PITSCHR
+ */
+class DatabaseJournalWriterTest extends BaseDatabaseSuite {
+    private static final EventKey KEY = new EventKey("var", "journal");
+
+    @Test
+    @DisplayName("Generated keys of event journal are returned in order of models")
+    void testInsertEventsGeneratedKeys() {
+        final var dao = journalDao();
+        final var models = List.of(
+                eventModel("INBOUND", "first"),
+                eventModel("OUTBOUND", "second"),
+                eventModel("INBOUND", null)
+        );
+
+        final var ids = dao.insertEvents(models);
+        assertThat(ids).hasSize(3);
+        assertThat(dao.eventSize()).isEqualTo(3);
+
+        for (var i = 0; i < ids.length; i++) {
+            final var id = ids[i];
+            final var value = jdbi().withHandle(handle ->
+                    handle.createQuery("SELECT value FROM event_journal WHERE id = :id")
+                            .bind("id", id)
+                            .mapTo(String.class)
+                            .findOne()
+                            .orElse(null)
+            );
+            assertThat(value).isEqualTo(models.get(i).getValue());
+        }
+    }
+
+    @Test
+    @DisplayName("Mixed batch of inbound and outbound entries with workflows")
+    void testWriteMixedBatch() {
+        final var writer = new DatabaseJournalWriter(databaseManager);
+
+        final var inboundTwoWorkflows = JournalEntry.inbound(new Event(KEY, "in-1"), List.of(
+                Workflow.create().add(UIDFactory.createUid("PIN-A"), "A1").add(UIDFactory.createUid("PIN-B"), 2),
+                Workflow.create().add(UIDFactory.createUid("PIN-C"), true)
+        ));
+        final var outbound = JournalEntry.outbound(new Event(KEY, "out-1"));
+        final var inboundNoWorkflows = JournalEntry.inbound(new Event(KEY, "in-2"), List.of());
+        final var inboundOneWorkflow = JournalEntry.inbound(new Event(KEY, "in-3"), List.of(
+                Workflow.create().add(UIDFactory.createUid("PIN-D"), 4711L)
+        ));
+
+        writer.write(List.of(inboundTwoWorkflows, outbound, inboundNoWorkflows, inboundOneWorkflow));
+
+        final var dao = journalDao();
+        assertThat(dao.eventSize()).isEqualTo(4);
+        assertThat(dao.workflowSize()).isEqualTo(4);
+
+        // event journal: in order of batch
+        final var events = jdbi().withHandle(handle ->
+                handle.createQuery("SELECT direction, value FROM event_journal ORDER BY id").mapToMap().list()
+        );
+        assertThat(events.get(0)).containsExactlyInAnyOrderEntriesOf(Map.of("direction", "INBOUND", "value", "in-1"));
+        assertThat(events.get(1)).containsExactlyInAnyOrderEntriesOf(Map.of("direction", "OUTBOUND", "value", "out-1"));
+        assertThat(events.get(2)).containsExactlyInAnyOrderEntriesOf(Map.of("direction", "INBOUND", "value", "in-2"));
+        assertThat(events.get(3)).containsExactlyInAnyOrderEntriesOf(Map.of("direction", "INBOUND", "value", "in-3"));
+
+        // workflow journal: foreign key refers to the event journal of the same entry
+        final var workflows = jdbi().withHandle(handle ->
+                handle.createQuery("SELECT e.value AS event, w.workflowIndex, w.step, w.uid, w.value, w.valueType " +
+                        "FROM workflow_journal w JOIN event_journal e ON e.id = w.eventJournalId " +
+                        "ORDER BY w.id").mapToMap().list()
+        );
+        assertThat(workflows).hasSize(4);
+        assertThat(workflows.get(0)).containsExactlyInAnyOrderEntriesOf(Map.of(
+                "event", "in-1", "workflowindex", 0, "step", 0, "uid", "PIN-A", "value", "A1", "valuetype", "java.lang.String"
+        ));
+        assertThat(workflows.get(1)).containsExactlyInAnyOrderEntriesOf(Map.of(
+                "event", "in-1", "workflowindex", 0, "step", 1, "uid", "PIN-B", "value", "2", "valuetype", "java.lang.Integer"
+        ));
+        assertThat(workflows.get(2)).containsExactlyInAnyOrderEntriesOf(Map.of(
+                "event", "in-1", "workflowindex", 1, "step", 0, "uid", "PIN-C", "value", "true", "valuetype", "java.lang.Boolean"
+        ));
+        assertThat(workflows.get(3)).containsExactlyInAnyOrderEntriesOf(Map.of(
+                "event", "in-3", "workflowindex", 0, "step", 0, "uid", "PIN-D", "value", "4711", "valuetype", "java.lang.Long"
+        ));
+    }
+
+    private static EventJournalModel eventModel(final String direction, final Object value) {
+        return EventJournalModel.builder()
+                .direction(direction)
+                .channel(KEY.getChannel())
+                .key(KEY.getIdentifier())
+                .value(value)
+                .eventTs(Instant.now())
+                .build();
+    }
+}
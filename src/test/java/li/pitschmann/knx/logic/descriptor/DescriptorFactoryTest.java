@@ -35,6 +35,30 @@ public class DescriptorFactoryTest {
         assertThat(descriptor).isInstanceOf(OutputDescriptor.class);
     }
 
+    @Test
+    @DisplayName("Create prototype Descriptors and bind them to owners")
+    public void testPrototypeDescriptor() throws Throwable {
+        final var inputField = TestComponent.class.getDeclaredField("input");
+        final var outputField = TestComponent.class.getDeclaredField("output");
+
+        final var inputPrototype = DescriptorFactory.createPrototype(inputField, Input.class);
+        assertThat(inputPrototype).isInstanceOf(InputDescriptor.class);
+        assertThat(inputPrototype.getOwner()).isNull();
+        final var outputPrototype = DescriptorFactory.createPrototype(outputField, Output.class);
+        assertThat(outputPrototype).isInstanceOf(OutputDescriptor.class);
+        assertThat(outputPrototype.getOwner()).isNull();
+
+        final var owner = mock(TestComponent.class);
+        final var descriptor = inputPrototype.bindTo(owner);
+        assertThat(descriptor).isInstanceOf(InputDescriptor.class);
+        assertThat(descriptor.getOwner()).isSameAs(owner);
+        assertThat(descriptor.getField()).isSameAs(inputField);
+        assertThat(descriptor.getFieldType()).isSameAs(inputPrototype.getFieldType());
+
+        assertThatThrownBy(() -> DescriptorFactory.createPrototype(inputField, Deprecated.class))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     @DisplayName("ERROR: Create Descriptor from an unsupported annotation")
     public void testUnknownAnnotation() {
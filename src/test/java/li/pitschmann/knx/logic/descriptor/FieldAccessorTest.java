@@ -0,0 +1,144 @@
+package li.pitschmann.knx.logic.descriptor;
+
+import li.pitschmann.knx.logic.exceptions.ReflectException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test for {@link FieldAccessor}
+ *
+ * @author PITSCHR
+ */
+class FieldAccessorTest {
+
+    @Test
+    @DisplayName("Read and write object, primitive and final fields")
+    void testGetAndSet() {
+        final var owner = new TestOwner();
+
+        final var objectAccessor = FieldAccessor.of(owner, field("objectField"));
+        assertThat(objectAccessor.get()).isNull();
+        objectAccessor.set("foo");
+        assertThat(owner.objectField).isEqualTo("foo");
+        assertThat(objectAccessor.get()).isEqualTo("foo");
+        objectAccessor.set(null);
+        assertThat(owner.objectField).isNull();
+
+        final var primitiveAccessor = FieldAccessor.of(owner, field("primitiveField"));
+        assertThat(primitiveAccessor.get()).isEqualTo(0);
+        primitiveAccessor.set(4711);
+        assertThat(owner.primitiveField).isEqualTo(4711);
+        assertThat(primitiveAccessor.get()).isEqualTo(4711);
+
+        final var finalAccessor = FieldAccessor.of(owner, field("finalField"));
+        assertThat(finalAccessor.get()).isEqualTo("final");
+
+        // inherited field
+        final var subOwner = new SubTestOwner();
+        FieldAccessor.of(subOwner, field("objectField")).set("bar");
+        assertThat(((TestOwner) subOwner).objectField).isEqualTo("bar");
+    }
+
+    @Test
+    @DisplayName("Read and write primitive fields without boxing")
+    void testPrimitiveGetAndSet() {
+        final var owner = new TestOwner();
+
+        final var booleanAccessor = FieldAccessor.of(owner, field("booleanField"));
+        assertThat(booleanAccessor.getBoolean()).isFalse();
+        booleanAccessor.setBoolean(true);
+        assertThat(owner.booleanField).isTrue();
+        assertThat(booleanAccessor.getBoolean()).isTrue();
+
+        final var intAccessor = FieldAccessor.of(owner, field("primitiveField"));
+        intAccessor.setInt(13);
+        assertThat(owner.primitiveField).isEqualTo(13);
+        assertThat(intAccessor.getInt()).isEqualTo(13);
+
+        final var longAccessor = FieldAccessor.of(owner, field("longField"));
+        longAccessor.setLong(Long.MAX_VALUE);
+        assertThat(owner.longField).isEqualTo(Long.MAX_VALUE);
+        assertThat(longAccessor.getLong()).isEqualTo(Long.MAX_VALUE);
+
+        final var doubleAccessor = FieldAccessor.of(owner, field("doubleField"));
+        doubleAccessor.setDouble(21.5d);
+        assertThat(owner.doubleField).isEqualTo(21.5d);
+        assertThat(doubleAccessor.getDouble()).isEqualTo(21.5d);
+        assertThat(doubleAccessor.get()).isEqualTo(21.5d);
+    }
+
+    @Test
+    @DisplayName("Primitive access to a field of other type")
+    void testPrimitiveInvalidType() {
+        final var owner = new TestOwner();
+
+        final var intAccessor = FieldAccessor.of(owner, field("primitiveField"));
+        assertThatThrownBy(intAccessor::getDouble).isInstanceOf(ReflectException.class);
+        assertThatThrownBy(() -> intAccessor.setLong(1L)).isInstanceOf(ReflectException.class);
+
+        final var objectAccessor = FieldAccessor.of(owner, field("objectField"));
+        assertThatThrownBy(objectAccessor::getBoolean).isInstanceOf(ReflectException.class);
+        assertThatThrownBy(() -> objectAccessor.setInt(1)).isInstanceOf(ReflectException.class);
+    }
+
+    @Test
+    @DisplayName("Invalid owner or value")
+    void testInvalid() {
+        assertThatThrownBy(() -> FieldAccessor.of(new Object(), field("objectField")))
+                .isInstanceOf(ReflectException.class);
+
+        final var accessor = FieldAccessor.of(new TestOwner(), field("primitiveField"));
+        assertThatThrownBy(() -> accessor.set("not an int")).isInstanceOf(ReflectException.class);
+        assertThatThrownBy(() -> accessor.set(null)).isInstanceOf(ReflectException.class);
+    }
+
+    @Test
+    @DisplayName("Bind accessor to other owners")
+    void testBindTo() {
+        final var owner = new TestOwner();
+        final TestOwner subOwner = new SubTestOwner();
+
+        final var accessor = FieldAccessor.unbound(field("primitiveField"));
+        final var ownerAccessor = accessor.bindTo(owner);
+        final var subOwnerAccessor = ownerAccessor.bindTo(subOwner);
+        ownerAccessor.setInt(13);
+        subOwnerAccessor.setInt(17);
+        assertThat(owner.primitiveField).isEqualTo(13);
+        assertThat(subOwner.primitiveField).isEqualTo(17);
+
+        // unbound accessor is a prototype only
+        assertThatThrownBy(accessor::get).isInstanceOf(ReflectException.class);
+        assertThatThrownBy(() -> accessor.bindTo(new Object())).isInstanceOf(ReflectException.class);
+    }
+
+    private static Field field(final String name) {
+        try {
+            return TestOwner.class.getDeclaredField(name);
+        } catch (final NoSuchFieldException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Internal test class for testing purpose only
+     */
+    private static class TestOwner {
+        private final String finalField = "final";
+        private Object objectField;
+        private int primitiveField;
+        private boolean booleanField;
+        private long longField;
+        private double doubleField;
+    }
+
+    /**
+     * Internal test sub-class for testing purpose only
+     */
+    private static class SubTestOwner extends TestOwner {
+    }
+}
@@ -25,13 +25,15 @@ public class EventTest {
         final var event = new Event(eventKeyMock, value);
         assertThat(event.getKey()).isSameAs(eventKeyMock);
         assertThat(event.getData()).isSameAs(value);
+        assertThat(event.getPriority()).isSameAs(EventPriority.NORMAL);
 
         // string representation
         assertThat(event).hasToString("" + //
                 "Event{" + //
                 "channel=CHANNEL, " + //
                 "identifier=IDENTIFIER, " + //
-                "data=[1, 2, 3]" + //
+                "data=[1, 2, 3], " + //
+                "priority=NORMAL" + //
                 "}" //
         );
     }
@@ -49,9 +51,16 @@ public class EventTest {
                 "Event{" + //
                 "channel=CHANNEL2, " + //
                 "identifier=IDENTIFIER2, " + //
-                "data=0x04 05 06" + //
+                "data=0x04 05 06, " + //
+                "priority=NORMAL" + //
                 "}" //
         );
     }
 
+    @Test
+    @DisplayName("Test Event with priority")
+    public void testEventWithPriority() {
+        final var event = new Event(mock(EventKey.class), "foo", EventPriority.URGENT);
+        assertThat(event.getPriority()).isSameAs(EventPriority.URGENT);
+    }
 }
@@ -0,0 +1,90 @@
+package li.pitschmann.knx.logic.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test case for {@link TimerEventChannel}
+ *
+ * @author PITSCHR
+ */
+class TimerEventChannelTest {
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    void shutdownTimer() {
+        timer.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Test TIMER Event Channel")
+    void testChannelId() {
+        final var eventChannel = new TimerEventChannel(events -> {
+        }, Duration.ofMillis(10), timer);
+        assertThat(eventChannel.getChannel()).isSameAs(TimerEventChannel.CHANNEL_ID);
+        assertThat(TimerEventChannel.createKey("foo")).isEqualTo(new EventKey("timer", "foo"));
+        assertThat(eventChannel.getPendingCount()).isZero();
+
+        assertThatThrownBy(() -> new TimerEventChannel(events -> {
+        }, Duration.ZERO, timer)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> eventChannel.outbound(new Event(TimerEventChannel.createKey("foo"), "bar")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Timers are scheduled and cancelled by outbound events, expiries of same tick are batched")
+    void testOutbound() throws InterruptedException {
+        final var batches = new CopyOnWriteArrayList<List<Event>>();
+        final var eventChannel = new TimerEventChannel(batches::add, Duration.ofMillis(10), timer);
+
+        eventChannel.outbound(new Event(TimerEventChannel.createKey("a"), Duration.ofMillis(50)));
+        eventChannel.outbound(new Event(TimerEventChannel.createKey("b"), Duration.ofMillis(50)));
+        eventChannel.outbound(new Event(TimerEventChannel.createKey("cancelled"), 50));
+        eventChannel.outbound(new Event(TimerEventChannel.createKey("cancelled"), 0));
+        assertThat(eventChannel.getPendingCount()).isEqualTo(2);
+
+        waitUntilExpired(eventChannel, 2);
+        assertThat(batches).hasSize(1);
+        final var batch = batches.get(0);
+        assertThat(batch).hasSize(2);
+        assertThat(batch.stream().map(Event::getKey)).containsExactlyInAnyOrder(
+                TimerEventChannel.createKey("a"),
+                TimerEventChannel.createKey("b")
+        );
+        assertThat(batch.stream().allMatch(e -> Boolean.TRUE.equals(e.getData()))).isTrue();
+        assertThat(eventChannel.getBatchCount()).isEqualTo(1);
+        assertThat(eventChannel.getPendingCount()).isZero();
+        eventChannel.close();
+    }
+
+    @Test
+    @DisplayName("Periodic timer expires until cancelled")
+    void testPeriodic() throws InterruptedException {
+        final var batches = new CopyOnWriteArrayList<List<Event>>();
+        final var eventChannel = new TimerEventChannel(batches::add, Duration.ofMillis(5), timer);
+        eventChannel.schedulePeriodic("periodic", Duration.ofMillis(20));
+
+        waitUntilExpired(eventChannel, 3);
+        assertThat(eventChannel.cancel("periodic")).isTrue();
+        assertThat(eventChannel.isPending("periodic")).isFalse();
+        eventChannel.close();
+    }
+
+    private static void waitUntilExpired(final TimerEventChannel eventChannel, final int count) throws InterruptedException {
+        final var deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (eventChannel.getExpiredCount() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(eventChannel.getExpiredCount()).isGreaterThanOrEqualTo(count);
+    }
+}
@@ -0,0 +1,98 @@
+package li.pitschmann.knx.logic.event;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test case for {@link TimingWheel}
+ *
+ * @author PITSCHR
+ */
+class TimingWheelTest {
+
+    @Test
+    @DisplayName("Number of buckets must be a power of two")
+    void testInvalid() {
+        assertThatThrownBy(() -> new TimingWheel(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TimingWheel(100)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Timers expire at their deadline tick, also beyond one revolution")
+    void testExpiry() {
+        final var wheel = new TimingWheel(8);
+        wheel.schedule("a", 3, 0);
+        wheel.schedule("b", 3, 0);
+        wheel.schedule("c", 20, 0);
+        assertThat(wheel.size()).isEqualTo(3);
+
+        assertThat(wheel.advance(2)).isEmpty();
+        assertThat(wheel.advance(3)).containsExactlyInAnyOrder("a", "b");
+        // same bucket as 'c' after one revolution (11 % 8 == 3), but not expired yet
+        assertThat(wheel.advance(12)).isEmpty();
+        assertThat(wheel.isPending("c")).isTrue();
+        assertThat(wheel.advance(20)).containsExactly("c");
+        assertThat(wheel.size()).isZero();
+        // ticks in the past are ignored
+        assertThat(wheel.advance(10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Timer is re-scheduled and cancelled by name")
+    void testRescheduleAndCancel() {
+        final var wheel = new TimingWheel(8);
+        wheel.schedule("staircase", 5, 0);
+        wheel.advance(4);
+        // re-schedule extends the timer
+        wheel.schedule("staircase", 5, 0);
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(8)).isEmpty();
+        assertThat(wheel.advance(9)).containsExactly("staircase");
+
+        wheel.schedule("cancelled", 2, 0);
+        assertThat(wheel.cancel("cancelled")).isTrue();
+        assertThat(wheel.cancel("cancelled")).isFalse();
+        assertThat(wheel.advance(20)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Periodic timer expires every period until cancelled")
+    void testPeriodic() {
+        final var wheel = new TimingWheel(8);
+        wheel.schedule("periodic", 3, 3);
+        assertThat(wheel.advance(3)).containsExactly("periodic");
+        assertThat(wheel.advance(5)).isEmpty();
+        assertThat(wheel.advance(6)).containsExactly("periodic");
+        // lagging behind: expires once, missed periods are skipped
+        assertThat(wheel.advance(100)).containsExactly("periodic");
+        assertThat(wheel.advance(101)).isEmpty();
+        assertThat(wheel.advance(102)).containsExactly("periodic");
+        assertThat(wheel.cancel("periodic")).isTrue();
+        assertThat(wheel.advance(200)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Large number of pending timers")
+    void testManyTimers() {
+        final var wheel = new TimingWheel(512);
+        for (var i = 0; i < 100_000; i++) {
+            wheel.schedule("timer-" + i, 1 + i % 1000, 0);
+        }
+        assertThat(wheel.size()).isEqualTo(100_000);
+        for (var i = 0; i < 100_000; i += 2) {
+            wheel.cancel("timer-" + i);
+        }
+        assertThat(wheel.advance(1)).isEmpty();
+        assertThat(wheel.advance(2)).hasSize(100);
+
+        var expired = 100;
+        for (var tick = 3; tick <= 1000; tick++) {
+            expired += wheel.advance(tick).size();
+        }
+        assertThat(expired).isEqualTo(50_000);
+        assertThat(wheel.size()).isZero();
+    }
+}
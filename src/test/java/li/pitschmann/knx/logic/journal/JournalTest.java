@@ -0,0 +1,195 @@
+package li.pitschmann.knx.logic.journal;
+
+import li.pitschmann.knx.logic.event.Event;
+import li.pitschmann.knx.logic.event.EventKey;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test implementation of {@link Journal}
+ *
+ * @author PITSCHR
+ */
+class JournalTest {
+    private static final EventKey KEY = new EventKey("var", "journal");
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    void shutdownExecutors() {
+        executor.shutdownNow();
+        timer.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Non-positive capacity, flush size and flush interval are not supported")
+    void testInvalid() {
+        final JournalWriter writer = entries -> {
+        };
+        assertThatThrownBy(() -> new Journal(writer, 0, 10, Duration.ofSeconds(1), executor, timer))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Journal(writer, 10, 0, Duration.ofSeconds(1), executor, timer))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Journal(writer, 10, 10, Duration.ZERO, executor, timer))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Entries are written in batches of flush size and in order of recording")
+    void testBatchBySize() throws InterruptedException {
+        final var batches = new CopyOnWriteArrayList<List<JournalEntry>>();
+        final var journal = new Journal(entries -> batches.add(new ArrayList<>(entries)), 100, 10, Duration.ofSeconds(10),
+                executor, timer);
+
+        for (var i = 0; i < 25; i++) {
+            assertThat(journal.record(JournalEntry.outbound(new Event(KEY, i)))).isTrue();
+        }
+        assertThat(journal.close(Duration.ofSeconds(5))).isTrue();
+
+        assertThat(journal.getRecordedCount()).isEqualTo(25);
+        assertThat(journal.getWrittenCount()).isEqualTo(25);
+        assertThat(journal.getDroppedCount()).isZero();
+        assertThat(batches.stream().allMatch(b -> b.size() <= 10)).isTrue();
+
+        final var values = new ArrayList<Object>();
+        batches.forEach(b -> b.forEach(e -> values.add(e.getEvent().getData())));
+        assertThat(values).hasSize(25);
+        for (var i = 0; i < 25; i++) {
+            assertThat(values.get(i)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    @DisplayName("Incomplete batch is written after flush interval")
+    void testBatchByInterval() throws InterruptedException {
+        final var latch = new CountDownLatch(1);
+        final var journal = new Journal(entries -> latch.countDown(), 100, 1000, Duration.ofMillis(50), executor, timer);
+
+        journal.record(JournalEntry.inbound(new Event(KEY, "a"), List.of()));
+        journal.record(JournalEntry.inbound(new Event(KEY, "b"), List.of()));
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(journal.close(Duration.ofSeconds(5))).isTrue();
+        assertThat(journal.getWrittenCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Entries are dropped when the buffer is full or journal is closed")
+    void testDropped() throws InterruptedException {
+        final var blocker = new CountDownLatch(1);
+        final var journal = new Journal(entries -> {
+            try {
+                blocker.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 5, 1, Duration.ofSeconds(1), executor, timer);
+
+        // writer is blocked: 1 entry taken by writer + 5 entries in buffer, rest is dropped
+        var recorded = 0;
+        for (var i = 0; i < 20; i++) {
+            if (journal.record(JournalEntry.outbound(new Event(KEY, i)))) {
+                recorded++;
+            }
+        }
+        assertThat(recorded).isBetween(5, 6);
+        assertThat(journal.getDroppedCount()).isEqualTo(20 - recorded);
+
+        blocker.countDown();
+        assertThat(journal.close(Duration.ofSeconds(5))).isTrue();
+        assertThat(journal.getWrittenCount()).isEqualTo(recorded);
+
+        // journal is closed
+        assertThat(journal.record(JournalEntry.outbound(new Event(KEY, "closed")))).isFalse();
+        assertThat(journal.getDroppedCount()).isEqualTo(21 - recorded);
+    }
+
+    @Test
+    @DisplayName("Remaining entries are written on close when the executor is already shut down")
+    void testCloseAfterShutdown() throws InterruptedException {
+        final var written = new CopyOnWriteArrayList<JournalEntry>();
+        final var journal = new Journal(written::addAll, 100, 10, Duration.ofHours(1), executor, timer);
+        executor.shutdown();
+        timer.shutdown();
+
+        for (var i = 0; i < 25; i++) {
+            assertThat(journal.record(JournalEntry.outbound(new Event(KEY, i)))).isTrue();
+        }
+        assertThat(journal.close(Duration.ofSeconds(5))).isTrue();
+
+        assertThat(written).hasSize(25);
+        assertThat(journal.getWrittenCount()).isEqualTo(25);
+        assertThat(journal.getBatchCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Every recorded entry is written when the journal is closed during recording")
+    void testCloseDuringRecording() throws InterruptedException {
+        for (var iteration = 0; iteration < 20; iteration++) {
+            final var written = new CopyOnWriteArrayList<JournalEntry>();
+            final var journal = new Journal(written::addAll, 100_000, 100, Duration.ofMillis(10), executor, timer);
+
+            final var recorders = new ArrayList<Thread>();
+            final var attempts = new AtomicLong();
+            final var started = new CountDownLatch(4);
+            for (var t = 0; t < 4; t++) {
+                final var recorder = new Thread(() -> {
+                    started.countDown();
+                    for (var i = 0; i < 10_000; i++) {
+                        attempts.incrementAndGet();
+                        if (!journal.record(JournalEntry.outbound(new Event(KEY, i)))) {
+                            break;
+                        }
+                    }
+                });
+                recorders.add(recorder);
+                recorder.start();
+            }
+            started.await();
+            assertThat(journal.close(Duration.ofSeconds(5))).isTrue();
+            for (final var recorder : recorders) {
+                recorder.join();
+            }
+
+            assertThat(journal.getRecordedCount() + journal.getDroppedCount()).isEqualTo(attempts.get());
+            assertThat(journal.getWrittenCount()).isEqualTo(journal.getRecordedCount());
+            assertThat(written).hasSize((int) journal.getRecordedCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Failure of writer does not stop the journal")
+    void testWriterFailure() throws InterruptedException {
+        final var written = new CopyOnWriteArrayList<JournalEntry>();
+        final var journal = new Journal(entries -> {
+            if ("fail".equals(entries.get(0).getEvent().getData())) {
+                throw new IllegalStateException("Failure!");
+            }
+            written.addAll(entries);
+        }, 10, 1, Duration.ofSeconds(1), executor, timer);
+
+        journal.record(JournalEntry.outbound(new Event(KEY, "fail")));
+        journal.record(JournalEntry.outbound(new Event(KEY, "ok")));
+        assertThat(journal.close(Duration.ofSeconds(5))).isTrue();
+
+        assertThat(journal.getFailedCount()).isEqualTo(1);
+        assertThat(journal.getWrittenCount()).isEqualTo(1);
+        assertThat(journal.getBatchCount()).isEqualTo(2);
+        assertThat(written).hasSize(1);
+    }
+}
@@ -0,0 +1,99 @@
+package li.pitschmann.knx.logic.pin;
+
+import li.pitschmann.knx.logic.Logic;
+import li.pitschmann.knx.logic.annotations.Input;
+import li.pitschmann.knx.logic.connector.StaticConnector;
+import li.pitschmann.knx.logic.exceptions.ReflectException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static test.TestHelpers.createLogicComponent;
+
+/**
+ * Test for {@link BooleanPin}
+ */
+class BooleanPinTest {
+
+    @Test
+    @DisplayName("Test get/set primitive value of BooleanPin")
+    void testPrimitiveValue() {
+        final var logic = new TestLogic();
+        final var pin = createPin(logic);
+
+        assertThat(pin.getBooleanValue()).isFalse();
+
+        pin.setBooleanValue(true);
+        assertThat(logic.field).isTrue();
+        assertThat(pin.getBooleanValue()).isTrue();
+        assertThat(pin.getValue()).isEqualTo(Boolean.TRUE);
+
+        logic.field = false;
+        assertThat(pin.getBooleanValue()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Test get/set object value of BooleanPin")
+    void testObjectValue() {
+        final var logic = new TestLogic();
+        final var pin = createPin(logic);
+
+        pin.setValue(Boolean.TRUE);
+        assertThat(logic.field).isTrue();
+
+        // null is the default value
+        pin.setValue(null);
+        assertThat(pin.getValue()).isEqualTo(false);
+
+        // value of other type is rejected
+        assertThatThrownBy(() -> pin.setValue("foo")).isInstanceOf(ReflectException.class);
+    }
+
+    @Test
+    @DisplayName("Test refresh flag of BooleanPin")
+    void testRefreshFlag() {
+        final var pin = createPin(new TestLogic());
+        assertThat(pin.isRefresh()).isTrue(); // because of init
+        assertThat(pin.refreshCount()).isEqualTo(1);
+        pin.clearRefresh();
+
+        // default -> true
+        pin.setBooleanValue(true);
+        assertThat(pin.isRefresh()).isTrue();
+        assertThat(pin.refreshCount()).isEqualTo(2);
+        pin.clearRefresh();
+
+        // remain same value (no refresh)
+        pin.setBooleanValue(true);
+        assertThat(pin.isRefresh()).isFalse();
+        pin.setValue(Boolean.TRUE);
+        assertThat(pin.isRefresh()).isFalse();
+        assertThat(pin.refreshCount()).isEqualTo(2);
+
+        // toString()
+        assertThat(pin).hasToString(
+                String.format("BooleanPin{uid=%s, fieldName=field, fieldType=%s, value=%s, refresh=false}",
+                        pin.getUid(), pin.getDescriptor().getFieldType().getName(), pin.getValue())
+        );
+    }
+
+    private BooleanPin createPin(final TestLogic logic) {
+        final var connector = (StaticConnector) createLogicComponent(logic).getInputConnector("field");
+        assertThat(connector.getPin()).isInstanceOf(BooleanPin.class);
+        return (BooleanPin) connector.getPin();
+    }
+
+    /**
+     * Internal test logic for testing purpose only
+     */
+    private static class TestLogic implements Logic {
+        @Input
+        private boolean field;
+
+        @Override
+        public void logic() {
+            // NO-OP
+        }
+    }
+}
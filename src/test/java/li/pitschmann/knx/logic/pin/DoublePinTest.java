@@ -0,0 +1,118 @@
+package li.pitschmann.knx.logic.pin;
+
+import li.pitschmann.knx.logic.Logic;
+import li.pitschmann.knx.logic.annotations.Input;
+import li.pitschmann.knx.logic.connector.StaticConnector;
+import li.pitschmann.knx.logic.exceptions.ReflectException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static test.TestHelpers.createLogicComponent;
+
+/**
+ * Test for {@link DoublePin}
+ */
+class DoublePinTest {
+
+    @Test
+    @DisplayName("Test get/set primitive value of DoublePin")
+    void testPrimitiveValue() {
+        final var logic = new TestLogic();
+        final var pin = createPin(logic);
+
+        assertThat(pin.getDoubleValue()).isZero();
+
+        pin.setDoubleValue(21.5d);
+        assertThat(logic.field).isEqualTo(21.5d);
+        assertThat(pin.getDoubleValue()).isEqualTo(21.5d);
+        assertThat(pin.getValue()).isEqualTo(21.5d);
+
+        logic.field = -0.5d;
+        assertThat(pin.getDoubleValue()).isEqualTo(-0.5d);
+    }
+
+    @Test
+    @DisplayName("Test get/set object value of DoublePin")
+    void testObjectValue() {
+        final var logic = new TestLogic();
+        final var pin = createPin(logic);
+
+        pin.setValue(21.5d);
+        assertThat(logic.field).isEqualTo(21.5d);
+
+        // null is the default value
+        pin.setValue(null);
+        assertThat(pin.getValue()).isEqualTo(0d);
+
+        // value of other type is rejected
+        assertThatThrownBy(() -> pin.setValue("foo")).isInstanceOf(ReflectException.class);
+    }
+
+    @Test
+    @DisplayName("Test refresh flag of DoublePin")
+    void testRefreshFlag() {
+        final var pin = createPin(new TestLogic());
+        assertThat(pin.isRefresh()).isTrue(); // because of init
+        assertThat(pin.refreshCount()).isEqualTo(1);
+        pin.clearRefresh();
+
+        // default -> 21.5d
+        pin.setDoubleValue(21.5d);
+        assertThat(pin.isRefresh()).isTrue();
+        assertThat(pin.refreshCount()).isEqualTo(2);
+        pin.clearRefresh();
+
+        // remain same value (no refresh)
+        pin.setDoubleValue(21.5d);
+        assertThat(pin.isRefresh()).isFalse();
+        pin.setValue(21.5d);
+        assertThat(pin.isRefresh()).isFalse();
+        assertThat(pin.refreshCount()).isEqualTo(2);
+
+        // toString()
+        assertThat(pin).hasToString(
+                String.format("DoublePin{uid=%s, fieldName=field, fieldType=%s, value=%s, refresh=false}",
+                        pin.getUid(), pin.getDescriptor().getFieldType().getName(), pin.getValue())
+        );
+    }
+
+    @Test
+    @DisplayName("Test comparison of NaN and signed zero of DoublePin")
+    void testSpecialValues() {
+        final var pin = createPin(new TestLogic());
+        pin.clearRefresh();
+
+        // 0.0 -> -0.0 (changed like Double#equals)
+        pin.setDoubleValue(-0d);
+        assertThat(pin.isRefresh()).isTrue();
+        pin.clearRefresh();
+
+        // NaN -> NaN (not changed like Double#equals)
+        pin.setDoubleValue(Double.NaN);
+        assertThat(pin.isRefresh()).isTrue();
+        pin.clearRefresh();
+        pin.setDoubleValue(Double.NaN);
+        assertThat(pin.isRefresh()).isFalse();
+    }
+
+    private DoublePin createPin(final TestLogic logic) {
+        final var connector = (StaticConnector) createLogicComponent(logic).getInputConnector("field");
+        assertThat(connector.getPin()).isInstanceOf(DoublePin.class);
+        return (DoublePin) connector.getPin();
+    }
+
+    /**
+     * Internal test logic for testing purpose only
+     */
+    private static class TestLogic implements Logic {
+        @Input
+        private double field;
+
+        @Override
+        public void logic() {
+            // NO-OP
+        }
+    }
+}
@@ -20,6 +20,7 @@ package li.pitschmann.knx.logic.pin;
 import li.pitschmann.knx.logic.Logic;
 import li.pitschmann.knx.logic.annotations.Input;
 import li.pitschmann.knx.logic.connector.DynamicConnector;
+import li.pitschmann.knx.logic.descriptor.FieldAccessor;
 import li.pitschmann.knx.logic.descriptor.OutputDescriptor;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -133,6 +134,7 @@ public class DynamicPinTest {
         when(descriptorMock.getOwner()).thenReturn(owner);
         when(descriptorMock.getField()).thenReturn(field);
         when(descriptorMock.getName()).thenReturn(field.getName());
+        when(descriptorMock.getAccessor()).thenReturn(FieldAccessor.of(owner, field));
         doReturn(Integer.class).when(descriptorMock).getFieldType();
 
         final var connectorMock = mock(DynamicConnector.class);
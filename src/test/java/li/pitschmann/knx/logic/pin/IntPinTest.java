@@ -0,0 +1,99 @@
+package li.pitschmann.knx.logic.pin;
+
+import li.pitschmann.knx.logic.Logic;
+import li.pitschmann.knx.logic.annotations.Input;
+import li.pitschmann.knx.logic.connector.StaticConnector;
+import li.pitschmann.knx.logic.exceptions.ReflectException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static test.TestHelpers.createLogicComponent;
+
+/**
+ * Test for {@link IntPin}
+ */
+class IntPinTest {
+
+    @Test
+    @DisplayName("Test get/set primitive value of IntPin")
+    void testPrimitiveValue() {
+        final var logic = new TestLogic();
+        final var pin = createPin(logic);
+
+        assertThat(pin.getIntValue()).isZero();
+
+        pin.setIntValue(4711);
+        assertThat(logic.field).isEqualTo(4711);
+        assertThat(pin.getIntValue()).isEqualTo(4711);
+        assertThat(pin.getValue()).isEqualTo(4711);
+
+        logic.field = 13;
+        assertThat(pin.getIntValue()).isEqualTo(13);
+    }
+
+    @Test
+    @DisplayName("Test get/set object value of IntPin")
+    void testObjectValue() {
+        final var logic = new TestLogic();
+        final var pin = createPin(logic);
+
+        pin.setValue(4711);
+        assertThat(logic.field).isEqualTo(4711);
+
+        // null is the default value
+        pin.setValue(null);
+        assertThat(pin.getValue()).isEqualTo(0);
+
+        // value of other type is rejected
+        assertThatThrownBy(() -> pin.setValue("foo")).isInstanceOf(ReflectException.class);
+    }
+
+    @Test
+    @DisplayName("Test refresh flag of IntPin")
+    void testRefreshFlag() {
+        final var pin = createPin(new TestLogic());
+        assertThat(pin.isRefresh()).isTrue(); // because of init
+        assertThat(pin.refreshCount()).isEqualTo(1);
+        pin.clearRefresh();
+
+        // default -> 4711
+        pin.setIntValue(4711);
+        assertThat(pin.isRefresh()).isTrue();
+        assertThat(pin.refreshCount()).isEqualTo(2);
+        pin.clearRefresh();
+
+        // remain same value (no refresh)
+        pin.setIntValue(4711);
+        assertThat(pin.isRefresh()).isFalse();
+        pin.setValue(4711);
+        assertThat(pin.isRefresh()).isFalse();
+        assertThat(pin.refreshCount()).isEqualTo(2);
+
+        // toString()
+        assertThat(pin).hasToString(
+                String.format("IntPin{uid=%s, fieldName=field, fieldType=%s, value=%s, refresh=false}",
+                        pin.getUid(), pin.getDescriptor().getFieldType().getName(), pin.getValue())
+        );
+    }
+
+    private IntPin createPin(final TestLogic logic) {
+        final var connector = (StaticConnector) createLogicComponent(logic).getInputConnector("field");
+        assertThat(connector.getPin()).isInstanceOf(IntPin.class);
+        return (IntPin) connector.getPin();
+    }
+
+    /**
+     * Internal test logic for testing purpose only
+     */
+    private static class TestLogic implements Logic {
+        @Input
+        private int field;
+
+        @Override
+        public void logic() {
+            // NO-OP
+        }
+    }
+}
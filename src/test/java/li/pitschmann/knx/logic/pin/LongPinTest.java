@@ -0,0 +1,99 @@
+package li.pitschmann.knx.logic.pin;
+
+import li.pitschmann.knx.logic.Logic;
+import li.pitschmann.knx.logic.annotations.Input;
+import li.pitschmann.knx.logic.connector.StaticConnector;
+import li.pitschmann.knx.logic.exceptions.ReflectException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static test.TestHelpers.createLogicComponent;
+
+/**
+ * Test for {@link LongPin}
+ */
+class LongPinTest {
+
+    @Test
+    @DisplayName("Test get/set primitive value of LongPin")
+    void testPrimitiveValue() {
+        final var logic = new TestLogic();
+        final var pin = createPin(logic);
+
+        assertThat(pin.getLongValue()).isZero();
+
+        pin.setLongValue(4711L);
+        assertThat(logic.field).isEqualTo(4711L);
+        assertThat(pin.getLongValue()).isEqualTo(4711L);
+        assertThat(pin.getValue()).isEqualTo(4711L);
+
+        logic.field = 13L;
+        assertThat(pin.getLongValue()).isEqualTo(13L);
+    }
+
+    @Test
+    @DisplayName("Test get/set object value of LongPin")
+    void testObjectValue() {
+        final var logic = new TestLogic();
+        final var pin = createPin(logic);
+
+        pin.setValue(4711L);
+        assertThat(logic.field).isEqualTo(4711L);
+
+        // null is the default value
+        pin.setValue(null);
+        assertThat(pin.getValue()).isEqualTo(0L);
+
+        // value of other type is rejected
+        assertThatThrownBy(() -> pin.setValue("foo")).isInstanceOf(ReflectException.class);
+    }
+
+    @Test
+    @DisplayName("Test refresh flag of LongPin")
+    void testRefreshFlag() {
+        final var pin = createPin(new TestLogic());
+        assertThat(pin.isRefresh()).isTrue(); // because of init
+        assertThat(pin.refreshCount()).isEqualTo(1);
+        pin.clearRefresh();
+
+        // default -> 4711L
+        pin.setLongValue(4711L);
+        assertThat(pin.isRefresh()).isTrue();
+        assertThat(pin.refreshCount()).isEqualTo(2);
+        pin.clearRefresh();
+
+        // remain same value (no refresh)
+        pin.setLongValue(4711L);
+        assertThat(pin.isRefresh()).isFalse();
+        pin.setValue(4711L);
+        assertThat(pin.isRefresh()).isFalse();
+        assertThat(pin.refreshCount()).isEqualTo(2);
+
+        // toString()
+        assertThat(pin).hasToString(
+                String.format("LongPin{uid=%s, fieldName=field, fieldType=%s, value=%s, refresh=false}",
+                        pin.getUid(), pin.getDescriptor().getFieldType().getName(), pin.getValue())
+        );
+    }
+
+    private LongPin createPin(final TestLogic logic) {
+        final var connector = (StaticConnector) createLogicComponent(logic).getInputConnector("field");
+        assertThat(connector.getPin()).isInstanceOf(LongPin.class);
+        return (LongPin) connector.getPin();
+    }
+
+    /**
+     * Internal test logic for testing purpose only
+     */
+    private static class TestLogic implements Logic {
+        @Input
+        private long field;
+
+        @Override
+        public void logic() {
+            // NO-OP
+        }
+    }
+}
@@ -3,6 +3,7 @@ package li.pitschmann.knx.logic.pin;
 import li.pitschmann.knx.logic.Logic;
 import li.pitschmann.knx.logic.annotations.Input;
 import li.pitschmann.knx.logic.connector.StaticConnector;
+import li.pitschmann.knx.logic.descriptor.FieldAccessor;
 import li.pitschmann.knx.logic.descriptor.InputDescriptor;
 import li.pitschmann.knx.logic.helpers.ValueHelper;
 import org.junit.jupiter.api.DisplayName;
@@ -152,6 +153,7 @@ public class StaticPinTest {
         when(descriptorMock.getOwner()).thenReturn(owner);
         when(descriptorMock.getField()).thenReturn(field);
         when(descriptorMock.getName()).thenReturn(field.getName());
+        when(descriptorMock.getAccessor()).thenReturn(FieldAccessor.of(owner, field));
         doReturn(ValueHelper.getFieldType(field)).when(descriptorMock).getFieldType();
 
         final var connectorMock = mock(StaticConnector.class);
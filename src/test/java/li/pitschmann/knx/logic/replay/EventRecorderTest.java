@@ -0,0 +1,138 @@
+package li.pitschmann.knx.logic.replay;
+
+import li.pitschmann.knx.logic.event.Event;
+import li.pitschmann.knx.logic.event.EventKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test for {@link EventRecorder} and {@link EventTraceReader}
+ *
+ * @author PITSCHR
+ */
+class EventRecorderTest {
+    private static final EventKey KEY = new EventKey("var", "recorder");
+    private static final EventKey KEY2 = new EventKey("knx", "2563");
+
+    @Test
+    @DisplayName("Events are recorded and read in same order with their values")
+    void testRecordAndRead() throws IOException {
+        final var file = Files.createTempFile("trace", ".bin");
+        try {
+            Files.delete(file);
+            try (final var recorder = EventRecorder.open(file)) {
+                assertThat(recorder.record(new Event(KEY, Boolean.TRUE))).isTrue();
+                assertThat(recorder.record(new Event(KEY2, new byte[]{0x01, 0x02}))).isTrue();
+                assertThat(recorder.record(new Event(KEY, 4711))).isTrue();
+                assertThat(recorder.record(new Event(KEY, 4711L))).isTrue();
+                assertThat(recorder.record(new Event(KEY, 47.11d))).isTrue();
+                assertThat(recorder.record(new Event(KEY2, "Hello Wörld"))).isTrue();
+                // unsupported type
+                assertThat(recorder.record(new Event(KEY, new Object()))).isFalse();
+
+                assertThat(recorder.getRecordedCount()).isEqualTo(6);
+                assertThat(recorder.getSkippedCount()).isEqualTo(1);
+                assertThat(recorder.getFailedCount()).isZero();
+            }
+
+            final var events = readAll(file);
+            assertThat(events).hasSize(6);
+            assertThat(events.get(0).getEvent().getKey()).isEqualTo(KEY);
+            assertThat(events.get(0).getEvent().getData()).isEqualTo(Boolean.TRUE);
+            assertThat(events.get(1).getEvent().getKey()).isEqualTo(KEY2);
+            assertThat(Arrays.equals((byte[]) events.get(1).getEvent().getData(), new byte[]{0x01, 0x02})).isTrue();
+            assertThat(events.get(2).getEvent().getData()).isEqualTo(4711);
+            assertThat(events.get(3).getEvent().getData()).isEqualTo(4711L);
+            assertThat(events.get(4).getEvent().getData()).isEqualTo(47.11d);
+            assertThat(events.get(5).getEvent().getData()).isEqualTo("Hello Wörld");
+
+            // monotonic timestamps
+            for (var i = 1; i < events.size(); i++) {
+                assertThat(events.get(i).getTimestampNanos()).isGreaterThanOrEqualTo(events.get(i - 1).getTimestampNanos());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Recording is appended to existing trace file and events after close are failed")
+    void testAppend() throws IOException {
+        final var file = Files.createTempFile("trace", ".bin");
+        try {
+            try (final var recorder = EventRecorder.open(file)) {
+                recorder.record(new Event(KEY, 1));
+                recorder.record(new Event(KEY2, 2));
+            }
+            final var recorder = EventRecorder.open(file);
+            recorder.record(new Event(KEY2, 3));
+            recorder.close();
+            assertThat(recorder.record(new Event(KEY, 4))).isFalse();
+            assertThat(recorder.getFailedCount()).isEqualTo(1);
+
+            final var events = readAll(file);
+            assertThat(events).hasSize(3);
+            assertThat(events.get(1).getEvent().getKey()).isEqualTo(KEY2);
+            assertThat(events.get(2).getEvent().getKey()).isEqualTo(KEY2);
+            assertThat(events.get(2).getEvent().getData()).isEqualTo(3);
+            assertThat(events.get(2).getTimestampNanos()).isGreaterThanOrEqualTo(events.get(1).getTimestampNanos());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Trace file with incomplete record at the end is read until last complete record")
+    void testTruncated() throws IOException {
+        final var file = Files.createTempFile("trace", ".bin");
+        try {
+            try (final var recorder = EventRecorder.open(file)) {
+                recorder.record(new Event(KEY, "first"));
+                recorder.record(new Event(KEY, "second"));
+            }
+            final var bytes = Files.readAllBytes(file);
+            Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+            final var events = readAll(file);
+            assertThat(events).hasSize(1);
+            assertThat(events.get(0).getEvent().getData()).isEqualTo("first");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("File that is not a trace file is rejected")
+    void testNotTraceFile() throws IOException {
+        final var file = Files.createTempFile("trace", ".txt");
+        try {
+            Files.writeString(file, "Hello World");
+            assertThatThrownBy(() -> EventTraceReader.open(file)).isInstanceOf(IOException.class);
+            assertThatThrownBy(() -> EventRecorder.open(file)).isInstanceOf(IOException.class);
+            assertThat(Files.readString(file)).isEqualTo("Hello World");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static List<RecordedEvent> readAll(final Path file) throws IOException {
+        final var events = new ArrayList<RecordedEvent>();
+        try (final var reader = EventTraceReader.open(file)) {
+            RecordedEvent event;
+            while ((event = reader.next()) != null) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+}
@@ -0,0 +1,83 @@
+package li.pitschmann.knx.logic.replay;
+
+import li.pitschmann.knx.logic.Router;
+import li.pitschmann.knx.logic.event.Event;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import test.TestHelpers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static test.TestHelpers.createInboxComponent;
+
+/**
+ * Test for {@link EventReplayer}
+ *
+ * @author PITSCHR
+ */
+class EventReplayerTest {
+
+    @Test
+    @DisplayName("Inbound events of router are recorded and replayed into another router")
+    void testRecordAndReplay() throws IOException, InterruptedException, ExecutionException {
+        final var file = Files.createTempFile("trace", ".bin");
+        try {
+            // record
+            try (final var recorder = EventRecorder.open(file)) {
+                final var router = Router.builder().recorder(recorder).build();
+                for (var i = 0; i < 100; i++) {
+                    router.inbound(TestHelpers.createEvent("replay", i)).get();
+                }
+                assertThat(router.shutdown(Duration.ofSeconds(5))).isTrue();
+                assertThat(recorder.getRecordedCount()).isEqualTo(100);
+            }
+
+            // replay
+            final var router = Router.builder().build();
+            final var inbox = createInboxComponent("replay");
+            final var outbox = TestHelpers.createOutboxComponent();
+            router.register(inbox);
+            router.register(outbox);
+            router.link(inbox.getOutputPin("data"), outbox.getInputPin("data"));
+
+            final var report = new EventReplayer(router).replay(file, EventReplayer.MAX_SPEED);
+            assertThat(report.getEventCount()).isEqualTo(100);
+            assertThat(report.getFailedCount()).isZero();
+            assertThat(report.getThroughput()).isPositive();
+            assertThat(report.getLatencyP50().toNanos()).isLessThanOrEqualTo(report.getLatencyP90().toNanos());
+            assertThat(report.getLatencyP90().toNanos()).isLessThanOrEqualTo(report.getLatencyP99().toNanos());
+            assertThat(report.getLatencyP99().toNanos()).isLessThanOrEqualTo(report.getLatencyMax().toNanos());
+            assertThat(outbox.getData()).isEqualTo(99);
+            assertThat(router.shutdown(Duration.ofSeconds(5))).isTrue();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Replay with speed keeps the recorded time between events")
+    void testReplaySpeed() throws IOException, InterruptedException {
+        final var file = Files.createTempFile("trace", ".bin");
+        try {
+            try (final var recorder = EventRecorder.open(file)) {
+                recorder.record(new Event(TestHelpers.createEventKey("speed"), 1));
+                Thread.sleep(200);
+                recorder.record(new Event(TestHelpers.createEventKey("speed"), 2));
+            }
+
+            final var router = Router.builder().build();
+            final var replayer = new EventReplayer(router);
+            // 200ms recorded, 2x faster: at least 100ms
+            assertThat(replayer.replay(file, 2).getElapsed().toMillis()).isGreaterThanOrEqualTo(100L);
+            assertThatThrownBy(() -> replayer.replay(file, 0)).isInstanceOf(IllegalArgumentException.class);
+            assertThat(router.shutdown(Duration.ofSeconds(5))).isTrue();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
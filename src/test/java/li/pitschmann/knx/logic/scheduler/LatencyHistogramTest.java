@@ -0,0 +1,38 @@
+package li.pitschmann.knx.logic.scheduler;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test for {@link LatencyHistogram}
+ *
+ * @author PITSCHR
+ */
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Latency histogram with bounded relative error")
+    void testLatencyHistogram() {
+        final var histogram = new LatencyHistogram();
+        assertThat(histogram.percentile(50)).isZero();
+        for (var i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000L);
+        }
+        assertThat(histogram.count()).isEqualTo(1000);
+        assertThat(histogram.percentile(50)).isBetween(500_000L, 516_000L);
+        assertThat(histogram.percentile(99)).isBetween(990_000L, 1_021_000L);
+        assertThat(histogram.percentile(100)).isBetween(1_000_000L, 1_032_000L);
+
+        // bucket bounds are continuous
+        for (var value = 0L; value < 100_000L; value++) {
+            final var bucket = LatencyHistogram.bucketOf(value);
+            assertThat(LatencyHistogram.upperBoundOf(bucket)).isGreaterThanOrEqualTo(value);
+            if (bucket > 0) {
+                assertThat(LatencyHistogram.upperBoundOf(bucket - 1)).isLessThan(value);
+            }
+        }
+        assertThat(LatencyHistogram.upperBoundOf(LatencyHistogram.bucketOf(Long.MAX_VALUE))).isEqualTo(Long.MAX_VALUE);
+    }
+}
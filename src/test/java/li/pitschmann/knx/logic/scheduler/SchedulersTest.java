@@ -0,0 +1,131 @@
+package li.pitschmann.knx.logic.scheduler;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test for {@link Schedulers} and {@link Scheduler} implementations
+ *
+ * @author PITSCHR
+ */
+class SchedulersTest {
+
+    @Test
+    @DisplayName("Invalid number of threads")
+    void testInvalid() {
+        assertThatThrownBy(() -> Schedulers.fixed(0, 1, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Schedulers.fixed(1, 0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Schedulers.fixed(1, 1, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Schedulers.forkJoin(0, 1, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Fixed scheduler with statistics per lane")
+    void testFixed() throws InterruptedException {
+        final var scheduler = Schedulers.fixed(1, 2, 1);
+
+        final var blocker = new CountDownLatch(1);
+        final var done = new CountDownLatch(3);
+        final Runnable blockingTask = () -> {
+            try {
+                blocker.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            done.countDown();
+        };
+
+        // one routing thread: first task is active, two are queued
+        for (var i = 0; i < 3; i++) {
+            scheduler.executor(Lane.ROUTING).execute(blockingTask);
+        }
+        waitUntilActive(scheduler, Lane.ROUTING);
+
+        final var statistics = scheduler.statistics(Lane.ROUTING);
+        assertThat(statistics.getLane()).isSameAs(Lane.ROUTING);
+        assertThat(statistics.getSubmittedCount()).isEqualTo(3);
+        assertThat(statistics.getActiveCount()).isEqualTo(1);
+        assertThat(statistics.getQueueSize()).isEqualTo(2);
+        assertThat(statistics.getCompletedCount()).isZero();
+
+        // other lanes are not affected
+        assertThat(scheduler.statistics(Lane.OUTBOUND).getSubmittedCount()).isZero();
+
+        // shutdown drains the queued tasks
+        scheduler.shutdown();
+        blocker.countDown();
+        assertThat(scheduler.awaitTermination(Duration.ofSeconds(5))).isTrue();
+        assertThat(done.await(0, TimeUnit.SECONDS)).isTrue();
+        assertThat(scheduler.statistics(Lane.ROUTING).getCompletedCount()).isEqualTo(3);
+        assertThat(scheduler.statistics(Lane.ROUTING).getQueueSize()).isZero();
+
+        // no new tasks after shutdown
+        assertThatThrownBy(() -> scheduler.executor(Lane.ROUTING).execute(() -> {
+        })).isInstanceOf(RejectedExecutionException.class);
+        assertThat(scheduler.statistics(Lane.ROUTING).getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("ForkJoin scheduler")
+    void testForkJoin() throws InterruptedException {
+        final var scheduler = Schedulers.forkJoin(2, 1, 1);
+        final var done = new CountDownLatch(10);
+        for (var i = 0; i < 10; i++) {
+            scheduler.executor(Lane.ROUTING).execute(done::countDown);
+        }
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+
+        scheduler.shutdown();
+        assertThat(scheduler.awaitTermination(Duration.ofSeconds(5))).isTrue();
+        assertThat(scheduler.statistics(Lane.ROUTING).getCompletedCount()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Fork join pool and timer are owned by the scheduler")
+    void testForkJoinPoolAndTimer() throws InterruptedException {
+        final var scheduler = Schedulers.fixed(1, 1, 1);
+        assertThat(scheduler.forkJoinPool().invoke(ForkJoinTask.adapt(() -> 42))).isEqualTo(42);
+
+        final var done = new CountDownLatch(1);
+        scheduler.timer().schedule(done::countDown, 10, TimeUnit.MILLISECONDS);
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // delayed tasks still pending are discarded on shutdown
+        final var delayed = scheduler.timer().schedule(() -> {
+        }, 1, TimeUnit.HOURS);
+        scheduler.shutdown();
+        assertThat(scheduler.awaitTermination(Duration.ofSeconds(5))).isTrue();
+        assertThat(delayed.isCancelled()).isTrue();
+        assertThat(scheduler.forkJoinPool().isShutdown()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Virtual threads scheduler (if supported by Java runtime)")
+    void testVirtualThreads() throws InterruptedException {
+        if (Schedulers.isVirtualThreadsSupported()) {
+            final var scheduler = Schedulers.virtualThreads();
+            final var done = new CountDownLatch(1);
+            scheduler.executor(Lane.OUTBOUND).execute(done::countDown);
+            assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+            scheduler.shutdown();
+            assertThat(scheduler.awaitTermination(Duration.ofSeconds(5))).isTrue();
+        } else {
+            assertThatThrownBy(Schedulers::virtualThreads).isInstanceOf(UnsupportedOperationException.class);
+        }
+    }
+
+    private static void waitUntilActive(final Scheduler scheduler, final Lane lane) throws InterruptedException {
+        for (var i = 0; i < 500 && scheduler.statistics(lane).getActiveCount() == 0; i++) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -24,6 +24,7 @@ import li.pitschmann.knx.logic.db.H2DatabaseManager;
 import li.pitschmann.knx.logic.db.dao.ComponentsDao;
 import li.pitschmann.knx.logic.db.dao.ConnectorsDao;
 import li.pitschmann.knx.logic.db.dao.EventKeyDao;
+import li.pitschmann.knx.logic.db.dao.JournalDao;
 import li.pitschmann.knx.logic.db.dao.PinLinksDao;
 import li.pitschmann.knx.logic.db.dao.PinValuesDao;
 import li.pitschmann.knx.logic.db.dao.PinsDao;
@@ -113,6 +114,10 @@ public class BaseDatabaseSuite {
         return dao(PinLinksDao.class);
     }
 
+    protected JournalDao journalDao() {
+        return dao(JournalDao.class);
+    }
+
     /**
      * Loads all components from the database
      *
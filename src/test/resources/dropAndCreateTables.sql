@@ -143,3 +143,35 @@ CREATE TABLE diagram_links
     FOREIGN KEY (pinLinkId) REFERENCES pin_links (id) ON DELETE CASCADE,
     CONSTRAINT diagram_links_unique UNIQUE (pinLinkId)
 );
+
+--
+-- JOURNAL of inbound and outbound events
+--
+CREATE TABLE event_journal
+(
+    id             INT            AUTO_INCREMENT PRIMARY KEY,
+    direction      VARCHAR(10)    NOT NULL,  -- INBOUND, OUTBOUND
+    channel        VARCHAR(10)    NOT NULL,
+    key            VARCHAR(30)    NOT NULL,
+    value          VARCHAR(4000),
+    valueType      VARCHAR(255),
+    eventTs        TIMESTAMP      NOT NULL,
+    creationTs     TIMESTAMP      NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+--
+-- JOURNAL of workflows for inbound events
+--
+CREATE TABLE workflow_journal
+(
+    id             INT            AUTO_INCREMENT PRIMARY KEY,
+    eventJournalId INT            NOT NULL,
+    workflowIndex  INT            NOT NULL,
+    step           INT            NOT NULL,
+    uid            VARCHAR(100)   NOT NULL,
+    value          VARCHAR(4000),
+    valueType      VARCHAR(255),
+    entryTs        TIMESTAMP      NOT NULL,
+    creationTs     TIMESTAMP      NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (eventJournalId) REFERENCES event_journal (id) ON DELETE CASCADE
+);